@@ -8,6 +8,7 @@ import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
@@ -95,6 +96,9 @@ public class AnnotationProcessor extends AbstractProcessor {
     }
 
     private void processGenerateMutator(TypeElement recordElement) {
+        if (!hasValidComponents(recordElement)) {
+            return;
+        }
 
         PackageElement recordElementPackageElement = processingEnv.getElementUtils().getPackageOf(recordElement);
         String recordElementPackageName = recordElementPackageElement.getQualifiedName().toString();
@@ -106,10 +110,11 @@ public class AnnotationProcessor extends AbstractProcessor {
                 .addModifiers(Modifier.PUBLIC);
 
 
-        addConstructor(mutatorClassBuilder, recordElement, recordClassName);
+        String originalFieldName = toOriginalFieldName(recordElement);
+        addConstructor(mutatorClassBuilder, recordElement, recordClassName, originalFieldName);
         addComponentMethods(mutatorClassBuilder, recordElement, mutatorClassName);
         addFactoryMethods(mutatorClassBuilder, mutatorClassName, recordClassName);
-        addBuildMethod(recordElement, mutatorClassBuilder, recordClassName);
+        addBuildMethod(recordElement, mutatorClassBuilder, recordClassName, originalFieldName);
 
         JavaFile javaFile = JavaFile.builder(recordElementPackageName, mutatorClassBuilder.build())
                 .build();
@@ -126,7 +131,7 @@ public class AnnotationProcessor extends AbstractProcessor {
         for (RecordComponentElement recordComponentElement : recordElement.getRecordComponents()) {
             String componentName = recordComponentElement.getSimpleName().toString();
 
-            TypeInfo typeInfo = mutatorTypeInfoFactory.createTypeInfo(recordComponentElement.asType());
+            TypeInfo typeInfo = createComponentTypeInfo(recordElement, recordComponentElement);
             typeInfo.contributeToMutator(mutatorClassBuilder, componentName, mutatorClassName);
         }
 
@@ -152,7 +157,7 @@ public class AnnotationProcessor extends AbstractProcessor {
 
         for (RecordComponentElement recordComponentElement : reverseComponentList) {
             String componentName = recordComponentElement.getSimpleName().toString();
-            TypeInfo typeInfo = mutatorTypeInfoFactory.createTypeInfo(recordComponentElement.asType());
+            TypeInfo typeInfo = createComponentTypeInfo(recordElement, recordComponentElement);
 
             TypeSpec.Builder constructorInterfaceBuilder = TypeSpec.interfaceBuilder(toConstructorInterfaceName(componentName));
             constructorInterfaceBuilder.addModifiers(Modifier.PUBLIC);
@@ -187,13 +192,41 @@ public class AnnotationProcessor extends AbstractProcessor {
     private static void addBuildMethod(
             TypeElement recordElement,
             TypeSpec.Builder mutatorClassBuilder,
-            ClassName recordClassName
+            ClassName recordClassName,
+            String originalFieldName
     ) {
         List<String> fieldNameList = creteFieldNameList(recordElement);
+
+        // Return the original record if all components still are identical to it
+        CodeBlock.Builder unchangedConditionBuilder = CodeBlock.builder();
+        unchangedConditionBuilder.add("this.$N != null$>$>", originalFieldName);
+        for (RecordComponentElement recordComponentElement : recordElement.getRecordComponents()) {
+            String componentName = recordComponentElement.getSimpleName().toString();
+            String fieldName = toFiledName(componentName);
+            TypeKind kind = recordComponentElement.asType().getKind();
+            if (kind == TypeKind.DOUBLE || kind == TypeKind.FLOAT) {
+                // compare() tells 0.0 from -0.0 and treats NaN as equal to itself, unlike ==
+                unchangedConditionBuilder.add("\n&& $T.compare(this.$N, this.$N.$N()) == 0",
+                        kind == TypeKind.DOUBLE ? Double.class : Float.class,
+                        fieldName,
+                        originalFieldName,
+                        componentName);
+            } else {
+                unchangedConditionBuilder.add("\n&& this.$N == this.$N.$N()",
+                        fieldName,
+                        originalFieldName,
+                        componentName);
+            }
+        }
+        unchangedConditionBuilder.add("$<$<");
+
         mutatorClassBuilder.addMethod(MethodSpec.methodBuilder("build")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
                 .returns(recordClassName)
+                .beginControlFlow("if ($L)", unchangedConditionBuilder.build())
+                .addStatement("return this.$N", originalFieldName)
+                .endControlFlow()
                 .addStatement("return new $T($L)", recordClassName, String.join(", ", fieldNameList))
                 .build());
     }
@@ -222,9 +255,16 @@ public class AnnotationProcessor extends AbstractProcessor {
     private static void addConstructor(
             TypeSpec.Builder mutatorClassBuilder,
             TypeElement recordElement,
-            ClassName recordClassName
+            ClassName recordClassName,
+            String originalFieldName
     ) {
+        mutatorClassBuilder.addField(FieldSpec.builder(
+                recordClassName,
+                originalFieldName,
+                Modifier.PRIVATE, Modifier.FINAL).build());
+
         CodeBlock.Builder constructorCodeBuilder = CodeBlock.builder();
+        constructorCodeBuilder.addStatement("this.$N = value", originalFieldName);
         constructorCodeBuilder.beginControlFlow("if (value != null)");
         for (RecordComponentElement recordComponentElement : recordElement.getRecordComponents()) {
             String componentName = recordComponentElement.getSimpleName().toString();
@@ -251,6 +291,61 @@ public class AnnotationProcessor extends AbstractProcessor {
         return fieldList;
     }
 
+    private boolean hasValidComponents(TypeElement recordElement) {
+        boolean valid = true;
+        for (RecordComponentElement recordComponentElement : recordElement.getRecordComponents()) {
+            try {
+                createComponentTypeInfo(recordElement, recordComponentElement);
+            } catch (IllegalArgumentException e) {
+                printMessage(Diagnostic.Kind.ERROR, e.getMessage(), recordComponentElement);
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private TypeInfo createComponentTypeInfo(TypeElement recordElement, RecordComponentElement recordComponentElement) {
+        // A backend selected on the component overrides the one selected on the record
+        MutatorBackend mutatorBackend = recordComponentElement.getAnnotation(MutatorBackend.class);
+        CollectionBackend collectionBackend = mutatorBackend != null
+                ? mutatorBackend.value()
+                : recordElement.getAnnotation(GenerateMutator.class).collectionBackend();
+        SortedBy sortedBy = recordComponentElement.getAnnotation(SortedBy.class);
+        if (sortedBy != null) {
+            return mutatorTypeInfoFactory.createSortedListTypeInfo(recordComponentElement.asType(), collectionBackend,
+                    sortedBy.key(), toComparatorType(sortedBy));
+        }
+        return mutatorTypeInfoFactory.createTypeInfo(recordComponentElement.asType(), collectionBackend);
+    }
+
+    private TypeMirror toComparatorType(SortedBy sortedBy) {
+        // Class values can not be read from an annotation during processing, the type is given by the exception
+        TypeMirror comparatorType;
+        try {
+            comparatorType = processingEnv.getElementUtils().getTypeElement(sortedBy.comparator().getCanonicalName()).asType();
+        } catch (MirroredTypeException e) {
+            comparatorType = e.getTypeMirror();
+        }
+        TypeMirror comparatorInterfaceType = processingEnv.getElementUtils().getTypeElement(Comparator.class.getCanonicalName()).asType();
+        boolean isDefault = processingEnv.getTypeUtils().isSameType(
+                processingEnv.getTypeUtils().erasure(comparatorType),
+                processingEnv.getTypeUtils().erasure(comparatorInterfaceType));
+        return isDefault ? null : comparatorType;
+    }
+
+    private static String toOriginalFieldName(TypeElement recordElement) {
+        // The field holding the original record must not collide with a component field
+        Set<String> fieldNames = new HashSet<>();
+        for (RecordComponentElement recordComponentElement : recordElement.getRecordComponents()) {
+            fieldNames.add(toFiledName(recordComponentElement.getSimpleName().toString()));
+        }
+        String originalFieldName = "original";
+        while (fieldNames.contains(originalFieldName)) {
+            originalFieldName = "_" + originalFieldName;
+        }
+        return originalFieldName;
+    }
+
     private static String toFiledName(String componentName) {
         return componentName.substring(0, 1).toLowerCase(Locale.ROOT) + componentName.substring(1);
     }
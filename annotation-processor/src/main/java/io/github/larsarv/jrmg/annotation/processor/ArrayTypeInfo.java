@@ -0,0 +1,51 @@
+package io.github.larsarv.jrmg.annotation.processor;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.TypeName;
+
+/**
+ * TypeInfo implementation for array components, such as {@code byte[]} or {@code String[]}, that are mutated by
+ * an array mutator such as {@link io.github.larsarv.jrmg.api.IntArrayMutator}. Arrays of {@code int}, {@code long},
+ * {@code double} and {@code byte} values have their own mutators with a non-generic mutate function. Object arrays
+ * use {@link io.github.larsarv.jrmg.api.ObjectArrayMutator}, whose factory is passed a constructor reference of the
+ * array, so that an array of the right component type can be created. The values of the array are not mutated.
+ */
+public class ArrayTypeInfo extends CollectionTypeInfo {
+    private final TypeInfo elementTypeInfo;
+    private final ClassName mutatorImplementationClassName;
+    private final ClassName mutatorFunctionClassName;
+
+    /**
+     * Constructs an ArrayTypeInfo with the given type information.
+     *
+     * @param typeName the TypeName of the array component
+     * @param elementTypeInfo the TypeInfo for the values of the array, without a mutator
+     * @param mutatorInterfaceTypeName the TypeName of the array mutator interface
+     * @param mutatorImplementationClassName the ClassName of the array mutator implementation
+     * @param mutatorFunctionClassName the ClassName of the function type used for mutation
+     */
+    public ArrayTypeInfo(TypeName typeName, TypeInfo elementTypeInfo, TypeName mutatorInterfaceTypeName, ClassName mutatorImplementationClassName, ClassName mutatorFunctionClassName) {
+        super(typeName, elementTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName, mutatorFunctionClassName);
+        this.elementTypeInfo = elementTypeInfo;
+        this.mutatorImplementationClassName = mutatorImplementationClassName;
+        this.mutatorFunctionClassName = mutatorFunctionClassName;
+    }
+
+    @Override
+    protected TypeName createParameterType() {
+        if (elementTypeInfo.getTypeName().isPrimitive()) {
+            return mutatorFunctionClassName;
+        }
+        return super.createParameterType();
+    }
+
+    @Override
+    public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
+        if (elementTypeInfo.getTypeName().isPrimitive()) {
+            codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L)", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+        } else {
+            codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L, $T[]::new)", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex, elementTypeInfo.getTypeName());
+        }
+    }
+}
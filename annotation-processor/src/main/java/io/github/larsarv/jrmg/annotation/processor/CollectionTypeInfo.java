@@ -18,6 +18,8 @@ public class CollectionTypeInfo extends SimpleTypeInfo implements TypeInfo {
     private final TypeName mutatorInterfaceTypeName; // Type of the mutator including generic parameters
     private final ClassName mutatorImplementationClassName; // Mutator implementation class
     private final ClassName mutatorFunctionClassName; // Function used by the mutate function as parameter
+    private final TypeName enumElementTypeName; // Enum element type passed to EnumSet based mutators, otherwise null
+    private final CodeBlock sortComparatorCode; // Comparator passed to sorted list mutators, otherwise null
 
 
 
@@ -31,11 +33,43 @@ public class CollectionTypeInfo extends SimpleTypeInfo implements TypeInfo {
      * @param mutatorFunctionClassName the ClassName of the function type used for mutation
      */
     public CollectionTypeInfo(TypeName typeName, TypeInfo elementTypeInfo, TypeName mutatorInterfaceTypeName, ClassName mutatorImplementationClassName, ClassName mutatorFunctionClassName) {
+        this(typeName, elementTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName, mutatorFunctionClassName, null);
+    }
+
+    /**
+     * Constructs a CollectionTypeInfo for a collection whose mutator is given the enum class of its elements.
+     *
+     * @param typeName the TypeName of the collection component
+     * @param elementTypeInfo the TypeInfo for the elements contained in the collection
+     * @param mutatorInterfaceTypeName the TypeName of the mutator interface for this collection
+     * @param mutatorImplementationClassName the ClassName of the mutator implementation for this collection
+     * @param mutatorFunctionClassName the ClassName of the function type used for mutation
+     * @param enumElementTypeName the TypeName of the enum elements passed as class literal to the mutator, or null
+     */
+    public CollectionTypeInfo(TypeName typeName, TypeInfo elementTypeInfo, TypeName mutatorInterfaceTypeName, ClassName mutatorImplementationClassName, ClassName mutatorFunctionClassName, TypeName enumElementTypeName) {
+        this(typeName, elementTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName, mutatorFunctionClassName, enumElementTypeName, null);
+    }
+
+    /**
+     * Constructs a CollectionTypeInfo for a list whose mutator keeps the list sorted by the given comparator.
+     *
+     * @param typeName the TypeName of the collection component
+     * @param elementTypeInfo the TypeInfo for the elements contained in the collection
+     * @param mutatorInterfaceTypeName the TypeName of the mutator interface for this collection
+     * @param mutatorImplementationClassName the ClassName of the mutator implementation for this collection
+     * @param mutatorFunctionClassName the ClassName of the function type used for mutation
+     * @param enumElementTypeName the TypeName of the enum elements passed as class literal to the mutator, or null
+     * @param sortComparatorCode the code creating the comparator passed to the sorted mutator, or null if the
+     *                           collection is not sorted
+     */
+    public CollectionTypeInfo(TypeName typeName, TypeInfo elementTypeInfo, TypeName mutatorInterfaceTypeName, ClassName mutatorImplementationClassName, ClassName mutatorFunctionClassName, TypeName enumElementTypeName, CodeBlock sortComparatorCode) {
         super(typeName);
         this.elementTypeInfo = elementTypeInfo;
         this.mutatorInterfaceTypeName = mutatorInterfaceTypeName;
         this.mutatorImplementationClassName = mutatorImplementationClassName;
         this.mutatorFunctionClassName = mutatorFunctionClassName;
+        this.enumElementTypeName = enumElementTypeName;
+        this.sortComparatorCode = sortComparatorCode;
     }
 
     @Override
@@ -85,7 +119,12 @@ public class CollectionTypeInfo extends SimpleTypeInfo implements TypeInfo {
                 .build());
     }
 
-    private ParameterizedTypeName createParameterType() {
+    /**
+     * Returns the type of the mutate function parameter of the generated methods.
+     *
+     * @return the TypeName of the mutate function
+     */
+    protected TypeName createParameterType() {
         if (elementTypeInfo.getMutatorInterfaceTypeName() == null) {
             return ParameterizedTypeName.get(
                     mutatorFunctionClassName,
@@ -100,7 +139,14 @@ public class CollectionTypeInfo extends SimpleTypeInfo implements TypeInfo {
 
     @Override
     public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
-        codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L, ", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+        if (sortComparatorCode != null) {
+            codeBlockbuilder.add("\nelement$L -> $T.sortedMutator(element$L, $L, ", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex, sortComparatorCode);
+        } else {
+            codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L, ", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+        }
+        if (enumElementTypeName != null) {
+            codeBlockbuilder.add("$T.class, ", enumElementTypeName);
+        }
         elementTypeInfo.addMutatorFactoryCode(codeBlockbuilder, factoryMethodIndex + 1);
         codeBlockbuilder.add(")");
     }
@@ -0,0 +1,33 @@
+package io.github.larsarv.jrmg.annotation.processor;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.TypeName;
+
+/**
+ * TypeInfo implementation for {@code Deque} and {@code Queue} components that are mutated by
+ * {@link io.github.larsarv.jrmg.api.DequeMutatorImpl}, which keeps the elements in a circular array.
+ * The elements are not mutated, and the mutator factory takes no element mutator factory.
+ */
+public class DequeTypeInfo extends CollectionTypeInfo {
+    private final ClassName mutatorImplementationClassName;
+
+    /**
+     * Constructs a DequeTypeInfo with the given type information.
+     *
+     * @param typeName the TypeName of the deque or queue component
+     * @param elementTypeInfo the TypeInfo for the elements of the deque, without a mutator
+     * @param mutatorInterfaceTypeName the TypeName of the deque mutator interface
+     * @param mutatorImplementationClassName the ClassName of the deque mutator implementation
+     * @param mutatorFunctionClassName the ClassName of the function type used for mutation
+     */
+    public DequeTypeInfo(TypeName typeName, TypeInfo elementTypeInfo, TypeName mutatorInterfaceTypeName, ClassName mutatorImplementationClassName, ClassName mutatorFunctionClassName) {
+        super(typeName, elementTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName, mutatorFunctionClassName);
+        this.mutatorImplementationClassName = mutatorImplementationClassName;
+    }
+
+    @Override
+    public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
+        codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L)", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+    }
+}
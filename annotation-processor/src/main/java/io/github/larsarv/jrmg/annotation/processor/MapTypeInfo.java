@@ -22,6 +22,7 @@ public class MapTypeInfo extends SimpleTypeInfo implements TypeInfo {
     private final TypeName mutatorInterfaceTypeName; // Type of the mutator including generic parameters
     private final ClassName mutatorImplementationClassName; // Mutator implementation class
     private final TypeName mutatorFunctionTypeName; // Function used by the mutate function as parameter
+    private final TypeName enumKeyTypeName; // Enum key type passed to EnumMap based mutators, otherwise null
 
     /**
      * Constructs a MapTypeInfo with the given type information.
@@ -40,6 +41,30 @@ public class MapTypeInfo extends SimpleTypeInfo implements TypeInfo {
             TypeName mutatorInterfaceTypeName,
             ClassName mutatorImplementationClassName,
             TypeName mutatorFunctionTypeName
+    ) {
+        this(typeName, keyTypeInfo, valueTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName,
+                mutatorFunctionTypeName, null);
+    }
+
+    /**
+     * Constructs a MapTypeInfo for a map whose mutator is given the enum class of its keys.
+     *
+     * @param typeName the TypeName of the Map component
+     * @param keyTypeInfo the TypeInfo for the keys contained in the map
+     * @param valueTypeInfo the TypeInfo for the values contained in the map
+     * @param mutatorInterfaceTypeName the TypeName of the mutator interface for this map
+     * @param mutatorImplementationClassName the ClassName of the mutator implementation for this map
+     * @param mutatorFunctionTypeName the TypeName of the function type used for mutation
+     * @param enumKeyTypeName the TypeName of the enum keys passed as class literal to the mutator, or null
+     */
+    public MapTypeInfo(
+            TypeName typeName,
+            TypeInfo keyTypeInfo,
+            TypeInfo valueTypeInfo,
+            TypeName mutatorInterfaceTypeName,
+            ClassName mutatorImplementationClassName,
+            TypeName mutatorFunctionTypeName,
+            TypeName enumKeyTypeName
     ) {
         super(typeName);
         this.keyTypeInfo = keyTypeInfo;
@@ -47,6 +72,7 @@ public class MapTypeInfo extends SimpleTypeInfo implements TypeInfo {
         this.mutatorInterfaceTypeName = mutatorInterfaceTypeName;
         this.mutatorImplementationClassName = mutatorImplementationClassName;
         this.mutatorFunctionTypeName = mutatorFunctionTypeName;
+        this.enumKeyTypeName = enumKeyTypeName;
     }
 
     @Override
@@ -109,6 +135,9 @@ public class MapTypeInfo extends SimpleTypeInfo implements TypeInfo {
     @Override
     public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
         codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L, ", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+        if (enumKeyTypeName != null) {
+            codeBlockbuilder.add("$T.class, ", enumKeyTypeName);
+        }
         keyTypeInfo.addMutatorFactoryCode(codeBlockbuilder, factoryMethodIndex + 1);
         codeBlockbuilder.add(", ");
         valueTypeInfo.addMutatorFactoryCode(codeBlockbuilder, factoryMethodIndex + 2);
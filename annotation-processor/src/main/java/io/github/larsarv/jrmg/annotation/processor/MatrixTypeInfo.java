@@ -0,0 +1,63 @@
+package io.github.larsarv.jrmg.annotation.processor;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+
+/**
+ * TypeInfo implementation for lists of lists, such as {@code List<List<T>>}, that are mutated by
+ * {@link io.github.larsarv.jrmg.api.MatrixMutatorImpl}. Besides the row operations of a nested list, the matrix
+ * mutator writes single cells and columns into a flat array of cells. The mutate and set methods keep the nested
+ * list mutate function, which is given the matrix mutator, and an additional mutate method takes the matrix mutate
+ * function, parameterized by the cell type and the row mutator type. The mutator factory takes the row mutator
+ * factory.
+ */
+public class MatrixTypeInfo extends CollectionTypeInfo {
+    private final TypeInfo rowTypeInfo;
+    private final ClassName mutatorImplementationClassName;
+    private final TypeName matrixMutatorInterfaceTypeName;
+    private final TypeName matrixMutatorFunctionTypeName;
+
+    /**
+     * Constructs a MatrixTypeInfo with the given type information.
+     *
+     * @param typeName the TypeName of the list component
+     * @param rowTypeInfo the TypeInfo for the rows of the list
+     * @param mutatorInterfaceTypeName the TypeName of the nested list mutator interface
+     * @param mutatorFunctionClassName the ClassName of the nested list function type used for mutation
+     * @param matrixMutatorInterfaceTypeName the TypeName of the matrix mutator interface
+     * @param mutatorImplementationClassName the ClassName of the matrix mutator implementation
+     * @param matrixMutatorFunctionTypeName the TypeName of the function type taking the matrix mutator
+     */
+    public MatrixTypeInfo(
+            TypeName typeName,
+            TypeInfo rowTypeInfo,
+            TypeName mutatorInterfaceTypeName,
+            ClassName mutatorFunctionClassName,
+            TypeName matrixMutatorInterfaceTypeName,
+            ClassName mutatorImplementationClassName,
+            TypeName matrixMutatorFunctionTypeName
+    ) {
+        super(typeName, rowTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName, mutatorFunctionClassName);
+        this.rowTypeInfo = rowTypeInfo;
+        this.mutatorImplementationClassName = mutatorImplementationClassName;
+        this.matrixMutatorInterfaceTypeName = matrixMutatorInterfaceTypeName;
+        this.matrixMutatorFunctionTypeName = matrixMutatorFunctionTypeName;
+    }
+
+    @Override
+    public void contributeToMutator(TypeSpec.Builder mutatorClassBuilder, String componentName, TypeName recordMutatorInterfaceTypeName) {
+        super.contributeToMutator(mutatorClassBuilder, componentName, recordMutatorInterfaceTypeName);
+
+        addSpecializedMutateMethod(mutatorClassBuilder, componentName, recordMutatorInterfaceTypeName, "Matrix",
+                matrixMutatorInterfaceTypeName, matrixMutatorFunctionTypeName);
+    }
+
+    @Override
+    public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
+        codeBlockbuilder.add("\nelement$L -> $T.matrixMutator(element$L, ", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+        rowTypeInfo.addMutatorFactoryCode(codeBlockbuilder, factoryMethodIndex + 1);
+        codeBlockbuilder.add(")");
+    }
+}
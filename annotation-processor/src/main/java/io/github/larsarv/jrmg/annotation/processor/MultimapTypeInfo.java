@@ -0,0 +1,77 @@
+package io.github.larsarv.jrmg.annotation.processor;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+
+/**
+ * TypeInfo implementation for maps of lists or sets, such as {@code Map<K, List<V>>}, that are mutated by
+ * {@link io.github.larsarv.jrmg.api.MultimapMutatorImpl}. The multimap mutator keeps the mutator of a bucket open
+ * while elements are appended to it, so the bucket is copied once per mutator session. The mutate and set methods
+ * keep the nested value map mutate function, which is given the multimap mutator, and an additional mutate method
+ * takes the multimap mutate function. The keys are not mutated, and the mutator factory only takes the bucket
+ * mutator factory.
+ */
+public class MultimapTypeInfo extends MapTypeInfo {
+    private final TypeInfo valueTypeInfo;
+    private final ClassName mutatorImplementationClassName;
+    private final TypeName multimapMutatorInterfaceTypeName;
+    private final TypeName multimapMutatorFunctionTypeName;
+    private final String factoryMethodName;
+    private final TypeName enumKeyTypeName;
+
+    /**
+     * Constructs a MultimapTypeInfo with the given type information.
+     *
+     * @param typeName the TypeName of the map component
+     * @param keyTypeInfo the TypeInfo for the keys contained in the map
+     * @param valueTypeInfo the TypeInfo for the list or set values contained in the map
+     * @param mutatorInterfaceTypeName the TypeName of the nested value map mutator interface
+     * @param mutatorFunctionTypeName the TypeName of the nested value map function type used for mutation
+     * @param multimapMutatorInterfaceTypeName the TypeName of the multimap mutator interface
+     * @param mutatorImplementationClassName the ClassName of the multimap mutator implementation
+     * @param multimapMutatorFunctionTypeName the TypeName of the function type taking the multimap mutator
+     * @param factoryMethodName the name of the factory method of the implementation, for lists or for sets
+     * @param enumKeyTypeName the TypeName of the enum keys passed as class literal to the mutator, or null
+     */
+    public MultimapTypeInfo(
+            TypeName typeName,
+            TypeInfo keyTypeInfo,
+            TypeInfo valueTypeInfo,
+            TypeName mutatorInterfaceTypeName,
+            TypeName mutatorFunctionTypeName,
+            TypeName multimapMutatorInterfaceTypeName,
+            ClassName mutatorImplementationClassName,
+            TypeName multimapMutatorFunctionTypeName,
+            String factoryMethodName,
+            TypeName enumKeyTypeName
+    ) {
+        super(typeName, keyTypeInfo, valueTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName,
+                mutatorFunctionTypeName, enumKeyTypeName);
+        this.valueTypeInfo = valueTypeInfo;
+        this.mutatorImplementationClassName = mutatorImplementationClassName;
+        this.multimapMutatorInterfaceTypeName = multimapMutatorInterfaceTypeName;
+        this.multimapMutatorFunctionTypeName = multimapMutatorFunctionTypeName;
+        this.factoryMethodName = factoryMethodName;
+        this.enumKeyTypeName = enumKeyTypeName;
+    }
+
+    @Override
+    public void contributeToMutator(TypeSpec.Builder mutatorClassBuilder, String componentName, TypeName recordMutatorInterfaceTypeName) {
+        super.contributeToMutator(mutatorClassBuilder, componentName, recordMutatorInterfaceTypeName);
+
+        addSpecializedMutateMethod(mutatorClassBuilder, componentName, recordMutatorInterfaceTypeName, "Multimap",
+                multimapMutatorInterfaceTypeName, multimapMutatorFunctionTypeName);
+    }
+
+    @Override
+    public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
+        codeBlockbuilder.add("\nelement$L -> $T.$N(element$L, ", factoryMethodIndex, mutatorImplementationClassName, factoryMethodName, factoryMethodIndex);
+        if (enumKeyTypeName != null) {
+            codeBlockbuilder.add("$T.class, ", enumKeyTypeName);
+        }
+        valueTypeInfo.addMutatorFactoryCode(codeBlockbuilder, factoryMethodIndex + 1);
+        codeBlockbuilder.add(")");
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.larsarv.jrmg.annotation.processor;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+
+/**
+ * TypeInfo implementation for lists of boxed numeric values ({@code List<Integer>}, {@code List<Long>} and
+ * {@code List<Double>}) that are mutated by a primitive specialized list mutator such as
+ * {@link io.github.larsarv.jrmg.api.IntListMutator}. The mutate and set methods keep the simple list mutate
+ * function, which is given the primitive mutator, and an additional mutate method takes the function of the
+ * primitive mutator. The mutator factory takes no element mutator factory.
+ */
+public class PrimitiveListTypeInfo extends CollectionTypeInfo {
+    private final ClassName mutatorImplementationClassName;
+    private final ClassName primitiveMutatorInterfaceClassName;
+    private final ClassName primitiveMutatorFunctionClassName;
+
+    /**
+     * Constructs a PrimitiveListTypeInfo with the given type information.
+     *
+     * @param typeName the TypeName of the list component
+     * @param elementTypeInfo the TypeInfo for the boxed elements of the list
+     * @param mutatorInterfaceTypeName the TypeName of the simple list mutator interface
+     * @param mutatorFunctionClassName the ClassName of the simple list function type used for mutation
+     * @param primitiveMutatorInterfaceClassName the ClassName of the primitive list mutator interface
+     * @param mutatorImplementationClassName the ClassName of the primitive list mutator implementation
+     * @param primitiveMutatorFunctionClassName the ClassName of the function type taking the primitive mutator
+     */
+    public PrimitiveListTypeInfo(
+            TypeName typeName,
+            TypeInfo elementTypeInfo,
+            TypeName mutatorInterfaceTypeName,
+            ClassName mutatorFunctionClassName,
+            ClassName primitiveMutatorInterfaceClassName,
+            ClassName mutatorImplementationClassName,
+            ClassName primitiveMutatorFunctionClassName
+    ) {
+        super(typeName, elementTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName, mutatorFunctionClassName);
+        this.mutatorImplementationClassName = mutatorImplementationClassName;
+        this.primitiveMutatorInterfaceClassName = primitiveMutatorInterfaceClassName;
+        this.primitiveMutatorFunctionClassName = primitiveMutatorFunctionClassName;
+    }
+
+    @Override
+    public void contributeToMutator(TypeSpec.Builder mutatorClassBuilder, String componentName, TypeName recordMutatorInterfaceTypeName) {
+        super.contributeToMutator(mutatorClassBuilder, componentName, recordMutatorInterfaceTypeName);
+
+        String simpleName = primitiveMutatorInterfaceClassName.simpleName();
+        addSpecializedMutateMethod(mutatorClassBuilder, componentName, recordMutatorInterfaceTypeName,
+                simpleName.substring(0, simpleName.length() - "Mutator".length()),
+                primitiveMutatorInterfaceClassName, primitiveMutatorFunctionClassName);
+    }
+
+    @Override
+    public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
+        codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L)", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.larsarv.jrmg.annotation.processor;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+
+/**
+ * TypeInfo implementation for maps with simple keys and boxed numeric values ({@code Map<K, Integer>},
+ * {@code Map<K, Long>} and {@code Map<K, Double>}) that are mutated by a primitive specialized map mutator such as
+ * {@link io.github.larsarv.jrmg.api.IntValueMapMutator}. The mutate and set methods keep the simple map mutate
+ * function, which is given the primitive mutator, and an additional mutate method takes the function of the
+ * primitive mutator. The mutator factory takes no key or value mutator factory.
+ */
+public class PrimitiveValueMapTypeInfo extends MapTypeInfo {
+    private final ClassName mutatorImplementationClassName;
+    private final ClassName primitiveMutatorClassName;
+    private final TypeName primitiveMutatorInterfaceTypeName;
+    private final TypeName primitiveMutatorFunctionTypeName;
+
+    /**
+     * Constructs a PrimitiveValueMapTypeInfo with the given type information.
+     *
+     * @param typeName the TypeName of the Map component
+     * @param keyTypeInfo the TypeInfo for the keys contained in the map
+     * @param valueTypeInfo the TypeInfo for the boxed values contained in the map
+     * @param mutatorInterfaceTypeName the TypeName of the simple map mutator interface
+     * @param mutatorFunctionTypeName the TypeName of the simple map function type used for mutation
+     * @param primitiveMutatorClassName the ClassName of the primitive map mutator interface
+     * @param primitiveMutatorInterfaceTypeName the TypeName of the primitive map mutator interface
+     * @param mutatorImplementationClassName the ClassName of the primitive map mutator implementation
+     * @param primitiveMutatorFunctionTypeName the TypeName of the function type taking the primitive mutator
+     */
+    public PrimitiveValueMapTypeInfo(
+            TypeName typeName,
+            TypeInfo keyTypeInfo,
+            TypeInfo valueTypeInfo,
+            TypeName mutatorInterfaceTypeName,
+            TypeName mutatorFunctionTypeName,
+            ClassName primitiveMutatorClassName,
+            TypeName primitiveMutatorInterfaceTypeName,
+            ClassName mutatorImplementationClassName,
+            TypeName primitiveMutatorFunctionTypeName
+    ) {
+        super(typeName, keyTypeInfo, valueTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName,
+                mutatorFunctionTypeName);
+        this.mutatorImplementationClassName = mutatorImplementationClassName;
+        this.primitiveMutatorClassName = primitiveMutatorClassName;
+        this.primitiveMutatorInterfaceTypeName = primitiveMutatorInterfaceTypeName;
+        this.primitiveMutatorFunctionTypeName = primitiveMutatorFunctionTypeName;
+    }
+
+    @Override
+    public void contributeToMutator(TypeSpec.Builder mutatorClassBuilder, String componentName, TypeName recordMutatorInterfaceTypeName) {
+        super.contributeToMutator(mutatorClassBuilder, componentName, recordMutatorInterfaceTypeName);
+
+        String simpleName = primitiveMutatorClassName.simpleName();
+        addSpecializedMutateMethod(mutatorClassBuilder, componentName, recordMutatorInterfaceTypeName,
+                simpleName.substring(0, simpleName.length() - "Mutator".length()),
+                primitiveMutatorInterfaceTypeName, primitiveMutatorFunctionTypeName);
+    }
+
+    @Override
+    public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
+        codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L)", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+    }
+}
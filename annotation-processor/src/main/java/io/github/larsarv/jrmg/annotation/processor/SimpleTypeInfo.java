@@ -4,6 +4,7 @@ import com.palantir.javapoet.*;
 
 import javax.lang.model.element.Modifier;
 import java.util.Locale;
+import java.util.function.Function;
 
 /**
  * TypeInfo implementation for simple types (primitives, String, etc.) that don't require
@@ -92,6 +93,47 @@ public class SimpleTypeInfo implements TypeInfo {
                 .build());
     }
 
+    /**
+     * Adds a mutate method to the mutator class whose function is given the specialized mutator of the component.
+     * Components with a specialized mutator keep the mutate and set methods of the general mutator interface, so
+     * that the generated API of existing records does not change, and reach the specialized operations through
+     * this method, such as {@code mutateScoresAsIntList} for an {@code IntListMutator}.
+     *
+     * @param mutatorClassBuilder the builder for the mutator class
+     * @param componentName the name of the component being processed
+     * @param recordMutatorInterfaceTypeName the type name of the record mutator interface
+     * @param kind the name of the specialized mutator without the Mutator suffix (e.g., "IntList", "Matrix")
+     * @param specializedMutatorInterfaceTypeName the TypeName of the specialized mutator interface
+     * @param specializedFunctionTypeName the TypeName of the function type taking the specialized mutator
+     */
+    protected void addSpecializedMutateMethod(
+            TypeSpec.Builder mutatorClassBuilder,
+            String componentName,
+            TypeName recordMutatorInterfaceTypeName,
+            String kind,
+            TypeName specializedMutatorInterfaceTypeName,
+            TypeName specializedFunctionTypeName
+    ) {
+        String fieldName = toFiledName(componentName);
+
+        CodeBlock.Builder codeBlockbuilder = CodeBlock.builder();
+        codeBlockbuilder.add("$T<$T,$T> factory = ", ClassName.get(Function.class), typeName, specializedMutatorInterfaceTypeName);
+        addMutatorFactoryCode(codeBlockbuilder, 0);
+        codeBlockbuilder
+                .add(";\n")
+                .addStatement("this.$N = mutateFunction.mutate(factory.apply(this.$N)).build()", fieldName, fieldName)
+                .addStatement("return this");
+
+        mutatorClassBuilder.addMethod(MethodSpec.methodBuilder(toMethodName("mutate", componentName) + "As" + kind)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(recordMutatorInterfaceTypeName)
+                .addParameter(
+                        specializedFunctionTypeName,
+                        "mutateFunction")
+                .addCode(codeBlockbuilder.build())
+                .build());
+    }
+
     /**
      * Converts a component name into a method name by capitalizing the first letter
      * of the component name and prefixing it with the given prefix.
@@ -0,0 +1,47 @@
+package io.github.larsarv.jrmg.annotation.processor;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.TypeName;
+
+/**
+ * TypeInfo implementation for {@code SortedMap} and {@code NavigableMap} components that are mutated by
+ * {@link io.github.larsarv.jrmg.api.SortedMapMutatorImpl}, which adds range operations to the map mutator.
+ * The keys are ordered by the map, so they are not mutated, and the mutator factory only takes the value
+ * mutator factory.
+ */
+public class SortedMapTypeInfo extends MapTypeInfo {
+    private final TypeInfo valueTypeInfo;
+    private final ClassName mutatorImplementationClassName;
+
+    /**
+     * Constructs a SortedMapTypeInfo with the given type information.
+     *
+     * @param typeName the TypeName of the sorted map component
+     * @param keyTypeInfo the TypeInfo for the keys contained in the map
+     * @param valueTypeInfo the TypeInfo for the values contained in the map
+     * @param mutatorInterfaceTypeName the TypeName of the sorted map mutator interface
+     * @param mutatorImplementationClassName the ClassName of the sorted map mutator implementation
+     * @param mutatorFunctionTypeName the TypeName of the function type used for mutation
+     */
+    public SortedMapTypeInfo(
+            TypeName typeName,
+            TypeInfo keyTypeInfo,
+            TypeInfo valueTypeInfo,
+            TypeName mutatorInterfaceTypeName,
+            ClassName mutatorImplementationClassName,
+            TypeName mutatorFunctionTypeName
+    ) {
+        super(typeName, keyTypeInfo, valueTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName,
+                mutatorFunctionTypeName);
+        this.valueTypeInfo = valueTypeInfo;
+        this.mutatorImplementationClassName = mutatorImplementationClassName;
+    }
+
+    @Override
+    public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
+        codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L, ", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+        valueTypeInfo.addMutatorFactoryCode(codeBlockbuilder, factoryMethodIndex + 1);
+        codeBlockbuilder.add(")");
+    }
+}
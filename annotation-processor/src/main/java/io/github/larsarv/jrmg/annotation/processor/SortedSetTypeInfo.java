@@ -0,0 +1,34 @@
+package io.github.larsarv.jrmg.annotation.processor;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.TypeName;
+
+/**
+ * TypeInfo implementation for {@code SortedSet} and {@code NavigableSet} components that are mutated by
+ * {@link io.github.larsarv.jrmg.api.SortedSetMutatorImpl}, which adds range operations to the set mutator.
+ * The elements are ordered by the set, so they are not mutated, and the mutator factory takes no element
+ * mutator factory.
+ */
+public class SortedSetTypeInfo extends CollectionTypeInfo {
+    private final ClassName mutatorImplementationClassName;
+
+    /**
+     * Constructs a SortedSetTypeInfo with the given type information.
+     *
+     * @param typeName the TypeName of the sorted set component
+     * @param elementTypeInfo the TypeInfo for the elements of the set, without a mutator
+     * @param mutatorInterfaceTypeName the TypeName of the sorted set mutator interface
+     * @param mutatorImplementationClassName the ClassName of the sorted set mutator implementation
+     * @param mutatorFunctionClassName the ClassName of the function type used for mutation
+     */
+    public SortedSetTypeInfo(TypeName typeName, TypeInfo elementTypeInfo, TypeName mutatorInterfaceTypeName, ClassName mutatorImplementationClassName, ClassName mutatorFunctionClassName) {
+        super(typeName, elementTypeInfo, mutatorInterfaceTypeName, mutatorImplementationClassName, mutatorFunctionClassName);
+        this.mutatorImplementationClassName = mutatorImplementationClassName;
+    }
+
+    @Override
+    public void addMutatorFactoryCode(CodeBlock.Builder codeBlockbuilder, int factoryMethodIndex) {
+        codeBlockbuilder.add("\nelement$L -> $T.mutator(element$L)", factoryMethodIndex, mutatorImplementationClassName, factoryMethodIndex);
+    }
+}
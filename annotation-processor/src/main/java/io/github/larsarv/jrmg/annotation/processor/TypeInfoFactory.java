@@ -1,6 +1,7 @@
 package io.github.larsarv.jrmg.annotation.processor;
 
 import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
 import com.palantir.javapoet.ParameterizedTypeName;
 import com.palantir.javapoet.TypeName;
 import io.github.larsarv.jrmg.api.*;
@@ -8,33 +9,71 @@ import io.github.larsarv.jrmg.api.*;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Queue;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
 
 /**
  * Factory class for creating TypeInfo instances based on a type.
  * It determines the appropriate TypeInfo implementation to use based on whether the component
- * is a primitive, a record annotated with GenerateMutator, a List, a Set, or a Map.
+ * is a primitive, a record annotated with GenerateMutator, a List, a List of Lists, a Set, a Map, a sorted Set or Map,
+ * a Deque or Queue, or an array.
  */
 public class TypeInfoFactory {
     private static final ClassName CLASS_NAME_LIST_MUTATOR_IMPL = ClassName.get(ListMutatorImpl.class);
+    private static final ClassName CLASS_NAME_PERSISTENT_LIST_MUTATOR_IMPL = ClassName.get(PersistentListMutatorImpl.class);
     private static final ClassName CLASS_NAME_NESTED_LIST_MUTATOR = ClassName.get(NestedListMutator.class);
     private static final ClassName CLASS_NAME_SIMPLE_LIST_MUTATOR = ClassName.get(SimpleListMutator.class);
     private static final ClassName CLASS_NAME_NESTED_LIST_MUTATE_FUNCTION = ClassName.get(NestedListMutateFunction.class);
     private static final ClassName CLASS_NAME_SIMPLE_LIST_MUTATE_FUNCTION = ClassName.get(SimpleListMutateFunction.class);
 
+    private static final ClassName CLASS_NAME_COMPARATOR = ClassName.get(Comparator.class);
+
+    private static final ClassName CLASS_NAME_INTEGER = ClassName.get(Integer.class);
+    private static final ClassName CLASS_NAME_LONG = ClassName.get(Long.class);
+    private static final ClassName CLASS_NAME_DOUBLE = ClassName.get(Double.class);
+    private static final ClassName CLASS_NAME_INT_LIST_MUTATOR = ClassName.get(IntListMutator.class);
+    private static final ClassName CLASS_NAME_INT_LIST_MUTATOR_IMPL = ClassName.get(IntListMutatorImpl.class);
+    private static final ClassName CLASS_NAME_INT_LIST_MUTATE_FUNCTION = ClassName.get(IntListMutateFunction.class);
+    private static final ClassName CLASS_NAME_LONG_LIST_MUTATOR = ClassName.get(LongListMutator.class);
+    private static final ClassName CLASS_NAME_LONG_LIST_MUTATOR_IMPL = ClassName.get(LongListMutatorImpl.class);
+    private static final ClassName CLASS_NAME_LONG_LIST_MUTATE_FUNCTION = ClassName.get(LongListMutateFunction.class);
+    private static final ClassName CLASS_NAME_DOUBLE_LIST_MUTATOR = ClassName.get(DoubleListMutator.class);
+    private static final ClassName CLASS_NAME_DOUBLE_LIST_MUTATOR_IMPL = ClassName.get(DoubleListMutatorImpl.class);
+    private static final ClassName CLASS_NAME_DOUBLE_LIST_MUTATE_FUNCTION = ClassName.get(DoubleListMutateFunction.class);
+
+    private static final ClassName CLASS_NAME_INT_VALUE_MAP_MUTATOR = ClassName.get(IntValueMapMutator.class);
+    private static final ClassName CLASS_NAME_INT_VALUE_MAP_MUTATOR_IMPL = ClassName.get(IntValueMapMutatorImpl.class);
+    private static final ClassName CLASS_NAME_INT_VALUE_MAP_MUTATE_FUNCTION = ClassName.get(IntValueMapMutateFunction.class);
+    private static final ClassName CLASS_NAME_LONG_VALUE_MAP_MUTATOR = ClassName.get(LongValueMapMutator.class);
+    private static final ClassName CLASS_NAME_LONG_VALUE_MAP_MUTATOR_IMPL = ClassName.get(LongValueMapMutatorImpl.class);
+    private static final ClassName CLASS_NAME_LONG_VALUE_MAP_MUTATE_FUNCTION = ClassName.get(LongValueMapMutateFunction.class);
+    private static final ClassName CLASS_NAME_DOUBLE_VALUE_MAP_MUTATOR = ClassName.get(DoubleValueMapMutator.class);
+    private static final ClassName CLASS_NAME_DOUBLE_VALUE_MAP_MUTATOR_IMPL = ClassName.get(DoubleValueMapMutatorImpl.class);
+    private static final ClassName CLASS_NAME_DOUBLE_VALUE_MAP_MUTATE_FUNCTION = ClassName.get(DoubleValueMapMutateFunction.class);
+
     private static final ClassName CLASS_NAME_SET_MUTATOR_IMPL = ClassName.get(SetMutatorImpl.class);
+    private static final ClassName CLASS_NAME_PERSISTENT_SET_MUTATOR_IMPL = ClassName.get(PersistentSetMutatorImpl.class);
     private static final ClassName CLASS_NAME_NESTED_SET_MUTATOR = ClassName.get(NestedSetMutator.class);
     private static final ClassName CLASS_NAME_SIMPLE_SET_MUTATOR = ClassName.get(SimpleSetMutator.class);
     private static final ClassName CLASS_NAME_NESTED_SET_MUTATE_FUNCTION = ClassName.get(NestedSetMutateFunction.class);
     private static final ClassName CLASS_NAME_SIMPLE_SET_MUTATE_FUNCTION = ClassName.get(SimpleSetMutateFunction.class);
 
     private static final ClassName CLASS_NAME_MAP_MUTATOR_IMPL = ClassName.get(MapMutatorImpl.class);
+    private static final ClassName CLASS_NAME_PERSISTENT_MAP_MUTATOR_IMPL = ClassName.get(PersistentMapMutatorImpl.class);
     private static final ClassName CLASS_NAME_NESTED_KEY_VALUE_MAP_MUTATOR = ClassName.get(NestedKeyValueMapMutator.class);
     private static final ClassName CLASS_NAME_NESTED_KEY_MAP_MUTATOR = ClassName.get(NestedKeyMapMutator.class);
     private static final ClassName CLASS_NAME_NESTED_VALUE_MAP_MUTATOR = ClassName.get(NestedValueMapMutator.class);
@@ -44,11 +83,55 @@ public class TypeInfoFactory {
     private static final ClassName CLASS_NAME_NESTED_MAP_VALUE_MUTATE_FUNCTION = ClassName.get(NestedMapValueMutateFunction.class);
     private static final ClassName CLASS_NAME_SIMPLE_MAP_MUTATE_FUNCTION = ClassName.get(SimpleMapMutateFunction.class);
 
+    private static final ClassName CLASS_NAME_SORTED_MAP_MUTATOR_IMPL = ClassName.get(SortedMapMutatorImpl.class);
+    private static final ClassName CLASS_NAME_SORTED_MAP_MUTATOR = ClassName.get(SortedMapMutator.class);
+    private static final ClassName CLASS_NAME_NESTED_VALUE_SORTED_MAP_MUTATOR = ClassName.get(NestedValueSortedMapMutator.class);
+    private static final ClassName CLASS_NAME_SORTED_MAP_MUTATE_FUNCTION = ClassName.get(SortedMapMutateFunction.class);
+    private static final ClassName CLASS_NAME_NESTED_SORTED_MAP_VALUE_MUTATE_FUNCTION = ClassName.get(NestedSortedMapValueMutateFunction.class);
+    private static final ClassName CLASS_NAME_SORTED_SET_MUTATOR_IMPL = ClassName.get(SortedSetMutatorImpl.class);
+    private static final ClassName CLASS_NAME_SORTED_SET_MUTATOR = ClassName.get(SortedSetMutator.class);
+    private static final ClassName CLASS_NAME_SORTED_SET_MUTATE_FUNCTION = ClassName.get(SortedSetMutateFunction.class);
+
+    private static final ClassName CLASS_NAME_MULTIMAP_MUTATOR_IMPL = ClassName.get(MultimapMutatorImpl.class);
+    private static final ClassName CLASS_NAME_MULTIMAP_MUTATOR = ClassName.get(MultimapMutator.class);
+    private static final ClassName CLASS_NAME_MULTIMAP_MUTATE_FUNCTION = ClassName.get(MultimapMutateFunction.class);
+
+    private static final ClassName CLASS_NAME_MATRIX_MUTATOR_IMPL = ClassName.get(MatrixMutatorImpl.class);
+    private static final ClassName CLASS_NAME_MATRIX_MUTATOR = ClassName.get(MatrixMutator.class);
+    private static final ClassName CLASS_NAME_MATRIX_MUTATE_FUNCTION = ClassName.get(MatrixMutateFunction.class);
+
+    private static final ClassName CLASS_NAME_DEQUE_MUTATOR_IMPL = ClassName.get(DequeMutatorImpl.class);
+    private static final ClassName CLASS_NAME_DEQUE_MUTATOR = ClassName.get(DequeMutator.class);
+    private static final ClassName CLASS_NAME_DEQUE_MUTATE_FUNCTION = ClassName.get(DequeMutateFunction.class);
+
+    private static final ClassName CLASS_NAME_INT_ARRAY_MUTATOR = ClassName.get(IntArrayMutator.class);
+    private static final ClassName CLASS_NAME_INT_ARRAY_MUTATOR_IMPL = ClassName.get(IntArrayMutatorImpl.class);
+    private static final ClassName CLASS_NAME_INT_ARRAY_MUTATE_FUNCTION = ClassName.get(IntArrayMutateFunction.class);
+    private static final ClassName CLASS_NAME_LONG_ARRAY_MUTATOR = ClassName.get(LongArrayMutator.class);
+    private static final ClassName CLASS_NAME_LONG_ARRAY_MUTATOR_IMPL = ClassName.get(LongArrayMutatorImpl.class);
+    private static final ClassName CLASS_NAME_LONG_ARRAY_MUTATE_FUNCTION = ClassName.get(LongArrayMutateFunction.class);
+    private static final ClassName CLASS_NAME_DOUBLE_ARRAY_MUTATOR = ClassName.get(DoubleArrayMutator.class);
+    private static final ClassName CLASS_NAME_DOUBLE_ARRAY_MUTATOR_IMPL = ClassName.get(DoubleArrayMutatorImpl.class);
+    private static final ClassName CLASS_NAME_DOUBLE_ARRAY_MUTATE_FUNCTION = ClassName.get(DoubleArrayMutateFunction.class);
+    private static final ClassName CLASS_NAME_BYTE_ARRAY_MUTATOR = ClassName.get(ByteArrayMutator.class);
+    private static final ClassName CLASS_NAME_BYTE_ARRAY_MUTATOR_IMPL = ClassName.get(ByteArrayMutatorImpl.class);
+    private static final ClassName CLASS_NAME_BYTE_ARRAY_MUTATE_FUNCTION = ClassName.get(ByteArrayMutateFunction.class);
+    private static final ClassName CLASS_NAME_OBJECT_ARRAY_MUTATOR = ClassName.get(ObjectArrayMutator.class);
+    private static final ClassName CLASS_NAME_OBJECT_ARRAY_MUTATOR_IMPL = ClassName.get(ObjectArrayMutatorImpl.class);
+    private static final ClassName CLASS_NAME_OBJECT_ARRAY_MUTATE_FUNCTION = ClassName.get(ObjectArrayMutateFunction.class);
+
 
     private final ProcessingEnvironment processingEnv;
     private final TypeElement listTypeElement;
     private final TypeElement setTypeElement;
     private final TypeElement mapTypeElement;
+    private final TypeElement sortedSetTypeElement;
+    private final TypeElement navigableSetTypeElement;
+    private final TypeElement sortedMapTypeElement;
+    private final TypeElement navigableMapTypeElement;
+    private final TypeElement dequeTypeElement;
+    private final TypeElement queueTypeElement;
+    private final TypeElement comparableTypeElement;
 
     /**
      * Creates a new TypeInfoFactory with the given processing environment.
@@ -60,6 +143,13 @@ public class TypeInfoFactory {
         this.listTypeElement = processingEnv.getElementUtils().getTypeElement(List.class.getCanonicalName());
         this.setTypeElement = processingEnv.getElementUtils().getTypeElement(Set .class.getCanonicalName());
         this.mapTypeElement = processingEnv.getElementUtils().getTypeElement(Map.class.getCanonicalName());
+        this.sortedSetTypeElement = processingEnv.getElementUtils().getTypeElement(SortedSet.class.getCanonicalName());
+        this.navigableSetTypeElement = processingEnv.getElementUtils().getTypeElement(NavigableSet.class.getCanonicalName());
+        this.sortedMapTypeElement = processingEnv.getElementUtils().getTypeElement(SortedMap.class.getCanonicalName());
+        this.navigableMapTypeElement = processingEnv.getElementUtils().getTypeElement(NavigableMap.class.getCanonicalName());
+        this.dequeTypeElement = processingEnv.getElementUtils().getTypeElement(Deque.class.getCanonicalName());
+        this.queueTypeElement = processingEnv.getElementUtils().getTypeElement(Queue.class.getCanonicalName());
+        this.comparableTypeElement = processingEnv.getElementUtils().getTypeElement(Comparable.class.getCanonicalName());
     }
 
     /**
@@ -69,8 +159,25 @@ public class TypeInfoFactory {
      * @return a TypeInfo instance representing the type, with appropriate mutator and collection handling
      */
     public TypeInfo createTypeInfo(TypeMirror type) {
+        return createTypeInfo(type, CollectionBackend.DEFAULT);
+    }
+
+    /**
+     * Creates a TypeInfo instance for the given type mirror, using the given backend for collections.
+     * The backend also applies to collections nested within the type.
+     *
+     * @param type the TypeMirror representing the type to process
+     * @param collectionBackend the backend used for collection mutators
+     * @return a TypeInfo instance representing the type, with appropriate mutator and collection handling
+     */
+    public TypeInfo createTypeInfo(TypeMirror type, CollectionBackend collectionBackend) {
         TypeName typeName = TypeName.get(type);
-        if (type.getKind() == TypeKind.DECLARED) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeInfo arrayTypeInfo = createArrayTypeInfo(typeName, (ArrayType) type);
+            if (arrayTypeInfo != null) {
+                return arrayTypeInfo;
+            }
+        } else if (type.getKind() == TypeKind.DECLARED) {
             DeclaredType declaredType = (DeclaredType) type;
             Element typeElement = processingEnv.getTypeUtils().asElement(declaredType);
             if (isRecordAnnotatedWithGenerateMutator(typeElement)) {
@@ -83,52 +190,91 @@ public class TypeInfoFactory {
                         mutatorClassName);
             } else {
                 if (isList(declaredType)) {
-                    TypeInfo elementTypeInfo = createTypeInfo(declaredType.getTypeArguments().get(0));
-                    if (elementTypeInfo.getMutatorInterfaceTypeName() != null) {
-                        // Component is a list of mutable elements
-                        return new CollectionTypeInfo(
-                                typeName,
-                                elementTypeInfo,
-                                ParameterizedTypeName.get(CLASS_NAME_NESTED_LIST_MUTATOR, elementTypeInfo.getTypeName(), elementTypeInfo.getMutatorInterfaceTypeName()),
-                                CLASS_NAME_LIST_MUTATOR_IMPL,
-                                CLASS_NAME_NESTED_LIST_MUTATE_FUNCTION);
-                    } else {
-                        // Simple list
-                        return new CollectionTypeInfo(
-                                typeName,
-                                elementTypeInfo,
-                                ParameterizedTypeName.get(CLASS_NAME_SIMPLE_LIST_MUTATOR, elementTypeInfo.getTypeName()),
-                                CLASS_NAME_LIST_MUTATOR_IMPL,
-                                CLASS_NAME_SIMPLE_LIST_MUTATE_FUNCTION);
+                    TypeInfo elementTypeInfo = createElementTypeInfo(declaredType.getTypeArguments().get(0), collectionBackend);
+                    ClassName listMutatorImplClassName = collectionBackend == CollectionBackend.PERSISTENT
+                            ? CLASS_NAME_PERSISTENT_LIST_MUTATOR_IMPL
+                            : CLASS_NAME_LIST_MUTATOR_IMPL;
+                    TypeInfo primitiveListTypeInfo = createPrimitiveListTypeInfo(typeName, elementTypeInfo, collectionBackend);
+                    if (primitiveListTypeInfo != null) {
+                        // Component is a list of boxed numeric values, stored unboxed
+                        return primitiveListTypeInfo;
+                    }
+                    TypeInfo matrixTypeInfo = createMatrixTypeInfo(typeName, elementTypeInfo, declaredType.getTypeArguments().get(0), collectionBackend);
+                    if (matrixTypeInfo != null) {
+                        // Component is a list of lists, whose cells can be written into a flat array
+                        return matrixTypeInfo;
                     }
+                    return createListTypeInfo(typeName, elementTypeInfo, listMutatorImplClassName, null);
+                } else if (isSortedSet(declaredType) && declaredType.getTypeArguments().size() == 1) {
+                    // Sorted sets are kept in a tree whatever the backend, and their elements are not mutated
+                    TypeName elementTypeName = TypeName.get(declaredType.getTypeArguments().get(0));
+                    return new SortedSetTypeInfo(
+                            typeName,
+                            new SimpleTypeInfo(elementTypeName),
+                            ParameterizedTypeName.get(CLASS_NAME_SORTED_SET_MUTATOR, elementTypeName),
+                            CLASS_NAME_SORTED_SET_MUTATOR_IMPL,
+                            CLASS_NAME_SORTED_SET_MUTATE_FUNCTION);
+                } else if (isSortedMap(declaredType) && declaredType.getTypeArguments().size() == 2) {
+                    return createSortedMapTypeInfo(typeName, declaredType, collectionBackend);
+                } else if (isDeque(declaredType) && declaredType.getTypeArguments().size() == 1) {
+                    // Deques and queues are kept in a circular array whatever the backend, and their elements are not mutated
+                    TypeName elementTypeName = TypeName.get(declaredType.getTypeArguments().get(0));
+                    return new DequeTypeInfo(
+                            typeName,
+                            new SimpleTypeInfo(elementTypeName),
+                            ParameterizedTypeName.get(CLASS_NAME_DEQUE_MUTATOR, elementTypeName),
+                            CLASS_NAME_DEQUE_MUTATOR_IMPL,
+                            CLASS_NAME_DEQUE_MUTATE_FUNCTION);
                 } else if (isSet(declaredType)) {
-                    TypeInfo elementTypeInfo = createTypeInfo(declaredType.getTypeArguments().get(0));
+                    TypeInfo elementTypeInfo = createElementTypeInfo(declaredType.getTypeArguments().get(0), collectionBackend);
+                    ClassName setMutatorImplClassName = collectionBackend == CollectionBackend.PERSISTENT
+                            ? CLASS_NAME_PERSISTENT_SET_MUTATOR_IMPL
+                            : CLASS_NAME_SET_MUTATOR_IMPL;
+                    TypeName enumElementTypeName = enumTypeNameForDefaultBackend(declaredType.getTypeArguments().get(0), collectionBackend);
                     if (elementTypeInfo.getMutatorInterfaceTypeName() != null) {
                         // Component is a set of mutable elements
                         return new CollectionTypeInfo(
                                 typeName,
                                 elementTypeInfo,
                                 ParameterizedTypeName.get(CLASS_NAME_NESTED_SET_MUTATOR, elementTypeInfo.getTypeName(), elementTypeInfo.getMutatorInterfaceTypeName()),
-                                CLASS_NAME_SET_MUTATOR_IMPL,
-                                CLASS_NAME_NESTED_SET_MUTATE_FUNCTION);
+                                setMutatorImplClassName,
+                                CLASS_NAME_NESTED_SET_MUTATE_FUNCTION,
+                                enumElementTypeName);
                     } else {
                         // Simple set
                         return new CollectionTypeInfo(
                                 typeName,
                                 elementTypeInfo,
                                 ParameterizedTypeName.get(CLASS_NAME_SIMPLE_SET_MUTATOR, elementTypeInfo.getTypeName()),
-                                CLASS_NAME_SET_MUTATOR_IMPL,
-                                CLASS_NAME_SIMPLE_SET_MUTATE_FUNCTION);
+                                setMutatorImplClassName,
+                                CLASS_NAME_SIMPLE_SET_MUTATE_FUNCTION,
+                                enumElementTypeName);
                     }
                 } else if (isMap(declaredType)) {
                     List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
                     if (typeArguments.size() == 2) {
-                        TypeInfo keyTypeInfo = createTypeInfo(typeArguments.get(0));
-                        TypeInfo valueTypeInfo = createTypeInfo(typeArguments.get(1));
+                        TypeInfo keyTypeInfo = createElementTypeInfo(typeArguments.get(0), collectionBackend);
+                        TypeInfo valueTypeInfo = createElementTypeInfo(typeArguments.get(1), collectionBackend);
                         boolean hasKeyMutator = keyTypeInfo.getMutatorInterfaceTypeName() != null;
                         boolean hasValueMutator = valueTypeInfo.getMutatorInterfaceTypeName() != null;
-                        
-                        if (hasKeyMutator && hasValueMutator) {
+                        ClassName mapMutatorImplClassName = collectionBackend == CollectionBackend.PERSISTENT
+                                ? CLASS_NAME_PERSISTENT_MAP_MUTATOR_IMPL
+                                : CLASS_NAME_MAP_MUTATOR_IMPL;
+                        TypeName enumKeyTypeName = enumTypeNameForDefaultBackend(typeArguments.get(0), collectionBackend);
+                        TypeInfo primitiveValueMapTypeInfo = hasKeyMutator || enumKeyTypeName != null
+                                ? null
+                                : createPrimitiveValueMapTypeInfo(typeName, keyTypeInfo, valueTypeInfo, collectionBackend);
+                        TypeInfo multimapTypeInfo = hasKeyMutator
+                                ? null
+                                : createMultimapTypeInfo(typeName, keyTypeInfo, valueTypeInfo, typeArguments.get(1), collectionBackend, enumKeyTypeName);
+
+                        if (primitiveValueMapTypeInfo != null) {
+                            // Map with simple keys and boxed numeric values, stored unboxed
+                            return primitiveValueMapTypeInfo;
+                        } else if (multimapTypeInfo != null) {
+                            // Map with simple keys and list or set values, whose buckets stay open while appending
+                            return multimapTypeInfo;
+                        } else if (hasKeyMutator && hasValueMutator) {
                             // Map with mutable keys and values
                             return new MapTypeInfo(
                                     typeName,
@@ -139,13 +285,14 @@ public class TypeInfoFactory {
                                         valueTypeInfo.getTypeName(),
                                         keyTypeInfo.getMutatorInterfaceTypeName(),
                                         valueTypeInfo.getMutatorInterfaceTypeName()),
-                                    CLASS_NAME_MAP_MUTATOR_IMPL,
+                                    mapMutatorImplClassName,
                                     ParameterizedTypeName.get(
                                             CLASS_NAME_NESTED_MAP_KEY_VALUE_MUTATE_FUNCTION,
                                             keyTypeInfo.getTypeName(),
                                             valueTypeInfo.getTypeName(),
                                             keyTypeInfo.getMutatorInterfaceTypeName(),
-                                            valueTypeInfo.getMutatorInterfaceTypeName()));
+                                            valueTypeInfo.getMutatorInterfaceTypeName()),
+                                    enumKeyTypeName);
                         } else if (hasKeyMutator) {
                             // Map with mutable keys only
                             return new MapTypeInfo(
@@ -156,12 +303,13 @@ public class TypeInfoFactory {
                                         keyTypeInfo.getTypeName(),
                                         valueTypeInfo.getTypeName(),
                                         keyTypeInfo.getMutatorInterfaceTypeName()),
-                                    CLASS_NAME_MAP_MUTATOR_IMPL,
+                                    mapMutatorImplClassName,
                                     ParameterizedTypeName.get(
                                             CLASS_NAME_NESTED_MAP_KEY_MUTATE_FUNCTION,
                                             keyTypeInfo.getTypeName(),
                                             valueTypeInfo.getTypeName(),
-                                            keyTypeInfo.getMutatorInterfaceTypeName()));
+                                            keyTypeInfo.getMutatorInterfaceTypeName()),
+                                    enumKeyTypeName);
                         } else if (hasValueMutator) {
                             // Map with mutable values only
                             return new MapTypeInfo(
@@ -172,12 +320,13 @@ public class TypeInfoFactory {
                                         keyTypeInfo.getTypeName(),
                                         valueTypeInfo.getTypeName(),
                                         valueTypeInfo.getMutatorInterfaceTypeName()),
-                                    CLASS_NAME_MAP_MUTATOR_IMPL,
+                                    mapMutatorImplClassName,
                                     ParameterizedTypeName.get(
                                             CLASS_NAME_NESTED_MAP_VALUE_MUTATE_FUNCTION,
                                             keyTypeInfo.getTypeName(),
                                             valueTypeInfo.getTypeName(),
-                                            valueTypeInfo.getMutatorInterfaceTypeName()));
+                                            valueTypeInfo.getMutatorInterfaceTypeName()),
+                                    enumKeyTypeName);
                         } else {
                             // Simple map
                             return new MapTypeInfo(
@@ -187,11 +336,12 @@ public class TypeInfoFactory {
                                     ParameterizedTypeName.get(CLASS_NAME_SIMPLE_MAP_MUTATOR,
                                         keyTypeInfo.getTypeName(),
                                         valueTypeInfo.getTypeName()),
-                                    CLASS_NAME_MAP_MUTATOR_IMPL,
+                                    mapMutatorImplClassName,
                                     ParameterizedTypeName.get(
                                             CLASS_NAME_SIMPLE_MAP_MUTATE_FUNCTION,
                                             keyTypeInfo.getTypeName(),
-                                            valueTypeInfo.getTypeName()));
+                                            valueTypeInfo.getTypeName()),
+                                    enumKeyTypeName);
                         }
                     }
                 }
@@ -201,6 +351,314 @@ public class TypeInfoFactory {
         return new SimpleTypeInfo(typeName);
     }
 
+    /**
+     * Creates a TypeInfo instance for a list component annotated with {@link SortedBy}, whose mutator keeps the
+     * list sorted.
+     *
+     * @param type the TypeMirror representing the type of the component
+     * @param collectionBackend the backend used for collection mutators
+     * @param key the accessor of the sort key of the elements, or an empty string to sort the elements themselves
+     * @param comparatorType the type of the comparator, or null to use the natural order
+     * @return a TypeInfo instance representing the sorted list
+     * @throws IllegalArgumentException if the component can not be kept sorted
+     */
+    public TypeInfo createSortedListTypeInfo(TypeMirror type, CollectionBackend collectionBackend, String key, TypeMirror comparatorType) {
+        if (type.getKind() != TypeKind.DECLARED || !isList((DeclaredType) type)) {
+            throw new IllegalArgumentException("SortedBy is only valid for List components.");
+        }
+        if (collectionBackend == CollectionBackend.PERSISTENT) {
+            throw new IllegalArgumentException("SortedBy is not valid for lists using the persistent collection backend.");
+        }
+        // A sorted list keeps boxed elements whatever the backend, as the elements are inserted by comparator
+        TypeMirror elementType = ((DeclaredType) type).getTypeArguments().get(0);
+        TypeInfo elementTypeInfo = createElementTypeInfo(elementType, collectionBackend);
+
+        CodeBlock comparatorCode;
+        TypeName elementTypeName = elementTypeInfo.getTypeName();
+        if (!key.isEmpty()) {
+            if (!hasAccessor(elementType, key)) {
+                throw new IllegalArgumentException("SortedBy key " + key + " is not an accessor of " + elementTypeName + ".");
+            }
+            comparatorCode = comparatorType != null
+                    ? CodeBlock.of("$T.comparing($T::$N, new $T())", CLASS_NAME_COMPARATOR, elementTypeName, key, TypeName.get(comparatorType))
+                    : CodeBlock.of("$T.comparing($T::$N)", CLASS_NAME_COMPARATOR, elementTypeName, key);
+        } else if (comparatorType != null) {
+            comparatorCode = CodeBlock.of("new $T()", TypeName.get(comparatorType));
+        } else {
+            TypeMirror comparableType = processingEnv.getTypeUtils().erasure(comparableTypeElement.asType());
+            if (!processingEnv.getTypeUtils().isAssignable(elementType, comparableType)) {
+                throw new IllegalArgumentException("SortedBy without key or comparator requires Comparable elements.");
+            }
+            comparatorCode = CodeBlock.of("$T.naturalOrder()", CLASS_NAME_COMPARATOR);
+        }
+        return createListTypeInfo(TypeName.get(type), elementTypeInfo, CLASS_NAME_LIST_MUTATOR_IMPL, comparatorCode);
+    }
+
+    private TypeInfo createListTypeInfo(TypeName typeName, TypeInfo elementTypeInfo, ClassName listMutatorImplClassName, CodeBlock sortComparatorCode) {
+        if (elementTypeInfo.getMutatorInterfaceTypeName() != null) {
+            // Component is a list of mutable elements
+            return new CollectionTypeInfo(
+                    typeName,
+                    elementTypeInfo,
+                    ParameterizedTypeName.get(CLASS_NAME_NESTED_LIST_MUTATOR, elementTypeInfo.getTypeName(), elementTypeInfo.getMutatorInterfaceTypeName()),
+                    listMutatorImplClassName,
+                    CLASS_NAME_NESTED_LIST_MUTATE_FUNCTION,
+                    null,
+                    sortComparatorCode);
+        } else {
+            // Simple list
+            return new CollectionTypeInfo(
+                    typeName,
+                    elementTypeInfo,
+                    ParameterizedTypeName.get(CLASS_NAME_SIMPLE_LIST_MUTATOR, elementTypeInfo.getTypeName()),
+                    listMutatorImplClassName,
+                    CLASS_NAME_SIMPLE_LIST_MUTATE_FUNCTION,
+                    null,
+                    sortComparatorCode);
+        }
+    }
+
+    private TypeInfo createElementTypeInfo(TypeMirror type, CollectionBackend collectionBackend) {
+        // The build method of a sorted mutator returns a NavigableMap or NavigableSet, while an element mutator has to
+        // be a Mutator of the exact element type, so sorted elements, keys and values are treated as simple values.
+        // Deques and queues are handled the same way, as their mutator builds a Deque whatever the component type.
+        // Arrays are compared by identity in sets and maps, so arrays within collections are simple values as well.
+        if (type.getKind() == TypeKind.ARRAY) {
+            return new SimpleTypeInfo(TypeName.get(type));
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) type;
+            if (isSortedSet(declaredType) || isSortedMap(declaredType) || isDeque(declaredType)) {
+                return new SimpleTypeInfo(TypeName.get(type));
+            }
+        }
+        return createTypeInfo(type, collectionBackend);
+    }
+
+    private TypeInfo createSortedMapTypeInfo(TypeName typeName, DeclaredType declaredType, CollectionBackend collectionBackend) {
+        // Sorted maps are kept in a tree whatever the backend, and their keys are not mutated
+        List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+        TypeInfo keyTypeInfo = new SimpleTypeInfo(TypeName.get(typeArguments.get(0)));
+        TypeInfo valueTypeInfo = createElementTypeInfo(typeArguments.get(1), collectionBackend);
+        if (valueTypeInfo.getMutatorInterfaceTypeName() != null) {
+            // Sorted map with mutable values
+            return new SortedMapTypeInfo(
+                    typeName,
+                    keyTypeInfo,
+                    valueTypeInfo,
+                    ParameterizedTypeName.get(CLASS_NAME_NESTED_VALUE_SORTED_MAP_MUTATOR,
+                            keyTypeInfo.getTypeName(),
+                            valueTypeInfo.getTypeName(),
+                            valueTypeInfo.getMutatorInterfaceTypeName()),
+                    CLASS_NAME_SORTED_MAP_MUTATOR_IMPL,
+                    ParameterizedTypeName.get(
+                            CLASS_NAME_NESTED_SORTED_MAP_VALUE_MUTATE_FUNCTION,
+                            keyTypeInfo.getTypeName(),
+                            valueTypeInfo.getTypeName(),
+                            valueTypeInfo.getMutatorInterfaceTypeName()));
+        } else {
+            // Simple sorted map
+            return new SortedMapTypeInfo(
+                    typeName,
+                    keyTypeInfo,
+                    valueTypeInfo,
+                    ParameterizedTypeName.get(CLASS_NAME_SORTED_MAP_MUTATOR,
+                            keyTypeInfo.getTypeName(),
+                            valueTypeInfo.getTypeName()),
+                    CLASS_NAME_SORTED_MAP_MUTATOR_IMPL,
+                    ParameterizedTypeName.get(
+                            CLASS_NAME_SORTED_MAP_MUTATE_FUNCTION,
+                            keyTypeInfo.getTypeName(),
+                            valueTypeInfo.getTypeName()));
+        }
+    }
+
+    private TypeInfo createPrimitiveListTypeInfo(TypeName typeName, TypeInfo elementTypeInfo, CollectionBackend collectionBackend) {
+        // Only the primitive backend unboxes the values, as the unboxed storage does not support null elements
+        if (collectionBackend != CollectionBackend.PRIMITIVE) {
+            return null;
+        }
+        TypeName elementTypeName = elementTypeInfo.getTypeName();
+        // The mutate functions of existing records take a simple list mutator, which the primitive mutator extends
+        TypeName simpleListMutatorTypeName = ParameterizedTypeName.get(CLASS_NAME_SIMPLE_LIST_MUTATOR, elementTypeName);
+        if (CLASS_NAME_INTEGER.equals(elementTypeName)) {
+            return new PrimitiveListTypeInfo(typeName, elementTypeInfo, simpleListMutatorTypeName, CLASS_NAME_SIMPLE_LIST_MUTATE_FUNCTION,
+                    CLASS_NAME_INT_LIST_MUTATOR, CLASS_NAME_INT_LIST_MUTATOR_IMPL, CLASS_NAME_INT_LIST_MUTATE_FUNCTION);
+        } else if (CLASS_NAME_LONG.equals(elementTypeName)) {
+            return new PrimitiveListTypeInfo(typeName, elementTypeInfo, simpleListMutatorTypeName, CLASS_NAME_SIMPLE_LIST_MUTATE_FUNCTION,
+                    CLASS_NAME_LONG_LIST_MUTATOR, CLASS_NAME_LONG_LIST_MUTATOR_IMPL, CLASS_NAME_LONG_LIST_MUTATE_FUNCTION);
+        } else if (CLASS_NAME_DOUBLE.equals(elementTypeName)) {
+            return new PrimitiveListTypeInfo(typeName, elementTypeInfo, simpleListMutatorTypeName, CLASS_NAME_SIMPLE_LIST_MUTATE_FUNCTION,
+                    CLASS_NAME_DOUBLE_LIST_MUTATOR, CLASS_NAME_DOUBLE_LIST_MUTATOR_IMPL, CLASS_NAME_DOUBLE_LIST_MUTATE_FUNCTION);
+        }
+        return null;
+    }
+
+    private TypeInfo createMatrixTypeInfo(TypeName typeName, TypeInfo rowTypeInfo, TypeMirror rowType, CollectionBackend collectionBackend) {
+        // The persistent backend shares the structure of its rows already, so it is not specialized
+        if (collectionBackend == CollectionBackend.PERSISTENT || rowType.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        DeclaredType rowDeclaredType = (DeclaredType) rowType;
+        if (!isList(rowDeclaredType) || rowDeclaredType.getTypeArguments().size() != 1 || rowTypeInfo.getMutatorInterfaceTypeName() == null) {
+            return null;
+        }
+        TypeName cellTypeName = TypeName.get(rowDeclaredType.getTypeArguments().get(0));
+        // The mutate functions of existing records take a nested list mutator, which the matrix mutator extends
+        return new MatrixTypeInfo(
+                typeName,
+                rowTypeInfo,
+                ParameterizedTypeName.get(CLASS_NAME_NESTED_LIST_MUTATOR, rowTypeInfo.getTypeName(), rowTypeInfo.getMutatorInterfaceTypeName()),
+                CLASS_NAME_NESTED_LIST_MUTATE_FUNCTION,
+                ParameterizedTypeName.get(CLASS_NAME_MATRIX_MUTATOR, cellTypeName, rowTypeInfo.getMutatorInterfaceTypeName()),
+                CLASS_NAME_MATRIX_MUTATOR_IMPL,
+                ParameterizedTypeName.get(CLASS_NAME_MATRIX_MUTATE_FUNCTION, cellTypeName, rowTypeInfo.getMutatorInterfaceTypeName()));
+    }
+
+    private TypeInfo createArrayTypeInfo(TypeName typeName, ArrayType arrayType) {
+        TypeMirror componentType = arrayType.getComponentType();
+        TypeName componentTypeName = TypeName.get(componentType);
+        TypeInfo elementTypeInfo = new SimpleTypeInfo(componentTypeName);
+        switch (componentType.getKind()) {
+            case INT:
+                return new ArrayTypeInfo(typeName, elementTypeInfo, CLASS_NAME_INT_ARRAY_MUTATOR,
+                        CLASS_NAME_INT_ARRAY_MUTATOR_IMPL, CLASS_NAME_INT_ARRAY_MUTATE_FUNCTION);
+            case LONG:
+                return new ArrayTypeInfo(typeName, elementTypeInfo, CLASS_NAME_LONG_ARRAY_MUTATOR,
+                        CLASS_NAME_LONG_ARRAY_MUTATOR_IMPL, CLASS_NAME_LONG_ARRAY_MUTATE_FUNCTION);
+            case DOUBLE:
+                return new ArrayTypeInfo(typeName, elementTypeInfo, CLASS_NAME_DOUBLE_ARRAY_MUTATOR,
+                        CLASS_NAME_DOUBLE_ARRAY_MUTATOR_IMPL, CLASS_NAME_DOUBLE_ARRAY_MUTATE_FUNCTION);
+            case BYTE:
+                return new ArrayTypeInfo(typeName, elementTypeInfo, CLASS_NAME_BYTE_ARRAY_MUTATOR,
+                        CLASS_NAME_BYTE_ARRAY_MUTATOR_IMPL, CLASS_NAME_BYTE_ARRAY_MUTATE_FUNCTION);
+            case ARRAY:
+                return createObjectArrayTypeInfo(typeName, elementTypeInfo);
+            case DECLARED:
+                // The generated code creates arrays with a constructor reference, which is not allowed for generic types
+                if (((DeclaredType) componentType).getTypeArguments().isEmpty()) {
+                    return createObjectArrayTypeInfo(typeName, elementTypeInfo);
+                }
+                return null;
+            default:
+                // Arrays of the other primitive types and of type variables are simple values
+                return null;
+        }
+    }
+
+    private TypeInfo createObjectArrayTypeInfo(TypeName typeName, TypeInfo elementTypeInfo) {
+        return new ArrayTypeInfo(typeName, elementTypeInfo,
+                ParameterizedTypeName.get(CLASS_NAME_OBJECT_ARRAY_MUTATOR, elementTypeInfo.getTypeName()),
+                CLASS_NAME_OBJECT_ARRAY_MUTATOR_IMPL, CLASS_NAME_OBJECT_ARRAY_MUTATE_FUNCTION);
+    }
+
+    private TypeInfo createMultimapTypeInfo(TypeName typeName, TypeInfo keyTypeInfo, TypeInfo valueTypeInfo, TypeMirror valueType, CollectionBackend collectionBackend, TypeName enumKeyTypeName) {
+        // The persistent backend shares the structure of its buckets already, so it is not specialized
+        if (collectionBackend == CollectionBackend.PERSISTENT || valueType.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        DeclaredType valueDeclaredType = (DeclaredType) valueType;
+        String factoryMethodName;
+        if (isList(valueDeclaredType)) {
+            factoryMethodName = "listMutator";
+        } else if (isSet(valueDeclaredType)) {
+            factoryMethodName = "setMutator";
+        } else {
+            return null;
+        }
+        if (valueDeclaredType.getTypeArguments().size() != 1 || valueTypeInfo.getMutatorInterfaceTypeName() == null) {
+            return null;
+        }
+        TypeName elementTypeName = TypeName.get(valueDeclaredType.getTypeArguments().get(0));
+        // The mutate functions of existing records take a nested value map mutator, which the multimap mutator extends
+        return new MultimapTypeInfo(
+                typeName,
+                keyTypeInfo,
+                valueTypeInfo,
+                ParameterizedTypeName.get(CLASS_NAME_NESTED_VALUE_MAP_MUTATOR,
+                        keyTypeInfo.getTypeName(),
+                        valueTypeInfo.getTypeName(),
+                        valueTypeInfo.getMutatorInterfaceTypeName()),
+                ParameterizedTypeName.get(CLASS_NAME_NESTED_MAP_VALUE_MUTATE_FUNCTION,
+                        keyTypeInfo.getTypeName(),
+                        valueTypeInfo.getTypeName(),
+                        valueTypeInfo.getMutatorInterfaceTypeName()),
+                ParameterizedTypeName.get(CLASS_NAME_MULTIMAP_MUTATOR,
+                        keyTypeInfo.getTypeName(),
+                        elementTypeName,
+                        valueTypeInfo.getTypeName(),
+                        valueTypeInfo.getMutatorInterfaceTypeName()),
+                CLASS_NAME_MULTIMAP_MUTATOR_IMPL,
+                ParameterizedTypeName.get(CLASS_NAME_MULTIMAP_MUTATE_FUNCTION,
+                        keyTypeInfo.getTypeName(),
+                        elementTypeName,
+                        valueTypeInfo.getTypeName(),
+                        valueTypeInfo.getMutatorInterfaceTypeName()),
+                factoryMethodName,
+                enumKeyTypeName);
+    }
+
+    private TypeInfo createPrimitiveValueMapTypeInfo(TypeName typeName, TypeInfo keyTypeInfo, TypeInfo valueTypeInfo, CollectionBackend collectionBackend) {
+        // Like primitive lists, only the primitive backend unboxes the values; enum keys keep using EnumMap
+        if (collectionBackend != CollectionBackend.PRIMITIVE) {
+            return null;
+        }
+        TypeName valueTypeName = valueTypeInfo.getTypeName();
+        ClassName mutatorClassName;
+        ClassName mutatorImplClassName;
+        ClassName mutateFunctionClassName;
+        if (CLASS_NAME_INTEGER.equals(valueTypeName)) {
+            mutatorClassName = CLASS_NAME_INT_VALUE_MAP_MUTATOR;
+            mutatorImplClassName = CLASS_NAME_INT_VALUE_MAP_MUTATOR_IMPL;
+            mutateFunctionClassName = CLASS_NAME_INT_VALUE_MAP_MUTATE_FUNCTION;
+        } else if (CLASS_NAME_LONG.equals(valueTypeName)) {
+            mutatorClassName = CLASS_NAME_LONG_VALUE_MAP_MUTATOR;
+            mutatorImplClassName = CLASS_NAME_LONG_VALUE_MAP_MUTATOR_IMPL;
+            mutateFunctionClassName = CLASS_NAME_LONG_VALUE_MAP_MUTATE_FUNCTION;
+        } else if (CLASS_NAME_DOUBLE.equals(valueTypeName)) {
+            mutatorClassName = CLASS_NAME_DOUBLE_VALUE_MAP_MUTATOR;
+            mutatorImplClassName = CLASS_NAME_DOUBLE_VALUE_MAP_MUTATOR_IMPL;
+            mutateFunctionClassName = CLASS_NAME_DOUBLE_VALUE_MAP_MUTATE_FUNCTION;
+        } else {
+            return null;
+        }
+        // The mutate functions of existing records take a simple map mutator, which the primitive mutator extends
+        return new PrimitiveValueMapTypeInfo(
+                typeName,
+                keyTypeInfo,
+                valueTypeInfo,
+                ParameterizedTypeName.get(CLASS_NAME_SIMPLE_MAP_MUTATOR, keyTypeInfo.getTypeName(), valueTypeName),
+                ParameterizedTypeName.get(CLASS_NAME_SIMPLE_MAP_MUTATE_FUNCTION, keyTypeInfo.getTypeName(), valueTypeName),
+                mutatorClassName,
+                ParameterizedTypeName.get(mutatorClassName, keyTypeInfo.getTypeName()),
+                mutatorImplClassName,
+                ParameterizedTypeName.get(mutateFunctionClassName, keyTypeInfo.getTypeName()));
+    }
+
+    private TypeName enumTypeNameForDefaultBackend(TypeMirror type, CollectionBackend collectionBackend) {
+        // Enum keys and elements are known at compile time, so the default and primitive backends can use EnumMap and EnumSet
+        if (collectionBackend == CollectionBackend.PERSISTENT || type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        Element element = processingEnv.getTypeUtils().asElement(type);
+        return element.getKind() == ElementKind.ENUM ? TypeName.get(type) : null;
+    }
+
+    private boolean hasAccessor(TypeMirror type, String name) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement typeElement = (TypeElement) processingEnv.getTypeUtils().asElement(type);
+        for (Element member : processingEnv.getElementUtils().getAllMembers(typeElement)) {
+            if (member.getKind() == ElementKind.METHOD && member.getSimpleName().contentEquals(name)) {
+                ExecutableElement method = (ExecutableElement) member;
+                if (method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private static boolean isRecordAnnotatedWithGenerateMutator(Element typeElement) {
         return typeElement.getAnnotation(GenerateMutator.class) != null &&
                 typeElement.getKind() == ElementKind.RECORD;
@@ -214,6 +672,18 @@ public class TypeInfoFactory {
     private boolean isMap(DeclaredType declaredType) {
         return processingEnv.getTypeUtils().isSameType(mapTypeElement.asType(), declaredType.asElement().asType());
     }
+    private boolean isSortedSet(DeclaredType declaredType) {
+        return processingEnv.getTypeUtils().isSameType(sortedSetTypeElement.asType(), declaredType.asElement().asType()) ||
+                processingEnv.getTypeUtils().isSameType(navigableSetTypeElement.asType(), declaredType.asElement().asType());
+    }
+    private boolean isSortedMap(DeclaredType declaredType) {
+        return processingEnv.getTypeUtils().isSameType(sortedMapTypeElement.asType(), declaredType.asElement().asType()) ||
+                processingEnv.getTypeUtils().isSameType(navigableMapTypeElement.asType(), declaredType.asElement().asType());
+    }
+    private boolean isDeque(DeclaredType declaredType) {
+        return processingEnv.getTypeUtils().isSameType(dequeTypeElement.asType(), declaredType.asElement().asType()) ||
+                processingEnv.getTypeUtils().isSameType(queueTypeElement.asType(), declaredType.asElement().asType());
+    }
 
     private boolean hasMutableAsTypeArgument(DeclaredType declaredType) {
         List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
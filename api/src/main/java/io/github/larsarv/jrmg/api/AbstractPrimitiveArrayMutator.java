@@ -0,0 +1,192 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Objects;
+
+/**
+ * Base class of the primitive array mutators {@link ByteArrayMutatorImpl}, {@link IntArrayMutatorImpl},
+ * {@link LongArrayMutatorImpl} and {@link DoubleArrayMutatorImpl}.
+ * <p>
+ * It keeps the source array until the first write, which copies it into an array owned by the mutator, possibly
+ * with spare capacity at the end, and implements the operations that only move values around the array, with
+ * {@link System#arraycopy(Object, int, Object, int, int)}. The subclasses implement the operations that read or
+ * write single values, and the hooks that copy and compare the arrays.
+ *
+ * @param <A> the primitive array type
+ * @param <S> the mutator interface returned by the mutating operations
+ */
+abstract class AbstractPrimitiveArrayMutator<A, S extends Mutator<A>> implements Mutator<A> {
+    /**
+     * The source array until the first write, then the array owned by this mutator; only the first
+     * {@link #length} values are used.
+     */
+    A elements;
+    /**
+     * The number of values in {@link #elements}.
+     */
+    int length;
+    private boolean copied; // True when elements is a private array owned by this mutator
+    private boolean locked = false;
+
+    /**
+     * Constructs a mutator for the given array.
+     *
+     * @param array the initial array, which is never modified
+     * @param length the length of the array
+     */
+    AbstractPrimitiveArrayMutator(A array, int length) {
+        this.elements = array;
+        this.length = length;
+    }
+
+    /**
+     * Returns the length of an array of the primitive type.
+     *
+     * @param array the array
+     * @return the length of the array
+     */
+    abstract int capacity(A array);
+
+    /**
+     * Returns a copy of the first values of an array of the primitive type, see
+     * {@link java.util.Arrays#copyOf(int[], int)}.
+     *
+     * @param array the array to copy
+     * @param length the length of the copy
+     * @return the copy
+     */
+    abstract A copyOf(A array, int length);
+
+    /**
+     * Returns whether the values of {@link #elements} starting at the given index equal the given values.
+     *
+     * @param index the index of the first value
+     * @param values the values to compare with
+     * @return true if the values are equal
+     */
+    abstract boolean equalsRange(int index, A values);
+
+    /**
+     * Returns this mutator as its mutator interface.
+     *
+     * @return this mutator
+     */
+    @SuppressWarnings("unchecked")
+    final S self() {
+        return (S) this;
+    }
+
+    /**
+     * Throws if the array was built.
+     *
+     * @throws IllegalStateException if the array was built
+     */
+    final void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("Array is locked and cannot be modified.");
+        }
+    }
+
+    /**
+     * Returns the number of values of the array.
+     *
+     * @return the length of the array
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Replaces the values starting at the given index, copying the source array only if a value changes.
+     *
+     * @param index the index of the first value to replace
+     * @param values the new values
+     * @return this mutator
+     */
+    final S setRangeValues(int index, A values) {
+        checkLocked();
+        int count = capacity(values);
+        Objects.checkFromIndexSize(index, count, length);
+        if (!equalsRange(index, values)) {
+            System.arraycopy(values, 0, mutableElements(0), index, count);
+        }
+        return self();
+    }
+
+    /**
+     * Inserts the given values at the given index.
+     *
+     * @param index the index to insert the values at
+     * @param values the values to insert
+     * @return this mutator
+     */
+    final S insertValues(int index, A values) {
+        checkLocked();
+        Objects.checkIndex(index, length + 1);
+        int count = capacity(values);
+        if (count > 0) {
+            A target = mutableElements(count);
+            System.arraycopy(target, index, target, index + count, length - index);
+            System.arraycopy(values, 0, target, index, count);
+            length += count;
+        }
+        return self();
+    }
+
+    /**
+     * Removes the values from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive.
+     *
+     * @param fromIndex the index of the first value to remove
+     * @param toIndex the index after the last value to remove
+     * @return this mutator
+     */
+    public S removeRange(int fromIndex, int toIndex) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        if (fromIndex < toIndex) {
+            A target = mutableElements(0);
+            System.arraycopy(target, toIndex, target, fromIndex, length - toIndex);
+            length -= toIndex - fromIndex;
+        }
+        return self();
+    }
+
+    /**
+     * Returns a copy of the values.
+     *
+     * @return a new array with the values
+     */
+    public A toArray() {
+        return copyOf(elements, length);
+    }
+
+    @Override
+    public A build() {
+        if (copied) {
+            locked = true;
+            if (capacity(elements) != length) {
+                elements = copyOf(elements, length);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the array owned by this mutator, copying the source array on the first write, with room for at least
+     * the given number of additional values.
+     *
+     * @param additionalCapacity the number of values that will be added
+     * @return the mutable array owned by this mutator
+     */
+    final A mutableElements(int additionalCapacity) {
+        if (!copied) {
+            elements = copyOf(elements, length + additionalCapacity);
+            copied = true;
+        } else {
+            int capacity = capacity(elements);
+            if (length + additionalCapacity > capacity) {
+                elements = copyOf(elements, Math.max(length + additionalCapacity, capacity + (capacity >> 1)));
+            }
+        }
+        return elements;
+    }
+}
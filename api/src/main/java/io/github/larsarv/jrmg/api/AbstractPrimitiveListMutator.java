@@ -0,0 +1,342 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Base class of the primitive list mutators {@link IntListMutatorImpl}, {@link LongListMutatorImpl} and
+ * {@link DoubleListMutatorImpl}.
+ * <p>
+ * It keeps the source list until the first write, then the values in a primitive array of type {@code A} with
+ * spare capacity, and implements the operations that only move values around the array, with
+ * {@link System#arraycopy(Object, int, Object, int, int)}. The subclasses implement the operations that read or
+ * write single values, and the hooks that create, copy and unbox the arrays.
+ *
+ * @param <T> the boxed type of the values
+ * @param <A> the primitive array type holding the values
+ * @param <S> the mutator interface returned by the mutating operations
+ */
+abstract class AbstractPrimitiveListMutator<T, A, S extends SimpleListMutator<T>> implements SimpleListMutator<T> {
+    /**
+     * The source list until the first write, null afterwards.
+     */
+    List<T> source;
+    /**
+     * The values, once the source list was unboxed into this array; only the first {@link #size} are used.
+     */
+    A elements;
+    /**
+     * The number of values in {@link #elements}.
+     */
+    int size;
+    private boolean locked = false;
+
+    /**
+     * Constructs a mutator for the given list.
+     *
+     * @param list the initial list; if null, an empty list is used
+     * @param emptyElements an empty array of the primitive type
+     */
+    AbstractPrimitiveListMutator(List<T> list, A emptyElements) {
+        this.source = list;
+        this.elements = emptyElements;
+    }
+
+    /**
+     * Creates a new array of the primitive type.
+     *
+     * @param length the length of the array
+     * @return the new array
+     */
+    abstract A newElements(int length);
+
+    /**
+     * Returns the length of an array of the primitive type.
+     *
+     * @param array the array
+     * @return the length of the array
+     */
+    abstract int capacity(A array);
+
+    /**
+     * Returns a copy of the first values of an array of the primitive type, see {@link Arrays#copyOf(int[], int)}.
+     *
+     * @param array the array to copy
+     * @param length the length of the copy
+     * @return the copy
+     */
+    abstract A copyOf(A array, int length);
+
+    /**
+     * Returns the values of the given source list unboxed into a new array of the given length.
+     *
+     * @param list the source list
+     * @param length the length of the new array, at least the size of the list
+     * @return the new array
+     */
+    abstract A unbox(List<T> list, int length);
+
+    /**
+     * Unboxes the given values into an array, starting at the given index.
+     *
+     * @param values the values to unbox
+     * @param array the array to write into
+     * @param index the index of the first value
+     */
+    abstract void unboxInto(Collection<? extends T> values, A array, int index);
+
+    /**
+     * Returns an immutable list of the first values of an array, sharing the array.
+     *
+     * @param array the array, which is not modified afterwards
+     * @param length the number of values in the list
+     * @return the list
+     */
+    abstract List<T> toList(A array, int length);
+
+    /**
+     * Returns this mutator as its mutator interface.
+     *
+     * @return this mutator
+     */
+    @SuppressWarnings("unchecked")
+    final S self() {
+        return (S) this;
+    }
+
+    /**
+     * Throws if the list was built.
+     *
+     * @throws IllegalStateException if the list was built
+     */
+    final void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+    }
+
+    @Override
+    public int size() {
+        return source != null ? source.size() : size;
+    }
+
+    @Override
+    public S addAll(Collection<? extends T> items) {
+        checkLocked();
+        if (!items.isEmpty()) {
+            A target = mutableElements(items.size());
+            unboxInto(items, target, size);
+            size += items.size();
+        }
+        return self();
+    }
+
+    @Override
+    public S insertAll(int index, Collection<? extends T> items) {
+        checkLocked();
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (!items.isEmpty()) {
+            A target = mutableElements(items.size());
+            System.arraycopy(target, index, target, index + items.size(), size - index);
+            unboxInto(items, target, index);
+            size += items.size();
+        }
+        return self();
+    }
+
+    @Override
+    public S remove(int index) {
+        checkLocked();
+        Objects.checkIndex(index, size());
+        A target = mutableElements(0);
+        System.arraycopy(target, index + 1, target, index, size - index - 1);
+        size--;
+        return self();
+    }
+
+    @Override
+    public S removeRange(int fromIndex, int toIndex) {
+        checkLocked();
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", To index: " + toIndex + ", Size: " + size());
+        }
+        if (fromIndex != toIndex) {
+            A target = mutableElements(0);
+            System.arraycopy(target, toIndex, target, fromIndex, size - toIndex);
+            size -= toIndex - fromIndex;
+        }
+        return self();
+    }
+
+    @Override
+    public S removeIndices(int... indices) {
+        checkLocked();
+        int[] removed = CollectionSupport.sortedDistinctIndices(indices, size());
+        if (removed.length == 0) {
+            return self();
+        }
+        A target = mutableElements(0);
+        // Move each run of kept values between two removed indices down in one copy
+        int keepIndex = removed[0];
+        for (int removedIndex = 0; removedIndex < removed.length; removedIndex++) {
+            int runStart = removed[removedIndex] + 1;
+            int runEnd = removedIndex + 1 < removed.length ? removed[removedIndex + 1] : size;
+            System.arraycopy(target, runStart, target, keepIndex, runEnd - runStart);
+            keepIndex += runEnd - runStart;
+        }
+        size = keepIndex;
+        return self();
+    }
+
+    @Override
+    public S retainIndices(int... indices) {
+        checkLocked();
+        int[] retained = CollectionSupport.sortedDistinctIndices(indices, size());
+        if (retained.length == size()) {
+            return self();
+        }
+        A target = mutableElements(0);
+        // Move each run of consecutive retained indices down in one copy
+        int keepIndex = 0;
+        int retainedIndex = 0;
+        while (retainedIndex < retained.length) {
+            int runStart = retained[retainedIndex];
+            int runEnd = runStart + 1;
+            while (++retainedIndex < retained.length && retained[retainedIndex] == runEnd) {
+                runEnd++;
+            }
+            System.arraycopy(target, runStart, target, keepIndex, runEnd - runStart);
+            keepIndex += runEnd - runStart;
+        }
+        size = keepIndex;
+        return self();
+    }
+
+    @Override
+    public S distinct() {
+        return distinctBy(Function.identity());
+    }
+
+    @Override
+    public abstract S filter(Predicate<T> filterFunction);
+
+    @Override
+    public S distinctBy(Function<? super T, ?> keyExtractor) {
+        return filter(CollectionSupport.firstOfEachKey(keyExtractor, size()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public S sort(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            return sort();
+        }
+        checkLocked();
+        Object[] boxed = new Object[size()];
+        for (int index = 0; index < boxed.length; index++) {
+            boxed[index] = get(index);
+        }
+        Arrays.sort(boxed, (Comparator<Object>) comparator);
+        for (int index = 0; index < boxed.length; index++) {
+            set(index, (T) boxed[index]);
+        }
+        return self();
+    }
+
+    /**
+     * Sorts the values in their natural order.
+     *
+     * @return this mutator
+     */
+    public abstract S sort();
+
+    @Override
+    public int binarySearch(ToIntFunction<? super T> keyComparison) {
+        return CollectionSupport.binarySearch(size(), this::get, keyComparison);
+    }
+
+    @Override
+    public S move(int fromIndex, int toIndex) {
+        checkLocked();
+        if (fromIndex < 0 || fromIndex >= size() || toIndex < 0 || toIndex >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + size());
+        }
+        if (fromIndex != toIndex) {
+            A target = mutableElements(0);
+            A value = newElements(1);
+            System.arraycopy(target, fromIndex, value, 0, 1);
+            if (fromIndex < toIndex) {
+                System.arraycopy(target, fromIndex + 1, target, fromIndex, toIndex - fromIndex);
+            } else {
+                System.arraycopy(target, toIndex, target, toIndex + 1, fromIndex - toIndex);
+            }
+            System.arraycopy(value, 0, target, toIndex, 1);
+        }
+        return self();
+    }
+
+    @Override
+    public S parallel() {
+        return self();
+    }
+
+    @Override
+    public S parallel(ForkJoinPool pool) {
+        // The operations on primitive values are too cheap to gain from running in parallel
+        return self();
+    }
+
+    /**
+     * Returns a copy of the values in a new array.
+     *
+     * @return the new array
+     */
+    final A toValueArray() {
+        if (source != null) {
+            return unbox(source, source.size());
+        }
+        return copyOf(elements, size);
+    }
+
+    @Override
+    public List<T> build() {
+        this.locked = true;
+        return source != null ? source : toList(elements, size);
+    }
+
+    @Override
+    public List<T> buildCopy() {
+        return source != null ? CompactList.copyOf(source) : toList(copyOf(elements, size), size);
+    }
+
+    /**
+     * Returns the internal array, unboxing the source list on the first write, with room for the given number
+     * of additional values.
+     *
+     * @param additionalCapacity the number of values about to be added
+     * @return the array owned by this mutator
+     */
+    final A mutableElements(int additionalCapacity) {
+        if (source != null) {
+            int sourceSize = source.size();
+            elements = unbox(source, sourceSize + additionalCapacity);
+            size = sourceSize;
+            source = null;
+        } else {
+            int capacity = capacity(elements);
+            if (size + additionalCapacity > capacity) {
+                elements = copyOf(elements, Math.max(size + additionalCapacity, capacity + (capacity >> 1)));
+            }
+        }
+        return elements;
+    }
+}
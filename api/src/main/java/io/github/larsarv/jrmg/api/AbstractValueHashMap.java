@@ -0,0 +1,328 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Base class of the hash maps from keys to primitive values {@link IntValueHashMap}, {@link LongValueHashMap} and
+ * {@link DoubleValueHashMap}, using open addressing with linear probing.
+ * <p>
+ * The keys and the values are stored in two parallel arrays, the values in a primitive array of type {@code A}, so
+ * the values are not boxed and looking up, inserting or updating an entry takes a single probe sequence. The keys are
+ * stored and hashed as described in {@link HashTables}. Removed entries are closed by shifting the following entries
+ * of the probe sequence back, so the table never contains tombstones. {@code null} keys are supported, {@code null}
+ * values are not.
+ * <p>
+ * This class implements the probing, growing and iteration, and moves the values with
+ * {@link System#arraycopy(Object, int, Object, int, int)}; the subclasses read and write the values. Through the
+ * {@link Map} interface the map is unmodifiable and boxes the values only when they are read. The package private
+ * methods modify the map and are only used by the mutator that owns it, before it is built.
+ * <p>
+ * The map is serialized as an unmodifiable {@link LinkedHashMap} with the boxed values.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the boxed type of the values
+ * @param <A> the primitive array type holding the values
+ */
+abstract class AbstractValueHashMap<K, V, A> extends AbstractMap<K, V> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private Object[] keys; // Key of each slot, null for an empty slot
+    /**
+     * The value of each occupied slot.
+     */
+    A values;
+    private int size;
+    private Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Creates an empty map sized for the expected number of entries.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    AbstractValueHashMap(int expectedSize) {
+        int capacity = HashTables.initialCapacity(expectedSize);
+        this.keys = new Object[capacity];
+        this.values = newValues(capacity);
+    }
+
+    /**
+     * Creates a map with the entries of the given map without unboxing them. The arrays are copied as they are,
+     * unless entries were removed from the other map so that a smaller table holds its entries, in which case the
+     * entries are rehashed into the smaller table.
+     *
+     * @param other the map to copy
+     */
+    AbstractValueHashMap(AbstractValueHashMap<K, V, A> other) {
+        int capacity = HashTables.initialCapacity(other.size);
+        this.size = other.size;
+        if (capacity < other.keys.length) {
+            this.keys = other.keys;
+            this.values = other.values;
+            resize(capacity);
+        } else {
+            this.keys = other.keys.clone();
+            this.values = newValues(keys.length);
+            System.arraycopy(other.values, 0, values, 0, keys.length);
+        }
+    }
+
+    /**
+     * Creates a new array of the primitive type.
+     *
+     * @param length the length of the array
+     * @return the new array
+     */
+    abstract A newValues(int length);
+
+    /**
+     * Returns the value in the given occupied slot, boxed.
+     *
+     * @param slot the slot of the entry
+     * @return the value of the entry
+     */
+    abstract V boxedValueAt(int slot);
+
+    /**
+     * Replaces the value in the given slot by the given boxed value.
+     *
+     * @param slot the slot of the entry
+     * @param value the new value, not null
+     */
+    abstract void setBoxedValueAt(int slot, V value);
+
+    /**
+     * Returns the hash code of the value in the given occupied slot, as the boxed value would return it.
+     *
+     * @param slot the slot of the entry
+     * @return the hash code of the value
+     */
+    abstract int valueHashCodeAt(int slot);
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slotOf(key) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        int slot = slotOf(key);
+        return slot >= 0 ? boxedValueAt(slot) : null;
+    }
+
+    /**
+     * Returns the slot of the given key, or {@code -(insertion slot) - 1} if the key is not present.
+     *
+     * @param key the key to look up
+     * @return the slot of the key, or a negative value encoding the slot to insert the key at
+     */
+    int slotOf(Object key) {
+        Object storedKey = HashTables.maskNull(key);
+        int mask = keys.length - 1;
+        int slot = HashTables.hash(storedKey) & mask;
+        while (true) {
+            Object slotKey = keys[slot];
+            if (slotKey == null) {
+                return -slot - 1;
+            } else if (slotKey == storedKey || slotKey.equals(storedKey)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Stores the key of a new entry whose value was written to the insertion slot returned by
+     * {@link #slotOf(Object)} for the key, growing the table if it gets too full.
+     *
+     * @param notFoundSlot the negative value returned by {@link #slotOf(Object)}
+     * @param key the key of the entry
+     */
+    final void insertKeyAt(int notFoundSlot, K key) {
+        keys[-notFoundSlot - 1] = HashTables.maskNull(key);
+        if (HashTables.isOverloaded(++size, keys.length)) {
+            resize(keys.length << 1);
+        }
+    }
+
+    /**
+     * Inserts a new entry with a boxed value at the insertion slot returned by {@link #slotOf(Object)} for the key,
+     * growing the table if it gets too full.
+     *
+     * @param notFoundSlot the negative value returned by {@link #slotOf(Object)}
+     * @param key the key of the entry
+     * @param value the value of the entry, not null
+     */
+    void insertBoxedAt(int notFoundSlot, K key, V value) {
+        setBoxedValueAt(-notFoundSlot - 1, value);
+        insertKeyAt(notFoundSlot, key);
+    }
+
+    /**
+     * Sets the boxed value of the given key, adding the entry if the key is not present.
+     *
+     * @param key the key of the entry
+     * @param value the value of the entry, not null
+     */
+    void putBoxed(K key, V value) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            setBoxedValueAt(slot, value);
+        } else {
+            insertBoxedAt(slot, key, value);
+        }
+    }
+
+    /**
+     * Removes the entry in the given occupied slot and shifts the following entries of the probe
+     * sequence back to close the gap.
+     *
+     * @param slot the slot of the entry to remove
+     */
+    void removeAt(int slot) {
+        int mask = keys.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != null) {
+            int home = HashTables.hash(keys[next]) & mask;
+            if (HashTables.canFillGap(home, gap, next, mask)) {
+                keys[gap] = keys[next];
+                System.arraycopy(values, next, values, gap, 1);
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = null;
+        size--;
+    }
+
+    /**
+     * Removes all entries, keeping the current capacity.
+     */
+    void removeAll() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of slots of the table, for iterating over the slots with {@link #isOccupied(int)}.
+     *
+     * @return the number of slots
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns whether the given slot holds an entry.
+     *
+     * @param slot the slot to check
+     * @return true if the slot holds an entry
+     */
+    boolean isOccupied(int slot) {
+        return keys[slot] != null;
+    }
+
+    /**
+     * Returns the key in the given occupied slot.
+     *
+     * @param slot the slot of the entry
+     * @return the key of the entry
+     */
+    K keyAt(int slot) {
+        return HashTables.unmaskNull(keys[slot]);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != null) {
+                hashCode += Objects.hashCode(keyAt(slot)) ^ valueHashCodeAt(slot);
+            }
+        }
+        return hashCode;
+    }
+
+    /**
+     * Replaces the map by its serialized form, see {@link CollectionSupport#serializedForm(Map)}. The method is
+     * package private, as serialization only calls a private method declared by the class of the map itself.
+     *
+     * @return the serialized form of the map
+     */
+    @Serial
+    final Object writeReplace() {
+        return CollectionSupport.serializedForm(this);
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        A oldValues = values;
+        keys = new Object[capacity];
+        values = newValues(capacity);
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            Object key = oldKeys[oldSlot];
+            if (key != null) {
+                int slot = HashTables.hash(key) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                System.arraycopy(oldValues, oldSlot, values, slot, 1);
+            }
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int slot = nextSlot(0);
+
+        private int nextSlot(int from) {
+            int next = from;
+            while (next < keys.length && keys[next] == null) {
+                next++;
+            }
+            return next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slot < keys.length;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (slot >= keys.length) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>(keyAt(slot), boxedValueAt(slot));
+            slot = nextSlot(slot + 1);
+            return entry;
+        }
+    }
+}
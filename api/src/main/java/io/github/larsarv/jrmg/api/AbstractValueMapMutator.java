@@ -0,0 +1,362 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Base class of the primitive value map mutators {@link IntValueMapMutatorImpl}, {@link LongValueMapMutatorImpl}
+ * and {@link DoubleValueMapMutatorImpl}.
+ * <p>
+ * It keeps the source map until the first write, then the entries in a table of type {@code M}, and implements
+ * the operations on boxed values. The subclasses implement the operations on primitive values, and the hooks that
+ * create the table and compare two values.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the boxed type of the values
+ * @param <M> the type of the table holding the entries
+ * @param <S> the mutator interface returned by the mutating operations
+ */
+abstract class AbstractValueMapMutator<K, V, M extends AbstractValueHashMap<K, V, ?>, S extends SimpleMapMutator<K, V>>
+        implements SimpleMapMutator<K, V> {
+    /**
+     * The source map until the first write, null afterwards.
+     */
+    Map<K, V> source;
+    /**
+     * The entries, once the source map was copied into this table.
+     */
+    M table;
+    private boolean locked = false;
+
+    /**
+     * Constructs a mutator for the given map.
+     *
+     * @param map the initial map to be mutated; if null, an empty map is used
+     */
+    AbstractValueMapMutator(Map<K, V> map) {
+        this.source = map;
+        this.table = map == null ? newTable() : null;
+    }
+
+    /**
+     * Creates an empty table.
+     *
+     * @return the new table
+     */
+    abstract M newTable();
+
+    /**
+     * Returns a new table with the entries of the given map.
+     *
+     * @param map the map to copy, not containing {@code null} values
+     * @return the new table
+     */
+    abstract M copyOf(Map<K, V> map);
+
+    /**
+     * Returns whether writing the second value over the first one leaves the map unchanged.
+     *
+     * @param value1 the current value, not null
+     * @param value2 the new value, not null
+     * @return true if the values are the same
+     */
+    abstract boolean sameValue(V value1, V value2);
+
+    /**
+     * Returns this mutator as its mutator interface.
+     *
+     * @return this mutator
+     */
+    @SuppressWarnings("unchecked")
+    final S self() {
+        return (S) this;
+    }
+
+    /**
+     * Throws if the map was built.
+     *
+     * @throws IllegalStateException if the map was built
+     */
+    final void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("Map is locked and can not be modified");
+        }
+    }
+
+    @Override
+    public int size() {
+        return map().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map().isEmpty();
+    }
+
+    @Override
+    public V get(K key) {
+        return CollectionSupport.get(map(), key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return CollectionSupport.containsKey(map(), key);
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        return CollectionSupport.containsValue(map(), value);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(map().keySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(map().values());
+    }
+
+    @Override
+    public S remove(K key) {
+        checkLocked();
+        if (source != null && !containsKey(key)) {
+            return self();
+        }
+        M target = mutableTable();
+        int slot = target.slotOf(key);
+        if (slot >= 0) {
+            target.removeAt(slot);
+        }
+        return self();
+    }
+
+    @Override
+    public S filter(BiFunction<K, V, Boolean> filterFunction) {
+        checkLocked();
+        List<K> removedKeys = new ArrayList<>();
+        for (Map.Entry<K, V> entry : map().entrySet()) {
+            if (!filterFunction.apply(entry.getKey(), entry.getValue())) {
+                removedKeys.add(entry.getKey());
+            }
+        }
+        if (!removedKeys.isEmpty()) {
+            M target = mutableTable();
+            for (K removedKey : removedKeys) {
+                target.removeAt(target.slotOf(removedKey));
+            }
+        }
+        return self();
+    }
+
+    @Override
+    public S updateAll(BiFunction<K, V, V> mutateFunction) {
+        checkLocked();
+        if (source != null) {
+            // Read the source until the first changed value, the remaining values are then put into the table
+            for (Map.Entry<K, V> entry : source.entrySet()) {
+                V currentValue = entry.getValue();
+                V newValue = mutateFunction.apply(entry.getKey(), currentValue);
+                if (!sameValue(currentValue, newValue)) {
+                    mutableTable().putBoxed(entry.getKey(), newValue);
+                }
+            }
+            return self();
+        }
+        for (int slot = 0; slot < table.capacity(); slot++) {
+            if (table.isOccupied(slot)) {
+                table.setBoxedValueAt(slot, mutateFunction.apply(table.keyAt(slot), table.boxedValueAt(slot)));
+            }
+        }
+        return self();
+    }
+
+    @Override
+    public S compute(K key, BiFunction<K, V, V> remappingFunction) {
+        checkLocked();
+        if (source != null) {
+            V currentValue = get(key);
+            V newValue = remappingFunction.apply(key, currentValue);
+            if (newValue == null) {
+                if (currentValue != null) {
+                    remove(key);
+                }
+            } else if (currentValue == null || !sameValue(currentValue, newValue)) {
+                mutableTable().putBoxed(key, newValue);
+            }
+            return self();
+        }
+        int slot = table.slotOf(key);
+        V newValue = remappingFunction.apply(key, slot >= 0 ? table.boxedValueAt(slot) : null);
+        if (newValue == null) {
+            if (slot >= 0) {
+                table.removeAt(slot);
+            }
+        } else if (slot >= 0) {
+            table.setBoxedValueAt(slot, newValue);
+        } else {
+            table.insertBoxedAt(slot, key, newValue);
+        }
+        return self();
+    }
+
+    @Override
+    public S computeIfPresent(K key, BiFunction<K, V, V> remappingFunction) {
+        checkLocked();
+        if (source != null) {
+            V currentValue = get(key);
+            if (currentValue != null) {
+                V newValue = remappingFunction.apply(key, currentValue);
+                if (newValue == null) {
+                    remove(key);
+                } else if (!sameValue(currentValue, newValue)) {
+                    mutableTable().putBoxed(key, newValue);
+                }
+            }
+            return self();
+        }
+        int slot = table.slotOf(key);
+        if (slot >= 0) {
+            V newValue = remappingFunction.apply(key, table.boxedValueAt(slot));
+            if (newValue == null) {
+                table.removeAt(slot);
+            } else {
+                table.setBoxedValueAt(slot, newValue);
+            }
+        }
+        return self();
+    }
+
+    @Override
+    public S computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        checkLocked();
+        if (source != null) {
+            if (get(key) == null) {
+                V newValue = mappingFunction.apply(key);
+                if (newValue != null) {
+                    mutableTable().putBoxed(key, newValue);
+                }
+            }
+            return self();
+        }
+        int slot = table.slotOf(key);
+        if (slot < 0) {
+            V newValue = mappingFunction.apply(key);
+            if (newValue != null) {
+                table.insertBoxedAt(slot, key, newValue);
+            }
+        }
+        return self();
+    }
+
+    @Override
+    public S merge(K key, V value, BiFunction<V, V, V> remappingFunction) {
+        checkLocked();
+        Objects.requireNonNull(value);
+        if (source != null) {
+            V currentValue = get(key);
+            V newValue = currentValue == null ? value : remappingFunction.apply(currentValue, value);
+            if (newValue == null) {
+                remove(key);
+            } else if (currentValue == null || !sameValue(currentValue, newValue)) {
+                mutableTable().putBoxed(key, newValue);
+            }
+            return self();
+        }
+        int slot = table.slotOf(key);
+        if (slot < 0) {
+            table.insertBoxedAt(slot, key, value);
+            return self();
+        }
+        V newValue = remappingFunction.apply(table.boxedValueAt(slot), value);
+        if (newValue == null) {
+            table.removeAt(slot);
+        } else {
+            table.setBoxedValueAt(slot, newValue);
+        }
+        return self();
+    }
+
+    @Override
+    public S mergeAll(Map<? extends K, ? extends V> map, BiFunction<V, V, V> remappingFunction) {
+        checkLocked();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            merge(entry.getKey(), entry.getValue(), remappingFunction);
+        }
+        return self();
+    }
+
+    @Override
+    public S putAll(Map<? extends K, ? extends V> map) {
+        checkLocked();
+        if (!map.isEmpty()) {
+            M target = mutableTable();
+            for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+                target.putBoxed(entry.getKey(), entry.getValue());
+            }
+        }
+        return self();
+    }
+
+    @Override
+    public S clear() {
+        checkLocked();
+        if (!map().isEmpty()) {
+            if (source != null) {
+                source = null;
+                table = newTable();
+            } else {
+                table.removeAll();
+            }
+        }
+        return self();
+    }
+
+    @Override
+    public S parallel() {
+        return self();
+    }
+
+    @Override
+    public S parallel(ForkJoinPool pool) {
+        // The operations on primitive values are too cheap to gain from running in parallel
+        return self();
+    }
+
+    /**
+     * Returns the built map: the source map if nothing was written, otherwise a compact copy of the table, so the
+     * table owned by this mutator is never shared. The copy keeps the values unboxed and is unmodifiable.
+     *
+     * @return the built map
+     */
+    @Override
+    public Map<K, V> build() {
+        this.locked = true;
+        return source != null ? source : copyOf(table);
+    }
+
+    @Override
+    public Map<K, V> buildCopy() {
+        return source != null ? CollectionSupport.immutableCopy(source) : copyOf(table);
+    }
+
+    private Map<K, V> map() {
+        return source != null ? source : table;
+    }
+
+    /**
+     * Returns the internal table, copying the source map into it on the first write.
+     *
+     * @return the table owned by this mutator
+     */
+    final M mutableTable() {
+        if (source != null) {
+            table = copyOf(source);
+            source = null;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.larsarv.jrmg.api;
+
+/**
+ * A mutator interface for {@code byte[]} components.
+ * <p>
+ * The source array is never modified. It is copied on the first write (copy-on-write), and the range operations
+ * such as {@link #setRange(int, byte...)}, {@link #insert(int, byte...)} and {@link #removeRange(int, int)} move the
+ * values with {@link System#arraycopy(Object, int, Object, int, int)}. The update functions are called with
+ * unboxed values.
+ * <p>
+ * The {@link #build()} method returns the source array itself if nothing was written, and otherwise a new array
+ * owned by the built record.
+ */
+public interface ByteArrayMutator extends Mutator<byte[]> {
+    /**
+     * Returns the number of values in the array.
+     *
+     * @return the length of the array
+     */
+    int length();
+
+    /**
+     * Returns the value at the specified index.
+     * <p>
+     * If the index is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param index the index of the value to return
+     * @return the value at the specified index
+     */
+    byte get(int index);
+
+    /**
+     * Sets the value at the specified index.
+     * <p>
+     * If the index is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param index the index of the value to replace
+     * @param value the new value
+     * @return this mutator instance for method chaining
+     */
+    ByteArrayMutator set(int index, byte value);
+
+    /**
+     * Replaces the values starting at the specified index with the given values. The length of the array is
+     * not changed, and the source array is not copied if the values are already there.
+     * <p>
+     * If the values do not fit within the array, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param index the index of the first value to replace
+     * @param values the new values
+     * @return this mutator instance for method chaining
+     */
+    ByteArrayMutator setRange(int index, byte... values);
+
+    /**
+     * Sets the values from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive, to the given value.
+     *
+     * @param fromIndex the index of the first value to set, inclusive
+     * @param toIndex the index after the last value to set, exclusive
+     * @param value the value to set
+     * @return this mutator instance for method chaining
+     */
+    ByteArrayMutator fill(int fromIndex, int toIndex, byte value);
+
+    /**
+     * Inserts the given values at the specified index, shifting the following values towards the end.
+     *
+     * @param index the index to insert the values at, between 0 and the length of the array
+     * @param values the values to insert
+     * @return this mutator instance for method chaining
+     */
+    ByteArrayMutator insert(int index, byte... values);
+
+    /**
+     * Appends the given values to the end of the array.
+     *
+     * @param values the values to append
+     * @return this mutator instance for method chaining
+     */
+    ByteArrayMutator append(byte... values);
+
+    /**
+     * Removes the values from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive, shifting the following
+     * values towards the start.
+     *
+     * @param fromIndex the index of the first value to remove, inclusive
+     * @param toIndex the index after the last value to remove, exclusive
+     * @return this mutator instance for method chaining
+     */
+    ByteArrayMutator removeRange(int fromIndex, int toIndex);
+
+    /**
+     * Applies the given function to all values. The function is invoked for each value with its index and the
+     * current value, and the returned value replaces the current value.
+     *
+     * @param mutateFunction the function to apply to each value, accepting its index and the current value
+     * @return this mutator instance for method chaining
+     */
+    ByteArrayMutator updateAll(ByteIndexedUnaryOperator mutateFunction);
+
+    /**
+     * Applies the given function to the values from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive.
+     *
+     * @param fromIndex the index of the first value to update, inclusive
+     * @param toIndex the index after the last value to update, exclusive
+     * @param mutateFunction the function to apply to each value, accepting its index and the current value
+     * @return this mutator instance for method chaining
+     */
+    ByteArrayMutator updateRange(int fromIndex, int toIndex, ByteIndexedUnaryOperator mutateFunction);
+
+    /**
+     * Returns a new array containing the current values.
+     *
+     * @return a copy of the current values
+     */
+    byte[] toArray();
+
+    /**
+     * Finalizes the mutations and returns the array.
+     * <p>
+     * If nothing was written, the source array is returned. Otherwise the array built by this mutator is returned,
+     * and any further mutations will trigger a {@link java.lang.IllegalStateException}.
+     *
+     * @return the array with the current values
+     */
+    @Override
+    byte[] build();
+}
@@ -0,0 +1,121 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An implementation of {@link ByteArrayMutator}, used for {@code byte[]} components.
+ * <p>
+ * The source array is read as is until the first write, which copies it into an array owned by this mutator.
+ * The owned array may have spare capacity at the end, so that repeated appends and inserts do not copy it every
+ * time. {@link #build()} trims it to the length of the values. The operations that only move values are
+ * implemented by {@link AbstractPrimitiveArrayMutator}.
+ */
+public class ByteArrayMutatorImpl extends AbstractPrimitiveArrayMutator<byte[], ByteArrayMutator> implements ByteArrayMutator {
+    private static final byte[] EMPTY_ELEMENTS = {};
+
+    /**
+     * Constructs a new instance of ByteArrayMutatorImpl for the specified array.
+     *
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     */
+    public ByteArrayMutatorImpl(byte[] array) {
+        super(array != null ? array : EMPTY_ELEMENTS, array != null ? array.length : 0);
+    }
+
+    /**
+     * Creates a new array mutator for the specified array.
+     *
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     * @return a new array mutator instance that can be used to modify the array
+     */
+    public static ByteArrayMutator mutator(byte[] array) {
+        return new ByteArrayMutatorImpl(array);
+    }
+
+    @Override
+    public byte get(int index) {
+        Objects.checkIndex(index, length);
+        return elements[index];
+    }
+
+    @Override
+    public ByteArrayMutator set(int index, byte value) {
+        checkLocked();
+        Objects.checkIndex(index, length);
+        if (!same(elements[index], value)) {
+            mutableElements(0)[index] = value;
+        }
+        return this;
+    }
+
+    @Override
+    public ByteArrayMutator setRange(int index, byte... values) {
+        return setRangeValues(index, values);
+    }
+
+    @Override
+    public ByteArrayMutator fill(int fromIndex, int toIndex, byte value) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        for (int index = fromIndex; index < toIndex; index++) {
+            if (!same(elements[index], value)) {
+                // Only copy once a value actually changes
+                Arrays.fill(mutableElements(0), index, toIndex, value);
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public ByteArrayMutator insert(int index, byte... values) {
+        return insertValues(index, values);
+    }
+
+    @Override
+    public ByteArrayMutator append(byte... values) {
+        return insert(length, values);
+    }
+
+    @Override
+    public ByteArrayMutator updateAll(ByteIndexedUnaryOperator mutateFunction) {
+        return updateRange(0, length, mutateFunction);
+    }
+
+    @Override
+    public ByteArrayMutator updateRange(int fromIndex, int toIndex, ByteIndexedUnaryOperator mutateFunction) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        byte[] target = elements;
+        for (int index = fromIndex; index < toIndex; index++) {
+            byte value = target[index];
+            byte newValue = mutateFunction.applyAsByte(index, value);
+            if (!same(value, newValue)) {
+                // The first change copies the source array, the later ones are written into the copy
+                target = mutableElements(0);
+                target[index] = newValue;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    int capacity(byte[] array) {
+        return array.length;
+    }
+
+    @Override
+    byte[] copyOf(byte[] array, int length) {
+        return Arrays.copyOf(array, length);
+    }
+
+    @Override
+    boolean equalsRange(int index, byte[] values) {
+        return Arrays.equals(elements, index, index + values.length, values, 0, values.length);
+    }
+
+    private static boolean same(byte value1, byte value2) {
+        return value1 == value2;
+    }
+}
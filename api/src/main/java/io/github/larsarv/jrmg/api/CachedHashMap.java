@@ -0,0 +1,510 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A mutable hash map that keeps the hash of each key, used by {@link MapMutatorImpl} for the maps it copies.
+ * <p>
+ * The map uses open addressing with linear probing at a load factor of at most 1/2, in the same layout as a hashed
+ * {@link CompactHashMap}: the key of each slot at even indices of a single array, followed by its value, with the
+ * hash of each key stored in a parallel array. Copying a compact map into this map and building a compact map from
+ * it clone the arrays, and growing the table places the keys by their stored hashes, so a key is hashed once when
+ * it is added and not again while it stays in the map. Removed entries are closed by shifting the following entries
+ * of the probe sequence back, so the table never contains tombstones. {@code null} keys and values are supported.
+ * <p>
+ * Lookups compare the identity of the keys before their hashes, and call {@link Object#equals(Object)} only for a
+ * key with the same hash. {@code merge}, the {@code compute} methods and {@code replaceAll} probe the table once per
+ * key, and {@link #slotOf(Object)} with {@link #setValueAt(int, Object)} let the mutators look a key up once and
+ * then write its value. Entries returned by the iterator write their value using the stored hash of their key.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of values in the map
+ */
+final class CachedHashMap<K, V> extends AbstractMap<K, V> {
+    private Object[] table; // Key of each slot at even indices, null for an empty slot, followed by its value
+    private int[] hashes; // Hash of the key of each occupied slot
+    private int size;
+    private Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Creates an empty map sized for the expected number of entries.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    CachedHashMap(int expectedSize) {
+        int capacity = HashTables.initialCapacity(expectedSize);
+        this.table = new Object[capacity * 2];
+        this.hashes = new int[capacity];
+    }
+
+    private CachedHashMap(Object[] table, int[] hashes, int size) {
+        this.table = table;
+        this.hashes = hashes;
+        this.size = size;
+    }
+
+    /**
+     * Returns a new map with the entries of the given map. A map of this class and a hashed {@link CompactHashMap}
+     * are copied by cloning their arrays, without hashing the keys again.
+     *
+     * @param source the map to copy
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a new map with the entries of the source
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> CachedHashMap<K, V> copyOf(Map<? extends K, ? extends V> source) {
+        if (source instanceof CachedHashMap) {
+            CachedHashMap<? extends K, ? extends V> map = (CachedHashMap<? extends K, ? extends V>) source;
+            return new CachedHashMap<>(map.table.clone(), map.hashes.clone(), map.size);
+        }
+        if (source instanceof CompactHashMap) {
+            CompactHashMap<? extends K, ? extends V> compactMap = (CompactHashMap<? extends K, ? extends V>) source;
+            Object[] compactTable = compactMap.table();
+            if (compactTable.length > CompactHashMap.LINEAR_LIMIT * 2) {
+                return new CachedHashMap<>(compactTable.clone(), compactMap.hashes().clone(), compactMap.size());
+            }
+            int[] compactHashes = compactMap.hashes();
+            CachedHashMap<K, V> map = new CachedHashMap<>(compactMap.size());
+            for (int index = 0; index < compactTable.length; index += 2) {
+                Object storedKey = compactTable[index];
+                int hash = compactHashes != null ? compactHashes[index / 2] : HashTables.hash(storedKey);
+                map.insert(storedKey, hash, compactTable[index + 1]);
+            }
+            return map;
+        }
+        CachedHashMap<K, V> map = new CachedHashMap<>(source.size());
+        map.putAll(source);
+        return map;
+    }
+
+    /**
+     * Returns the slots of the map: the key of each slot at even indices, followed by its value, with {@code null}
+     * keys for empty slots. The array must not be modified.
+     *
+     * @return the slots of the map
+     */
+    Object[] table() {
+        return table;
+    }
+
+    /**
+     * Returns the hash of the key of each occupied slot of {@link #table()}. The array must not be modified.
+     *
+     * @return the hashes of the slots
+     */
+    int[] hashes() {
+        return hashes;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Object storedKey = HashTables.maskNull(key);
+        return slotOf(storedKey, HashTables.hash(storedKey)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object storedKey = HashTables.maskNull(key);
+        int slot = slotOf(storedKey, HashTables.hash(storedKey));
+        return slot >= 0 ? (V) table[slot * 2 + 1] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        Object storedKey = HashTables.maskNull(key);
+        int slot = slotOf(storedKey, HashTables.hash(storedKey));
+        return slot >= 0 ? (V) table[slot * 2 + 1] : defaultValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Object storedKey = HashTables.maskNull(key);
+        int hash = HashTables.hash(storedKey);
+        int slot = slotOf(storedKey, hash);
+        if (slot >= 0) {
+            V oldValue = (V) table[slot * 2 + 1];
+            table[slot * 2 + 1] = value;
+            return oldValue;
+        }
+        insertAt(-slot - 1, storedKey, hash, value);
+        return null;
+    }
+
+    /**
+     * Returns the slot of the given key, or {@code -(insertion slot) - 1} if it is not present. The slot stays valid
+     * until the map is modified.
+     *
+     * @param key the key to look up
+     * @return the slot of the key, or a negative value if it is not present
+     */
+    int slotOf(Object key) {
+        Object storedKey = HashTables.maskNull(key);
+        return slotOf(storedKey, HashTables.hash(storedKey));
+    }
+
+    /**
+     * Returns the value in the given occupied slot.
+     *
+     * @param slot a slot returned by {@link #slotOf(Object)} for a present key
+     * @return the value of the slot
+     */
+    @SuppressWarnings("unchecked")
+    V valueAt(int slot) {
+        return (V) table[slot * 2 + 1];
+    }
+
+    /**
+     * Replaces the value in the given occupied slot.
+     *
+     * @param slot a slot returned by {@link #slotOf(Object)} for a present key
+     * @param value the new value
+     */
+    void setValueAt(int slot, V value) {
+        table[slot * 2 + 1] = value;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        Object storedKey = HashTables.maskNull(key);
+        int hash = HashTables.hash(storedKey);
+        int slot = slotOf(storedKey, hash);
+        V oldValue = slot >= 0 ? valueAt(slot) : null;
+        V newValue = remappingFunction.apply(key, oldValue);
+        if (newValue == null) {
+            if (slot >= 0) {
+                removeAt(slot);
+            }
+        } else if (slot >= 0) {
+            setValueAt(slot, newValue);
+        } else {
+            insertAt(-slot - 1, storedKey, hash, newValue);
+        }
+        return newValue;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        int slot = slotOf(key);
+        if (slot < 0 || valueAt(slot) == null) {
+            return null;
+        }
+        V newValue = remappingFunction.apply(key, valueAt(slot));
+        if (newValue == null) {
+            removeAt(slot);
+        } else {
+            setValueAt(slot, newValue);
+        }
+        return newValue;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        Object storedKey = HashTables.maskNull(key);
+        int hash = HashTables.hash(storedKey);
+        int slot = slotOf(storedKey, hash);
+        if (slot >= 0 && valueAt(slot) != null) {
+            return valueAt(slot);
+        }
+        V newValue = mappingFunction.apply(key);
+        if (newValue != null) {
+            if (slot >= 0) {
+                setValueAt(slot, newValue);
+            } else {
+                insertAt(-slot - 1, storedKey, hash, newValue);
+            }
+        }
+        return newValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        for (int index = 0; index < table.length; index += 2) {
+            if (table[index] != null) {
+                table[index + 1] = function.apply(HashTables.unmaskNull(table[index]), (V) table[index + 1]);
+            }
+        }
+    }
+
+    /**
+     * Merges the value into the map like {@link Map#merge(Object, Object, BiFunction)}, probing the table once
+     * instead of once for the lookup and once more for the write.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remappingFunction);
+        Object storedKey = HashTables.maskNull(key);
+        int hash = HashTables.hash(storedKey);
+        int slot = slotOf(storedKey, hash);
+        if (slot < 0) {
+            insertAt(-slot - 1, storedKey, hash, value);
+            return value;
+        }
+        V oldValue = (V) table[slot * 2 + 1];
+        V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+        if (newValue == null) {
+            removeAt(slot);
+        } else {
+            table[slot * 2 + 1] = newValue;
+        }
+        return newValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        Object storedKey = HashTables.maskNull(key);
+        int slot = slotOf(storedKey, HashTables.hash(storedKey));
+        if (slot < 0) {
+            return null;
+        }
+        V oldValue = (V) table[slot * 2 + 1];
+        removeAt(slot);
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int index = 0; index < table.length; index += 2) {
+            if (table[index] != null) {
+                action.accept(HashTables.unmaskNull(table[index]), (V) table[index + 1]);
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public void clear() {
+                    CachedHashMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns the slot of the given stored key, or {@code -(insertion slot) - 1} if it is not present.
+     */
+    private int slotOf(Object storedKey, int hash) {
+        int mask = hashes.length - 1;
+        int slot = hash & mask;
+        while (true) {
+            Object slotKey = table[slot * 2];
+            if (slotKey == null) {
+                return -slot - 1;
+            } else if (HashTables.matches(slotKey, hashes[slot], storedKey, hash)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Stores an entry in the empty slot found by {@link #slotOf(Object, int)} for its key, growing the table if it
+     * gets too full.
+     */
+    private void insertAt(int slot, Object storedKey, int hash, Object value) {
+        table[slot * 2] = storedKey;
+        table[slot * 2 + 1] = value;
+        hashes[slot] = hash;
+        if (HashTables.isOverloaded(++size, hashes.length)) {
+            resize(hashes.length << 1);
+        }
+    }
+
+    /**
+     * Inserts an entry whose stored key is not present in the map, growing the table if it gets too full.
+     */
+    private void insert(Object storedKey, int hash, Object value) {
+        if (HashTables.isOverloaded(size + 1, hashes.length)) {
+            resize(hashes.length << 1);
+        }
+        int mask = hashes.length - 1;
+        int slot = hash & mask;
+        while (table[slot * 2] != null) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot * 2] = storedKey;
+        table[slot * 2 + 1] = value;
+        hashes[slot] = hash;
+        size++;
+    }
+
+    /**
+     * Removes the entry in the given occupied slot and shifts the following entries of the probe sequence back to
+     * close the gap.
+     */
+    private void removeAt(int slot) {
+        int mask = hashes.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (table[next * 2] != null) {
+            int home = hashes[next] & mask;
+            if (HashTables.canFillGap(home, gap, next, mask)) {
+                table[gap * 2] = table[next * 2];
+                table[gap * 2 + 1] = table[next * 2 + 1];
+                hashes[gap] = hashes[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[gap * 2] = null;
+        table[gap * 2 + 1] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldTable = table;
+        int[] oldHashes = hashes;
+        table = new Object[capacity * 2];
+        hashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldHashes.length; oldSlot++) {
+            if (oldTable[oldSlot * 2] != null) {
+                int slot = oldHashes[oldSlot] & mask;
+                while (table[slot * 2] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot * 2] = oldTable[oldSlot * 2];
+                table[slot * 2 + 1] = oldTable[oldSlot * 2 + 1];
+                hashes[slot] = oldHashes[oldSlot];
+            }
+        }
+    }
+
+    /**
+     * An entry returned by the iterator, which writes its value into the map.
+     */
+    private class Entry extends AbstractMap.SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final Object storedKey;
+        private final int hash;
+
+        Entry(Object storedKey, int hash, V value) {
+            super(HashTables.unmaskNull(storedKey), value);
+            this.storedKey = storedKey;
+            this.hash = hash;
+        }
+
+        @Override
+        public V setValue(V value) {
+            int slot = slotOf(storedKey, hash);
+            if (slot >= 0) {
+                table[slot * 2 + 1] = value;
+            }
+            return super.setValue(value);
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int slot = nextSlot(0);
+        private int lastSlot;
+        // Keys, values and hashes not returned yet, copied when a removal could move a returned entry into the
+        // slots not visited yet; null while iterating over the table itself
+        private Object[] remaining;
+        private int[] remainingHashes;
+        private Object lastKey; // Stored key returned last, null if there is none or it was removed
+        private int lastHash;
+
+        private int nextSlot(int from) {
+            int next = from;
+            while (next < hashes.length && table[next * 2] == null) {
+                next++;
+            }
+            return next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining == null ? slot < hashes.length : slot < remainingHashes.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] source = remaining != null ? remaining : table;
+            lastKey = source[slot * 2];
+            lastHash = remaining != null ? remainingHashes[slot] : hashes[slot];
+            Map.Entry<K, V> entry = new Entry(lastKey, lastHash, (V) source[slot * 2 + 1]);
+            lastSlot = slot;
+            slot = remaining != null ? slot + 1 : nextSlot(slot + 1);
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            if (remaining == null && table[table.length - 2] != null && table[0] != null) {
+                // The shift may wrap around and move a returned entry from the start to the end of the table
+                int count = 0;
+                for (int index = slot; index < hashes.length; index++) {
+                    count += table[index * 2] != null ? 1 : 0;
+                }
+                remaining = new Object[count * 2];
+                remainingHashes = new int[count];
+                int index = 0;
+                for (int from = slot; from < hashes.length; from++) {
+                    if (table[from * 2] != null) {
+                        remaining[index * 2] = table[from * 2];
+                        remaining[index * 2 + 1] = table[from * 2 + 1];
+                        remainingHashes[index++] = hashes[from];
+                    }
+                }
+                slot = 0;
+                removeAt(slotOf(lastKey, lastHash));
+            } else if (remaining == null) {
+                removeAt(lastSlot);
+                if (table[lastSlot * 2] != null) {
+                    slot = lastSlot; // An entry not returned yet was shifted into the removed slot
+                }
+            } else {
+                removeAt(slotOf(lastKey, lastHash));
+            }
+            lastKey = null;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.*;
+
+/**
+ * A mutable hash set that keeps the hash of each element, used by {@link SetMutatorImpl} for the sets it copies.
+ * <p>
+ * The set uses open addressing with linear probing at a load factor of at most 1/2, in the same layout as a hashed
+ * {@link CompactHashSet}, with the hash of each element stored in a parallel array. Copying a compact set into this
+ * set and building a compact set from it clone the arrays, and growing the table places the elements by their
+ * stored hashes, so an element is hashed once when it is added and not again while it stays in the set. Removed
+ * elements are closed by shifting the following elements of the probe sequence back, so the table never contains
+ * tombstones. {@code null} elements are supported.
+ * <p>
+ * Lookups compare the identity of the elements before their hashes, and call {@link Object#equals(Object)} only for
+ * an element with the same hash. {@link #slotOf(Object)} and {@link #removeAt(int)} let the mutators look an element
+ * up once and then remove it, and the iterator removes the element it returned last using its stored hash.
+ *
+ * @param <T> the type of elements in the set
+ */
+final class CachedHashSet<T> extends AbstractSet<T> {
+    private Object[] table; // Element of each slot, null for an empty slot
+    private int[] hashes; // Hash of the element of each occupied slot
+    private int size;
+
+    /**
+     * Creates an empty set sized for the expected number of elements.
+     *
+     * @param expectedSize the expected number of elements
+     */
+    CachedHashSet(int expectedSize) {
+        int capacity = HashTables.initialCapacity(expectedSize);
+        this.table = new Object[capacity];
+        this.hashes = new int[capacity];
+    }
+
+    private CachedHashSet(Object[] table, int[] hashes, int size) {
+        this.table = table;
+        this.hashes = hashes;
+        this.size = size;
+    }
+
+    /**
+     * Returns a new set with the elements of the given collection. A set of this class and a hashed
+     * {@link CompactHashSet} are copied by cloning their arrays, without hashing the elements again.
+     *
+     * @param source the collection to copy
+     * @param <T> the type of elements in the set
+     * @return a new set with the elements of the source
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CachedHashSet<T> copyOf(Collection<? extends T> source) {
+        if (source instanceof CachedHashSet) {
+            CachedHashSet<? extends T> set = (CachedHashSet<? extends T>) source;
+            return new CachedHashSet<>(set.table.clone(), set.hashes.clone(), set.size);
+        }
+        if (source instanceof CompactHashSet) {
+            CompactHashSet<? extends T> compactSet = (CompactHashSet<? extends T>) source;
+            Object[] compactTable = compactSet.table();
+            if (compactTable.length > CompactHashSet.LINEAR_LIMIT) {
+                return new CachedHashSet<>(compactTable.clone(), compactSet.hashes().clone(), compactSet.size());
+            }
+            int[] compactHashes = compactSet.hashes();
+            CachedHashSet<T> set = new CachedHashSet<>(compactTable.length);
+            for (int index = 0; index < compactTable.length; index++) {
+                Object storedElement = compactTable[index];
+                set.insert(storedElement, compactHashes != null ? compactHashes[index] : HashTables.hash(storedElement));
+            }
+            return set;
+        }
+        CachedHashSet<T> set = new CachedHashSet<>(source.size());
+        set.addAll(source);
+        return set;
+    }
+
+    /**
+     * Returns the slots of the set, with {@code null} for empty slots. The array must not be modified.
+     *
+     * @return the slots of the set
+     */
+    Object[] table() {
+        return table;
+    }
+
+    /**
+     * Returns the hash of the element of each occupied slot of {@link #table()}. The array must not be modified.
+     *
+     * @return the hashes of the slots
+     */
+    int[] hashes() {
+        return hashes;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        Object storedElement = HashTables.maskNull(element);
+        return slotOf(storedElement, HashTables.hash(storedElement)) >= 0;
+    }
+
+    @Override
+    public boolean add(T element) {
+        Object storedElement = HashTables.maskNull(element);
+        int hash = HashTables.hash(storedElement);
+        int slot = slotOf(storedElement, hash);
+        if (slot >= 0) {
+            return false;
+        }
+        table[-slot - 1] = storedElement;
+        hashes[-slot - 1] = hash;
+        if (HashTables.isOverloaded(++size, table.length)) {
+            resize(table.length << 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        Object storedElement = HashTables.maskNull(element);
+        int slot = slotOf(storedElement, HashTables.hash(storedElement));
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * Returns the slot of the given element, or {@code -(insertion slot) - 1} if it is not present. The slot stays
+     * valid until the set is modified.
+     *
+     * @param element the element to look up
+     * @return the slot of the element, or a negative value if it is not present
+     */
+    int slotOf(Object element) {
+        Object storedElement = HashTables.maskNull(element);
+        return slotOf(storedElement, HashTables.hash(storedElement));
+    }
+
+    /**
+     * Grows the table, if needed, so that it holds the expected number of elements without growing again.
+     *
+     * @param expectedSize the expected number of elements
+     */
+    void ensureCapacity(int expectedSize) {
+        int capacity = HashTables.tableCapacity(Math.max(expectedSize, 1));
+        if (capacity > table.length) {
+            resize(capacity);
+        }
+    }
+
+    /**
+     * Removes the elements that are identical to one of the given elements, in a single pass over the table that
+     * uses the stored hashes instead of hashing the given elements.
+     *
+     * @param elements the elements to remove, which must be the instances stored in this set
+     */
+    void removeIdentical(Collection<?> elements) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        Set<Object> removed = Collections.newSetFromMap(new IdentityHashMap<>(elements.size()));
+        for (Object element : elements) {
+            removed.add(HashTables.maskNull(element));
+        }
+        Object[] oldTable = table;
+        int[] oldHashes = hashes;
+        table = new Object[oldTable.length];
+        hashes = new int[oldTable.length];
+        size = 0;
+        for (int slot = 0; slot < oldTable.length; slot++) {
+            if (oldTable[slot] != null && !removed.contains(oldTable[slot])) {
+                insert(oldTable[slot], oldHashes[slot]);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ElementIterator();
+    }
+
+    /**
+     * Returns the slot of the given stored element, or {@code -(insertion slot) - 1} if it is not present.
+     */
+    private int slotOf(Object storedElement, int hash) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (true) {
+            Object slotElement = table[slot];
+            if (slotElement == null) {
+                return -slot - 1;
+            } else if (HashTables.matches(slotElement, hashes[slot], storedElement, hash)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Inserts a stored element that is not present in the set, growing the table if it gets too full.
+     */
+    private void insert(Object storedElement, int hash) {
+        if (HashTables.isOverloaded(size + 1, table.length)) {
+            resize(table.length << 1);
+        }
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = storedElement;
+        hashes[slot] = hash;
+        size++;
+    }
+
+    /**
+     * Removes the element in the given occupied slot and shifts the following elements of the probe sequence back
+     * to close the gap.
+     *
+     * @param slot a slot returned by {@link #slotOf(Object)} for a present element
+     */
+    void removeAt(int slot) {
+        int mask = table.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (table[next] != null) {
+            int home = hashes[next] & mask;
+            if (HashTables.canFillGap(home, gap, next, mask)) {
+                table[gap] = table[next];
+                hashes[gap] = hashes[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[gap] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldTable = table;
+        int[] oldHashes = hashes;
+        table = new Object[capacity];
+        hashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldTable.length; oldSlot++) {
+            if (oldTable[oldSlot] != null) {
+                int slot = oldHashes[oldSlot] & mask;
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = oldTable[oldSlot];
+                hashes[slot] = oldHashes[oldSlot];
+            }
+        }
+    }
+
+    private class ElementIterator implements Iterator<T> {
+        private int slot = nextSlot(0);
+        private int lastSlot;
+        // Elements and hashes not returned yet, copied when a removal could move a returned element into the slots
+        // not visited yet; null while iterating over the table itself
+        private Object[] remaining;
+        private int[] remainingHashes;
+        private Object lastElement; // Stored element returned last, null if there is none or it was removed
+        private int lastHash;
+
+        private int nextSlot(int from) {
+            int next = from;
+            while (next < table.length && table[next] == null) {
+                next++;
+            }
+            return next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining == null ? slot < table.length : slot < remaining.length;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (remaining != null) {
+                lastElement = remaining[slot];
+                lastHash = remainingHashes[slot++];
+                return HashTables.unmaskNull(lastElement);
+            }
+            lastElement = table[slot];
+            lastHash = hashes[slot];
+            lastSlot = slot;
+            slot = nextSlot(slot + 1);
+            return HashTables.unmaskNull(lastElement);
+        }
+
+        @Override
+        public void remove() {
+            if (lastElement == null) {
+                throw new IllegalStateException();
+            }
+            if (remaining == null && table[table.length - 1] != null && table[0] != null) {
+                // The shift may wrap around and move a returned element from the start to the end of the table
+                int count = 0;
+                for (int index = slot; index < table.length; index++) {
+                    count += table[index] != null ? 1 : 0;
+                }
+                remaining = new Object[count];
+                remainingHashes = new int[count];
+                int index = 0;
+                for (int from = slot; from < table.length; from++) {
+                    if (table[from] != null) {
+                        remaining[index] = table[from];
+                        remainingHashes[index++] = hashes[from];
+                    }
+                }
+                slot = 0;
+            }
+            if (remaining == null) {
+                removeAt(lastSlot);
+                if (table[lastSlot] != null) {
+                    slot = lastSlot; // An element not returned yet was shifted into the removed slot
+                }
+            } else {
+                removeAt(slotOf(lastElement, lastHash));
+            }
+            lastElement = null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.larsarv.jrmg.api;
+
+/**
+ * Selects the data structure used by generated mutators for collection components.
+ * <p>
+ * The backend can be chosen for all collection components of a record with {@link GenerateMutator#collectionBackend()}
+ * or for a single component with {@link MutatorBackend}.
+ */
+public enum CollectionBackend {
+    /**
+     * Copies the source collection into a mutable {@link java.util.ArrayList}, or into a hash set or hash map that
+     * keeps the hash of each element or key, on the first write.
+     * <p>
+     * Best suited for components that are small or mostly rewritten as a whole.
+     */
+    DEFAULT,
+
+    /**
+     * Uses a persistent (structurally shared) collection, so a write only copies the path to the changed element
+     * instead of the whole collection, and the built collection shares its structure with the source.
+     * <p>
+     * Best suited for large components that receive a few edits per mutator session.
+     * Lists use a relaxed radix balanced tree, giving O(log n) access, replace, insert and remove.
+     * Sets and maps use a compressed hash-array mapped prefix tree (CHAMP), giving O(log32 n) lookup, put and remove.
+     */
+    PERSISTENT,
+
+    /**
+     * Like {@link #DEFAULT}, but stores the values of {@code List<Integer>}, {@code List<Long>} and
+     * {@code List<Double>} components unboxed in a primitive array, mutated by {@link IntListMutator},
+     * {@link LongListMutator} and {@link DoubleListMutator}, and the values of maps with {@code Integer},
+     * {@code Long} or {@code Double} values in an open addressing table, mutated by {@link IntValueMapMutator},
+     * {@link LongValueMapMutator} and {@link DoubleValueMapMutator}.
+     * <p>
+     * Best suited for large numeric components. The primitive storage does not support {@code null} values: adding
+     * a {@code null} value, or writing to a source collection that contains one, throws a
+     * {@link NullPointerException}.
+     */
+    PRIMITIVE
+}
@@ -0,0 +1,602 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Helpers used by the collection mutators, mainly to copy a collection into a new mutable collection of the same kind.
+ * <p>
+ * {@link EnumMap} and {@link EnumSet} stay enum based, sorted maps and sets keep their comparator, and
+ * {@link LinkedHashMap} and {@link LinkedHashSet} keep their iteration order. Any other collection is copied into
+ * a {@link CachedHashMap} or {@link CachedHashSet}, which keep the hash of each key or element, or into an
+ * {@link EnumMap} or {@link EnumSet} when the generated code passes the enum class of the keys or elements.
+ */
+final class CollectionSupport {
+    private CollectionSupport() {
+    }
+
+    /**
+     * Returns a mutable copy of the given map, using the same kind of map as the source.
+     *
+     * @param source the map to copy
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a new mutable map with the entries of the source
+     */
+    static <K, V> Map<K, V> copyOf(Map<K, V> source) {
+        if (source instanceof EnumMap) {
+            return copyOfEnumMap(source);
+        } else if (source instanceof SortedMap) {
+            return new TreeMap<>((SortedMap<K, V>) source);
+        } else if (source instanceof LinkedHashMap) {
+            return new LinkedHashMap<>(source);
+        }
+        return CachedHashMap.copyOf(source);
+    }
+
+    /**
+     * Returns a mutable copy of the given map. If an enum key type is given, the copy is an {@link EnumMap}
+     * unless the source is an enum map, a sorted map or a linked map, whose kind is kept.
+     *
+     * @param source the map to copy
+     * @param enumKeyType the enum class of the keys, or {@code null} if the keys are not enums
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a new mutable map with the entries of the source
+     */
+    static <K, V> Map<K, V> copyOf(Map<K, V> source, Class<?> enumKeyType) {
+        if (enumKeyType == null || keepsMapKind(source)) {
+            return copyOf(source);
+        }
+        Map<K, V> map = newEnumMap(enumKeyType);
+        map.putAll(source);
+        return map;
+    }
+
+    /**
+     * Returns an empty mutable map of the same kind as the given map. If an enum key type is given, the map is an
+     * {@link EnumMap} unless the source is a sorted map or a linked map.
+     *
+     * @param source the map whose kind to use
+     * @param enumKeyType the enum class of the keys, or {@code null} if the keys are not enums
+     * @param expectedSize the expected number of entries
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a new, empty mutable map
+     */
+    static <K, V> Map<K, V> emptyLike(Map<K, V> source, Class<?> enumKeyType, int expectedSize) {
+        if (enumKeyType == null || keepsMapKind(source)) {
+            return emptyLike(source, expectedSize);
+        }
+        return newEnumMap(enumKeyType);
+    }
+
+    /**
+     * Returns an empty {@link EnumMap} for the given enum key type.
+     *
+     * @param enumKeyType the enum class of the keys
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a new, empty enum map
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <K, V> Map<K, V> newEnumMap(Class<?> enumKeyType) {
+        return (Map<K, V>) new EnumMap(enumKeyType.asSubclass(Enum.class));
+    }
+
+    /**
+     * Returns an empty mutable map of the same kind as the given map, sized for the expected number of entries.
+     *
+     * @param source the map whose kind to use
+     * @param expectedSize the expected number of entries
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a new, empty mutable map
+     */
+    static <K, V> Map<K, V> emptyLike(Map<K, V> source, int expectedSize) {
+        if (source instanceof EnumMap) {
+            // EnumMap does not expose its key type, so copy and clear to keep it
+            Map<K, V> map = copyOfEnumMap(source);
+            map.clear();
+            return map;
+        } else if (source instanceof SortedMap) {
+            return new TreeMap<>(((SortedMap<K, V>) source).comparator());
+        } else if (source instanceof LinkedHashMap) {
+            return new LinkedHashMap<>(hashCapacity(expectedSize));
+        }
+        return new CachedHashMap<>(expectedSize);
+    }
+
+    /**
+     * Returns an unmodifiable view of the given map that keeps its sorted map interface, if any.
+     *
+     * @param map the map to wrap
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return an unmodifiable view of the map
+     */
+    static <K, V> Map<K, V> unmodifiable(Map<K, V> map) {
+        if (map instanceof NavigableMap) {
+            return Collections.unmodifiableNavigableMap((NavigableMap<K, V>) map);
+        } else if (map instanceof SortedMap) {
+            return Collections.unmodifiableSortedMap((SortedMap<K, V>) map);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Returns an immutable map with the entries of the given map, to be returned by a build method.
+     * <p>
+     * Hash maps, and linked maps small enough to be searched linearly, are copied into a {@link CompactHashMap},
+     * which needs neither a wrapper nor entry objects and caches its hash code. Enum maps and sorted maps, and larger
+     * linked maps whose iteration order has to be kept, are wrapped in an unmodifiable view instead, which does not
+     * cache the hash code.
+     *
+     * @param map the map to make immutable, which must not be modified afterwards
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return an immutable map with the entries of the given map
+     */
+    static <K, V> Map<K, V> immutable(Map<K, V> map) {
+        return isCompactable(map) ? CompactHashMap.copyOf(map) : unmodifiable(map);
+    }
+
+    /**
+     * Returns an immutable copy of the given map, like {@link #immutable(Map)} but without sharing the map.
+     *
+     * @param map the map to copy
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return an immutable copy of the map
+     */
+    static <K, V> Map<K, V> immutableCopy(Map<K, V> map) {
+        return isCompactable(map) ? CompactHashMap.copyOf(map) : unmodifiable(copyOf(map));
+    }
+
+    /**
+     * Returns a mutable copy of the given set, using the same kind of set as the source.
+     *
+     * @param source the set to copy
+     * @param <T> the type of elements in the set
+     * @return a new mutable set with the elements of the source
+     */
+    static <T> Set<T> copyOf(Set<T> source) {
+        if (source instanceof EnumSet) {
+            return copyOfEnumSet(source);
+        } else if (source instanceof SortedSet) {
+            return new TreeSet<>((SortedSet<T>) source);
+        } else if (source instanceof LinkedHashSet) {
+            return new LinkedHashSet<>(source);
+        }
+        return CachedHashSet.copyOf(source);
+    }
+
+    /**
+     * Returns a mutable copy of the given set. If an enum element type is given, the copy is an {@link EnumSet}
+     * unless the source is a sorted set or a linked set, whose kind is kept.
+     *
+     * @param source the set to copy
+     * @param enumElementType the enum class of the elements, or {@code null} if the elements are not enums
+     * @param <T> the type of elements in the set
+     * @return a new mutable set with the elements of the source
+     */
+    static <T> Set<T> copyOf(Set<T> source, Class<?> enumElementType) {
+        if (enumElementType == null || keepsSetKind(source)) {
+            return copyOf(source);
+        }
+        Set<T> set = newEnumSet(enumElementType);
+        set.addAll(source);
+        return set;
+    }
+
+    /**
+     * Returns an empty mutable set of the same kind as the given set. If an enum element type is given, the set is
+     * an {@link EnumSet} unless the source is a sorted set or a linked set.
+     *
+     * @param source the set whose kind to use
+     * @param enumElementType the enum class of the elements, or {@code null} if the elements are not enums
+     * @param expectedSize the expected number of elements
+     * @param <T> the type of elements in the set
+     * @return a new, empty mutable set
+     */
+    static <T> Set<T> emptyLike(Set<T> source, Class<?> enumElementType, int expectedSize) {
+        if (enumElementType == null || keepsSetKind(source)) {
+            return emptyLike(source, expectedSize);
+        }
+        return newEnumSet(enumElementType);
+    }
+
+    /**
+     * Returns an empty {@link EnumSet} for the given enum element type.
+     *
+     * @param enumElementType the enum class of the elements
+     * @param <T> the type of elements in the set
+     * @return a new, empty enum set
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> Set<T> newEnumSet(Class<?> enumElementType) {
+        return (Set<T>) EnumSet.noneOf((Class) enumElementType.asSubclass(Enum.class));
+    }
+
+    /**
+     * Returns an empty mutable set of the same kind as the given set, sized for the expected number of elements.
+     *
+     * @param source the set whose kind to use
+     * @param expectedSize the expected number of elements
+     * @param <T> the type of elements in the set
+     * @return a new, empty mutable set
+     */
+    static <T> Set<T> emptyLike(Set<T> source, int expectedSize) {
+        if (source instanceof EnumSet) {
+            Set<T> set = copyOfEnumSet(source);
+            set.clear();
+            return set;
+        } else if (source instanceof SortedSet) {
+            return new TreeSet<>(((SortedSet<T>) source).comparator());
+        } else if (source instanceof LinkedHashSet) {
+            return new LinkedHashSet<>(hashCapacity(expectedSize));
+        }
+        return new CachedHashSet<>(expectedSize);
+    }
+
+    /**
+     * Returns an unmodifiable view of the given set that keeps its sorted set interface, if any.
+     *
+     * @param set the set to wrap
+     * @param <T> the type of elements in the set
+     * @return an unmodifiable view of the set
+     */
+    static <T> Set<T> unmodifiable(Set<T> set) {
+        if (set instanceof NavigableSet) {
+            return Collections.unmodifiableNavigableSet((NavigableSet<T>) set);
+        } else if (set instanceof SortedSet) {
+            return Collections.unmodifiableSortedSet((SortedSet<T>) set);
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Returns an immutable set with the elements of the given set, to be returned by a build method.
+     * <p>
+     * Hash sets, and linked sets small enough to be searched linearly, are copied into a {@link CompactHashSet},
+     * which caches its hash code. Enum sets and sorted sets, and larger linked sets whose iteration order has to be
+     * kept, are wrapped in an unmodifiable view instead, which does not cache the hash code.
+     *
+     * @param set the set to make immutable, which must not be modified afterwards
+     * @param <T> the type of elements in the set
+     * @return an immutable set with the elements of the given set
+     */
+    static <T> Set<T> immutable(Set<T> set) {
+        return isCompactable(set) ? CompactHashSet.copyOf(set) : unmodifiable(set);
+    }
+
+    /**
+     * Returns an immutable copy of the given set, like {@link #immutable(Set)} but without sharing the set.
+     *
+     * @param set the set to copy
+     * @param <T> the type of elements in the set
+     * @return an immutable copy of the set
+     */
+    static <T> Set<T> immutableCopy(Set<T> set) {
+        return isCompactable(set) ? CompactHashSet.copyOf(set) : unmodifiable(copyOf(set));
+    }
+
+    /**
+     * Returns the object serialized in place of a list built by a mutator: an unmodifiable {@link ArrayList} with
+     * the elements of the list, so the internal structure of the list is not part of the serialized form.
+     *
+     * @param list the list being serialized
+     * @return the serialized form of the list
+     */
+    static Object serializedForm(List<?> list) {
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    /**
+     * Returns the object serialized in place of a set built by a mutator: an unmodifiable {@link LinkedHashSet}
+     * with the elements of the set, in iteration order.
+     *
+     * @param set the set being serialized
+     * @return the serialized form of the set
+     */
+    static Object serializedForm(Set<?> set) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(set));
+    }
+
+    /**
+     * Returns the object serialized in place of a map built by a mutator: an unmodifiable {@link LinkedHashMap}
+     * with the entries of the map, in iteration order.
+     *
+     * @param map the map being serialized
+     * @return the serialized form of the map
+     */
+    static Object serializedForm(Map<?, ?> map) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+    }
+
+    /**
+     * Returns the given indices sorted in ascending order and without duplicates, checking that every index
+     * is within the bounds of a list of the given size.
+     *
+     * @param indices the indices to sort; the array is not modified
+     * @param size the size of the list the indices refer to
+     * @return a new array with the sorted, distinct indices
+     * @throws IndexOutOfBoundsException if an index is negative or not less than the size
+     */
+    static int[] sortedDistinctIndices(int[] indices, int size) {
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int index : sorted) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            if (count == 0 || sorted[count - 1] != index) {
+                sorted[count++] = index;
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * Searches the elements of a list for a key using binary search, see {@link SimpleListMutator#binarySearch}.
+     *
+     * @param size the size of the list
+     * @param elementAt a function returning the element at an index
+     * @param keyComparison a function comparing an element to the searched key
+     * @param <T> the type of elements in the list
+     * @return the index of a matching element, or {@code -(insertion point) - 1} if no element matches
+     */
+    static <T> int binarySearch(int size, IntFunction<T> elementAt, ToIntFunction<? super T> keyComparison) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = keyComparison.applyAsInt(elementAt.apply(middle));
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns whether a set operation should iterate the set and look its elements up in the given collection,
+     * rather than iterate the collection and look its elements up in the set. This is the case when the
+     * collection is a set, so lookups are fast, and the set is not larger than the collection.
+     *
+     * @param set the set of the mutator
+     * @param items the other collection of the operation
+     * @return true if the set should be iterated, false if the collection should be iterated
+     */
+    static boolean iteratesSet(Set<?> set, Collection<?> items) {
+        return items instanceof Set && set.size() <= items.size();
+    }
+
+    /**
+     * Returns the distinct elements of the given collection: the collection itself if it is a set, otherwise a
+     * set with its elements in their first order of occurrence.
+     *
+     * @param items the collection
+     * @param <T> the type of elements in the collection
+     * @return the distinct elements of the collection
+     */
+    static <T> Collection<? extends T> distinctElements(Collection<? extends T> items) {
+        return items instanceof Set ? items : new LinkedHashSet<>(items);
+    }
+
+    /**
+     * Returns a predicate that accepts an element when no earlier element tested by the predicate had an equal
+     * key, which makes a filter keep the first element of each key. The keys are kept in a hash set sized for the
+     * expected number of elements, so each element is looked up once.
+     *
+     * @param keyExtractor the function returning the key of an element
+     * @param expectedSize the number of elements that will be tested
+     * @param <T> the type of elements
+     * @return the predicate, which must be used for a single pass over the elements
+     */
+    static <T> Predicate<T> firstOfEachKey(Function<? super T, ?> keyExtractor, int expectedSize) {
+        Set<Object> seenKeys = new CachedHashSet<>(expectedSize);
+        return element -> seenKeys.add(keyExtractor.apply(element));
+    }
+
+    /**
+     * Joins incoming elements to the elements of a list by key, with a single hashed pass over each side.
+     * <p>
+     * The incoming elements are indexed by key in a hash map, with the elements of a repeated key chained in their
+     * order. Each list element whose key has incoming elements is then passed to a mutator and merged with them in
+     * order, and the built element is stored at its index in {@code newItems}; the other indices get the list
+     * element itself. The incoming elements whose key matched no list element are returned in their order, the
+     * first of each key merged with the later ones of the same key.
+     *
+     * @param size the number of elements in the list
+     * @param elementAt the function returning the list element at an index
+     * @param newItems the array receiving the new element of each index of the list, at least {@code size} long
+     * @param incoming the incoming elements
+     * @param keyExtractor the function returning the key of an element
+     * @param mergeFunction the function merging an incoming element into the mutator of an element with its key
+     * @param elementMutatorFactory the function returning a mutator for an element
+     * @param <T> the type of elements
+     * @param <M> the type of mutator of the elements
+     * @return the incoming elements to append to the list, in their order
+     */
+    @SuppressWarnings("unchecked")
+    static <T, M extends Mutator<T>> List<T> upsertByKey(int size, IntFunction<T> elementAt, Object[] newItems,
+            Collection<? extends T> incoming, Function<? super T, ?> keyExtractor, BiFunction<M, T, M> mergeFunction,
+            Function<T, M> elementMutatorFactory) {
+        Object[] incomingItems = incoming.toArray();
+        int[] nextOfKey = new int[incomingItems.length]; // Index of the next incoming element with the same key, or -1
+        int[] lastOfKey = new int[incomingItems.length]; // Index of the last element of the key for a first one, or -1
+        boolean[] matched = new boolean[incomingItems.length]; // Whether the key of a first element is in the list
+        Map<Object, Integer> firstOfKey = new CachedHashMap<>(incomingItems.length);
+        for (int index = 0; index < incomingItems.length; index++) {
+            nextOfKey[index] = -1;
+            Integer first = firstOfKey.putIfAbsent(keyExtractor.apply((T) incomingItems[index]), index);
+            if (first == null) {
+                lastOfKey[index] = index;
+            } else {
+                nextOfKey[lastOfKey[first]] = index;
+                lastOfKey[first] = index;
+                lastOfKey[index] = -1;
+            }
+        }
+        for (int index = 0; index < size; index++) {
+            T item = elementAt.apply(index);
+            Integer first = firstOfKey.get(keyExtractor.apply(item));
+            if (first != null) {
+                matched[first] = true;
+                item = mergeAll(elementMutatorFactory.apply(item), incomingItems, nextOfKey, first, mergeFunction);
+            }
+            newItems[index] = item;
+        }
+        List<T> appended = new ArrayList<>();
+        for (int index = 0; index < incomingItems.length; index++) {
+            if (lastOfKey[index] >= 0 && !matched[index]) {
+                T item = (T) incomingItems[index];
+                if (nextOfKey[index] >= 0) {
+                    item = mergeAll(elementMutatorFactory.apply(item), incomingItems, nextOfKey, nextOfKey[index], mergeFunction);
+                }
+                appended.add(item);
+            }
+        }
+        return appended;
+    }
+
+    /**
+     * Merges a chain of incoming elements of the same key into a mutator and returns the built element.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, M extends Mutator<T>> T mergeAll(M mutator, Object[] incomingItems, int[] nextOfKey, int first,
+            BiFunction<M, T, M> mergeFunction) {
+        M merged = mutator;
+        for (int index = first; index >= 0; index = nextOfKey[index]) {
+            merged = mergeFunction.apply(merged, (T) incomingItems[index]);
+        }
+        return merged.build();
+    }
+
+    /**
+     * Returns the value of the key in the given map, like {@link Map#get(Object)}. A {@code null} key is only passed
+     * to maps known to accept it; the keys of any other map, such as {@link Map#of()}, are scanned for it instead.
+     *
+     * @param map the map to search
+     * @param key the key to look up, possibly null
+     * @param <V> the type of values in the map
+     * @return the value of the key, or null if the map does not contain the key
+     */
+    static <V> V get(Map<?, V> map, Object key) {
+        if (key != null || permitsNullLookup(map)) {
+            return map.get(key);
+        }
+        for (Map.Entry<?, V> entry : map.entrySet()) {
+            if (entry.getKey() == null) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the given map contains the key, like {@link Map#containsKey(Object)}, handling a {@code null}
+     * key like {@link #get(Map, Object)}.
+     *
+     * @param map the map to search
+     * @param key the key to look for, possibly null
+     * @return true if the map contains the key, false otherwise
+     */
+    static boolean containsKey(Map<?, ?> map, Object key) {
+        return key != null || permitsNullLookup(map) ? map.containsKey(key) : containsNull(map.keySet());
+    }
+
+    /**
+     * Returns whether the given map contains the value, like {@link Map#containsValue(Object)}, scanning the values
+     * for a {@code null} value instead of passing it to a map that may reject it.
+     *
+     * @param map the map to search
+     * @param value the value to look for, possibly null
+     * @return true if the map contains the value, false otherwise
+     */
+    static boolean containsValue(Map<?, ?> map, Object value) {
+        return value != null ? map.containsValue(value) : containsNull(map.values());
+    }
+
+    /**
+     * Returns whether the given set contains the element, like {@link Set#contains(Object)}, handling a
+     * {@code null} element like {@link #get(Map, Object)}.
+     *
+     * @param set the set to search
+     * @param element the element to look for, possibly null
+     * @return true if the set contains the element, false otherwise
+     */
+    static boolean contains(Set<?> set, Object element) {
+        return element != null || permitsNullLookup(set) ? set.contains(element) : containsNull(set);
+    }
+
+    private static boolean containsNull(Collection<?> items) {
+        for (Object item : items) {
+            if (item == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean permitsNullLookup(Map<?, ?> map) {
+        return map instanceof HashMap || map instanceof CachedHashMap || map instanceof CompactHashMap
+                || map instanceof PersistentHashMap || map instanceof EnumMap || map instanceof AbstractValueHashMap;
+    }
+
+    private static boolean permitsNullLookup(Set<?> set) {
+        return set instanceof HashSet || set instanceof CachedHashSet || set instanceof CompactHashSet
+                || set instanceof PersistentHashSet || set instanceof EnumSet;
+    }
+
+    private static boolean isCompactable(Map<?, ?> map) {
+        if (map instanceof EnumMap || map instanceof SortedMap) {
+            return false;
+        }
+        // Compact maps keep the iteration order of the source only while they are searched linearly
+        return !(map instanceof LinkedHashMap) || map.size() <= CompactHashMap.LINEAR_LIMIT;
+    }
+
+    private static boolean isCompactable(Set<?> set) {
+        if (set instanceof EnumSet || set instanceof SortedSet) {
+            return false;
+        }
+        return !(set instanceof LinkedHashSet) || set.size() <= CompactHashSet.LINEAR_LIMIT;
+    }
+
+    private static boolean keepsMapKind(Map<?, ?> map) {
+        return map instanceof EnumMap || map instanceof SortedMap || map instanceof LinkedHashMap;
+    }
+
+    private static boolean keepsSetKind(Set<?> set) {
+        return set instanceof EnumSet || set instanceof SortedSet || set instanceof LinkedHashSet;
+    }
+
+    /**
+     * Returns the initial capacity for a hash based collection that holds the expected number of elements
+     * without rehashing at the default load factor.
+     */
+    private static int hashCapacity(int expectedSize) {
+        return expectedSize < 3 ? expectedSize + 1 : (int) Math.ceil(expectedSize / 0.75);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Map<K, V> copyOfEnumMap(Map<K, V> source) {
+        return (Map<K, V>) new EnumMap((EnumMap) source);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Set<T> copyOfEnumSet(Set<T> source) {
+        return (Set<T>) ((EnumSet) source).clone();
+    }
+}
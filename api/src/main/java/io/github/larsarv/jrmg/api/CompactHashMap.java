@@ -0,0 +1,335 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A compact immutable hash map returned by {@link MapMutatorImpl#build()}.
+ * <p>
+ * The keys and values are stored alternately in a single array, without an entry object per mapping. Maps of up to
+ * {@value #LINEAR_LIMIT} entries keep the entries in iteration order of the source and are searched linearly, which
+ * is faster than hashing for so few keys. Larger maps use open addressing with linear probing at a load factor of
+ * at most 1/2. The empty map is a shared singleton. {@code null} keys and values are supported.
+ * <p>
+ * Hashed maps keep the hash of each key next to it, so a lookup calls {@link Object#equals(Object)} only for a key
+ * with the same hash, and copying the map into a {@link CachedHashMap} does not hash the keys again.
+ * The hash code of the map is computed on first use and cached, and {@link #equals(Object)} returns false without
+ * comparing the entries when the size or the cached hash code of another compact map differs.
+ * <p>
+ * The map is unmodifiable; the {@link Map} mutation methods throw {@link UnsupportedOperationException}.
+ * It is serialized as an unmodifiable {@link java.util.LinkedHashMap} with the same entries in the same order.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of values in the map
+ */
+final class CompactHashMap<K, V> extends AbstractMap<K, V> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maps with at most this number of entries are searched linearly instead of hashed.
+     */
+    static final int LINEAR_LIMIT = 8;
+    private static final CompactHashMap<?, ?> EMPTY = new CompactHashMap<>(new Object[0], null, 0);
+
+    private final Object[] table; // Key of each slot at even indices, followed by its value
+    private final int[] hashes; // Hash of the key of each slot; null for a linear map whose hashes are unknown
+    private final int size;
+    private int hashCode; // Computed on first use, 0 until then
+
+    private CompactHashMap(Object[] table, int[] hashes, int size) {
+        this.table = table;
+        this.hashes = hashes;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return the shared empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> CompactHashMap<K, V> empty() {
+        return (CompactHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a compact immutable map with the entries of the given map.
+     * If the map already is a compact map it is returned as is. The hashes stored by a {@link CachedHashMap} are
+     * reused, so its keys are not hashed again.
+     *
+     * @param map the map to copy, whose keys must be distinct by {@link Object#equals(Object)}
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a compact map with the entries of the given map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> CompactHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof CompactHashMap) {
+            return (CompactHashMap<K, V>) map;
+        }
+        int size = map.size();
+        if (size == 0) {
+            return empty();
+        }
+        if (map instanceof CachedHashMap) {
+            CachedHashMap<? extends K, ? extends V> cachedMap = (CachedHashMap<? extends K, ? extends V>) map;
+            return fromHashed(cachedMap.table(), cachedMap.hashes(), size);
+        }
+        if (size <= LINEAR_LIMIT) {
+            Object[] table = new Object[size * 2];
+            int index = 0;
+            for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+                table[index++] = HashTables.maskNull(entry.getKey());
+                table[index++] = entry.getValue();
+            }
+            return new CompactHashMap<>(table, null, size);
+        }
+        int capacity = HashTables.tableCapacity(size);
+        Object[] table = new Object[capacity * 2];
+        int[] hashes = new int[capacity];
+        int mask = capacity - 1;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            Object key = HashTables.maskNull(entry.getKey());
+            int hash = HashTables.hash(key);
+            int slot = hash & mask;
+            while (table[slot * 2] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot * 2] = key;
+            table[slot * 2 + 1] = entry.getValue();
+            hashes[slot] = hash;
+        }
+        return new CompactHashMap<>(table, hashes, size);
+    }
+
+    /**
+     * Returns a compact immutable map with the entries of a hash table laid out as in this class, using the stored
+     * hashes instead of hashing the keys. The arrays are not modified.
+     *
+     * @param table the key of each slot at even indices, null for an empty slot, followed by its value
+     * @param hashes the hash of the key of each occupied slot
+     * @param size the number of entries in the table, at least one
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a compact map with the entries of the table
+     */
+    private static <K, V> CompactHashMap<K, V> fromHashed(Object[] table, int[] hashes, int size) {
+        if (size <= LINEAR_LIMIT) {
+            Object[] linearTable = new Object[size * 2];
+            int[] linearHashes = new int[size];
+            int index = 0;
+            for (int slot = 0; index < size; slot++) {
+                if (table[slot * 2] != null) {
+                    linearTable[index * 2] = table[slot * 2];
+                    linearTable[index * 2 + 1] = table[slot * 2 + 1];
+                    linearHashes[index++] = hashes[slot];
+                }
+            }
+            return new CompactHashMap<>(linearTable, linearHashes, size);
+        }
+        int capacity = HashTables.tableCapacity(size);
+        if (capacity * 2 == table.length) {
+            return new CompactHashMap<>(table.clone(), hashes.clone(), size);
+        }
+        Object[] newTable = new Object[capacity * 2];
+        int[] newHashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < hashes.length; oldSlot++) {
+            if (table[oldSlot * 2] != null) {
+                int slot = hashes[oldSlot] & mask;
+                while (newTable[slot * 2] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                newTable[slot * 2] = table[oldSlot * 2];
+                newTable[slot * 2 + 1] = table[oldSlot * 2 + 1];
+                newHashes[slot] = hashes[oldSlot];
+            }
+        }
+        return new CompactHashMap<>(newTable, newHashes, size);
+    }
+
+    /**
+     * Returns the slots of the map: the key of each slot at even indices, followed by its value, with {@code null}
+     * keys for empty slots. The array must not be modified.
+     *
+     * @return the slots of the map
+     */
+    Object[] table() {
+        return table;
+    }
+
+    /**
+     * Returns the hash of the key of each slot of {@link #table()}, or {@code null} if the map is linear and the
+     * hashes of its keys are unknown. The array must not be modified.
+     *
+     * @return the hashes of the slots, or null
+     */
+    int[] hashes() {
+        return hashes;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? (V) table[index + 1] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        int index = indexOf(key);
+        return index >= 0 ? (V) table[index + 1] : defaultValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int index = 0; index < table.length; index += 2) {
+            if (table[index] != null) {
+                action.accept(HashTables.unmaskNull(table[index]), (V) table[index + 1]);
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        // Not cached, to keep the map itself as small as possible
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns the hash code of the map, which is computed once, using the stored hashes of the keys where they are
+     * known, and then cached.
+     */
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            for (int index = 0; index < table.length; index += 2) {
+                Object key = table[index];
+                if (key != null) {
+                    int keyHash = key == HashTables.NULL_KEY ? 0
+                            : hashes != null ? HashTables.hashCode(hashes[index / 2]) : key.hashCode();
+                    hash += keyHash ^ Objects.hashCode(table[index + 1]);
+                }
+            }
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (o instanceof CompactHashMap) {
+            CompactHashMap<?, ?> other = (CompactHashMap<?, ?>) o;
+            if (other.size != size || hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+                return false;
+            }
+        }
+        return super.equals(o);
+    }
+
+    /**
+     * Returns the index of the given key in the table, or -1 if the key is not present.
+     */
+    private int indexOf(Object key) {
+        Object storedKey = HashTables.maskNull(key);
+        if (table.length <= LINEAR_LIMIT * 2) {
+            for (int index = 0; index < table.length; index += 2) {
+                if (table[index] == storedKey || table[index].equals(storedKey)) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length / 2 - 1;
+        int hash = HashTables.hash(storedKey);
+        int slot = hash & mask;
+        while (true) {
+            Object slotKey = table[slot * 2];
+            if (slotKey == null) {
+                return -1;
+            } else if (HashTables.matches(slotKey, hashes[slot], storedKey, hash)) {
+                return slot * 2;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Replaces the map by its serialized form, see {@link CollectionSupport#serializedForm(Map)}.
+     *
+     * @return the serialized form of the map
+     */
+    @Serial
+    private Object writeReplace() {
+        return CollectionSupport.serializedForm(this);
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int index = nextIndex(0);
+
+        private int nextIndex(int from) {
+            int next = from;
+            while (next < table.length && table[next] == null) {
+                next += 2;
+            }
+            return next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < table.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>(HashTables.unmaskNull(table[index]), (V) table[index + 1]);
+            index = nextIndex(index + 2);
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A compact immutable hash set returned by {@link SetMutatorImpl#build()}.
+ * <p>
+ * The elements are stored directly in an array, without the entry objects of a {@link java.util.HashSet}.
+ * Sets of up to {@value #LINEAR_LIMIT} elements keep the elements in iteration order of the source and are searched
+ * linearly. Larger sets use open addressing with linear probing at a load factor of at most 1/2. The empty set is
+ * a shared singleton. {@code null} elements are supported.
+ * <p>
+ * Hashed sets keep the hash of each element next to it, so a lookup calls {@link Object#equals(Object)} only for an
+ * element with the same hash, and copying the set into a {@link CachedHashSet} does not hash the elements again.
+ * The hash code of the set is computed from the stored hashes on first use and cached, and {@link #equals(Object)}
+ * returns false without comparing the elements when the size or the cached hash code of another compact set
+ * differs.
+ * <p>
+ * The set is unmodifiable; the {@link Set} mutation methods throw {@link UnsupportedOperationException}.
+
+ * It is serialized as an unmodifiable {@link java.util.LinkedHashSet} with the same elements in the same order.
+ *
+ * @param <T> the type of elements in the set
+ */
+final class CompactHashSet<T> extends AbstractSet<T> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Sets with at most this number of elements are searched linearly instead of hashed.
+     */
+    static final int LINEAR_LIMIT = 8;
+    private static final CompactHashSet<?> EMPTY = new CompactHashSet<>(new Object[0], null, 0);
+
+    private final Object[] table;
+    private final int[] hashes; // Hash of the element of each slot; null for a linear set whose hashes are unknown
+    private final int size;
+    private int hashCode; // Computed on first use, 0 until then
+
+    private CompactHashSet(Object[] table, int[] hashes, int size) {
+        this.table = table;
+        this.hashes = hashes;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty set.
+     *
+     * @param <T> the type of elements in the set
+     * @return the shared empty set
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CompactHashSet<T> empty() {
+        return (CompactHashSet<T>) EMPTY;
+    }
+
+    /**
+     * Returns a compact immutable set with the elements of the given set.
+     * If the set already is a compact set it is returned as is. The hashes stored by a {@link CachedHashSet} are
+     * reused, so its elements are not hashed again.
+     *
+     * @param set the set to copy, whose elements must be distinct by {@link Object#equals(Object)}
+     * @param <T> the type of elements in the set
+     * @return a compact set with the elements of the given set
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CompactHashSet<T> copyOf(Collection<? extends T> set) {
+        if (set instanceof CompactHashSet) {
+            return (CompactHashSet<T>) set;
+        }
+        int size = set.size();
+        if (size == 0) {
+            return empty();
+        }
+        if (set instanceof CachedHashSet) {
+            CachedHashSet<? extends T> cachedSet = (CachedHashSet<? extends T>) set;
+            return fromHashed(cachedSet.table(), cachedSet.hashes(), size);
+        }
+        if (size <= LINEAR_LIMIT) {
+            Object[] table = new Object[size];
+            int index = 0;
+            for (T element : set) {
+                table[index++] = HashTables.maskNull(element);
+            }
+            return new CompactHashSet<>(table, null, size);
+        }
+        int capacity = HashTables.tableCapacity(size);
+        Object[] table = new Object[capacity];
+        int[] hashes = new int[capacity];
+        int mask = capacity - 1;
+        for (T element : set) {
+            Object storedElement = HashTables.maskNull(element);
+            int hash = HashTables.hash(storedElement);
+            int slot = hash & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = storedElement;
+            hashes[slot] = hash;
+        }
+        return new CompactHashSet<>(table, hashes, size);
+    }
+
+    /**
+     * Returns a compact immutable set with the distinct elements among the first {@code count} elements of the
+     * given array. Each element is hashed once, and the table is sized for {@code count} elements up front; if many
+     * elements were duplicates, the distinct elements are moved to a smaller table using the hashes computed before.
+     *
+     * @param elements the elements of the set, which may contain duplicates
+     * @param count the number of elements to use from the start of the array
+     * @param <T> the type of elements in the set
+     * @return a compact set with the distinct elements
+     */
+    static <T> CompactHashSet<T> copyOfDistinct(Object[] elements, int count) {
+        if (count == 0) {
+            return empty();
+        }
+        int capacity = HashTables.tableCapacity(count);
+        Object[] table = new Object[capacity];
+        int[] hashes = new int[capacity];
+        Object[] firstElements = new Object[LINEAR_LIMIT]; // The first distinct elements in the order of the array
+        int[] firstHashes = new int[LINEAR_LIMIT];
+        int mask = capacity - 1;
+        int size = 0;
+        for (int index = 0; index < count; index++) {
+            Object storedElement = HashTables.maskNull(elements[index]);
+            int hash = HashTables.hash(storedElement);
+            int slot = hash & mask;
+            while (true) {
+                Object slotElement = table[slot];
+                if (slotElement == null) {
+                    table[slot] = storedElement;
+                    hashes[slot] = hash;
+                    if (size < LINEAR_LIMIT) {
+                        firstElements[size] = storedElement;
+                        firstHashes[size] = hash;
+                    }
+                    size++;
+                    break;
+                } else if (HashTables.matches(slotElement, hashes[slot], storedElement, hash)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        if (size <= LINEAR_LIMIT) {
+            return new CompactHashSet<>(Arrays.copyOf(firstElements, size), Arrays.copyOf(firstHashes, size), size);
+        }
+        return fromHashed(table, hashes, size);
+    }
+
+    /**
+     * Returns a compact immutable set with the elements of a hash table laid out as in this class, using the stored
+     * hashes instead of hashing the elements. The arrays are not modified.
+     *
+     * @param table the elements of each slot, null for an empty slot
+     * @param hashes the hash of the element of each occupied slot
+     * @param size the number of elements in the table, at least one
+     * @param <T> the type of elements in the set
+     * @return a compact set with the elements of the table
+     */
+    private static <T> CompactHashSet<T> fromHashed(Object[] table, int[] hashes, int size) {
+        if (size <= LINEAR_LIMIT) {
+            Object[] linearTable = new Object[size];
+            int[] linearHashes = new int[size];
+            int index = 0;
+            for (int slot = 0; index < size; slot++) {
+                if (table[slot] != null) {
+                    linearTable[index] = table[slot];
+                    linearHashes[index++] = hashes[slot];
+                }
+            }
+            return new CompactHashSet<>(linearTable, linearHashes, size);
+        }
+        int capacity = HashTables.tableCapacity(size);
+        if (capacity == table.length) {
+            return new CompactHashSet<>(table.clone(), hashes.clone(), size);
+        }
+        Object[] newTable = new Object[capacity];
+        int[] newHashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < table.length; oldSlot++) {
+            if (table[oldSlot] != null) {
+                int slot = hashes[oldSlot] & mask;
+                while (newTable[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                newTable[slot] = table[oldSlot];
+                newHashes[slot] = hashes[oldSlot];
+            }
+        }
+        return new CompactHashSet<>(newTable, newHashes, size);
+    }
+
+    /**
+     * Returns the slots of the set: the elements of a linear set in order, or the hash table of a hashed set,
+     * with {@code null} for empty slots. The array must not be modified.
+     *
+     * @return the slots of the set
+     */
+    Object[] table() {
+        return table;
+    }
+
+    /**
+     * Returns the hash of the element of each slot of {@link #table()}, or {@code null} if the set is linear and
+     * the hashes of its elements are unknown. The array must not be modified.
+     *
+     * @return the hashes of the slots, or null
+     */
+    int[] hashes() {
+        return hashes;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        Object storedElement = HashTables.maskNull(element);
+        if (table.length <= LINEAR_LIMIT) {
+            for (Object slotElement : table) {
+                if (slotElement == storedElement || slotElement.equals(storedElement)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int mask = table.length - 1;
+        int hash = HashTables.hash(storedElement);
+        int slot = hash & mask;
+        while (true) {
+            Object slotElement = table[slot];
+            if (slotElement == null) {
+                return false;
+            } else if (HashTables.matches(slotElement, hashes[slot], storedElement, hash)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the hash code of the set, which is computed once from the stored hashes where they are known and then
+     * cached, so the elements are not hashed again.
+     */
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            for (int slot = 0; slot < table.length; slot++) {
+                Object element = table[slot];
+                if (element != null && element != HashTables.NULL_KEY) {
+                    hash += hashes != null ? HashTables.hashCode(hashes[slot]) : element.hashCode();
+                }
+            }
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (o instanceof CompactHashSet) {
+            CompactHashSet<?> other = (CompactHashSet<?>) o;
+            if (other.size != size || hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+                return false;
+            }
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int slot = nextSlot(0);
+
+            private int nextSlot(int from) {
+                int next = from;
+                while (next < table.length && table[next] == null) {
+                    next++;
+                }
+                return next;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < table.length;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object element = table[slot];
+                slot = nextSlot(slot + 1);
+                return HashTables.unmaskNull(element);
+            }
+        };
+    }
+
+    /**
+     * Replaces the set by its serialized form, see {@link CollectionSupport#serializedForm(Set)}.
+     *
+     * @return the serialized form of the set
+     */
+    @Serial
+    private Object writeReplace() {
+        return CollectionSupport.serializedForm(this);
+    }
+}
@@ -0,0 +1,227 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compact immutable lists returned by {@link ListMutatorImpl#build()}.
+ * <p>
+ * The empty list is a shared singleton, lists of up to {@value #INLINE_LIMIT} elements keep the elements in fields
+ * of the list object itself, and longer lists keep them in an array trimmed to the size of the list. Unlike a
+ * {@link java.util.Collections#unmodifiableList(List) wrapper} around an {@link java.util.ArrayList}, reading an
+ * element does not go through a second object, and no spare capacity is kept. {@code null} elements are supported.
+ * <p>
+ * The hash code is computed on first use and cached, and {@link #equals(Object)} returns false without comparing
+ * the elements when the size, or the cached hash code of another compact list, differs.
+ * <p>
+ * The lists are unmodifiable; the {@link List} mutation methods throw {@link UnsupportedOperationException}.
+ * A compact list is serialized as an unmodifiable {@link java.util.ArrayList} with the same elements.
+ *
+ * @param <T> the type of elements in the list
+ */
+abstract class CompactList<T> extends AbstractList<T> implements RandomAccess, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Lists with at most this number of elements keep the elements in fields instead of an array.
+     */
+    static final int INLINE_LIMIT = 4;
+    private static final CompactList<?> EMPTY = new ArrayBackedList<>(new Object[0]);
+
+    private int hashCode; // Computed on first use, 0 until then
+
+    private CompactList() {
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @param <T> the type of elements in the list
+     * @return the shared empty list
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CompactList<T> empty() {
+        return (CompactList<T>) EMPTY;
+    }
+
+    /**
+     * Returns a compact immutable list with the elements of the given collection, in iteration order.
+     * If the collection already is a compact list it is returned as is.
+     *
+     * @param collection the collection to copy
+     * @param <T> the type of elements in the list
+     * @return a compact list with the elements of the collection
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CompactList<T> copyOf(Collection<? extends T> collection) {
+        if (collection instanceof CompactList) {
+            return (CompactList<T>) collection;
+        }
+        return fromTrimmedArray(collection.toArray());
+    }
+
+    /**
+     * Returns a compact immutable list with the elements of the given array, which must not be modified
+     * afterwards, as long arrays are used by the list without copying.
+     *
+     * @param elements the elements of the list, with no spare capacity
+     * @param <T> the type of elements in the list
+     * @return a compact list with the elements of the array
+     */
+    static <T> CompactList<T> fromTrimmedArray(Object[] elements) {
+        if (elements.length == 0) {
+            return empty();
+        } else if (elements.length <= INLINE_LIMIT) {
+            return new InlineList<>(elements);
+        }
+        return new ArrayBackedList<>(elements);
+    }
+
+    @Override
+    public int indexOf(Object element) {
+        for (int index = 0; index < size(); index++) {
+            if (Objects.equals(element, get(index))) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object element) {
+        for (int index = size() - 1; index >= 0; index--) {
+            if (Objects.equals(element, get(index))) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the hash code of the list, which is computed once and then cached, as the elements never change.
+     */
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = 1;
+            for (int index = 0; index < size(); index++) {
+                hash = 31 * hash + Objects.hashCode(get(index));
+            }
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (!(o instanceof List) || ((List<?>) o).size() != size()) {
+            return false;
+        } else if (o instanceof CompactList) {
+            CompactList<?> other = (CompactList<?>) o;
+            if (hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+                return false;
+            }
+        }
+        return super.equals(o);
+    }
+
+    /**
+     * Replaces the list by its serialized form, see {@link CollectionSupport#serializedForm(List)}. The method is
+     * package private, as serialization only calls a private method declared by the class of the list itself.
+     *
+     * @return the serialized form of the list
+     */
+    @Serial
+    final Object writeReplace() {
+        return CollectionSupport.serializedForm(this);
+    }
+
+    /**
+     * A list of one to {@value #INLINE_LIMIT} elements stored in fields.
+     */
+    private static final class InlineList<T> extends CompactList<T> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int size;
+        private final Object element0;
+        private final Object element1;
+        private final Object element2;
+        private final Object element3;
+
+        private InlineList(Object[] elements) {
+            this.size = elements.length;
+            this.element0 = elements[0];
+            this.element1 = size > 1 ? elements[1] : null;
+            this.element2 = size > 2 ? elements[2] : null;
+            this.element3 = size > 3 ? elements[3] : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            switch (index) {
+                case 0:
+                    return (T) element0;
+                case 1:
+                    return (T) element1;
+                case 2:
+                    return (T) element2;
+                default:
+                    return (T) element3;
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * A list stored in an array without spare capacity.
+     */
+    private static final class ArrayBackedList<T> extends CompactList<T> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] elements;
+
+        private ArrayBackedList(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, elements.length);
+            return (T) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOf(elements, elements.length, Object[].class);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Deque;
+import java.util.function.Predicate;
+
+/**
+ * An interface for a mutable deque that allows for fluent, chainable operations to modify its contents.
+ * <p>
+ * It is used for {@link java.util.Deque} and {@link java.util.Queue} components. The elements are kept in a
+ * circular array, so adding and removing elements at either end takes O(1) time, and
+ * {@link #pushBounded(Object, int)} keeps the last N elements of a history without shifting the others.
+ * <p>
+ * The deque does not support {@code null} elements.
+ * <p>
+ * The {@link #build()} method finalizes all mutations and returns an immutable deque.
+ *
+ * @param <T> the type of elements in the deque
+ */
+public interface DequeMutator<T> extends Mutator<Deque<T>> {
+    /**
+     * Returns the number of elements in the deque.
+     *
+     * @return the number of elements
+     */
+    int size();
+
+    /**
+     * Returns the first element of the deque, or {@code null} if the deque is empty.
+     *
+     * @return the first element, or {@code null}
+     */
+    T peekFirst();
+
+    /**
+     * Returns the last element of the deque, or {@code null} if the deque is empty.
+     *
+     * @return the last element, or {@code null}
+     */
+    T peekLast();
+
+    /**
+     * Inserts the element at the front of the deque.
+     *
+     * @param item the element to insert, not null
+     * @return this mutator instance for method chaining
+     */
+    DequeMutator<T> addFirst(T item);
+
+    /**
+     * Inserts the element at the end of the deque.
+     *
+     * @param item the element to insert, not null
+     * @return this mutator instance for method chaining
+     */
+    DequeMutator<T> addLast(T item);
+
+    /**
+     * Inserts the element at the end of the deque, and then removes elements from the front until the deque has
+     * at most {@code maxSize} elements. This keeps the last {@code maxSize} elements of a history in O(1) time.
+     *
+     * @param item the element to insert, not null
+     * @param maxSize the maximum number of elements to keep
+     * @return this mutator instance for method chaining
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     */
+    DequeMutator<T> pushBounded(T item, int maxSize);
+
+    /**
+     * Removes and returns the first element of the deque, or returns {@code null} if the deque is empty.
+     *
+     * @return the removed element, or {@code null}
+     */
+    T pollFirst();
+
+    /**
+     * Removes and returns the last element of the deque, or returns {@code null} if the deque is empty.
+     *
+     * @return the removed element, or {@code null}
+     */
+    T pollLast();
+
+    /**
+     * Removes up to {@code count} elements from the front of the deque.
+     *
+     * @param count the number of elements to remove
+     * @return this mutator instance for method chaining
+     */
+    DequeMutator<T> dropFirst(int count);
+
+    /**
+     * Removes up to {@code count} elements from the end of the deque.
+     *
+     * @param count the number of elements to remove
+     * @return this mutator instance for method chaining
+     */
+    DequeMutator<T> dropLast(int count);
+
+    /**
+     * Retains only the elements that satisfy the given predicate, keeping their order.
+     *
+     * @param filterFunction the predicate to test each element
+     * @return this mutator instance for method chaining
+     */
+    DequeMutator<T> filter(Predicate<T> filterFunction);
+
+    /**
+     * Applies the given function to all elements. The returned value replaces the element, and must not be null.
+     *
+     * @param mutateFunction the function to apply to each element
+     * @return this mutator instance for method chaining
+     */
+    DequeMutator<T> updateAll(SimpleFunction<T> mutateFunction);
+
+    /**
+     * Removes all elements from the deque.
+     *
+     * @return this mutator instance for method chaining
+     */
+    DequeMutator<T> clear();
+
+    /**
+     * Finalizes the mutable deque and returns an immutable deque.
+     * <p>
+     * If nothing was written, the source deque is returned. Otherwise the returned deque shares the circular array
+     * of this mutator, and any further mutations will trigger a {@link java.lang.IllegalStateException}.
+     *
+     * @return an immutable deque containing the current elements
+     */
+    @Override
+    Deque<T> build();
+
+    /**
+     * Returns an immutable copy of the current elements.
+     * <p>
+     * Any further mutations will not affect the returned deque.
+     *
+     * @return an immutable deque containing the current elements
+     */
+    Deque<T> buildCopy();
+}
@@ -0,0 +1,312 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.function.Predicate;
+
+/**
+ * An implementation of {@link DequeMutator} backed by a circular array.
+ * <p>
+ * The source deque or queue is read as is until the first write, which copies its elements into an array owned by
+ * this mutator (copy-on-write). A source built by another {@code DequeMutatorImpl} is copied with
+ * {@link System#arraycopy(Object, int, Object, int, int)}. The elements start at index {@code head} and wrap around
+ * at the end of the array, so elements are added and removed at both ends without shifting the others, and the
+ * array only grows when it is full.
+ * <p>
+ * If nothing was written, {@link #build()} returns the source deque itself; otherwise it returns an immutable
+ * {@link Deque} that shares the array.
+ *
+ * @param <T> the type of elements stored in the deque.
+ */
+public class DequeMutatorImpl<T> implements DequeMutator<T> {
+    private static final Object[] EMPTY_ELEMENTS = {};
+    private static final int MIN_CAPACITY = 8;
+
+    private Queue<T> source; // The source queue until the first write, null afterwards
+    private Object[] elements = EMPTY_ELEMENTS;
+    private int head;
+    private int size;
+    private boolean locked = false;
+
+    /**
+     * Constructs a new instance of DequeMutatorImpl for the specified deque or queue.
+     *
+     * @param queue the initial deque or queue, which is never modified; if null, an empty deque is created
+     */
+    public DequeMutatorImpl(Queue<T> queue) {
+        this.source = queue;
+    }
+
+    /**
+     * Creates a new deque mutator for the specified deque or queue.
+     *
+     * @param <T> the type of elements stored in the deque.
+     * @param queue the initial deque or queue, which is never modified; if null, an empty deque is created
+     * @return a new deque mutator instance that can be used to modify the deque
+     */
+    public static <T> DequeMutatorImpl<T> mutator(Queue<T> queue) {
+        return new DequeMutatorImpl<>(queue);
+    }
+
+    private void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("Deque is locked and cannot be modified.");
+        }
+    }
+
+    @Override
+    public int size() {
+        return source != null ? source.size() : size;
+    }
+
+    @Override
+    public T peekFirst() {
+        if (source != null) {
+            return source.peek();
+        }
+        return size == 0 ? null : element(0);
+    }
+
+    @Override
+    public T peekLast() {
+        if (source != null) {
+            if (source instanceof Deque) {
+                return ((Deque<T>) source).peekLast();
+            }
+            T last = null;
+            for (T item : source) {
+                last = item;
+            }
+            return last;
+        }
+        return size == 0 ? null : element(size - 1);
+    }
+
+    @Override
+    public DequeMutatorImpl<T> addFirst(T item) {
+        checkLocked();
+        Objects.requireNonNull(item);
+        Object[] target = mutableElements(1);
+        head = head == 0 ? target.length - 1 : head - 1;
+        target[head] = item;
+        size++;
+        return this;
+    }
+
+    @Override
+    public DequeMutatorImpl<T> addLast(T item) {
+        checkLocked();
+        Objects.requireNonNull(item);
+        Object[] target = mutableElements(1);
+        target[index(size)] = item;
+        size++;
+        return this;
+    }
+
+    @Override
+    public DequeMutatorImpl<T> pushBounded(T item, int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+        }
+        addLast(item);
+        return dropFirst(size - maxSize);
+    }
+
+    @Override
+    public T pollFirst() {
+        checkLocked();
+        if (size() == 0) {
+            return null;
+        }
+        T item = element(mutableElements(0), 0);
+        dropFirst(1);
+        return item;
+    }
+
+    @Override
+    public T pollLast() {
+        checkLocked();
+        if (size() == 0) {
+            return null;
+        }
+        T item = element(mutableElements(0), size - 1);
+        dropLast(1);
+        return item;
+    }
+
+    @Override
+    public DequeMutatorImpl<T> dropFirst(int count) {
+        checkLocked();
+        int dropCount = Math.min(count, size());
+        if (dropCount > 0) {
+            Object[] target = mutableElements(0);
+            for (int offset = 0; offset < dropCount; offset++) {
+                // Clear the slot, so that the removed element can be garbage collected
+                target[index(offset)] = null;
+            }
+            head = index(dropCount);
+            size -= dropCount;
+        }
+        return this;
+    }
+
+    @Override
+    public DequeMutatorImpl<T> dropLast(int count) {
+        checkLocked();
+        int dropCount = Math.min(count, size());
+        if (dropCount > 0) {
+            Object[] target = mutableElements(0);
+            for (int offset = size - dropCount; offset < size; offset++) {
+                target[index(offset)] = null;
+            }
+            size -= dropCount;
+        }
+        return this;
+    }
+
+    @Override
+    public DequeMutatorImpl<T> filter(Predicate<T> filterFunction) {
+        checkLocked();
+        if (source != null) {
+            boolean allMatch = true;
+            for (T item : source) {
+                if (!filterFunction.test(item)) {
+                    allMatch = false;
+                    break;
+                }
+            }
+            if (allMatch) {
+                return this;
+            }
+        }
+        Object[] target = mutableElements(0);
+        int newSize = 0;
+        for (int offset = 0; offset < size; offset++) {
+            T item = element(target, offset);
+            if (filterFunction.test(item)) {
+                target[index(newSize++)] = item;
+            }
+        }
+        for (int offset = newSize; offset < size; offset++) {
+            target[index(offset)] = null;
+        }
+        size = newSize;
+        return this;
+    }
+
+    @Override
+    public DequeMutatorImpl<T> updateAll(SimpleFunction<T> mutateFunction) {
+        checkLocked();
+        if (source != null) {
+            // Read the source until an element changes, and only then copy it
+            int offset = 0;
+            Iterator<T> iterator = source.iterator();
+            while (iterator.hasNext()) {
+                T item = iterator.next();
+                T newItem = mutateFunction.apply(item);
+                if (newItem != item) {
+                    mutableElements(0)[index(offset)] = Objects.requireNonNull(newItem);
+                    updateFrom(offset + 1, mutateFunction);
+                    return this;
+                }
+                offset++;
+            }
+            return this;
+        }
+        updateFrom(0, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public DequeMutatorImpl<T> clear() {
+        checkLocked();
+        if (source != null && source.isEmpty()) {
+            return this;
+        }
+        source = null;
+        elements = EMPTY_ELEMENTS;
+        head = 0;
+        size = 0;
+        return this;
+    }
+
+    @Override
+    public Deque<T> build() {
+        this.locked = true;
+        if (source instanceof Deque) {
+            return (Deque<T>) source;
+        } else if (source != null) {
+            // A queue that is not a deque is copied, as the component is built as a deque
+            mutableElements(0);
+        }
+        return new RingBufferDeque<>(elements, head, size);
+    }
+
+    @Override
+    public Deque<T> buildCopy() {
+        if (source != null) {
+            mutableElements(0);
+        }
+        return new RingBufferDeque<>(new RingBufferDeque<>(elements, head, size).copyElements(size), 0, size);
+    }
+
+    private void updateFrom(int fromOffset, SimpleFunction<T> mutateFunction) {
+        Object[] target = elements;
+        for (int offset = fromOffset; offset < size; offset++) {
+            int index = index(offset);
+            @SuppressWarnings("unchecked")
+            T item = (T) target[index];
+            target[index] = Objects.requireNonNull(mutateFunction.apply(item));
+        }
+    }
+
+    /**
+     * Returns the array index of the element at the given offset from the head.
+     *
+     * @param offset the position of the element in the deque
+     * @return the index of the element in the circular array
+     */
+    private int index(int offset) {
+        int index = head + offset;
+        return index < elements.length ? index : index - elements.length;
+    }
+
+    private T element(int offset) {
+        return element(elements, offset);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(Object[] target, int offset) {
+        return (T) target[index(offset)];
+    }
+
+    /**
+     * Returns the internal circular array, copying the source on the first write, with room for the given number
+     * of additional elements. When the array grows, the elements are moved to the start of the new array.
+     *
+     * @param additionalCapacity the number of elements about to be added
+     * @return the array owned by this mutator
+     */
+    private Object[] mutableElements(int additionalCapacity) {
+        if (source != null) {
+            int sourceSize = source.size();
+            int capacity = sourceSize + Math.max(additionalCapacity, 1);
+            if (source instanceof RingBufferDeque) {
+                elements = ((RingBufferDeque<T>) source).copyElements(capacity);
+            } else {
+                elements = Arrays.copyOf(source.toArray(), capacity);
+            }
+            head = 0;
+            size = sourceSize;
+            source = null;
+        } else if (size + additionalCapacity > elements.length) {
+            int capacity = Math.max(Math.max(size + additionalCapacity, elements.length + (elements.length >> 1)), MIN_CAPACITY);
+            elements = new RingBufferDeque<>(elements, head, size).copyElements(capacity);
+            head = 0;
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An implementation of {@link DoubleArrayMutator}, used for {@code double[]} components.
+ * <p>
+ * The source array is read as is until the first write, which copies it into an array owned by this mutator.
+ * The owned array may have spare capacity at the end, so that repeated appends and inserts do not copy it every
+ * time. {@link #build()} trims it to the length of the values. The operations that only move values are
+ * implemented by {@link AbstractPrimitiveArrayMutator}.
+ */
+public class DoubleArrayMutatorImpl extends AbstractPrimitiveArrayMutator<double[], DoubleArrayMutator> implements DoubleArrayMutator {
+    private static final double[] EMPTY_ELEMENTS = {};
+
+    /**
+     * Constructs a new instance of DoubleArrayMutatorImpl for the specified array.
+     *
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     */
+    public DoubleArrayMutatorImpl(double[] array) {
+        super(array != null ? array : EMPTY_ELEMENTS, array != null ? array.length : 0);
+    }
+
+    /**
+     * Creates a new array mutator for the specified array.
+     *
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     * @return a new array mutator instance that can be used to modify the array
+     */
+    public static DoubleArrayMutator mutator(double[] array) {
+        return new DoubleArrayMutatorImpl(array);
+    }
+
+    @Override
+    public double get(int index) {
+        Objects.checkIndex(index, length);
+        return elements[index];
+    }
+
+    @Override
+    public DoubleArrayMutator set(int index, double value) {
+        checkLocked();
+        Objects.checkIndex(index, length);
+        if (!same(elements[index], value)) {
+            mutableElements(0)[index] = value;
+        }
+        return this;
+    }
+
+    @Override
+    public DoubleArrayMutator setRange(int index, double... values) {
+        return setRangeValues(index, values);
+    }
+
+    @Override
+    public DoubleArrayMutator fill(int fromIndex, int toIndex, double value) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        for (int index = fromIndex; index < toIndex; index++) {
+            if (!same(elements[index], value)) {
+                // Only copy once a value actually changes
+                Arrays.fill(mutableElements(0), index, toIndex, value);
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public DoubleArrayMutator insert(int index, double... values) {
+        return insertValues(index, values);
+    }
+
+    @Override
+    public DoubleArrayMutator append(double... values) {
+        return insert(length, values);
+    }
+
+    @Override
+    public DoubleArrayMutator updateAll(DoubleIndexedUnaryOperator mutateFunction) {
+        return updateRange(0, length, mutateFunction);
+    }
+
+    @Override
+    public DoubleArrayMutator updateRange(int fromIndex, int toIndex, DoubleIndexedUnaryOperator mutateFunction) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        double[] target = elements;
+        for (int index = fromIndex; index < toIndex; index++) {
+            double value = target[index];
+            double newValue = mutateFunction.applyAsDouble(index, value);
+            if (!same(value, newValue)) {
+                // The first change copies the source array, the later ones are written into the copy
+                target = mutableElements(0);
+                target[index] = newValue;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    int capacity(double[] array) {
+        return array.length;
+    }
+
+    @Override
+    double[] copyOf(double[] array, int length) {
+        return Arrays.copyOf(array, length);
+    }
+
+    @Override
+    boolean equalsRange(int index, double[] values) {
+        return Arrays.equals(elements, index, index + values.length, values, 0, values.length);
+    }
+
+    private static boolean same(double value1, double value2) {
+        return Double.doubleToRawLongBits(value1) == Double.doubleToRawLongBits(value2);
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.larsarv.jrmg.api;
+
+/**
+ * A functional interface that defines a mutation operation on a {@link java.util.List} of {@code Double} values.
+ * <p>
+ * The function accepts a mutator instance and returns a modified version of it.
+ * <p>
+ * This interface is used by generated record mutators.
+ * <p>
+ * The interface is {@link FunctionalInterface} and can be used with lambda expressions
+ * or method references for concise mutation composition.
+ */
+@FunctionalInterface
+public interface DoubleListMutateFunction {
+    /**
+     * Applies a mutation operation with the provided {@link DoubleListMutator} instance.
+     *
+     * @param mutator the mutator instance to be mutated
+     * @return a modified version of the mutator instance with applied mutations
+     */
+    DoubleListMutator mutate(DoubleListMutator mutator);
+}
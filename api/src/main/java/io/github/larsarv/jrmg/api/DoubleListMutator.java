@@ -0,0 +1,112 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+/**
+ * A mutator interface for lists of {@code Double} values that stores the values as {@code double} values.
+ * <p>
+ * The {@link SimpleListMutator} methods box and unbox the values passed to them, while the primitive
+ * variants, such as {@link #getDouble(int)} and {@link #updateAllDouble(DoubleIndexedUnaryOperator)}, read and
+ * write the values without boxing. The list does not support {@code null} elements.
+ * <p>
+ * The {@link #build()} method returns an immutable list that boxes the values only when they are read.
+ */
+public interface DoubleListMutator extends SimpleListMutator<Double> {
+    @Override
+    DoubleListMutator set(int index, Double record);
+    @Override
+    DoubleListMutator add(Double item);
+    @Override
+    DoubleListMutator addAll(Collection<? extends Double> items);
+    @Override
+    DoubleListMutator insertAll(int index, Collection<? extends Double> items);
+    @Override
+    DoubleListMutator remove(int index);
+    @Override
+    DoubleListMutator removeRange(int fromIndex, int toIndex);
+    @Override
+    DoubleListMutator removeIndices(int... indices);
+    @Override
+    DoubleListMutator retainIndices(int... indices);
+    @Override
+    DoubleListMutator filter(Predicate<Double> filterFunction);
+    @Override
+    DoubleListMutator distinct();
+    @Override
+    DoubleListMutator distinctBy(Function<? super Double, ?> keyExtractor);
+    @Override
+    DoubleListMutator updateAll(IndexedFunction<Double> mutateFunction);
+    @Override
+    DoubleListMutator sort(Comparator<? super Double> comparator);
+    @Override
+    DoubleListMutator move(int fromIndex, int toIndex);
+    @Override
+    DoubleListMutator parallel();
+    @Override
+    DoubleListMutator parallel(ForkJoinPool pool);
+
+    /**
+     * Returns the value at the specified index in the list without boxing it.
+     * <p>
+     * If the index is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param index the index of the value to return
+     * @return the value at the specified index
+     */
+    double getDouble(int index);
+
+    /**
+     * Sets the value at the specified index in the list.
+     * <p>
+     * If the index is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param index the index of the value to replace
+     * @param value the new value
+     * @return this mutator instance for method chaining
+     */
+    DoubleListMutator setDouble(int index, double value);
+
+    /**
+     * Adds the specified value to the end of the list.
+     *
+     * @param value the value to add to the list
+     * @return this mutator instance for method chaining
+     */
+    DoubleListMutator addDouble(double value);
+
+    /**
+     * Filters the list by removing values that do not satisfy the given predicate.
+     *
+     * @param filterFunction the predicate used to determine whether a value should be retained
+     * @return this mutator instance for method chaining
+     */
+    DoubleListMutator filterDouble(DoublePredicate filterFunction);
+
+    /**
+     * Applies the given function to all values in the list. The function is invoked for each value with its
+     * index and the current value, and the returned value replaces the current value.
+     *
+     * @param mutateFunction the function to apply to each value, accepting its index and the current value
+     * @return this mutator instance for method chaining
+     */
+    DoubleListMutator updateAllDouble(DoubleIndexedUnaryOperator mutateFunction);
+
+    /**
+     * Sorts the values of the list in ascending numerical order.
+     *
+     * @return this mutator instance for method chaining
+     */
+    DoubleListMutator sort();
+
+    /**
+     * Returns a new array containing the current values of the list.
+     *
+     * @return an array with the values of the list, in list order
+     */
+    double[] toDoubleArray();
+}
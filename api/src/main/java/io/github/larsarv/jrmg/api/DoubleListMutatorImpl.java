@@ -0,0 +1,203 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.DoublePredicate;
+
+/**
+ * An implementation of {@link DoubleListMutator} that stores the values in a {@code double} array,
+ * used for {@code List<Double>} components.
+ * <p>
+ * The source list is read as is until the first write, which unboxes it into the array. A list built by
+ * another {@code DoubleListMutatorImpl} is copied without unboxing. If nothing was written, {@link #build()}
+ * returns the source list itself; otherwise it returns an immutable list that shares the array and boxes
+ * the values only when they are read. The operations that only move values are implemented by
+ * {@link AbstractPrimitiveListMutator}.
+ * <p>
+ * The list does not support {@code null} elements, adding a {@code null} element or writing to a source
+ * list that contains one throws a {@link NullPointerException}.
+ */
+public class DoubleListMutatorImpl extends AbstractPrimitiveListMutator<Double, double[], DoubleListMutator> implements DoubleListMutator {
+    private static final double[] EMPTY_ELEMENTS = {};
+
+    /**
+     * Constructs a new instance of DoubleListMutatorImpl for the specified list.
+     *
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     */
+    public DoubleListMutatorImpl(List<Double> list) {
+        super(list, EMPTY_ELEMENTS);
+    }
+
+    /**
+     * Creates a new list mutator for the specified list.
+     *
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     * @return a new list mutator instance that can be used to modify the list
+     */
+    public static DoubleListMutator mutator(List<Double> list) {
+        return new DoubleListMutatorImpl(list);
+    }
+
+    @Override
+    public Double get(int index) {
+        if (source != null) {
+            return source.get(index);
+        }
+        return getDouble(index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        if (source != null) {
+            return source.get(index);
+        }
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    @Override
+    public DoubleListMutator set(int index, Double record) {
+        return setDouble(index, record);
+    }
+
+    @Override
+    public DoubleListMutator setDouble(int index, double value) {
+        checkLocked();
+        if (!same(getDouble(index), value)) {
+            mutableElements(0)[index] = value;
+        }
+        return this;
+    }
+
+    @Override
+    public DoubleListMutator add(Double item) {
+        return addDouble(item);
+    }
+
+    @Override
+    public DoubleListMutator addDouble(double value) {
+        checkLocked();
+        double[] target = mutableElements(1);
+        target[size++] = value;
+        return this;
+    }
+
+    @Override
+    public DoubleListMutator filter(Predicate<Double> filterFunction) {
+        return filterDouble(filterFunction::test);
+    }
+
+    @Override
+    public DoubleListMutator filterDouble(DoublePredicate filterFunction) {
+        checkLocked();
+        int index = 0;
+        while (index < size() && filterFunction.test(getDouble(index))) {
+            index++;
+        }
+        if (index == size()) {
+            return this;
+        }
+        double[] target = mutableElements(0);
+        int keepIndex = index;
+        for (index = index + 1; index < size; index++) {
+            if (filterFunction.test(target[index])) {
+                target[keepIndex++] = target[index];
+            }
+        }
+        size = keepIndex;
+        return this;
+    }
+
+    @Override
+    public DoubleListMutator updateAll(IndexedFunction<Double> mutateFunction) {
+        return updateAllDouble(mutateFunction::apply);
+    }
+
+    @Override
+    public DoubleListMutator updateAllDouble(DoubleIndexedUnaryOperator mutateFunction) {
+        checkLocked();
+        int index = 0;
+        // Read the source until the first changed value, then update the array directly
+        while (source != null && index < source.size()) {
+            double orgValue = source.get(index);
+            double newValue = mutateFunction.applyAsDouble(index, orgValue);
+            if (!same(orgValue, newValue)) {
+                mutableElements(0)[index] = newValue;
+            }
+            index++;
+        }
+        for (; index < size; index++) {
+            elements[index] = mutateFunction.applyAsDouble(index, elements[index]);
+        }
+        return this;
+    }
+
+    @Override
+    public DoubleListMutator sort() {
+        checkLocked();
+        for (int index = 1; index < size(); index++) {
+            if (Double.compare(getDouble(index - 1), getDouble(index)) > 0) {
+                double[] target = mutableElements(0);
+                Arrays.sort(target, 0, size);
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public double[] toDoubleArray() {
+        return toValueArray();
+    }
+
+    @Override
+    double[] newElements(int length) {
+        return new double[length];
+    }
+
+    @Override
+    int capacity(double[] array) {
+        return array.length;
+    }
+
+    @Override
+    double[] copyOf(double[] array, int length) {
+        return Arrays.copyOf(array, length);
+    }
+
+    @Override
+    double[] unbox(List<Double> list, int length) {
+        if (list instanceof DoubleArrayList) {
+            return ((DoubleArrayList) list).copyElements(length);
+        }
+        double[] values = new double[length];
+        int index = 0;
+        for (Double value : list) {
+            values[index++] = value;
+        }
+        return values;
+    }
+
+    @Override
+    void unboxInto(Collection<? extends Double> values, double[] array, int index) {
+        for (Double value : values) {
+            array[index++] = value;
+        }
+    }
+
+    @Override
+    List<Double> toList(double[] array, int length) {
+        return new DoubleArrayList(array, length);
+    }
+
+    /**
+     * Compares the bits of the values, so that writing {@code -0.0} over {@code 0.0} is not skipped.
+     */
+    private static boolean same(double value1, double value2) {
+        return Double.doubleToRawLongBits(value1) == Double.doubleToRawLongBits(value2);
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * A mutator interface for maps with {@code Double} values that stores the values as {@code double} values.
+ * <p>
+ * The {@link SimpleMapMutator} methods box and unbox the values passed to them, while the primitive
+ * variants, such as {@link #increment(Object, double)} and {@link #updateDouble(Object, DoubleUnaryOperator)},
+ * read and write the values without boxing and look up the key only once. The map does not support
+ * {@code null} values.
+ * <p>
+ * The {@link #build()} method returns an immutable map that boxes the values only when they are read.
+ *
+ * @param <K> the type of keys in the map
+ */
+public interface DoubleValueMapMutator<K> extends SimpleMapMutator<K, Double> {
+    @Override
+    DoubleValueMapMutator<K> put(K key, Double value);
+    @Override
+    DoubleValueMapMutator<K> remove(K key);
+    @Override
+    DoubleValueMapMutator<K> filter(BiFunction<K, Double, Boolean> filterFunction);
+    @Override
+    DoubleValueMapMutator<K> update(K key, Function<Double, Double> mutateFunction);
+    @Override
+    DoubleValueMapMutator<K> updateAll(BiFunction<K, Double, Double> mutateFunction);
+    @Override
+    DoubleValueMapMutator<K> compute(K key, BiFunction<K, Double, Double> remappingFunction);
+    @Override
+    DoubleValueMapMutator<K> computeIfPresent(K key, BiFunction<K, Double, Double> remappingFunction);
+    @Override
+    DoubleValueMapMutator<K> computeIfAbsent(K key, Function<K, Double> mappingFunction);
+    @Override
+    DoubleValueMapMutator<K> merge(K key, Double value, BiFunction<Double, Double, Double> remappingFunction);
+    @Override
+    DoubleValueMapMutator<K> mergeAll(Map<? extends K, ? extends Double> map, BiFunction<Double, Double, Double> remappingFunction);
+    @Override
+    DoubleValueMapMutator<K> putAll(Map<? extends K, ? extends Double> map);
+    @Override
+    DoubleValueMapMutator<K> clear();
+    @Override
+    DoubleValueMapMutator<K> parallel();
+    @Override
+    DoubleValueMapMutator<K> parallel(ForkJoinPool pool);
+
+    /**
+     * Returns the value of the given key without boxing it, or the default value if the key is not present.
+     *
+     * @param key the key whose value is to be returned
+     * @param defaultValue the value to return if the key is not present
+     * @return the value of the key, or the default value
+     */
+    double getDouble(K key, double defaultValue);
+
+    /**
+     * Associates the specified value with the specified key in the map.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return this mutator instance for method chaining
+     */
+    DoubleValueMapMutator<K> putDouble(K key, double value);
+
+    /**
+     * Adds the given delta to the value of the specified key. If the key is not present, it is added
+     * with the delta as its value.
+     *
+     * @param key the key whose value is to be incremented
+     * @param delta the value to add
+     * @return this mutator instance for method chaining
+     */
+    DoubleValueMapMutator<K> increment(K key, double delta);
+
+    /**
+     * Associates the given value with the specified key if the key is not present, otherwise replaces the
+     * current value with the result of the remapping function applied to the current and the given value.
+     *
+     * @param key the key whose value is to be merged
+     * @param value the value to put, or to combine with the current value
+     * @param remappingFunction the function combining the current value and the given value
+     * @return this mutator instance for method chaining
+     */
+    DoubleValueMapMutator<K> mergeDouble(K key, double value, DoubleBinaryOperator remappingFunction);
+
+    /**
+     * Replaces the value of the specified key with the result of the given function applied to it.
+     * If the key is not present, the map is not modified.
+     *
+     * @param key the key whose value is to be updated
+     * @param mutateFunction the function to apply to the current value
+     * @return this mutator instance for method chaining
+     */
+    DoubleValueMapMutator<K> updateDouble(K key, DoubleUnaryOperator mutateFunction);
+
+    /**
+     * Performs the given action for each entry of the map without boxing the values.
+     *
+     * @param action the action to perform for each key and value
+     */
+    void forEachDoubleEntry(ObjDoubleConsumer<? super K> action);
+}
@@ -0,0 +1,155 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * An implementation of {@link DoubleValueMapMutator} that stores the entries in an open addressing hash table
+ * with {@code double} values, used for {@code Map<K, Double>} components with simple keys.
+ * <p>
+ * The source map is read as is until the first write, which copies it into the table. A map built by
+ * another {@code DoubleValueMapMutatorImpl} is copied without rehashing or unboxing. If nothing was written,
+ * {@link #build()} returns the source map itself; otherwise it returns the table as an immutable map that boxes
+ * the values only when they are read. The operations on boxed values are implemented by
+ * {@link AbstractValueMapMutator}.
+ * <p>
+ * The map does not support {@code null} values, putting a {@code null} value or writing to a source map
+ * that contains one throws a {@link NullPointerException}.
+ *
+ * @param <K> the type of keys in the map
+ */
+public class DoubleValueMapMutatorImpl<K> extends AbstractValueMapMutator<K, Double, DoubleValueHashMap<K>, DoubleValueMapMutator<K>>
+        implements DoubleValueMapMutator<K> {
+    /**
+     * Constructs a new {@code DoubleValueMapMutatorImpl} instance with the provided map.
+     *
+     * @param map the initial map to be mutated; if null, an empty map is used
+     */
+    public DoubleValueMapMutatorImpl(Map<K, Double> map) {
+        super(map);
+    }
+
+    /**
+     * Creates a new {@code DoubleValueMapMutatorImpl} instance with the provided map.
+     *
+     * @param map the initial map to be mutated; if null, an empty map is used
+     * @return a new map mutator instance that can be used to modify the map
+     *
+     * @param <K> the type of keys in the map.
+     */
+    public static <K> DoubleValueMapMutator<K> mutator(Map<K, Double> map) {
+        return new DoubleValueMapMutatorImpl<>(map);
+    }
+
+    @Override
+    public double getDouble(K key, double defaultValue) {
+        if (source != null) {
+            Double value = get(key);
+            return value != null ? value : defaultValue;
+        }
+        return table.getDouble(key, defaultValue);
+    }
+
+    @Override
+    public DoubleValueMapMutator<K> put(K key, Double value) {
+        return putDouble(key, value);
+    }
+
+    @Override
+    public DoubleValueMapMutator<K> putDouble(K key, double value) {
+        checkLocked();
+        if (source != null) {
+            Double currentValue = get(key);
+            if (currentValue != null && same(currentValue, value)) {
+                return this;
+            }
+        }
+        mutableTable().putDouble(key, value);
+        return this;
+    }
+
+    @Override
+    public DoubleValueMapMutator<K> increment(K key, double delta) {
+        checkLocked();
+        DoubleValueHashMap<K> target = mutableTable();
+        int slot = target.slotOf(key);
+        if (slot >= 0) {
+            target.setValueAt(slot, target.valueAt(slot) + delta);
+        } else {
+            target.insertAt(slot, key, delta);
+        }
+        return this;
+    }
+
+    @Override
+    public DoubleValueMapMutator<K> mergeDouble(K key, double value, DoubleBinaryOperator remappingFunction) {
+        checkLocked();
+        DoubleValueHashMap<K> target = mutableTable();
+        int slot = target.slotOf(key);
+        if (slot >= 0) {
+            target.setValueAt(slot, remappingFunction.applyAsDouble(target.valueAt(slot), value));
+        } else {
+            target.insertAt(slot, key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public DoubleValueMapMutator<K> update(K key, Function<Double, Double> mutateFunction) {
+        return updateDouble(key, mutateFunction::apply);
+    }
+
+    @Override
+    public DoubleValueMapMutator<K> updateDouble(K key, DoubleUnaryOperator mutateFunction) {
+        checkLocked();
+        if (source != null) {
+            Double currentValue = get(key);
+            if (currentValue != null) {
+                double newValue = mutateFunction.applyAsDouble(currentValue);
+                if (!same(currentValue, newValue)) {
+                    mutableTable().putDouble(key, newValue);
+                }
+            }
+            return this;
+        }
+        int slot = table.slotOf(key);
+        if (slot >= 0) {
+            table.setValueAt(slot, mutateFunction.applyAsDouble(table.valueAt(slot)));
+        }
+        return this;
+    }
+
+    @Override
+    public void forEachDoubleEntry(ObjDoubleConsumer<? super K> action) {
+        if (source != null) {
+            source.forEach(action::accept);
+        } else {
+            table.forEachDoubleEntry(action);
+        }
+    }
+
+    @Override
+    DoubleValueHashMap<K> newTable() {
+        return new DoubleValueHashMap<>(0);
+    }
+
+    @Override
+    DoubleValueHashMap<K> copyOf(Map<K, Double> map) {
+        return DoubleValueHashMap.copyOf(map);
+    }
+
+    @Override
+    boolean sameValue(Double value1, Double value2) {
+        return same(value1.doubleValue(), value2.doubleValue());
+    }
+
+    /**
+     * Compares the bits of the values, so that writing {@code -0.0} over {@code 0.0} is not skipped.
+     */
+    private static boolean same(double value1, double value2) {
+        return Double.doubleToRawLongBits(value1) == Double.doubleToRawLongBits(value2);
+    }
+}
@@ -17,8 +17,17 @@ import java.lang.annotation.Target;
  * <p>
  * This annotation is intended for use with record types and is processed at
  * compile time to generate appropriate mutator logic.
+ * <p>
+ * The data structure used for collection components is selected with {@link #collectionBackend()}
+ * and can be overridden for a single component with {@link MutatorBackend}.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface GenerateMutator {
+    /**
+     * The backend used for the collection components of the record, unless overridden with {@link MutatorBackend}.
+     *
+     * @return the collection backend, {@link CollectionBackend#DEFAULT} if not specified
+     */
+    CollectionBackend collectionBackend() default CollectionBackend.DEFAULT;
 }
@@ -0,0 +1,131 @@
+package io.github.larsarv.jrmg.api;
+
+/**
+ * Helpers shared by the open addressing hash tables of this package: {@link CompactHashSet}, {@link CompactHashMap},
+ * {@link CachedHashSet}, {@link CachedHashMap} and the primitive value maps extending {@link AbstractValueHashMap}.
+ * <p>
+ * All tables store {@link #NULL_KEY} in place of a {@code null} element or key, leave empty slots {@code null}, use
+ * linear probing over a power of two capacity, and place an element by the same {@link #hash(Object) hash}. As the
+ * tables also keep the hash of every element next to it, a table can be copied into another one without calling
+ * {@link Object#hashCode()} again, which matters for records whose hash code is computed over nested collections.
+ */
+final class HashTables {
+    /**
+     * Stored in place of a {@code null} element or key.
+     */
+    static final Object NULL_KEY = new Object();
+    /**
+     * The capacity of an empty or small modifiable table.
+     */
+    static final int MIN_CAPACITY = 8;
+
+    private HashTables() {
+    }
+
+    /**
+     * Returns the element or key to store for the given one, replacing {@code null} by {@link #NULL_KEY}.
+     *
+     * @param key the element or key
+     * @return the element or key to store
+     */
+    static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    /**
+     * Returns the element or key for a stored one, replacing {@link #NULL_KEY} by {@code null}.
+     *
+     * @param storedKey the stored element or key
+     * @param <T> the type of the element or key
+     * @return the element or key
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T unmaskNull(Object storedKey) {
+        return storedKey == NULL_KEY ? null : (T) storedKey;
+    }
+
+    /**
+     * Returns the hash of a stored element or key, spreading the bits of its hash code so that the low bits used to
+     * select a slot depend on all bits.
+     *
+     * @param storedKey the stored element or key, not null
+     * @return the hash of the element or key
+     */
+    static int hash(Object storedKey) {
+        int hash = storedKey.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the hash code of the stored element or key whose {@link #hash(Object) hash} is given, which undoes the
+     * spreading of the bits, so that the hash code of a table can be computed from its stored hashes.
+     *
+     * @param hash the hash of a stored element or key other than {@link #NULL_KEY}
+     * @return the hash code of the element or key
+     */
+    static int hashCode(int hash) {
+        int spread = hash ^ (hash >>> 16);
+        return spread * 0x144CBC89; // The multiplicative inverse of 0x9E3779B9
+    }
+
+    /**
+     * Returns the capacity of a hash table for the given number of elements, a power of two keeping the load factor
+     * at most 1/2.
+     *
+     * @param size the number of elements, at least one
+     * @return the capacity of the table
+     */
+    static int tableCapacity(int size) {
+        return Integer.highestOneBit(size * 2 - 1) << 1;
+    }
+
+    /**
+     * Returns the initial capacity of a modifiable table for the expected number of elements, at least
+     * {@link #MIN_CAPACITY}.
+     *
+     * @param expectedSize the expected number of elements
+     * @return the capacity of the table
+     */
+    static int initialCapacity(int expectedSize) {
+        return expectedSize <= MIN_CAPACITY / 2 ? MIN_CAPACITY : tableCapacity(expectedSize);
+    }
+
+    /**
+     * Returns whether a table with the given number of elements exceeds the load factor of 1/2 and must grow.
+     *
+     * @param size the number of elements
+     * @param capacity the capacity of the table
+     * @return true if the table must grow
+     */
+    static boolean isOverloaded(int size, int capacity) {
+        return size * 2 > capacity;
+    }
+
+    /**
+     * Returns whether the element in slot {@code next} may move back into the free slot {@code gap} when closing the
+     * gap left by a removed element, which is the case unless its home slot lies cyclically after the gap.
+     *
+     * @param home the slot the hash of the element selects
+     * @param gap the free slot
+     * @param next the slot of the element, following the gap in the probe sequence
+     * @param mask the capacity of the table minus one
+     * @return true if the element may move into the gap
+     */
+    static boolean canFillGap(int home, int gap, int next, int mask) {
+        return ((next - home) & mask) >= ((next - gap) & mask);
+    }
+
+    /**
+     * Returns whether a stored element or key matches the stored element or key searched for, comparing the
+     * identity first, then the hashes, and only then calling {@link Object#equals(Object)}.
+     *
+     * @param slotKey the element or key stored in a slot
+     * @param slotHash the hash stored for the slot
+     * @param storedKey the element or key searched for
+     * @param hash the hash of the element or key searched for
+     * @return true if the element or key matches
+     */
+    static boolean matches(Object slotKey, int slotHash, Object storedKey, int hash) {
+        return slotKey == storedKey || slotHash == hash && slotKey.equals(storedKey);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of {@code Integer} values backed by a {@code int} array, built by {@link IntListMutatorImpl}.
+ * <p>
+ * The values are boxed only when they are read through the {@link java.util.List} interface. The array is
+ * owned by this list and is never modified after the list is created, so the hash code is computed once on first
+ * use and cached. The list is serialized as an unmodifiable {@link java.util.ArrayList} with the boxed values.
+ */
+final class IntArrayList extends AbstractList<Integer> implements RandomAccess, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int[] elements;
+    private final int size;
+    private int hashCode; // Computed on first use, 0 until then
+
+    /**
+     * Creates a list of the first {@code size} values of the given array. The array is not copied.
+     *
+     * @param elements the array holding the values
+     * @param size the number of values in the list
+     */
+    IntArrayList(int[] elements, int size) {
+        this.elements = elements;
+        this.size = size;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    /**
+     * Returns the value at the specified index without boxing it.
+     *
+     * @param index the index of the value to return
+     * @return the value at the specified index
+     */
+    int getInt(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of the values of this list in a new array of the given length.
+     *
+     * @param length the length of the new array, at least the size of this list
+     * @return the new array
+     */
+    int[] copyElements(int length) {
+        return Arrays.copyOf(elements, length);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = 1;
+            for (int index = 0; index < size; index++) {
+                hash = 31 * hash + Integer.hashCode(elements[index]);
+            }
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof IntArrayList) {
+            IntArrayList other = (IntArrayList) o;
+            if (other.size != size || hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+                return false;
+            }
+            for (int index = 0; index < size; index++) {
+                if (Integer.compare(elements[index], other.elements[index]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    /**
+     * Replaces the list by its serialized form, see {@link CollectionSupport#serializedForm(java.util.List)}.
+     *
+     * @return the serialized form of the list
+     */
+    @Serial
+    private Object writeReplace() {
+        return CollectionSupport.serializedForm(this);
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An implementation of {@link IntArrayMutator}, used for {@code int[]} components.
+ * <p>
+ * The source array is read as is until the first write, which copies it into an array owned by this mutator.
+ * The owned array may have spare capacity at the end, so that repeated appends and inserts do not copy it every
+ * time. {@link #build()} trims it to the length of the values. The operations that only move values are
+ * implemented by {@link AbstractPrimitiveArrayMutator}.
+ */
+public class IntArrayMutatorImpl extends AbstractPrimitiveArrayMutator<int[], IntArrayMutator> implements IntArrayMutator {
+    private static final int[] EMPTY_ELEMENTS = {};
+
+    /**
+     * Constructs a new instance of IntArrayMutatorImpl for the specified array.
+     *
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     */
+    public IntArrayMutatorImpl(int[] array) {
+        super(array != null ? array : EMPTY_ELEMENTS, array != null ? array.length : 0);
+    }
+
+    /**
+     * Creates a new array mutator for the specified array.
+     *
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     * @return a new array mutator instance that can be used to modify the array
+     */
+    public static IntArrayMutator mutator(int[] array) {
+        return new IntArrayMutatorImpl(array);
+    }
+
+    @Override
+    public int get(int index) {
+        Objects.checkIndex(index, length);
+        return elements[index];
+    }
+
+    @Override
+    public IntArrayMutator set(int index, int value) {
+        checkLocked();
+        Objects.checkIndex(index, length);
+        if (!same(elements[index], value)) {
+            mutableElements(0)[index] = value;
+        }
+        return this;
+    }
+
+    @Override
+    public IntArrayMutator setRange(int index, int... values) {
+        return setRangeValues(index, values);
+    }
+
+    @Override
+    public IntArrayMutator fill(int fromIndex, int toIndex, int value) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        for (int index = fromIndex; index < toIndex; index++) {
+            if (!same(elements[index], value)) {
+                // Only copy once a value actually changes
+                Arrays.fill(mutableElements(0), index, toIndex, value);
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public IntArrayMutator insert(int index, int... values) {
+        return insertValues(index, values);
+    }
+
+    @Override
+    public IntArrayMutator append(int... values) {
+        return insert(length, values);
+    }
+
+    @Override
+    public IntArrayMutator updateAll(IntIndexedUnaryOperator mutateFunction) {
+        return updateRange(0, length, mutateFunction);
+    }
+
+    @Override
+    public IntArrayMutator updateRange(int fromIndex, int toIndex, IntIndexedUnaryOperator mutateFunction) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        int[] target = elements;
+        for (int index = fromIndex; index < toIndex; index++) {
+            int value = target[index];
+            int newValue = mutateFunction.applyAsInt(index, value);
+            if (!same(value, newValue)) {
+                // The first change copies the source array, the later ones are written into the copy
+                target = mutableElements(0);
+                target[index] = newValue;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    int capacity(int[] array) {
+        return array.length;
+    }
+
+    @Override
+    int[] copyOf(int[] array, int length) {
+        return Arrays.copyOf(array, length);
+    }
+
+    @Override
+    boolean equalsRange(int index, int[] values) {
+        return Arrays.equals(elements, index, index + values.length, values, 0, values.length);
+    }
+
+    private static boolean same(int value1, int value2) {
+        return value1 == value2;
+    }
+}
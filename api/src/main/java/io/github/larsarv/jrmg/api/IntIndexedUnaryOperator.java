@@ -0,0 +1,18 @@
+package io.github.larsarv.jrmg.api;
+
+/**
+ * A functional interface representing a function that accepts an index and a {@code int} value.
+ * It returns the new value. This is the primitive specialization of {@link IndexedFunction} used by
+ * {@link IntListMutator}, so that updating the elements of the list does not box them.
+ */
+@FunctionalInterface
+public interface IntIndexedUnaryOperator {
+    /**
+     * Applies a transformation to a value at the specified index.
+     *
+     * @param index the position of the value in the list being modified
+     * @param value the value to be transformed
+     * @return the transformed value
+     */
+    int applyAsInt(int index, int value);
+}
@@ -0,0 +1,112 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A mutator interface for lists of {@code Integer} values that stores the values as {@code int} values.
+ * <p>
+ * The {@link SimpleListMutator} methods box and unbox the values passed to them, while the primitive
+ * variants, such as {@link #getInt(int)} and {@link #updateAllInt(IntIndexedUnaryOperator)}, read and
+ * write the values without boxing. The list does not support {@code null} elements.
+ * <p>
+ * The {@link #build()} method returns an immutable list that boxes the values only when they are read.
+ */
+public interface IntListMutator extends SimpleListMutator<Integer> {
+    @Override
+    IntListMutator set(int index, Integer record);
+    @Override
+    IntListMutator add(Integer item);
+    @Override
+    IntListMutator addAll(Collection<? extends Integer> items);
+    @Override
+    IntListMutator insertAll(int index, Collection<? extends Integer> items);
+    @Override
+    IntListMutator remove(int index);
+    @Override
+    IntListMutator removeRange(int fromIndex, int toIndex);
+    @Override
+    IntListMutator removeIndices(int... indices);
+    @Override
+    IntListMutator retainIndices(int... indices);
+    @Override
+    IntListMutator filter(Predicate<Integer> filterFunction);
+    @Override
+    IntListMutator distinct();
+    @Override
+    IntListMutator distinctBy(Function<? super Integer, ?> keyExtractor);
+    @Override
+    IntListMutator updateAll(IndexedFunction<Integer> mutateFunction);
+    @Override
+    IntListMutator sort(Comparator<? super Integer> comparator);
+    @Override
+    IntListMutator move(int fromIndex, int toIndex);
+    @Override
+    IntListMutator parallel();
+    @Override
+    IntListMutator parallel(ForkJoinPool pool);
+
+    /**
+     * Returns the value at the specified index in the list without boxing it.
+     * <p>
+     * If the index is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param index the index of the value to return
+     * @return the value at the specified index
+     */
+    int getInt(int index);
+
+    /**
+     * Sets the value at the specified index in the list.
+     * <p>
+     * If the index is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param index the index of the value to replace
+     * @param value the new value
+     * @return this mutator instance for method chaining
+     */
+    IntListMutator setInt(int index, int value);
+
+    /**
+     * Adds the specified value to the end of the list.
+     *
+     * @param value the value to add to the list
+     * @return this mutator instance for method chaining
+     */
+    IntListMutator addInt(int value);
+
+    /**
+     * Filters the list by removing values that do not satisfy the given predicate.
+     *
+     * @param filterFunction the predicate used to determine whether a value should be retained
+     * @return this mutator instance for method chaining
+     */
+    IntListMutator filterInt(IntPredicate filterFunction);
+
+    /**
+     * Applies the given function to all values in the list. The function is invoked for each value with its
+     * index and the current value, and the returned value replaces the current value.
+     *
+     * @param mutateFunction the function to apply to each value, accepting its index and the current value
+     * @return this mutator instance for method chaining
+     */
+    IntListMutator updateAllInt(IntIndexedUnaryOperator mutateFunction);
+
+    /**
+     * Sorts the values of the list in ascending numerical order.
+     *
+     * @return this mutator instance for method chaining
+     */
+    IntListMutator sort();
+
+    /**
+     * Returns a new array containing the current values of the list.
+     *
+     * @return an array with the values of the list, in list order
+     */
+    int[] toIntArray();
+}
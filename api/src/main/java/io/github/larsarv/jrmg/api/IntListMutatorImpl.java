@@ -0,0 +1,200 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.IntPredicate;
+
+/**
+ * An implementation of {@link IntListMutator} that stores the values in a {@code int} array,
+ * used for {@code List<Integer>} components.
+ * <p>
+ * The source list is read as is until the first write, which unboxes it into the array. A list built by
+ * another {@code IntListMutatorImpl} is copied without unboxing. If nothing was written, {@link #build()}
+ * returns the source list itself; otherwise it returns an immutable list that shares the array and boxes
+ * the values only when they are read. The operations that only move values are implemented by
+ * {@link AbstractPrimitiveListMutator}.
+ * <p>
+ * The list does not support {@code null} elements, adding a {@code null} element or writing to a source
+ * list that contains one throws a {@link NullPointerException}.
+ */
+public class IntListMutatorImpl extends AbstractPrimitiveListMutator<Integer, int[], IntListMutator> implements IntListMutator {
+    private static final int[] EMPTY_ELEMENTS = {};
+
+    /**
+     * Constructs a new instance of IntListMutatorImpl for the specified list.
+     *
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     */
+    public IntListMutatorImpl(List<Integer> list) {
+        super(list, EMPTY_ELEMENTS);
+    }
+
+    /**
+     * Creates a new list mutator for the specified list.
+     *
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     * @return a new list mutator instance that can be used to modify the list
+     */
+    public static IntListMutator mutator(List<Integer> list) {
+        return new IntListMutatorImpl(list);
+    }
+
+    @Override
+    public Integer get(int index) {
+        if (source != null) {
+            return source.get(index);
+        }
+        return getInt(index);
+    }
+
+    @Override
+    public int getInt(int index) {
+        if (source != null) {
+            return source.get(index);
+        }
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    @Override
+    public IntListMutator set(int index, Integer record) {
+        return setInt(index, record);
+    }
+
+    @Override
+    public IntListMutator setInt(int index, int value) {
+        checkLocked();
+        if (!same(getInt(index), value)) {
+            mutableElements(0)[index] = value;
+        }
+        return this;
+    }
+
+    @Override
+    public IntListMutator add(Integer item) {
+        return addInt(item);
+    }
+
+    @Override
+    public IntListMutator addInt(int value) {
+        checkLocked();
+        int[] target = mutableElements(1);
+        target[size++] = value;
+        return this;
+    }
+
+    @Override
+    public IntListMutator filter(Predicate<Integer> filterFunction) {
+        return filterInt(filterFunction::test);
+    }
+
+    @Override
+    public IntListMutator filterInt(IntPredicate filterFunction) {
+        checkLocked();
+        int index = 0;
+        while (index < size() && filterFunction.test(getInt(index))) {
+            index++;
+        }
+        if (index == size()) {
+            return this;
+        }
+        int[] target = mutableElements(0);
+        int keepIndex = index;
+        for (index = index + 1; index < size; index++) {
+            if (filterFunction.test(target[index])) {
+                target[keepIndex++] = target[index];
+            }
+        }
+        size = keepIndex;
+        return this;
+    }
+
+    @Override
+    public IntListMutator updateAll(IndexedFunction<Integer> mutateFunction) {
+        return updateAllInt(mutateFunction::apply);
+    }
+
+    @Override
+    public IntListMutator updateAllInt(IntIndexedUnaryOperator mutateFunction) {
+        checkLocked();
+        int index = 0;
+        // Read the source until the first changed value, then update the array directly
+        while (source != null && index < source.size()) {
+            int orgValue = source.get(index);
+            int newValue = mutateFunction.applyAsInt(index, orgValue);
+            if (!same(orgValue, newValue)) {
+                mutableElements(0)[index] = newValue;
+            }
+            index++;
+        }
+        for (; index < size; index++) {
+            elements[index] = mutateFunction.applyAsInt(index, elements[index]);
+        }
+        return this;
+    }
+
+    @Override
+    public IntListMutator sort() {
+        checkLocked();
+        for (int index = 1; index < size(); index++) {
+            if (Integer.compare(getInt(index - 1), getInt(index)) > 0) {
+                int[] target = mutableElements(0);
+                Arrays.sort(target, 0, size);
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public int[] toIntArray() {
+        return toValueArray();
+    }
+
+    @Override
+    int[] newElements(int length) {
+        return new int[length];
+    }
+
+    @Override
+    int capacity(int[] array) {
+        return array.length;
+    }
+
+    @Override
+    int[] copyOf(int[] array, int length) {
+        return Arrays.copyOf(array, length);
+    }
+
+    @Override
+    int[] unbox(List<Integer> list, int length) {
+        if (list instanceof IntArrayList) {
+            return ((IntArrayList) list).copyElements(length);
+        }
+        int[] values = new int[length];
+        int index = 0;
+        for (Integer value : list) {
+            values[index++] = value;
+        }
+        return values;
+    }
+
+    @Override
+    void unboxInto(Collection<? extends Integer> values, int[] array, int index) {
+        for (Integer value : values) {
+            array[index++] = value;
+        }
+    }
+
+    @Override
+    List<Integer> toList(int[] array, int length) {
+        return new IntArrayList(array, length);
+    }
+
+    private static boolean same(int value1, int value2) {
+        return value1 == value2;
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A hash map from keys to {@code int} values using open addressing with linear probing, used by
+ * {@link IntValueMapMutatorImpl}.
+ * <p>
+ * The values are stored in a {@code int} array parallel to the keys, so they are not boxed. The probing, growing and
+ * iteration are implemented by {@link AbstractValueHashMap}; this class reads and writes the values.
+ *
+ * @param <K> the type of keys in the map
+ */
+final class IntValueHashMap<K> extends AbstractValueHashMap<K, Integer, int[]> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates an empty map sized for the expected number of entries.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    IntValueHashMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    private IntValueHashMap(IntValueHashMap<K> other) {
+        super(other);
+    }
+
+    /**
+     * Returns a new map with the entries of the given map. A map of this class is copied by cloning its
+     * arrays, without rehashing or unboxing.
+     *
+     * @param source the map to copy
+     * @param <K> the type of keys in the map
+     * @return a new map with the entries of the source
+     * @throws NullPointerException if the source contains a {@code null} value
+     */
+    @SuppressWarnings("unchecked")
+    static <K> IntValueHashMap<K> copyOf(Map<K, Integer> source) {
+        if (source instanceof IntValueHashMap) {
+            return new IntValueHashMap<>((IntValueHashMap<K>) source);
+        }
+        IntValueHashMap<K> map = new IntValueHashMap<>(source.size());
+        for (Map.Entry<K, Integer> entry : source.entrySet()) {
+            map.putInt(entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+
+    /**
+     * Returns the value of the given key without boxing it, or the default value if the key is not present.
+     *
+     * @param key the key to look up
+     * @param defaultValue the value to return if the key is not present
+     * @return the value of the key, or the default value
+     */
+    int getInt(Object key, int defaultValue) {
+        int slot = slotOf(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Returns the value in the given slot.
+     *
+     * @param slot a slot returned by {@link #slotOf(Object)} or the index of an occupied slot
+     * @return the value in the slot
+     */
+    int valueAt(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Replaces the value in the given occupied slot.
+     *
+     * @param slot the slot of the entry
+     * @param value the new value
+     */
+    void setValueAt(int slot, int value) {
+        values[slot] = value;
+    }
+
+    /**
+     * Inserts a new entry at the insertion slot returned by {@link #slotOf(Object)} for the key,
+     * growing the table if it gets too full.
+     *
+     * @param notFoundSlot the negative value returned by {@link #slotOf(Object)}
+     * @param key the key of the entry
+     * @param value the value of the entry
+     */
+    void insertAt(int notFoundSlot, K key, int value) {
+        values[-notFoundSlot - 1] = value;
+        insertKeyAt(notFoundSlot, key);
+    }
+
+    /**
+     * Sets the value of the given key, adding the entry if the key is not present.
+     *
+     * @param key the key of the entry
+     * @param value the value of the entry
+     */
+    void putInt(K key, int value) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            values[slot] = value;
+        } else {
+            insertAt(slot, key, value);
+        }
+    }
+
+    /**
+     * Performs the given action for each entry without boxing the values.
+     *
+     * @param action the action to perform for each key and value
+     */
+    void forEachIntEntry(ObjIntConsumer<? super K> action) {
+        for (int slot = 0; slot < capacity(); slot++) {
+            if (isOccupied(slot)) {
+                action.accept(keyAt(slot), values[slot]);
+            }
+        }
+    }
+
+    @Override
+    int[] newValues(int length) {
+        return new int[length];
+    }
+
+    @Override
+    Integer boxedValueAt(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    void setBoxedValueAt(int slot, Integer value) {
+        values[slot] = value;
+    }
+
+    @Override
+    int valueHashCodeAt(int slot) {
+        return Integer.hashCode(values[slot]);
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A mutator interface for maps with {@code Integer} values that stores the values as {@code int} values.
+ * <p>
+ * The {@link SimpleMapMutator} methods box and unbox the values passed to them, while the primitive
+ * variants, such as {@link #increment(Object, int)} and {@link #updateInt(Object, IntUnaryOperator)},
+ * read and write the values without boxing and look up the key only once. The map does not support
+ * {@code null} values.
+ * <p>
+ * The {@link #build()} method returns an immutable map that boxes the values only when they are read.
+ *
+ * @param <K> the type of keys in the map
+ */
+public interface IntValueMapMutator<K> extends SimpleMapMutator<K, Integer> {
+    @Override
+    IntValueMapMutator<K> put(K key, Integer value);
+    @Override
+    IntValueMapMutator<K> remove(K key);
+    @Override
+    IntValueMapMutator<K> filter(BiFunction<K, Integer, Boolean> filterFunction);
+    @Override
+    IntValueMapMutator<K> update(K key, Function<Integer, Integer> mutateFunction);
+    @Override
+    IntValueMapMutator<K> updateAll(BiFunction<K, Integer, Integer> mutateFunction);
+    @Override
+    IntValueMapMutator<K> compute(K key, BiFunction<K, Integer, Integer> remappingFunction);
+    @Override
+    IntValueMapMutator<K> computeIfPresent(K key, BiFunction<K, Integer, Integer> remappingFunction);
+    @Override
+    IntValueMapMutator<K> computeIfAbsent(K key, Function<K, Integer> mappingFunction);
+    @Override
+    IntValueMapMutator<K> merge(K key, Integer value, BiFunction<Integer, Integer, Integer> remappingFunction);
+    @Override
+    IntValueMapMutator<K> mergeAll(Map<? extends K, ? extends Integer> map, BiFunction<Integer, Integer, Integer> remappingFunction);
+    @Override
+    IntValueMapMutator<K> putAll(Map<? extends K, ? extends Integer> map);
+    @Override
+    IntValueMapMutator<K> clear();
+    @Override
+    IntValueMapMutator<K> parallel();
+    @Override
+    IntValueMapMutator<K> parallel(ForkJoinPool pool);
+
+    /**
+     * Returns the value of the given key without boxing it, or the default value if the key is not present.
+     *
+     * @param key the key whose value is to be returned
+     * @param defaultValue the value to return if the key is not present
+     * @return the value of the key, or the default value
+     */
+    int getInt(K key, int defaultValue);
+
+    /**
+     * Associates the specified value with the specified key in the map.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return this mutator instance for method chaining
+     */
+    IntValueMapMutator<K> putInt(K key, int value);
+
+    /**
+     * Adds the given delta to the value of the specified key. If the key is not present, it is added
+     * with the delta as its value.
+     *
+     * @param key the key whose value is to be incremented
+     * @param delta the value to add
+     * @return this mutator instance for method chaining
+     */
+    IntValueMapMutator<K> increment(K key, int delta);
+
+    /**
+     * Associates the given value with the specified key if the key is not present, otherwise replaces the
+     * current value with the result of the remapping function applied to the current and the given value.
+     *
+     * @param key the key whose value is to be merged
+     * @param value the value to put, or to combine with the current value
+     * @param remappingFunction the function combining the current value and the given value
+     * @return this mutator instance for method chaining
+     */
+    IntValueMapMutator<K> mergeInt(K key, int value, IntBinaryOperator remappingFunction);
+
+    /**
+     * Replaces the value of the specified key with the result of the given function applied to it.
+     * If the key is not present, the map is not modified.
+     *
+     * @param key the key whose value is to be updated
+     * @param mutateFunction the function to apply to the current value
+     * @return this mutator instance for method chaining
+     */
+    IntValueMapMutator<K> updateInt(K key, IntUnaryOperator mutateFunction);
+
+    /**
+     * Performs the given action for each entry of the map without boxing the values.
+     *
+     * @param action the action to perform for each key and value
+     */
+    void forEachIntEntry(ObjIntConsumer<? super K> action);
+}
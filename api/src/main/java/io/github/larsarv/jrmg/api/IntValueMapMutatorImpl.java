@@ -0,0 +1,152 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * An implementation of {@link IntValueMapMutator} that stores the entries in an open addressing hash table
+ * with {@code int} values, used for {@code Map<K, Integer>} components with simple keys.
+ * <p>
+ * The source map is read as is until the first write, which copies it into the table. A map built by
+ * another {@code IntValueMapMutatorImpl} is copied without rehashing or unboxing. If nothing was written,
+ * {@link #build()} returns the source map itself; otherwise it returns the table as an immutable map that boxes
+ * the values only when they are read. The operations on boxed values are implemented by
+ * {@link AbstractValueMapMutator}.
+ * <p>
+ * The map does not support {@code null} values, putting a {@code null} value or writing to a source map
+ * that contains one throws a {@link NullPointerException}.
+ *
+ * @param <K> the type of keys in the map
+ */
+public class IntValueMapMutatorImpl<K> extends AbstractValueMapMutator<K, Integer, IntValueHashMap<K>, IntValueMapMutator<K>>
+        implements IntValueMapMutator<K> {
+    /**
+     * Constructs a new {@code IntValueMapMutatorImpl} instance with the provided map.
+     *
+     * @param map the initial map to be mutated; if null, an empty map is used
+     */
+    public IntValueMapMutatorImpl(Map<K, Integer> map) {
+        super(map);
+    }
+
+    /**
+     * Creates a new {@code IntValueMapMutatorImpl} instance with the provided map.
+     *
+     * @param map the initial map to be mutated; if null, an empty map is used
+     * @return a new map mutator instance that can be used to modify the map
+     *
+     * @param <K> the type of keys in the map.
+     */
+    public static <K> IntValueMapMutator<K> mutator(Map<K, Integer> map) {
+        return new IntValueMapMutatorImpl<>(map);
+    }
+
+    @Override
+    public int getInt(K key, int defaultValue) {
+        if (source != null) {
+            Integer value = get(key);
+            return value != null ? value : defaultValue;
+        }
+        return table.getInt(key, defaultValue);
+    }
+
+    @Override
+    public IntValueMapMutator<K> put(K key, Integer value) {
+        return putInt(key, value);
+    }
+
+    @Override
+    public IntValueMapMutator<K> putInt(K key, int value) {
+        checkLocked();
+        if (source != null) {
+            Integer currentValue = get(key);
+            if (currentValue != null && same(currentValue, value)) {
+                return this;
+            }
+        }
+        mutableTable().putInt(key, value);
+        return this;
+    }
+
+    @Override
+    public IntValueMapMutator<K> increment(K key, int delta) {
+        checkLocked();
+        IntValueHashMap<K> target = mutableTable();
+        int slot = target.slotOf(key);
+        if (slot >= 0) {
+            target.setValueAt(slot, target.valueAt(slot) + delta);
+        } else {
+            target.insertAt(slot, key, delta);
+        }
+        return this;
+    }
+
+    @Override
+    public IntValueMapMutator<K> mergeInt(K key, int value, IntBinaryOperator remappingFunction) {
+        checkLocked();
+        IntValueHashMap<K> target = mutableTable();
+        int slot = target.slotOf(key);
+        if (slot >= 0) {
+            target.setValueAt(slot, remappingFunction.applyAsInt(target.valueAt(slot), value));
+        } else {
+            target.insertAt(slot, key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public IntValueMapMutator<K> update(K key, Function<Integer, Integer> mutateFunction) {
+        return updateInt(key, mutateFunction::apply);
+    }
+
+    @Override
+    public IntValueMapMutator<K> updateInt(K key, IntUnaryOperator mutateFunction) {
+        checkLocked();
+        if (source != null) {
+            Integer currentValue = get(key);
+            if (currentValue != null) {
+                int newValue = mutateFunction.applyAsInt(currentValue);
+                if (!same(currentValue, newValue)) {
+                    mutableTable().putInt(key, newValue);
+                }
+            }
+            return this;
+        }
+        int slot = table.slotOf(key);
+        if (slot >= 0) {
+            table.setValueAt(slot, mutateFunction.applyAsInt(table.valueAt(slot)));
+        }
+        return this;
+    }
+
+    @Override
+    public void forEachIntEntry(ObjIntConsumer<? super K> action) {
+        if (source != null) {
+            source.forEach(action::accept);
+        } else {
+            table.forEachIntEntry(action);
+        }
+    }
+
+    @Override
+    IntValueHashMap<K> newTable() {
+        return new IntValueHashMap<>(0);
+    }
+
+    @Override
+    IntValueHashMap<K> copyOf(Map<K, Integer> map) {
+        return IntValueHashMap.copyOf(map);
+    }
+
+    @Override
+    boolean sameValue(Integer value1, Integer value2) {
+        return same(value1.intValue(), value2.intValue());
+    }
+
+    private static boolean same(int value1, int value2) {
+        return value1 == value2;
+    }
+}
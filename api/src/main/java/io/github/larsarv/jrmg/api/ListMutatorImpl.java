@@ -1,11 +1,17 @@
 package io.github.larsarv.jrmg.api;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 /**
  * An implementation of {@link NestedListMutator} that provides a fluent, chainable API
@@ -13,21 +19,38 @@ import java.util.function.Predicate;
  * records using {@link Mutator} instances, which can be used to create or modify
  * records in place.
  * <p>
- * This implementation maintains a mutable list internally and provides methods to
- * modify its contents. The mutator is built around a factory function that creates
+ * This implementation wraps the source list and copies it into an internal mutable list on the
+ * first write (copy-on-write), so read-only use and no-op mutations never copy the source.
+ * The mutator is built around a factory function that creates
  * {@link Mutator} instances for each record, enabling transformations that
  * affect the internal state of records.
  * <p>
  * The {@link #build()} method returns an immutable list
- * of the modified records. All mutations are performed in-place on the internal list,
+ * of the modified records, or the source list itself if nothing was written.
+ * The built list is a compact {@link CompactList} without spare capacity, and empty lists share a single instance.
+ * A source list without {@link RandomAccess}, such as a {@link java.util.LinkedList}, is copied into an array list
+ * when the mutator is created, so the operations reading the elements by index take linear instead of quadratic time;
+ * the source list itself is still returned by {@link #build()} if nothing was written.
+ * All mutations are performed in-place on the internal list,
  * and the mutator returns itself for method chaining.
+ * <p>
+ * A mutator created by {@link #sortedMutator(List, Comparator, Function)} keeps the list sorted by its comparator.
+ * Added elements are inserted at their sorted position found by binary search, after any equal elements, and
+ * elements that are replaced or mutated are moved to their new position. {@link #sort(Comparator)} does nothing,
+ * and {@link #insertAll(int, Collection)} and {@link #move(int, int)}, which would break the order, throw an
+ * {@link UnsupportedOperationException}. Elements can be found in O(log n) time with
+ * {@link #binarySearch(ToIntFunction)} and {@link #binarySearchAndMutate(ToIntFunction, Function)}.
  *
  * @param <T> the type of elements stored in the list.
  * @param <M> the type of {@link Mutator} used to mutate the elements of type {@code T}
  */
 public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutator<T, M> {
-    private final List<T> list;
+    private final List<T> source; // The source list, returned by build() if nothing was written
+    private List<T> list; // The source list, or a random access copy of it, until the first write
+    private boolean copied; // True when list is a private copy owned by this mutator
+    private final Comparator<? super T> sortComparator; // Order kept by the list, null if the list is not sorted
     private final Function<T, M> elementMutatorFactory;
+    private ForkJoinPool parallelPool; // Pool for the bulk operations, null to run them sequentially
     private boolean locked = false;
 
     /**
@@ -37,8 +60,33 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
      * @param elementMutatorFactory a function that generates a mutator for each element in the list
      */
     public ListMutatorImpl(List<T> list, Function<T, M> elementMutatorFactory) {
-        this.list = list == null ? new ArrayList<>(): new ArrayList<>(list);
+        this(list, null, elementMutatorFactory);
+    }
+
+    /**
+     * Constructs a new list mutator for the specified list that keeps the list sorted by the given comparator.
+     * A source list that is not sorted is sorted when the mutator is created.
+     *
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     * @param sortComparator the comparator defining the order of the list, or null if the list is not sorted
+     * @param elementMutatorFactory a function that generates a mutator for each element in the list
+     */
+    public ListMutatorImpl(List<T> list, Comparator<? super T> sortComparator, Function<T, M> elementMutatorFactory) {
+        this.source = list;
+        if (list == null) {
+            this.list = new ArrayList<>();
+        } else if (list instanceof RandomAccess) {
+            this.list = list;
+        } else {
+            // Copy a linked list up front, as most operations read the elements by index
+            this.list = new ArrayList<>(list);
+        }
+        this.copied = list == null;
+        this.sortComparator = sortComparator;
         this.elementMutatorFactory = elementMutatorFactory;
+        if (sortComparator != null && !isSorted()) {
+            mutableList().sort(sortComparator);
+        }
     }
 
     /**
@@ -57,6 +105,25 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         return new ListMutatorImpl<>(list, elementMutatorFactory);
     }
 
+    /**
+     * Creates a new list mutator for the specified list that keeps the list sorted by the given comparator,
+     * using the provided element mutator factory.
+     * <p>
+     * Elements are added at their sorted position, and can be found by binary search with
+     * {@link #binarySearch(ToIntFunction)}, see {@link ListMutatorImpl}.
+     *
+     * @param <T> the type of elements stored in the list.
+     * @param <E> the type of {@link Mutator} used to mutate the elements of type {@code T}
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     * @param comparator the comparator defining the order of the list
+     * @param elementMutatorFactory a function that generates a mutator for each element in the list,
+     *                              null if the element data type is simple
+     * @return a new list mutator instance that keeps the list sorted
+     */
+    public static <T, E extends Mutator<T>> NestedListMutator<T, E> sortedMutator(List<T> list, Comparator<? super T> comparator, Function<T, E> elementMutatorFactory) {
+        return new ListMutatorImpl<>(list, Objects.requireNonNull(comparator), elementMutatorFactory);
+    }
+
     @Override
     public int size() {
         return list.size();
@@ -72,7 +139,10 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
-        list.set(index, record);
+        if (list.get(index) != record) {
+            mutableList().set(index, record);
+            restoreOrder(index);
+        }
         return this;
     }
 
@@ -81,7 +151,36 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
-        list.add(item);
+        addItem(item);
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> addAll(Collection<? extends T> items) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (!items.isEmpty()) {
+            mutableList(items.size()).addAll(items);
+            restoreOrder();
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> insertAll(int index, Collection<? extends T> items) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (sortComparator != null) {
+            throw new UnsupportedOperationException("Sorted list does not support inserting at an index.");
+        }
+        if (index < 0 || index > list.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + list.size());
+        }
+        if (!items.isEmpty()) {
+            mutableList(items.size()).addAll(index, items);
+        }
         return this;
     }
 
@@ -90,7 +189,65 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
-        list.remove(index);
+        if (index < 0 || index >= list.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + list.size());
+        }
+        mutableList().remove(index);
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> removeRange(int fromIndex, int toIndex) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (fromIndex < 0 || toIndex > list.size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", To index: " + toIndex + ", Size: " + list.size());
+        }
+        if (fromIndex != toIndex) {
+            mutableList().subList(fromIndex, toIndex).clear();
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> removeIndices(int... indices) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        int[] removed = CollectionSupport.sortedDistinctIndices(indices, list.size());
+        if (removed.length == 0) {
+            return this;
+        }
+        // Compact the elements after the first removed index in a single pass
+        List<T> target = mutableList();
+        int keepIndex = removed[0];
+        int removedIndex = 0;
+        for (int index = removed[0]; index < target.size(); index++) {
+            if (removedIndex < removed.length && removed[removedIndex] == index) {
+                removedIndex++;
+            } else {
+                target.set(keepIndex++, target.get(index));
+            }
+        }
+        target.subList(keepIndex, target.size()).clear();
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> retainIndices(int... indices) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        int[] retained = CollectionSupport.sortedDistinctIndices(indices, list.size());
+        if (retained.length == list.size()) {
+            return this;
+        }
+        List<T> target = mutableList();
+        for (int keepIndex = 0; keepIndex < retained.length; keepIndex++) {
+            target.set(keepIndex, target.get(retained[keepIndex]));
+        }
+        target.subList(retained.length, target.size()).clear();
         return this;
     }
 
@@ -99,22 +256,55 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
-        list.removeIf(t -> !filterFunction.test(t));
+        int index = 0;
+        while (index < list.size() && filterFunction.test(list.get(index))) {
+            index++;
+        }
+        if (index == list.size()) {
+            return this;
+        }
+        List<T> target = mutableList();
+        int keepIndex = index;
+        for (index = index + 1; index < target.size(); index++) {
+            T item = target.get(index);
+            if (filterFunction.test(item)) {
+                target.set(keepIndex++, item);
+            }
+        }
+        target.subList(keepIndex, target.size()).clear();
         return this;
     }
 
+    @Override
+    public NestedListMutator<T, M> distinct() {
+        return distinctBy(Function.identity());
+    }
+
+    @Override
+    public NestedListMutator<T, M> distinctBy(Function<? super T, ?> keyExtractor) {
+        return filter(CollectionSupport.firstOfEachKey(keyExtractor, list.size()));
+    }
+
     @Override
     public NestedListMutator<T, M> updateAll(IndexedFunction<T> mutateFunction) {
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
+        if (ParallelSupport.useParallel(parallelPool, list.size())) {
+            List<T> source = list;
+            setChanged(ParallelSupport.computeAll(parallelPool, source.size(),
+                    index -> mutateFunction.apply(index, source.get(index))));
+            restoreOrder();
+            return this;
+        }
         for (int index = 0; index != list.size(); ++index) {
             T orgItem = list.get(index);
             T newItem = mutateFunction.apply(index, orgItem);
             if (newItem != orgItem) {
-                list.set(index, newItem);
+                mutableList().set(index, newItem);
             }
         }
+        restoreOrder();
         return this;
     }
 
@@ -123,20 +313,34 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
-        list.sort(comparator);
+        if (sortComparator == null) {
+            mutableList().sort(comparator);
+        }
         return this;
     }
 
+    @Override
+    public int binarySearch(ToIntFunction<? super T> keyComparison) {
+        return CollectionSupport.binarySearch(list.size(), list::get, keyComparison);
+    }
+
     @Override
     public NestedListMutator<T, M> move(int fromIndex, int toIndex) {
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
+        if (sortComparator != null) {
+            throw new UnsupportedOperationException("Sorted list does not support moving elements.");
+        }
         if (fromIndex < 0 || fromIndex >= list.size() || toIndex < 0 || toIndex >= list.size()) {
             throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + list.size());
         }
-        T item = list.remove(fromIndex);
-        list.add(toIndex, item);
+        // Rotate only the elements between the two indices, instead of shifting the tail twice
+        if (fromIndex < toIndex) {
+            Collections.rotate(mutableList().subList(fromIndex, toIndex + 1), -1);
+        } else if (fromIndex > toIndex) {
+            Collections.rotate(mutableList().subList(toIndex, fromIndex + 1), 1);
+        }
         return this;
     }
 
@@ -145,7 +349,7 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
-        list.set(index, recordMutator.build());
+        set(index, recordMutator.build());
         return this;
     }
 
@@ -154,7 +358,7 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
-        list.add(mutateFunction.apply(elementMutatorFactory.apply(null)).build());
+        addItem(mutateFunction.apply(elementMutatorFactory.apply(null)).build());
         return this;
     }
 
@@ -165,7 +369,10 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         }
         T orgValue = list.get(index);
         T newValue = modifierFunction.apply(elementMutatorFactory.apply(orgValue)).build();
-        list.set(index, newValue);
+        if (newValue != orgValue) {
+            mutableList().set(index, newValue);
+            restoreOrder(index);
+        }
         return this;
     }
 
@@ -174,11 +381,21 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         if (locked) {
             throw new IllegalStateException("List is locked and cannot be modified.");
         }
+        if (ParallelSupport.useParallel(parallelPool, list.size())) {
+            List<T> source = list;
+            setChanged(ParallelSupport.computeAll(parallelPool, source.size(),
+                    index -> modifierFunction.apply(index, elementMutatorFactory.apply(source.get(index))).build()));
+            restoreOrder();
+            return this;
+        }
         for (int index = 0; index < list.size(); index++) {
             T orgValue = list.get(index);
             T newValue = modifierFunction.apply(index, elementMutatorFactory.apply(orgValue)).build();
-            list.set(index, newValue);
+            if (newValue != orgValue) {
+                mutableList().set(index, newValue);
+            }
         }
+        restoreOrder();
         return this;
     }
 
@@ -187,32 +404,213 @@ public class ListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutat
         for (int index = 0; index < list.size(); index++) {
             T orgValue = list.get(index);
             if (predicate.test(orgValue)) {
-                list.set(index, mutatorFunction.apply(elementMutatorFactory.apply(orgValue)).build());
+                T newValue = mutatorFunction.apply(elementMutatorFactory.apply(orgValue)).build();
+                if (newValue != orgValue) {
+                    mutableList().set(index, newValue);
+                    restoreOrder(index);
+                }
                 return  this;
             }
         }
         return this;
     }
 
+    @Override
+    public NestedListMutator<T, M> binarySearchAndMutate(ToIntFunction<? super T> keyComparison, Function<M, M> mutatorFunction) {
+        int index = binarySearch(keyComparison);
+        if (index >= 0) {
+            mutate(index, mutatorFunction);
+        }
+        return this;
+    }
+
     @Override
     public NestedListMutator<T, M> findAllAndMutate(Predicate<T> predicate, Function<M, M> mutatorFunction) {
+        if (ParallelSupport.useParallel(parallelPool, list.size())) {
+            List<T> source = list;
+            setChanged(ParallelSupport.computeAll(parallelPool, source.size(), index -> {
+                T orgValue = source.get(index);
+                return predicate.test(orgValue) ? mutatorFunction.apply(elementMutatorFactory.apply(orgValue)).build() : orgValue;
+            }));
+            restoreOrder();
+            return this;
+        }
         for (int index = 0; index < list.size(); index++) {
             T orgValue = list.get(index);
             if (predicate.test(orgValue)) {
-                list.set(index, mutatorFunction.apply(elementMutatorFactory.apply(orgValue)).build());
+                T newValue = mutatorFunction.apply(elementMutatorFactory.apply(orgValue)).build();
+                if (newValue != orgValue) {
+                    mutableList().set(index, newValue);
+                }
             }
         }
+        restoreOrder();
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> upsertAll(Collection<? extends T> incoming, Function<? super T, ?> keyExtractor, BiFunction<M, T, M> mergeFunction) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (incoming.isEmpty()) {
+            return this;
+        }
+        Object[] newItems = new Object[list.size()];
+        List<T> appended = CollectionSupport.upsertByKey(list.size(), list::get, newItems, incoming, keyExtractor,
+                mergeFunction, elementMutatorFactory);
+        setChanged(newItems);
+        if (!appended.isEmpty()) {
+            mutableList(appended.size()).addAll(appended);
+        }
+        restoreOrder();
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public NestedListMutator<T, M> parallel(ForkJoinPool pool) {
+        this.parallelPool = Objects.requireNonNull(pool);
         return this;
     }
 
     @Override
     public List<T> build() {
         this.locked = true;
-        return Collections.unmodifiableList(list);
+        return copied ? CompactList.copyOf(list) : source;
     }
 
     @Override
     public List<T> buildCopy() {
-        return Collections.unmodifiableList(new ArrayList<>(list));
+        return CompactList.copyOf(list);
+    }
+
+    /**
+     * Returns the internal list, copying the source list on the first write.
+     *
+     * @return the mutable list owned by this mutator
+     */
+    private List<T> mutableList() {
+        if (!copied) {
+            if (list == source) {
+                list = new ArrayList<>(list);
+            }
+            copied = true;
+        }
+        return list;
+    }
+
+    /**
+     * Replaces the elements that differ from the new elements computed by a parallel bulk operation,
+     * copying the source list only if at least one element changed.
+     *
+     * @param newItems the new elements, indexed like the list
+     */
+    @SuppressWarnings("unchecked")
+    private void setChanged(Object[] newItems) {
+        for (int index = 0; index < newItems.length; index++) {
+            if (newItems[index] != list.get(index)) {
+                mutableList().set(index, (T) newItems[index]);
+            }
+        }
+    }
+
+    /**
+     * Adds an element at the end of the list, or at its sorted position if the list is sorted.
+     *
+     * @param item the element to add
+     */
+    private void addItem(T item) {
+        if (sortComparator == null) {
+            mutableList().add(item);
+        } else {
+            mutableList().add(upperBound(0, list.size(), item), item);
+        }
+    }
+
+    /**
+     * Moves the element at the given index to its sorted position after it was replaced, if the list is sorted.
+     *
+     * @param index the index of the replaced element
+     */
+    private void restoreOrder(int index) {
+        if (sortComparator == null) {
+            return;
+        }
+        // Rotate only the elements between the old and the new position, like move does
+        T item = list.get(index);
+        if (index > 0 && sortComparator.compare(list.get(index - 1), item) > 0) {
+            int toIndex = upperBound(0, index, item);
+            Collections.rotate(list.subList(toIndex, index + 1), 1);
+        } else if (index < list.size() - 1 && sortComparator.compare(item, list.get(index + 1)) > 0) {
+            int toIndex = upperBound(index + 1, list.size(), item) - 1;
+            Collections.rotate(list.subList(index, toIndex + 1), -1);
+        }
+    }
+
+    /**
+     * Sorts the list again after a bulk operation, if the list is sorted and was written. The sort is stable and
+     * takes linear time for a list that is still sorted.
+     */
+    private void restoreOrder() {
+        if (sortComparator != null && copied) {
+            list.sort(sortComparator);
+        }
+    }
+
+    /**
+     * Returns the index after the last element in the given range of the sorted list that is not ordered after
+     * the given element.
+     *
+     * @param fromIndex the first index of the range
+     * @param toIndex the index after the last element of the range
+     * @param item the element to search for
+     * @return the index in the range at which the element would be inserted after any equal elements
+     */
+    private int upperBound(int fromIndex, int toIndex, T item) {
+        int low = fromIndex;
+        int high = toIndex;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortComparator.compare(list.get(middle), item) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean isSorted() {
+        for (int index = 1; index < list.size(); index++) {
+            if (sortComparator.compare(list.get(index - 1), list.get(index)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the internal list, copying the source list on the first write, with room for the given number
+     * of additional elements.
+     *
+     * @param additionalCapacity the number of elements about to be added
+     * @return the mutable list owned by this mutator
+     */
+    private List<T> mutableList(int additionalCapacity) {
+        if (!copied && list == source) {
+            ArrayList<T> copy = new ArrayList<>(list.size() + additionalCapacity);
+            copy.addAll(list);
+            list = copy;
+            copied = true;
+        } else {
+            copied = true;
+            ((ArrayList<T>) list).ensureCapacity(list.size() + additionalCapacity);
+        }
+        return list;
     }
 }
@@ -0,0 +1,121 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An implementation of {@link LongArrayMutator}, used for {@code long[]} components.
+ * <p>
+ * The source array is read as is until the first write, which copies it into an array owned by this mutator.
+ * The owned array may have spare capacity at the end, so that repeated appends and inserts do not copy it every
+ * time. {@link #build()} trims it to the length of the values. The operations that only move values are
+ * implemented by {@link AbstractPrimitiveArrayMutator}.
+ */
+public class LongArrayMutatorImpl extends AbstractPrimitiveArrayMutator<long[], LongArrayMutator> implements LongArrayMutator {
+    private static final long[] EMPTY_ELEMENTS = {};
+
+    /**
+     * Constructs a new instance of LongArrayMutatorImpl for the specified array.
+     *
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     */
+    public LongArrayMutatorImpl(long[] array) {
+        super(array != null ? array : EMPTY_ELEMENTS, array != null ? array.length : 0);
+    }
+
+    /**
+     * Creates a new array mutator for the specified array.
+     *
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     * @return a new array mutator instance that can be used to modify the array
+     */
+    public static LongArrayMutator mutator(long[] array) {
+        return new LongArrayMutatorImpl(array);
+    }
+
+    @Override
+    public long get(int index) {
+        Objects.checkIndex(index, length);
+        return elements[index];
+    }
+
+    @Override
+    public LongArrayMutator set(int index, long value) {
+        checkLocked();
+        Objects.checkIndex(index, length);
+        if (!same(elements[index], value)) {
+            mutableElements(0)[index] = value;
+        }
+        return this;
+    }
+
+    @Override
+    public LongArrayMutator setRange(int index, long... values) {
+        return setRangeValues(index, values);
+    }
+
+    @Override
+    public LongArrayMutator fill(int fromIndex, int toIndex, long value) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        for (int index = fromIndex; index < toIndex; index++) {
+            if (!same(elements[index], value)) {
+                // Only copy once a value actually changes
+                Arrays.fill(mutableElements(0), index, toIndex, value);
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public LongArrayMutator insert(int index, long... values) {
+        return insertValues(index, values);
+    }
+
+    @Override
+    public LongArrayMutator append(long... values) {
+        return insert(length, values);
+    }
+
+    @Override
+    public LongArrayMutator updateAll(LongIndexedUnaryOperator mutateFunction) {
+        return updateRange(0, length, mutateFunction);
+    }
+
+    @Override
+    public LongArrayMutator updateRange(int fromIndex, int toIndex, LongIndexedUnaryOperator mutateFunction) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        long[] target = elements;
+        for (int index = fromIndex; index < toIndex; index++) {
+            long value = target[index];
+            long newValue = mutateFunction.applyAsLong(index, value);
+            if (!same(value, newValue)) {
+                // The first change copies the source array, the later ones are written into the copy
+                target = mutableElements(0);
+                target[index] = newValue;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    int capacity(long[] array) {
+        return array.length;
+    }
+
+    @Override
+    long[] copyOf(long[] array, int length) {
+        return Arrays.copyOf(array, length);
+    }
+
+    @Override
+    boolean equalsRange(int index, long[] values) {
+        return Arrays.equals(elements, index, index + values.length, values, 0, values.length);
+    }
+
+    private static boolean same(long value1, long value2) {
+        return value1 == value2;
+    }
+}
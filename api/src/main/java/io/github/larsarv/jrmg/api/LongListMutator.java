@@ -0,0 +1,112 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A mutator interface for lists of {@code Long} values that stores the values as {@code long} values.
+ * <p>
+ * The {@link SimpleListMutator} methods box and unbox the values passed to them, while the primitive
+ * variants, such as {@link #getLong(int)} and {@link #updateAllLong(LongIndexedUnaryOperator)}, read and
+ * write the values without boxing. The list does not support {@code null} elements.
+ * <p>
+ * The {@link #build()} method returns an immutable list that boxes the values only when they are read.
+ */
+public interface LongListMutator extends SimpleListMutator<Long> {
+    @Override
+    LongListMutator set(int index, Long record);
+    @Override
+    LongListMutator add(Long item);
+    @Override
+    LongListMutator addAll(Collection<? extends Long> items);
+    @Override
+    LongListMutator insertAll(int index, Collection<? extends Long> items);
+    @Override
+    LongListMutator remove(int index);
+    @Override
+    LongListMutator removeRange(int fromIndex, int toIndex);
+    @Override
+    LongListMutator removeIndices(int... indices);
+    @Override
+    LongListMutator retainIndices(int... indices);
+    @Override
+    LongListMutator filter(Predicate<Long> filterFunction);
+    @Override
+    LongListMutator distinct();
+    @Override
+    LongListMutator distinctBy(Function<? super Long, ?> keyExtractor);
+    @Override
+    LongListMutator updateAll(IndexedFunction<Long> mutateFunction);
+    @Override
+    LongListMutator sort(Comparator<? super Long> comparator);
+    @Override
+    LongListMutator move(int fromIndex, int toIndex);
+    @Override
+    LongListMutator parallel();
+    @Override
+    LongListMutator parallel(ForkJoinPool pool);
+
+    /**
+     * Returns the value at the specified index in the list without boxing it.
+     * <p>
+     * If the index is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param index the index of the value to return
+     * @return the value at the specified index
+     */
+    long getLong(int index);
+
+    /**
+     * Sets the value at the specified index in the list.
+     * <p>
+     * If the index is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param index the index of the value to replace
+     * @param value the new value
+     * @return this mutator instance for method chaining
+     */
+    LongListMutator setLong(int index, long value);
+
+    /**
+     * Adds the specified value to the end of the list.
+     *
+     * @param value the value to add to the list
+     * @return this mutator instance for method chaining
+     */
+    LongListMutator addLong(long value);
+
+    /**
+     * Filters the list by removing values that do not satisfy the given predicate.
+     *
+     * @param filterFunction the predicate used to determine whether a value should be retained
+     * @return this mutator instance for method chaining
+     */
+    LongListMutator filterLong(LongPredicate filterFunction);
+
+    /**
+     * Applies the given function to all values in the list. The function is invoked for each value with its
+     * index and the current value, and the returned value replaces the current value.
+     *
+     * @param mutateFunction the function to apply to each value, accepting its index and the current value
+     * @return this mutator instance for method chaining
+     */
+    LongListMutator updateAllLong(LongIndexedUnaryOperator mutateFunction);
+
+    /**
+     * Sorts the values of the list in ascending numerical order.
+     *
+     * @return this mutator instance for method chaining
+     */
+    LongListMutator sort();
+
+    /**
+     * Returns a new array containing the current values of the list.
+     *
+     * @return an array with the values of the list, in list order
+     */
+    long[] toLongArray();
+}
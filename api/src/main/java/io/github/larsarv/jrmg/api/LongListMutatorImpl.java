@@ -0,0 +1,200 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.LongPredicate;
+
+/**
+ * An implementation of {@link LongListMutator} that stores the values in a {@code long} array,
+ * used for {@code List<Long>} components.
+ * <p>
+ * The source list is read as is until the first write, which unboxes it into the array. A list built by
+ * another {@code LongListMutatorImpl} is copied without unboxing. If nothing was written, {@link #build()}
+ * returns the source list itself; otherwise it returns an immutable list that shares the array and boxes
+ * the values only when they are read. The operations that only move values are implemented by
+ * {@link AbstractPrimitiveListMutator}.
+ * <p>
+ * The list does not support {@code null} elements, adding a {@code null} element or writing to a source
+ * list that contains one throws a {@link NullPointerException}.
+ */
+public class LongListMutatorImpl extends AbstractPrimitiveListMutator<Long, long[], LongListMutator> implements LongListMutator {
+    private static final long[] EMPTY_ELEMENTS = {};
+
+    /**
+     * Constructs a new instance of LongListMutatorImpl for the specified list.
+     *
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     */
+    public LongListMutatorImpl(List<Long> list) {
+        super(list, EMPTY_ELEMENTS);
+    }
+
+    /**
+     * Creates a new list mutator for the specified list.
+     *
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     * @return a new list mutator instance that can be used to modify the list
+     */
+    public static LongListMutator mutator(List<Long> list) {
+        return new LongListMutatorImpl(list);
+    }
+
+    @Override
+    public Long get(int index) {
+        if (source != null) {
+            return source.get(index);
+        }
+        return getLong(index);
+    }
+
+    @Override
+    public long getLong(int index) {
+        if (source != null) {
+            return source.get(index);
+        }
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    @Override
+    public LongListMutator set(int index, Long record) {
+        return setLong(index, record);
+    }
+
+    @Override
+    public LongListMutator setLong(int index, long value) {
+        checkLocked();
+        if (!same(getLong(index), value)) {
+            mutableElements(0)[index] = value;
+        }
+        return this;
+    }
+
+    @Override
+    public LongListMutator add(Long item) {
+        return addLong(item);
+    }
+
+    @Override
+    public LongListMutator addLong(long value) {
+        checkLocked();
+        long[] target = mutableElements(1);
+        target[size++] = value;
+        return this;
+    }
+
+    @Override
+    public LongListMutator filter(Predicate<Long> filterFunction) {
+        return filterLong(filterFunction::test);
+    }
+
+    @Override
+    public LongListMutator filterLong(LongPredicate filterFunction) {
+        checkLocked();
+        int index = 0;
+        while (index < size() && filterFunction.test(getLong(index))) {
+            index++;
+        }
+        if (index == size()) {
+            return this;
+        }
+        long[] target = mutableElements(0);
+        int keepIndex = index;
+        for (index = index + 1; index < size; index++) {
+            if (filterFunction.test(target[index])) {
+                target[keepIndex++] = target[index];
+            }
+        }
+        size = keepIndex;
+        return this;
+    }
+
+    @Override
+    public LongListMutator updateAll(IndexedFunction<Long> mutateFunction) {
+        return updateAllLong(mutateFunction::apply);
+    }
+
+    @Override
+    public LongListMutator updateAllLong(LongIndexedUnaryOperator mutateFunction) {
+        checkLocked();
+        int index = 0;
+        // Read the source until the first changed value, then update the array directly
+        while (source != null && index < source.size()) {
+            long orgValue = source.get(index);
+            long newValue = mutateFunction.applyAsLong(index, orgValue);
+            if (!same(orgValue, newValue)) {
+                mutableElements(0)[index] = newValue;
+            }
+            index++;
+        }
+        for (; index < size; index++) {
+            elements[index] = mutateFunction.applyAsLong(index, elements[index]);
+        }
+        return this;
+    }
+
+    @Override
+    public LongListMutator sort() {
+        checkLocked();
+        for (int index = 1; index < size(); index++) {
+            if (Long.compare(getLong(index - 1), getLong(index)) > 0) {
+                long[] target = mutableElements(0);
+                Arrays.sort(target, 0, size);
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public long[] toLongArray() {
+        return toValueArray();
+    }
+
+    @Override
+    long[] newElements(int length) {
+        return new long[length];
+    }
+
+    @Override
+    int capacity(long[] array) {
+        return array.length;
+    }
+
+    @Override
+    long[] copyOf(long[] array, int length) {
+        return Arrays.copyOf(array, length);
+    }
+
+    @Override
+    long[] unbox(List<Long> list, int length) {
+        if (list instanceof LongArrayList) {
+            return ((LongArrayList) list).copyElements(length);
+        }
+        long[] values = new long[length];
+        int index = 0;
+        for (Long value : list) {
+            values[index++] = value;
+        }
+        return values;
+    }
+
+    @Override
+    void unboxInto(Collection<? extends Long> values, long[] array, int index) {
+        for (Long value : values) {
+            array[index++] = value;
+        }
+    }
+
+    @Override
+    List<Long> toList(long[] array, int length) {
+        return new LongArrayList(array, length);
+    }
+
+    private static boolean same(long value1, long value2) {
+        return value1 == value2;
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A hash map from keys to {@code long} values using open addressing with linear probing, used by
+ * {@link LongValueMapMutatorImpl}.
+ * <p>
+ * The values are stored in a {@code long} array parallel to the keys, so they are not boxed. The probing, growing and
+ * iteration are implemented by {@link AbstractValueHashMap}; this class reads and writes the values.
+ *
+ * @param <K> the type of keys in the map
+ */
+final class LongValueHashMap<K> extends AbstractValueHashMap<K, Long, long[]> {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates an empty map sized for the expected number of entries.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    LongValueHashMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    private LongValueHashMap(LongValueHashMap<K> other) {
+        super(other);
+    }
+
+    /**
+     * Returns a new map with the entries of the given map. A map of this class is copied by cloning its
+     * arrays, without rehashing or unboxing.
+     *
+     * @param source the map to copy
+     * @param <K> the type of keys in the map
+     * @return a new map with the entries of the source
+     * @throws NullPointerException if the source contains a {@code null} value
+     */
+    @SuppressWarnings("unchecked")
+    static <K> LongValueHashMap<K> copyOf(Map<K, Long> source) {
+        if (source instanceof LongValueHashMap) {
+            return new LongValueHashMap<>((LongValueHashMap<K>) source);
+        }
+        LongValueHashMap<K> map = new LongValueHashMap<>(source.size());
+        for (Map.Entry<K, Long> entry : source.entrySet()) {
+            map.putLong(entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+
+    /**
+     * Returns the value of the given key without boxing it, or the default value if the key is not present.
+     *
+     * @param key the key to look up
+     * @param defaultValue the value to return if the key is not present
+     * @return the value of the key, or the default value
+     */
+    long getLong(Object key, long defaultValue) {
+        int slot = slotOf(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Returns the value in the given slot.
+     *
+     * @param slot a slot returned by {@link #slotOf(Object)} or the index of an occupied slot
+     * @return the value in the slot
+     */
+    long valueAt(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Replaces the value in the given occupied slot.
+     *
+     * @param slot the slot of the entry
+     * @param value the new value
+     */
+    void setValueAt(int slot, long value) {
+        values[slot] = value;
+    }
+
+    /**
+     * Inserts a new entry at the insertion slot returned by {@link #slotOf(Object)} for the key,
+     * growing the table if it gets too full.
+     *
+     * @param notFoundSlot the negative value returned by {@link #slotOf(Object)}
+     * @param key the key of the entry
+     * @param value the value of the entry
+     */
+    void insertAt(int notFoundSlot, K key, long value) {
+        values[-notFoundSlot - 1] = value;
+        insertKeyAt(notFoundSlot, key);
+    }
+
+    /**
+     * Sets the value of the given key, adding the entry if the key is not present.
+     *
+     * @param key the key of the entry
+     * @param value the value of the entry
+     */
+    void putLong(K key, long value) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            values[slot] = value;
+        } else {
+            insertAt(slot, key, value);
+        }
+    }
+
+    /**
+     * Performs the given action for each entry without boxing the values.
+     *
+     * @param action the action to perform for each key and value
+     */
+    void forEachLongEntry(ObjLongConsumer<? super K> action) {
+        for (int slot = 0; slot < capacity(); slot++) {
+            if (isOccupied(slot)) {
+                action.accept(keyAt(slot), values[slot]);
+            }
+        }
+    }
+
+    @Override
+    long[] newValues(int length) {
+        return new long[length];
+    }
+
+    @Override
+    Long boxedValueAt(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    void setBoxedValueAt(int slot, Long value) {
+        values[slot] = value;
+    }
+
+    @Override
+    int valueHashCodeAt(int slot) {
+        return Long.hashCode(values[slot]);
+    }
+}
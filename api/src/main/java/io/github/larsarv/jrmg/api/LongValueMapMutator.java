@@ -0,0 +1,108 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A mutator interface for maps with {@code Long} values that stores the values as {@code long} values.
+ * <p>
+ * The {@link SimpleMapMutator} methods box and unbox the values passed to them, while the primitive
+ * variants, such as {@link #increment(Object, long)} and {@link #updateLong(Object, LongUnaryOperator)},
+ * read and write the values without boxing and look up the key only once. The map does not support
+ * {@code null} values.
+ * <p>
+ * The {@link #build()} method returns an immutable map that boxes the values only when they are read.
+ *
+ * @param <K> the type of keys in the map
+ */
+public interface LongValueMapMutator<K> extends SimpleMapMutator<K, Long> {
+    @Override
+    LongValueMapMutator<K> put(K key, Long value);
+    @Override
+    LongValueMapMutator<K> remove(K key);
+    @Override
+    LongValueMapMutator<K> filter(BiFunction<K, Long, Boolean> filterFunction);
+    @Override
+    LongValueMapMutator<K> update(K key, Function<Long, Long> mutateFunction);
+    @Override
+    LongValueMapMutator<K> updateAll(BiFunction<K, Long, Long> mutateFunction);
+    @Override
+    LongValueMapMutator<K> compute(K key, BiFunction<K, Long, Long> remappingFunction);
+    @Override
+    LongValueMapMutator<K> computeIfPresent(K key, BiFunction<K, Long, Long> remappingFunction);
+    @Override
+    LongValueMapMutator<K> computeIfAbsent(K key, Function<K, Long> mappingFunction);
+    @Override
+    LongValueMapMutator<K> merge(K key, Long value, BiFunction<Long, Long, Long> remappingFunction);
+    @Override
+    LongValueMapMutator<K> mergeAll(Map<? extends K, ? extends Long> map, BiFunction<Long, Long, Long> remappingFunction);
+    @Override
+    LongValueMapMutator<K> putAll(Map<? extends K, ? extends Long> map);
+    @Override
+    LongValueMapMutator<K> clear();
+    @Override
+    LongValueMapMutator<K> parallel();
+    @Override
+    LongValueMapMutator<K> parallel(ForkJoinPool pool);
+
+    /**
+     * Returns the value of the given key without boxing it, or the default value if the key is not present.
+     *
+     * @param key the key whose value is to be returned
+     * @param defaultValue the value to return if the key is not present
+     * @return the value of the key, or the default value
+     */
+    long getLong(K key, long defaultValue);
+
+    /**
+     * Associates the specified value with the specified key in the map.
+     *
+     * @param key the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return this mutator instance for method chaining
+     */
+    LongValueMapMutator<K> putLong(K key, long value);
+
+    /**
+     * Adds the given delta to the value of the specified key. If the key is not present, it is added
+     * with the delta as its value.
+     *
+     * @param key the key whose value is to be incremented
+     * @param delta the value to add
+     * @return this mutator instance for method chaining
+     */
+    LongValueMapMutator<K> increment(K key, long delta);
+
+    /**
+     * Associates the given value with the specified key if the key is not present, otherwise replaces the
+     * current value with the result of the remapping function applied to the current and the given value.
+     *
+     * @param key the key whose value is to be merged
+     * @param value the value to put, or to combine with the current value
+     * @param remappingFunction the function combining the current value and the given value
+     * @return this mutator instance for method chaining
+     */
+    LongValueMapMutator<K> mergeLong(K key, long value, LongBinaryOperator remappingFunction);
+
+    /**
+     * Replaces the value of the specified key with the result of the given function applied to it.
+     * If the key is not present, the map is not modified.
+     *
+     * @param key the key whose value is to be updated
+     * @param mutateFunction the function to apply to the current value
+     * @return this mutator instance for method chaining
+     */
+    LongValueMapMutator<K> updateLong(K key, LongUnaryOperator mutateFunction);
+
+    /**
+     * Performs the given action for each entry of the map without boxing the values.
+     *
+     * @param action the action to perform for each key and value
+     */
+    void forEachLongEntry(ObjLongConsumer<? super K> action);
+}
@@ -0,0 +1,152 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * An implementation of {@link LongValueMapMutator} that stores the entries in an open addressing hash table
+ * with {@code long} values, used for {@code Map<K, Long>} components with simple keys.
+ * <p>
+ * The source map is read as is until the first write, which copies it into the table. A map built by
+ * another {@code LongValueMapMutatorImpl} is copied without rehashing or unboxing. If nothing was written,
+ * {@link #build()} returns the source map itself; otherwise it returns the table as an immutable map that boxes
+ * the values only when they are read. The operations on boxed values are implemented by
+ * {@link AbstractValueMapMutator}.
+ * <p>
+ * The map does not support {@code null} values, putting a {@code null} value or writing to a source map
+ * that contains one throws a {@link NullPointerException}.
+ *
+ * @param <K> the type of keys in the map
+ */
+public class LongValueMapMutatorImpl<K> extends AbstractValueMapMutator<K, Long, LongValueHashMap<K>, LongValueMapMutator<K>>
+        implements LongValueMapMutator<K> {
+    /**
+     * Constructs a new {@code LongValueMapMutatorImpl} instance with the provided map.
+     *
+     * @param map the initial map to be mutated; if null, an empty map is used
+     */
+    public LongValueMapMutatorImpl(Map<K, Long> map) {
+        super(map);
+    }
+
+    /**
+     * Creates a new {@code LongValueMapMutatorImpl} instance with the provided map.
+     *
+     * @param map the initial map to be mutated; if null, an empty map is used
+     * @return a new map mutator instance that can be used to modify the map
+     *
+     * @param <K> the type of keys in the map.
+     */
+    public static <K> LongValueMapMutator<K> mutator(Map<K, Long> map) {
+        return new LongValueMapMutatorImpl<>(map);
+    }
+
+    @Override
+    public long getLong(K key, long defaultValue) {
+        if (source != null) {
+            Long value = get(key);
+            return value != null ? value : defaultValue;
+        }
+        return table.getLong(key, defaultValue);
+    }
+
+    @Override
+    public LongValueMapMutator<K> put(K key, Long value) {
+        return putLong(key, value);
+    }
+
+    @Override
+    public LongValueMapMutator<K> putLong(K key, long value) {
+        checkLocked();
+        if (source != null) {
+            Long currentValue = get(key);
+            if (currentValue != null && same(currentValue, value)) {
+                return this;
+            }
+        }
+        mutableTable().putLong(key, value);
+        return this;
+    }
+
+    @Override
+    public LongValueMapMutator<K> increment(K key, long delta) {
+        checkLocked();
+        LongValueHashMap<K> target = mutableTable();
+        int slot = target.slotOf(key);
+        if (slot >= 0) {
+            target.setValueAt(slot, target.valueAt(slot) + delta);
+        } else {
+            target.insertAt(slot, key, delta);
+        }
+        return this;
+    }
+
+    @Override
+    public LongValueMapMutator<K> mergeLong(K key, long value, LongBinaryOperator remappingFunction) {
+        checkLocked();
+        LongValueHashMap<K> target = mutableTable();
+        int slot = target.slotOf(key);
+        if (slot >= 0) {
+            target.setValueAt(slot, remappingFunction.applyAsLong(target.valueAt(slot), value));
+        } else {
+            target.insertAt(slot, key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public LongValueMapMutator<K> update(K key, Function<Long, Long> mutateFunction) {
+        return updateLong(key, mutateFunction::apply);
+    }
+
+    @Override
+    public LongValueMapMutator<K> updateLong(K key, LongUnaryOperator mutateFunction) {
+        checkLocked();
+        if (source != null) {
+            Long currentValue = get(key);
+            if (currentValue != null) {
+                long newValue = mutateFunction.applyAsLong(currentValue);
+                if (!same(currentValue, newValue)) {
+                    mutableTable().putLong(key, newValue);
+                }
+            }
+            return this;
+        }
+        int slot = table.slotOf(key);
+        if (slot >= 0) {
+            table.setValueAt(slot, mutateFunction.applyAsLong(table.valueAt(slot)));
+        }
+        return this;
+    }
+
+    @Override
+    public void forEachLongEntry(ObjLongConsumer<? super K> action) {
+        if (source != null) {
+            source.forEach(action::accept);
+        } else {
+            table.forEachLongEntry(action);
+        }
+    }
+
+    @Override
+    LongValueHashMap<K> newTable() {
+        return new LongValueHashMap<>(0);
+    }
+
+    @Override
+    LongValueHashMap<K> copyOf(Map<K, Long> map) {
+        return LongValueHashMap.copyOf(map);
+    }
+
+    @Override
+    boolean sameValue(Long value1, Long value2) {
+        return same(value1.longValue(), value2.longValue());
+    }
+
+    private static boolean same(long value1, long value2) {
+        return value1 == value2;
+    }
+}
@@ -1,7 +1,9 @@
 package io.github.larsarv.jrmg.api;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 /**
@@ -11,6 +13,18 @@ import java.util.function.Function;
  * This class implements {@link NestedKeyValueMapMutator}, {@link NestedKeyMapMutator} and
  * {@link NestedValueMapMutator}, which extends multiple interfaces
  * including {@link SimpleMapMutator}, {@link MapKeyMutator}, and {@link MapValueMutator}.
+ * <p>
+ * The source map is copied into an internal mutable map on the first write (copy-on-write).
+ * If nothing was written, {@link #build()} returns the source map itself. Bulk operations such as
+ * {@link #filter(BiFunction)} and {@link #updateAll(BiFunction)} only copy the source map once an entry actually
+ * changes, and update the internal map in place afterwards.
+ * <p>
+ * Copies keep the kind of the source map: an {@link EnumMap} stays an {@code EnumMap}, sorted maps keep
+ * their comparator and a {@link LinkedHashMap} keeps its iteration order. Other maps are copied into a
+ * {@link CachedHashMap}, which stores the hash of each key next to it and compares keys by identity before calling
+ * {@code equals}, so a key such as a record with large nested collections is hashed once when it enters the map
+ * instead of on every lookup. The built map of a hash map is a compact {@link CompactHashMap} without entry
+ * objects, which takes over the stored hashes.
  *
  * @param <K> the type of keys in the map.
  * @param <V> the type of values in the map.
@@ -21,20 +35,42 @@ public class MapMutatorImpl<K, V, MK extends Mutator<K>, MV extends Mutator<V>>
     implements NestedKeyValueMapMutator<K, V, MK, MV>, NestedKeyMapMutator<K, V, MK>, NestedValueMapMutator<K, V, MV> {
     
     private Map<K, V> map;
+    private boolean copied; // True when map is a private copy owned by this mutator
+    private final Class<K> enumKeyType; // Enum class of the keys if copies should be EnumMaps, otherwise null
     private final Function<K, MK> keyMutatorFactory;
     private final Function<V, MV> valueMutatorFactory;
+    private ForkJoinPool parallelPool; // Pool for the bulk operations, null to run them sequentially
 
     private boolean locked = false;
 
     /**
      * Constructs a new {@code MapMutatorImpl} instance with the provided map and mutator factories.
      *
-     * @param map the initial map to be mutated; if null, a new empty {@code HashMap} is created
+     * @param map the initial map to be mutated; if null, a new empty hash map is created
      * @param keyMutatorFactory a function that returns a mutator for the given key
      * @param valueMutatorFactory a function that returns a mutator for the given value
      */
     public MapMutatorImpl(Map<K, V> map, Function<K, MK> keyMutatorFactory, Function<V, MV> valueMutatorFactory) {
-        this.map = map == null ? new HashMap<>() : new HashMap<>(map);
+        this(map, null, keyMutatorFactory, valueMutatorFactory);
+    }
+
+    /**
+     * Constructs a new {@code MapMutatorImpl} instance for a map with enum keys, which is copied into an
+     * {@link EnumMap} instead of a hash map.
+     *
+     * @param map the initial map to be mutated; if null, a new empty {@code EnumMap} is created
+     * @param enumKeyType the enum class of the keys; if null, the map is treated as a map with non-enum keys
+     * @param keyMutatorFactory a function that returns a mutator for the given key
+     * @param valueMutatorFactory a function that returns a mutator for the given value
+     */
+    public MapMutatorImpl(Map<K, V> map, Class<K> enumKeyType, Function<K, MK> keyMutatorFactory, Function<V, MV> valueMutatorFactory) {
+        this.enumKeyType = enumKeyType;
+        if (map != null) {
+            this.map = map;
+        } else {
+            this.map = enumKeyType != null ? CollectionSupport.newEnumMap(enumKeyType) : new CachedHashMap<>(0);
+        }
+        this.copied = map == null;
         this.keyMutatorFactory = keyMutatorFactory;
         this.valueMutatorFactory = valueMutatorFactory;
     }
@@ -45,7 +81,7 @@ public class MapMutatorImpl<K, V, MK extends Mutator<K>, MV extends Mutator<V>>
      * This method is used to initialize a map mutator that can apply transformations to keys and values
      * using provided mutator factories.
      *
-     * @param map the initial map to be mutated; if null, a new empty {@code HashMap} is created
+     * @param map the initial map to be mutated; if null, a new empty hash map is created
      * @param keyMutatorFactory a function that returns a mutator for the given key
      * @param valueMutatorFactory a function that returns a mutator for the given value
      * @return a new {@code MapMutatorImpl} instance configured with the provided parameters
@@ -63,6 +99,33 @@ public class MapMutatorImpl<K, V, MK extends Mutator<K>, MV extends Mutator<V>>
         return new MapMutatorImpl<>(map, keyMutatorFactory, valueMutatorFactory);
     }
 
+    /**
+     * Creates a new {@code MapMutatorImpl} instance for a map with enum keys.
+     * <p>
+     * The map is copied into an {@link EnumMap} on the first write, so lookups and updates index an array
+     * instead of hashing. Sorted and linked source maps keep their kind. As with any {@code EnumMap},
+     * {@code null} keys are not supported.
+     *
+     * @param map the initial map to be mutated; if null, a new empty {@code EnumMap} is created
+     * @param enumKeyType the enum class of the keys
+     * @param keyMutatorFactory a function that returns a mutator for the given key
+     * @param valueMutatorFactory a function that returns a mutator for the given value
+     * @return a new {@code MapMutatorImpl} instance configured with the provided parameters
+     *
+     * @param <K> the type of keys in the map.
+     * @param <V> the type of values in the map.
+     * @param <MK> the type of record mutator used to modify the keys
+     * @param <MV> the type of record mutator used to modify the values
+     */
+    public static <K extends Enum<K>, V, MK extends Mutator<K>, MV extends Mutator<V>> MapMutatorImpl<K, V, MK, MV> mutator(
+            Map<K, V> map,
+            Class<K> enumKeyType,
+            Function<K, MK> keyMutatorFactory,
+            Function<V, MV> valueMutatorFactory
+    )  {
+        return new MapMutatorImpl<>(map, enumKeyType, keyMutatorFactory, valueMutatorFactory);
+    }
+
     private void checkLocked() {
         if (locked) {
             throw new IllegalStateException("Map is locked and can not be modified");
@@ -81,17 +144,17 @@ public class MapMutatorImpl<K, V, MK extends Mutator<K>, MV extends Mutator<V>>
 
     @Override
     public V get(K key) {
-        return map.get(key);
+        return CollectionSupport.get(map, key);
     }
     
     @Override
     public boolean containsKey(K key) {
-        return map.containsKey(key);
+        return mapContainsKey(key);
     }
     
     @Override
     public boolean containsValue(V value) {
-        return map.containsValue(value);
+        return CollectionSupport.containsValue(map, value);
     }
     
     @Override
@@ -107,37 +170,67 @@ public class MapMutatorImpl<K, V, MK extends Mutator<K>, MV extends Mutator<V>>
     @Override
     public MapMutatorImpl<K, V, MK, MV> put(K key, V value) {
         checkLocked();
-        map.put(key, value);
+        mutableMap().put(key, value);
         return this;
     }
     
     @Override
     public MapMutatorImpl<K, V, MK, MV> remove(K key) {
         checkLocked();
-        map.remove(key);
+        if (copied || mapContainsKey(key)) {
+            mutableMap().remove(key);
+        }
         return this;
     }
 
     @Override
     public MapMutatorImpl<K, V, MK, MV> filter(BiFunction<K, V, Boolean> filterFunction) {
         checkLocked();
-        Map<K, V> newMap = new HashMap<>();
-        for (Map.Entry<K, V> entry : map.entrySet()) {
-            if (filterFunction.apply(entry.getKey(), entry.getValue())) {
-                newMap.put(entry.getKey(), entry.getValue());
+        if (copied) {
+            map.entrySet().removeIf(entry -> !filterFunction.apply(entry.getKey(), entry.getValue()));
+            return this;
+        }
+        // Only copy the source map once an entry is actually rejected, and then only the kept entries
+        Iterator<Map.Entry<K, V>> iterator = map.entrySet().iterator();
+        int keptCount = 0;
+        while (iterator.hasNext()) {
+            Map.Entry<K, V> entry = iterator.next();
+            if (!filterFunction.apply(entry.getKey(), entry.getValue())) {
+                Map<K, V> newMap = CollectionSupport.emptyLike(map, enumKeyType, map.size() - 1);
+                Iterator<Map.Entry<K, V>> keptIterator = map.entrySet().iterator();
+                for (int index = 0; index < keptCount; index++) {
+                    Map.Entry<K, V> keptEntry = keptIterator.next();
+                    newMap.put(keptEntry.getKey(), keptEntry.getValue());
+                }
+                while (iterator.hasNext()) {
+                    Map.Entry<K, V> nextEntry = iterator.next();
+                    if (filterFunction.apply(nextEntry.getKey(), nextEntry.getValue())) {
+                        newMap.put(nextEntry.getKey(), nextEntry.getValue());
+                    }
+                }
+                this.map = newMap;
+                this.copied = true;
+                break;
             }
+            keptCount++;
         }
-        this.map = newMap;
         return this;
     }
     
     @Override
     public MapMutatorImpl<K, V, MK, MV> update(K key, Function<V, V> mutateFunction) {
         checkLocked();
-        if (map.containsKey(key)) {
-            V currentValue = map.get(key);
+        if (copied && map instanceof CachedHashMap) {
+            replaceIfPresent((CachedHashMap<K, V>) map, key, mutateFunction);
+            return this;
+        }
+        V currentValue = get(key);
+        // Only a null value needs a second lookup to tell a present key from an absent one
+        if (currentValue != null || mapContainsKey(key)) {
             V newValue = mutateFunction.apply(currentValue);
-            map.put(key, newValue);
+            if (newValue != currentValue) {
+                mutableMap().put(key, newValue);
+            }
         }
         return this;
     }
@@ -145,56 +238,159 @@ public class MapMutatorImpl<K, V, MK extends Mutator<K>, MV extends Mutator<V>>
     @Override
     public MapMutatorImpl<K, V, MK, MV> updateAll(BiFunction<K, V, V> mutateFunction) {
         checkLocked();
-        Map<K, V> newMap = new HashMap<>();
-        for (Map.Entry<K, V> entry : map.entrySet()) {
-            V newValue = mutateFunction.apply(entry.getKey(), entry.getValue());
-            newMap.put(entry.getKey(), newValue);
+        if (ParallelSupport.useParallel(parallelPool, map.size())) {
+            replaceAllValues(mutateFunction);
+            return this;
         }
-        this.map = newMap;
+        updateValues(mutateFunction);
         return this;
     }
     
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> compute(K key, BiFunction<K, V, V> remappingFunction) {
+        checkLocked();
+        if (copied) {
+            map.compute(key, remappingFunction);
+            return this;
+        }
+        V currentValue = get(key);
+        V newValue = remappingFunction.apply(key, currentValue);
+        if (newValue == null) {
+            if (mapContainsKey(key)) {
+                mutableMap().remove(key);
+            }
+        } else if (newValue != currentValue) {
+            mutableMap().put(key, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> computeIfPresent(K key, BiFunction<K, V, V> remappingFunction) {
+        checkLocked();
+        if (copied) {
+            map.computeIfPresent(key, remappingFunction);
+            return this;
+        }
+        V currentValue = get(key);
+        if (currentValue != null) {
+            V newValue = remappingFunction.apply(key, currentValue);
+            if (newValue == null) {
+                mutableMap().remove(key);
+            } else if (newValue != currentValue) {
+                mutableMap().put(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        checkLocked();
+        if (copied) {
+            map.computeIfAbsent(key, mappingFunction);
+            return this;
+        }
+        if (get(key) == null) {
+            V newValue = mappingFunction.apply(key);
+            if (newValue != null) {
+                mutableMap().put(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> merge(K key, V value, BiFunction<V, V, V> remappingFunction) {
+        checkLocked();
+        Objects.requireNonNull(value);
+        if (copied) {
+            map.merge(key, value, remappingFunction);
+            return this;
+        }
+        V currentValue = get(key);
+        V newValue = currentValue == null ? value : remappingFunction.apply(currentValue, value);
+        if (newValue == null) {
+            mutableMap().remove(key);
+        } else if (newValue != currentValue) {
+            mutableMap().put(key, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> mergeAll(Map<? extends K, ? extends V> m, BiFunction<V, V, V> remappingFunction) {
+        checkLocked();
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            merge(entry.getKey(), entry.getValue(), remappingFunction);
+        }
+        return this;
+    }
+
     @Override
     public MapMutatorImpl<K, V, MK, MV> putAll(Map<? extends K, ? extends V> m) {
         checkLocked();
-        map.putAll(m);
+        if (!m.isEmpty()) {
+            mutableMap().putAll(m);
+        }
         return this;
     }
 
     @Override
     public MapMutatorImpl<K, V, MK, MV> clear() {
         checkLocked();
-        map.clear();
+        if (copied) {
+            map.clear();
+        } else if (!map.isEmpty()) {
+            map = CollectionSupport.emptyLike(map, enumKeyType, 0);
+            copied = true;
+        }
         return this;
     }
 
     @Override
     public MapMutatorImpl<K, V, MK, MV> put(Function<MK, MK> mutateFunction, V value) {
         checkLocked();
-        map.put(mutateFunction.apply(keyMutatorFactory.apply(null)).build(), value);
+        mutableMap().put(mutateFunction.apply(keyMutatorFactory.apply(null)).build(), value);
         return this;
     }
     
     @Override
     public MapMutatorImpl<K, V, MK, MV> mutateKey(K key, Function<MK, MK> mutateFunction) {
         checkLocked();
-        if (map.containsKey(key)) {
-            V value = map.remove(key);
+        if (mapContainsKey(key)) {
             K newKey = mutateFunction.apply(keyMutatorFactory.apply(key)).build();
-            map.put(newKey, value);
+            if (newKey != key) {
+                Map<K, V> target = mutableMap();
+                V value = target.remove(key);
+                target.put(newKey, value);
+            }
         }
         return this;
     }
     
     @Override
+    @SuppressWarnings("unchecked")
     public MapMutatorImpl<K, V, MK, MV> mutateAllKeys(Function<MK, MK> mutateFunction) {
         checkLocked();
-        Map<K, V> newMap = new HashMap<>();
-        for (Map.Entry<K, V> entry : map.entrySet()) {
-            K newKey = mutateFunction.apply(keyMutatorFactory.apply(entry.getKey())).build();
-            newMap.put(newKey, entry.getValue());
+        // Changed keys have to be rehashed, so the map is rebuilt, but only if at least one key changed
+        Object[] newKeys = new Object[map.size()];
+        boolean changed = false;
+        int index = 0;
+        for (K key : map.keySet()) {
+            K newKey = mutateFunction.apply(keyMutatorFactory.apply(key)).build();
+            newKeys[index++] = newKey;
+            changed |= newKey != key;
+        }
+        if (changed) {
+            Map<K, V> newMap = CollectionSupport.emptyLike(map, enumKeyType, newKeys.length);
+            index = 0;
+            for (V value : map.values()) {
+                newMap.put((K) newKeys[index++], value);
+            }
+            this.map = newMap;
+            this.copied = true;
         }
-        this.map = newMap;
         return this;
     }
     
@@ -202,30 +398,80 @@ public class MapMutatorImpl<K, V, MK extends Mutator<K>, MV extends Mutator<V>>
     public MapMutatorImpl<K, V, MK, MV> put(K key, Function<MV, MV> mutateFunction) {
         checkLocked();
         V value = mutateFunction.apply(valueMutatorFactory.apply(null)).build();
-        map.put(key, value);
+        mutableMap().put(key, value);
         return this;
     }
 
     @Override
     public MapMutatorImpl<K, V, MK, MV> mutateValue(K key, Function<MV, MV> mutateFunction) {
         checkLocked();
-        if (map.containsKey(key)) {
-            V currentValue = map.get(key);
+        if (copied && map instanceof CachedHashMap) {
+            replaceIfPresent((CachedHashMap<K, V>) map, key,
+                    value -> mutateFunction.apply(valueMutatorFactory.apply(value)).build());
+            return this;
+        }
+        V currentValue = get(key);
+        if (currentValue != null || mapContainsKey(key)) {
             V newValue = mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build();
-            map.put(key, newValue);
+            if (newValue != currentValue) {
+                mutableMap().put(key, newValue);
+            }
         }
         return this;
     }
     
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> mutateOrPut(K key, Function<MV, MV> mutateFunction) {
+        checkLocked();
+        if (copied) {
+            map.compute(key, (k, currentValue) -> mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build());
+            return this;
+        }
+        V currentValue = get(key);
+        V newValue = mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build();
+        if (newValue != currentValue || !mapContainsKey(key)) {
+            mutableMap().put(key, newValue);
+        }
+        return this;
+    }
+
     @Override
     public MapMutatorImpl<K, V, MK, MV> mutateAllValues(BiFunction<K, MV, MV> mutateFunction) {
         checkLocked();
-        Map<K, V> newMap = new HashMap<>();
+        if (ParallelSupport.useParallel(parallelPool, map.size())) {
+            replaceAllValues((key, value) -> mutateFunction.apply(key, valueMutatorFactory.apply(value)).build());
+            return this;
+        }
+        updateValues((key, value) -> mutateFunction.apply(key, valueMutatorFactory.apply(value)).build());
+        return this;
+    }
+
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> findFirstAndMutateValue(BiPredicate<K, V> predicate, Function<MV, MV> mutateFunction) {
+        checkLocked();
         for (Map.Entry<K, V> entry : map.entrySet()) {
-            V newValue = mutateFunction.apply(entry.getKey(), valueMutatorFactory.apply(entry.getValue())).build();
-            newMap.put(entry.getKey(), newValue);
+            if (predicate.test(entry.getKey(), entry.getValue())) {
+                V currentValue = entry.getValue();
+                V newValue = mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build();
+                if (newValue != currentValue) {
+                    mutableMap().put(entry.getKey(), newValue);
+                }
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> findAllAndMutateValues(BiPredicate<K, V> predicate, Function<MV, MV> mutateFunction) {
+        checkLocked();
+        BiFunction<K, V, V> guardedFunction = (key, value) ->
+                predicate.test(key, value) ? mutateFunction.apply(valueMutatorFactory.apply(value)).build() : value;
+        if (ParallelSupport.useParallel(parallelPool, map.size())) {
+            replaceAllValues(guardedFunction);
+        } else {
+            updateValues(guardedFunction);
         }
-        this.map = newMap;
         return this;
     }
 
@@ -234,18 +480,121 @@ public class MapMutatorImpl<K, V, MK extends Mutator<K>, MV extends Mutator<V>>
         checkLocked();
         K key = mutateKeyFunction.apply(keyMutatorFactory.apply(null)).build();
         V value = mutateValueFunction.apply(valueMutatorFactory.apply(null)).build();
-        map.put(key, value);
+        mutableMap().put(key, value);
+        return this;
+    }
+
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public MapMutatorImpl<K, V, MK, MV> parallel(ForkJoinPool pool) {
+        this.parallelPool = Objects.requireNonNull(pool);
         return this;
     }
 
+    /**
+     * Returns the source map if nothing was written, otherwise an immutable map with the entries, see
+     * {@link CollectionSupport#immutable(Map)}. The compact map built from a hash map, or from a small linked map,
+     * caches its hash code; the unmodifiable view of an enum, sorted or larger linked map does not, and computes the
+     * hash code of all entries on every call.
+     *
+     * @return the built map
+     */
     @Override
     public Map<K, V> build() {
         locked = true;
-        return Collections.unmodifiableMap(map);
+        return copied ? CollectionSupport.immutable(map) : map;
     }
     
     @Override
     public Map<K, V> buildCopy() {
-        return Map.copyOf(map);
+        return CollectionSupport.immutableCopy(map);
+    }
+
+    /**
+     * Replaces the value of every entry with the result of the function. The internal map is updated in place,
+     * the source map is only copied once a value changes, and the keys are never rehashed.
+     *
+     * @param mutateFunction the function returning the new value for a key and its current value
+     */
+    private void updateValues(BiFunction<K, V, V> mutateFunction) {
+        if (copied) {
+            map.replaceAll(mutateFunction);
+            return;
+        }
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            V newValue = mutateFunction.apply(entry.getKey(), entry.getValue());
+            if (newValue != entry.getValue()) {
+                // The loop keeps iterating the source map, while the changes go into the copy
+                mutableMap().put(entry.getKey(), newValue);
+            }
+        }
+    }
+
+    /**
+     * Computes the new value of every entry on the parallel pool, and then puts the changed values into the map.
+     * The entries are copied into arrays first, so the map itself is only read and written by the calling thread.
+     *
+     * @param mutateFunction the function returning the new value for a key and its current value
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceAllValues(BiFunction<K, V, V> mutateFunction) {
+        Object[] keys = new Object[map.size()];
+        Object[] values = new Object[map.size()];
+        int index = 0;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+            index++;
+        }
+        Object[] newValues = ParallelSupport.computeAll(parallelPool, keys.length,
+                i -> mutateFunction.apply((K) keys[i], (V) values[i]));
+        for (int i = 0; i < keys.length; i++) {
+            if (newValues[i] != values[i]) {
+                mutableMap().put((K) keys[i], (V) newValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Replaces the value of the key with the result of the function if the copied map contains the key, writing it
+     * into the slot found by the lookup, so the key is hashed once.
+     *
+     * @param target the copied map
+     * @param key the key of the value to replace
+     * @param mutateFunction the function returning the new value for the current value
+     */
+    private static <K, V> void replaceIfPresent(CachedHashMap<K, V> target, K key, Function<V, V> mutateFunction) {
+        int slot = target.slotOf(key);
+        if (slot >= 0) {
+            target.setValueAt(slot, mutateFunction.apply(target.valueAt(slot)));
+        }
+    }
+
+    /**
+     * Checks whether the current map contains the key, treating maps that reject {@code null} keys
+     * (such as {@link Map#of()}) as not containing it.
+     *
+     * @param key the key to look for
+     * @return true if the map contains the key, false otherwise
+     */
+    private boolean mapContainsKey(K key) {
+        return CollectionSupport.containsKey(map, key);
+    }
+
+    /**
+     * Returns the internal map, copying the source map on the first write.
+     *
+     * @return the mutable map owned by this mutator
+     */
+    private Map<K, V> mutableMap() {
+        if (!copied) {
+            map = CollectionSupport.copyOf(map, enumKeyType);
+            copied = true;
+        }
+        return map;
     }
 }
\ No newline at end of file
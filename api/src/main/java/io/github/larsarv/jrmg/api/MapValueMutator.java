@@ -2,6 +2,7 @@ package io.github.larsarv.jrmg.api;
 
 import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 /**
@@ -39,6 +40,19 @@ public interface MapValueMutator<K, V, M extends Mutator<V>> {
      */
     MapValueMutator<K, V, M> mutateValue(K key, Function<M, M> mutateFunction);
 
+    /**
+     * Mutates the value associated with the specified key using the provided function, or creates the value
+     * with the function and associates it with the key if the key is not present.
+     * <p>
+     * This is the get-or-create operation for maps of records: the function receives a mutator for the current
+     * value, or a mutator for a new value if the key is absent. The key is looked up once.
+     *
+     * @param key the key of the value to be mutated or created
+     * @param mutateFunction the function that takes a mutator for the value and returns a mutated version
+     * @return this mutator instance for method chaining
+     */
+    MapValueMutator<K, V, M> mutateOrPut(K key, Function<M, M> mutateFunction);
+
     /**
      * Mutates all values in the map using the provided function that takes both the key and a mutator.
      * The function is applied to each key-value pair in the map in order.
@@ -48,6 +62,30 @@ public interface MapValueMutator<K, V, M extends Mutator<V>> {
      */
     MapValueMutator<K, V, M> mutateAllValues(BiFunction<K, M, M> mutateFunction);
 
+    /**
+     * Finds the first entry matching the given predicate and mutates its value using the provided function.
+     * <p>
+     * The predicate is tested on the key and the current value, and a mutator is only created for the matching
+     * value. Which entry is first depends on the iteration order of the map.
+     *
+     * @param predicate the predicate used to locate the first entry whose value to mutate
+     * @param mutateFunction the function that takes a mutator for the value and returns a mutated version
+     * @return this mutator instance for method chaining
+     */
+    MapValueMutator<K, V, M> findFirstAndMutateValue(BiPredicate<K, V> predicate, Function<M, M> mutateFunction);
+
+    /**
+     * Finds all entries matching the given predicate and mutates their values using the provided function.
+     * <p>
+     * The predicate is tested on the key and the current value of every entry, and mutators are only created
+     * for the matching values, so changing a few values of a large map is cheap.
+     *
+     * @param predicate the predicate used to locate the entries whose values to mutate
+     * @param mutateFunction the function that takes a mutator for a value and returns a mutated version
+     * @return this mutator instance for method chaining
+     */
+    MapValueMutator<K, V, M> findAllAndMutateValues(BiPredicate<K, V> predicate, Function<M, M> mutateFunction);
+
     /**
      * Finalizes the mutable map and returns an immutable copy.
      * <p>
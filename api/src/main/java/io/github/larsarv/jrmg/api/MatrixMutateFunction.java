@@ -0,0 +1,24 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.List;
+
+/**
+ * A functional interface that defines a mutation operation on a {@link java.util.List} of lists mutated as a matrix.
+ * <p>
+ * The function accepts a mutator instance and returns a modified version of it.
+ * <p>
+ * This interface is used by generated record mutators.
+ *
+ * @param <T> the type of the cells of the matrix
+ * @param <M> the type of mutator used to modify the rows
+ */
+@FunctionalInterface
+public interface MatrixMutateFunction<T, M extends Mutator<List<T>>> {
+    /**
+     * Applies a mutation operation with the provided {@link MatrixMutator} instance.
+     *
+     * @param mutator the mutator instance to be mutated
+     * @return a modified version of the mutator instance with applied mutations
+     */
+    MatrixMutator<T, M> mutate(MatrixMutator<T, M> mutator);
+}
@@ -0,0 +1,167 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * A mutator interface for rectangular lists of lists, such as {@code List<List<T>>}, that can be mutated cell by cell
+ * like a matrix.
+ * <p>
+ * In addition to the row operations of {@link NestedListMutator}, this interface adds operations on single cells,
+ * whole columns, and on the shape of the matrix. The first write of a cell copies all rows once into a single flat
+ * array, and later cell writes update that array in place, so a cell write does not copy its row. Row operations
+ * of {@link NestedListMutator} build the rows from the array first. The cell operations require all rows to have
+ * the same size, and throw an {@link IllegalStateException} otherwise.
+ * <p>
+ * The {@link #build()} method finalizes the mutations and returns an immutable list of rows. Rows written through
+ * the cell operations are immutable views over the flat array.
+ *
+ * @param <T> the type of the cells
+ * @param <M> the type of mutator used to modify the rows
+ */
+public interface MatrixMutator<T, M extends Mutator<List<T>>> extends NestedListMutator<List<T>, M> {
+    /**
+     * Returns the number of rows of the matrix, which is the size of the list.
+     *
+     * @return the number of rows
+     */
+    int rowCount();
+
+    /**
+     * Returns the number of columns of the matrix, which is the size of the first row, or zero if there are no rows.
+     *
+     * @return the number of columns
+     */
+    int columnCount();
+
+    /**
+     * Returns the cell at the specified row and column.
+     * <p>
+     * If the row or column is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param row the index of the row
+     * @param column the index of the column
+     * @return the cell at the specified position
+     */
+    T get(int row, int column);
+
+    /**
+     * Sets the cell at the specified row and column.
+     * <p>
+     * If the row or column is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param row the index of the row
+     * @param column the index of the column
+     * @param value the new value of the cell
+     * @return this mutator instance for method chaining
+     */
+    MatrixMutator<T, M> set(int row, int column, T value);
+
+    /**
+     * Applies the given function to all cells of a row. The function is invoked for each cell with its column index
+     * and the current value. Only cells whose returned value differs from the current value are written.
+     *
+     * @param row the index of the row
+     * @param mutateFunction the function to apply to each cell, accepting its column index and the current value
+     * @return this mutator instance for method chaining
+     */
+    MatrixMutator<T, M> mutateRow(int row, IndexedFunction<T> mutateFunction);
+
+    /**
+     * Applies the given function to all cells of a column. The function is invoked for each cell with its row index
+     * and the current value. Only cells whose returned value differs from the current value are written.
+     *
+     * @param column the index of the column
+     * @param mutateFunction the function to apply to each cell, accepting its row index and the current value
+     * @return this mutator instance for method chaining
+     */
+    MatrixMutator<T, M> mutateColumn(int column, IndexedFunction<T> mutateFunction);
+
+    /**
+     * Transposes the matrix, so that the rows become the columns and the columns become the rows.
+     *
+     * @return this mutator instance for method chaining
+     */
+    MatrixMutator<T, M> transpose();
+
+    /**
+     * Keeps only the cells from row {@code fromRow}, inclusive, to row {@code toRow}, exclusive, and from column
+     * {@code fromColumn}, inclusive, to column {@code toColumn}, exclusive.
+     * <p>
+     * If a range is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param fromRow the index of the first row to keep
+     * @param toRow the index after the last row to keep
+     * @param fromColumn the index of the first column to keep
+     * @param toColumn the index after the last column to keep
+     * @return this mutator instance for method chaining
+     */
+    MatrixMutator<T, M> slice(int fromRow, int toRow, int fromColumn, int toColumn);
+
+    @Override
+    MatrixMutator<T, M> set(int index, List<T> record);
+    @Override
+    MatrixMutator<T, M> add(List<T> item);
+    @Override
+    MatrixMutator<T, M> addAll(Collection<? extends List<T>> items);
+    @Override
+    MatrixMutator<T, M> insertAll(int index, Collection<? extends List<T>> items);
+    @Override
+    MatrixMutator<T, M> remove(int index);
+    @Override
+    MatrixMutator<T, M> removeRange(int fromIndex, int toIndex);
+    @Override
+    MatrixMutator<T, M> removeIndices(int... indices);
+    @Override
+    MatrixMutator<T, M> retainIndices(int... indices);
+    @Override
+    MatrixMutator<T, M> filter(Predicate<List<T>> filterFunction);
+    @Override
+    MatrixMutator<T, M> distinct();
+    @Override
+    MatrixMutator<T, M> distinctBy(Function<? super List<T>, ?> keyExtractor);
+    @Override
+    MatrixMutator<T, M> updateAll(IndexedFunction<List<T>> mutateFunction);
+    @Override
+    MatrixMutator<T, M> sort(Comparator<? super List<T>> comparator);
+    @Override
+    MatrixMutator<T, M> move(int fromIndex, int toIndex);
+    @Override
+    MatrixMutator<T, M> parallel();
+    @Override
+    MatrixMutator<T, M> parallel(ForkJoinPool pool);
+
+    @Override
+    MatrixMutator<T, M> add(Function<M, M> mutateFunction);
+    @Override
+    MatrixMutator<T, M> set(int index, M mutator);
+    @Override
+    MatrixMutator<T, M> mutate(int index, Function<M, M> mutateFunction);
+    @Override
+    MatrixMutator<T, M> mutateAll(IndexedFunction<M> mutateFunction);
+    @Override
+    MatrixMutator<T, M> findFirstAndMutate(Predicate<List<T>> predicate, Function<M, M> mutateFunction);
+    @Override
+    MatrixMutator<T, M> binarySearchAndMutate(ToIntFunction<? super List<T>> keyComparison, Function<M, M> mutateFunction);
+    @Override
+    MatrixMutator<T, M> findAllAndMutate(Predicate<List<T>> predicate, Function<M, M> mutateFunction);
+    @Override
+    MatrixMutator<T, M> upsertAll(Collection<? extends List<T>> incoming, Function<? super List<T>, ?> keyExtractor, BiFunction<M, List<T>, M> mergeFunction);
+
+    /**
+     * Finalizes the mutable matrix and returns an immutable list of rows.
+     * <p>
+     * Rows whose cells were written are views over a flat array of the written cells, and the other rows are kept
+     * as they are. Any further modifications will not affect the returned list.
+     *
+     * @return a list containing the final state of all rows after applying all mutations
+     */
+    @Override
+    List<List<T>> build();
+}
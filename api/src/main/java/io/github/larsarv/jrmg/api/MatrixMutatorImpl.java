@@ -0,0 +1,467 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * An implementation of {@link MatrixMutator} for lists of lists, based on {@link ListMutatorImpl}.
+ * <p>
+ * The cell operations {@link #set(int, int, Object)}, {@link #mutateRow(int, IndexedFunction)},
+ * {@link #mutateColumn(int, IndexedFunction)}, {@link #transpose()} and {@link #slice(int, int, int, int)} work on a
+ * flat array holding the cells row by row. The array is created on the first cell write by copying all rows, and is
+ * kept until the list is read or written by a row operation of {@link NestedListMutator}. Before any row operation,
+ * the written rows are put into the list as immutable {@link MatrixRow} views. If not all rows were written, the
+ * written rows are first copied into a smaller array, so the built list does not keep unused cells alive. Reading a
+ * cell, the number of rows or columns, or a row by {@link #get(int)} does not close the array.
+ * <p>
+ * The mutator is created by {@link #matrixMutator(List, Function)}. If nothing was written, {@link #build()} returns
+ * the source list itself.
+ *
+ * @param <T> the type of the cells.
+ * @param <M> the type of mutator used to modify the rows
+ */
+public class MatrixMutatorImpl<T, M extends Mutator<List<T>>> extends ListMutatorImpl<List<T>, M> implements MatrixMutator<T, M> {
+    private Object[] cells; // The cells row by row while cells are written, null otherwise
+    private int rows;
+    private int columns;
+    private boolean[] writtenRows; // Rows with cells written since the array was created
+    private boolean reshaped; // True when the array was transposed or sliced, so that all rows are replaced
+    private boolean locked = false;
+
+    /**
+     * Constructs a new instance of MatrixMutatorImpl for the specified list and row mutator factory.
+     *
+     * @param list the initial list of rows; if null, an empty list is created
+     * @param rowMutatorFactory a function that generates a mutator for each row in the list
+     */
+    public MatrixMutatorImpl(List<List<T>> list, Function<List<T>, M> rowMutatorFactory) {
+        super(list, rowMutatorFactory);
+    }
+
+    /**
+     * Creates a new matrix mutator for the specified list of rows, using the provided row mutator factory.
+     *
+     * @param <T> the type of the cells.
+     * @param <M> the type of mutator used to modify the rows
+     * @param list the initial list of rows; if null, an empty list is created
+     * @param rowMutatorFactory a function that generates a mutator for each row in the list
+     * @return a new matrix mutator instance that can be used to modify the list
+     */
+    public static <T, M extends Mutator<List<T>>> MatrixMutatorImpl<T, M> matrixMutator(List<List<T>> list, Function<List<T>, M> rowMutatorFactory) {
+        return new MatrixMutatorImpl<>(list, rowMutatorFactory);
+    }
+
+    private void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+    }
+
+    @Override
+    public int rowCount() {
+        return cells != null ? rows : super.size();
+    }
+
+    @Override
+    public int columnCount() {
+        if (cells != null) {
+            return columns;
+        }
+        return super.size() == 0 ? 0 : super.get(0).size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int row, int column) {
+        if (cells != null) {
+            Objects.checkIndex(row, rows);
+            Objects.checkIndex(column, columns);
+            return (T) cells[row * columns + column];
+        }
+        return super.get(row).get(column);
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> set(int row, int column, T value) {
+        checkLocked();
+        setCell(row, column, value);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> mutateRow(int row, IndexedFunction<T> mutateFunction) {
+        checkLocked();
+        Objects.checkIndex(row, rowCount());
+        int columnCount = columnCount();
+        for (int column = 0; column < columnCount; column++) {
+            setCell(row, column, mutateFunction.apply(column, get(row, column)));
+        }
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> mutateColumn(int column, IndexedFunction<T> mutateFunction) {
+        checkLocked();
+        Objects.checkIndex(column, columnCount());
+        int rowCount = rowCount();
+        for (int row = 0; row < rowCount; row++) {
+            setCell(row, column, mutateFunction.apply(row, get(row, column)));
+        }
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> transpose() {
+        checkLocked();
+        if (rowCount() == 0) {
+            return this;
+        }
+        Object[] source = openCells();
+        Object[] transposed = new Object[source.length];
+        for (int row = 0; row < rows; row++) {
+            int rowOffset = row * columns;
+            for (int column = 0; column < columns; column++) {
+                transposed[column * rows + row] = source[rowOffset + column];
+            }
+        }
+        reshape(transposed, columns, rows);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> slice(int fromRow, int toRow, int fromColumn, int toColumn) {
+        checkLocked();
+        Objects.checkFromToIndex(fromRow, toRow, rowCount());
+        Objects.checkFromToIndex(fromColumn, toColumn, columnCount());
+        if (fromRow == 0 && toRow == rowCount() && fromColumn == 0 && toColumn == columnCount()) {
+            return this;
+        }
+        Object[] source = openCells();
+        int sliceColumns = toColumn - fromColumn;
+        Object[] sliced = new Object[(toRow - fromRow) * sliceColumns];
+        for (int row = fromRow; row < toRow; row++) {
+            System.arraycopy(source, row * columns + fromColumn, sliced, (row - fromRow) * sliceColumns, sliceColumns);
+        }
+        reshape(sliced, toRow - fromRow, sliceColumns);
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return rowCount();
+    }
+
+    @Override
+    public List<T> get(int index) {
+        if (cells != null) {
+            Objects.checkIndex(index, rows);
+            if (!reshaped && !writtenRows[index]) {
+                return super.get(index);
+            }
+            // The array is still written, so the row is returned as a copy
+            return CompactList.fromTrimmedArray(Arrays.copyOfRange(cells, index * columns, (index + 1) * columns));
+        }
+        return super.get(index);
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> set(int index, List<T> record) {
+        flush();
+        super.set(index, record);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> add(List<T> item) {
+        flush();
+        super.add(item);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> addAll(Collection<? extends List<T>> items) {
+        flush();
+        super.addAll(items);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> insertAll(int index, Collection<? extends List<T>> items) {
+        flush();
+        super.insertAll(index, items);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> remove(int index) {
+        flush();
+        super.remove(index);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> removeRange(int fromIndex, int toIndex) {
+        flush();
+        super.removeRange(fromIndex, toIndex);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> removeIndices(int... indices) {
+        flush();
+        super.removeIndices(indices);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> retainIndices(int... indices) {
+        flush();
+        super.retainIndices(indices);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> filter(Predicate<List<T>> filterFunction) {
+        flush();
+        super.filter(filterFunction);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> distinct() {
+        flush();
+        super.distinct();
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> distinctBy(Function<? super List<T>, ?> keyExtractor) {
+        flush();
+        super.distinctBy(keyExtractor);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> updateAll(IndexedFunction<List<T>> mutateFunction) {
+        flush();
+        super.updateAll(mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> sort(Comparator<? super List<T>> comparator) {
+        flush();
+        super.sort(comparator);
+        return this;
+    }
+
+    @Override
+    public int binarySearch(ToIntFunction<? super List<T>> keyComparison) {
+        flush();
+        return super.binarySearch(keyComparison);
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> move(int fromIndex, int toIndex) {
+        flush();
+        super.move(fromIndex, toIndex);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> upsertAll(Collection<? extends List<T>> incoming, Function<? super List<T>, ?> keyExtractor, BiFunction<M, List<T>, M> mergeFunction) {
+        flush();
+        super.upsertAll(incoming, keyExtractor, mergeFunction);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> parallel() {
+        super.parallel();
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> parallel(ForkJoinPool pool) {
+        super.parallel(pool);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> add(Function<M, M> mutateFunction) {
+        flush();
+        super.add(mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> set(int index, M mutator) {
+        flush();
+        super.set(index, mutator);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> mutate(int index, Function<M, M> mutateFunction) {
+        flush();
+        super.mutate(index, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> mutateAll(IndexedFunction<M> mutateFunction) {
+        flush();
+        super.mutateAll(mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> findFirstAndMutate(Predicate<List<T>> predicate, Function<M, M> mutateFunction) {
+        flush();
+        super.findFirstAndMutate(predicate, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> binarySearchAndMutate(ToIntFunction<? super List<T>> keyComparison, Function<M, M> mutateFunction) {
+        flush();
+        super.binarySearchAndMutate(keyComparison, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MatrixMutatorImpl<T, M> findAllAndMutate(Predicate<List<T>> predicate, Function<M, M> mutateFunction) {
+        flush();
+        super.findAllAndMutate(predicate, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public List<List<T>> build() {
+        flush();
+        this.locked = true;
+        return super.build();
+    }
+
+    @Override
+    public List<List<T>> buildCopy() {
+        flush();
+        return super.buildCopy();
+    }
+
+    /**
+     * Writes a cell, creating the array of cells if the value differs from the current one.
+     *
+     * @param row the index of the row
+     * @param column the index of the column
+     * @param value the new value of the cell
+     */
+    private void setCell(int row, int column, T value) {
+        if (get(row, column) != value) {
+            openCells()[row * columns + column] = value;
+            writtenRows[row] = true;
+        }
+    }
+
+    /**
+     * Returns the array of cells, copying all rows into a new array if there is none.
+     *
+     * @return the array of cells owned by this mutator
+     * @throws IllegalStateException if the rows do not all have the same size
+     */
+    private Object[] openCells() {
+        if (cells == null) {
+            int rowCount = super.size();
+            int columnCount = rowCount == 0 ? 0 : super.get(0).size();
+            Object[] newCells = new Object[Math.multiplyExact(rowCount, columnCount)];
+            for (int row = 0; row < rowCount; row++) {
+                List<T> rowList = super.get(row);
+                if (rowList.size() != columnCount) {
+                    throw new IllegalStateException("Row " + row + " has " + rowList.size() + " cells instead of "
+                            + columnCount + ", only rectangular lists can be mutated as a matrix.");
+                }
+                if (rowList instanceof MatrixRow) {
+                    ((MatrixRow<T>) rowList).copyTo(newCells, row * columnCount);
+                } else {
+                    System.arraycopy(rowList.toArray(), 0, newCells, row * columnCount, columnCount);
+                }
+            }
+            cells = newCells;
+            rows = rowCount;
+            columns = columnCount;
+            writtenRows = new boolean[rowCount];
+            reshaped = false;
+        }
+        return cells;
+    }
+
+    private void reshape(Object[] newCells, int rowCount, int columnCount) {
+        cells = newCells;
+        rows = rowCount;
+        columns = columnCount;
+        writtenRows = new boolean[rowCount];
+        reshaped = true;
+    }
+
+    /**
+     * Puts the written rows into the list as views of the array of cells, and drops the array, so that the views
+     * are never modified afterwards.
+     */
+    private void flush() {
+        if (cells == null) {
+            return;
+        }
+        Object[] flushedCells = cells;
+        boolean[] flushedRows = writtenRows;
+        int columnCount = columns;
+        cells = null;
+        writtenRows = null;
+        if (reshaped) {
+            List<List<T>> newRows = new ArrayList<>(rows);
+            for (int row = 0; row < rows; row++) {
+                newRows.add(new MatrixRow<>(flushedCells, row * columnCount, columnCount));
+            }
+            super.removeRange(0, super.size());
+            super.addAll(newRows);
+            return;
+        }
+        int writtenCount = 0;
+        for (boolean written : flushedRows) {
+            if (written) {
+                writtenCount++;
+            }
+        }
+        if (writtenCount == 0) {
+            return;
+        }
+        Object[] rowCells = flushedCells;
+        int[] rowOffsets = new int[flushedRows.length];
+        if (writtenCount < flushedRows.length) {
+            // Copy the written rows only, so that the cells of the rows kept as they are can be garbage collected
+            rowCells = new Object[writtenCount * columnCount];
+            int offset = 0;
+            for (int row = 0; row < flushedRows.length; row++) {
+                if (flushedRows[row]) {
+                    System.arraycopy(flushedCells, row * columnCount, rowCells, offset, columnCount);
+                    rowOffsets[row] = offset;
+                    offset += columnCount;
+                }
+            }
+        } else {
+            for (int row = 0; row < flushedRows.length; row++) {
+                rowOffsets[row] = row * columnCount;
+            }
+        }
+        Object[] viewCells = rowCells;
+        super.updateAll((row, rowList) -> flushedRows[row] ? new MatrixRow<>(viewCells, rowOffsets[row], columnCount) : rowList);
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable row of a matrix built by {@link MatrixMutatorImpl}, which is a view of a range of a flat array
+ * holding the cells of the matrix row by row.
+ * <p>
+ * The array may be shared by several rows and is never modified after the rows are created. The mutation methods of
+ * {@link java.util.List} throw {@link UnsupportedOperationException}. A row is serialized as an unmodifiable
+ * {@link java.util.ArrayList} with its cells, so the cells of the other rows are not serialized with it.
+ *
+ * @param <T> the type of the cells
+ */
+final class MatrixRow<T> extends AbstractList<T> implements RandomAccess, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] cells;
+    private final int offset;
+    private final int size;
+    private int hashCode; // Computed on first use, 0 until then
+
+    /**
+     * Creates a row of the {@code size} cells of the given array starting at {@code offset}. The array is not copied.
+     *
+     * @param cells the flat array holding the cells
+     * @param offset the index of the first cell of the row
+     * @param size the number of cells in the row
+     */
+    MatrixRow(Object[] cells, int offset, int size) {
+        this.cells = cells;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Copies the cells of this row into the given array.
+     *
+     * @param target the array to copy the cells into
+     * @param targetOffset the index of the target array receiving the first cell
+     */
+    void copyTo(Object[] target, int targetOffset) {
+        System.arraycopy(cells, offset, target, targetOffset, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) cells[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the hash code of the row, which is computed once and then cached, as the row never changes.
+     */
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = super.hashCode();
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (o instanceof MatrixRow) {
+            MatrixRow<?> other = (MatrixRow<?>) o;
+            if (other.size() != size() || hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+                return false;
+            }
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOfRange(cells, offset, offset + size);
+    }
+
+    /**
+     * Replaces the row by its serialized form, see {@link CollectionSupport#serializedForm(java.util.List)}.
+     *
+     * @return the serialized form of the row
+     */
+    @Serial
+    private Object writeReplace() {
+        return CollectionSupport.serializedForm(this);
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Collection;
+
+/**
+ * A functional interface that defines a mutation operation on a {@link java.util.Map} whose values are buckets of
+ * elements.
+ * <p>
+ * The function accepts a mutator instance and returns a modified version of it.
+ * <p>
+ * This interface is used by generated record mutators.
+ * <p>
+ * The interface is {@link FunctionalInterface} and can be used with lambda expressions
+ * or method references for concise mutation composition.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of elements in the buckets
+ * @param <C> the type of the buckets
+ * @param <M> the type of mutator used to modify the buckets
+ */
+@FunctionalInterface
+public interface MultimapMutateFunction<K, V, C extends Collection<V>, M extends Mutator<C>> {
+    /**
+     * Applies a mutation operation with the provided {@link MultimapMutator} instance.
+     *
+     * @param mutator the mutator instance to be mutated
+     * @return a modified version of the mutator instance with applied mutations
+     */
+    MultimapMutator<K, V, C, M> mutate(MultimapMutator<K, V, C, M> mutator);
+}
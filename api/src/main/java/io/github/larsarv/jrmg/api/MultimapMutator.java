@@ -0,0 +1,117 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * A mutator interface for maps whose values are buckets of elements, such as {@code Map<K, List<V>>} or
+ * {@code Map<K, Set<V>>}.
+ * <p>
+ * In addition to the operations of {@link NestedValueMapMutator}, this interface adds operations on single elements
+ * of a bucket. The mutator of a bucket stays open for the rest of the mutator session, so a bucket is copied at
+ * most once however many elements are appended to it, and n appends take O(n) time instead of O(n^2). The open
+ * buckets are built into the map before any other map operation, and by {@link #build()}.
+ * <p>
+ * The {@link #build()} method finalizes the mutations and returns an immutable map of the built buckets.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of elements in the buckets
+ * @param <C> the type of the buckets
+ * @param <M> the type of mutator used to modify the buckets
+ */
+public interface MultimapMutator<K, V, C extends Collection<V>, M extends Mutator<C>> extends NestedValueMapMutator<K, C, M> {
+    /**
+     * Adds the element to the bucket of the key, creating the bucket if the key is not present.
+     *
+     * @param key the key of the bucket
+     * @param value the element to add
+     * @return this mutator instance for method chaining
+     */
+    MultimapMutator<K, V, C, M> append(K key, V value);
+
+    /**
+     * Adds the elements to the bucket of the key, creating the bucket if the key is not present.
+     *
+     * @param key the key of the bucket
+     * @param values the elements to add
+     * @return this mutator instance for method chaining
+     */
+    MultimapMutator<K, V, C, M> appendAll(K key, Collection<? extends V> values);
+
+    /**
+     * Removes the first occurrence of the element from the bucket of the key. If the bucket becomes empty, the key
+     * is removed from the map.
+     *
+     * @param key the key of the bucket
+     * @param value the element to remove
+     * @return this mutator instance for method chaining
+     */
+    MultimapMutator<K, V, C, M> removeFromBucket(K key, V value);
+
+    /**
+     * Mutates the bucket of the key, creating the bucket if the key is not present. Unlike
+     * {@link #mutateValue(Object, Function)}, the mutator of the bucket stays open, so later calls for the same key
+     * continue on the same copy of the bucket.
+     *
+     * @param key the key of the bucket
+     * @param mutateFunction the function to apply to the mutator of the bucket
+     * @return this mutator instance for method chaining
+     */
+    MultimapMutator<K, V, C, M> mutateBucket(K key, Function<M, M> mutateFunction);
+
+    @Override
+    MultimapMutator<K, V, C, M> put(K key, C value);
+    @Override
+    MultimapMutator<K, V, C, M> remove(K key);
+    @Override
+    MultimapMutator<K, V, C, M> filter(BiFunction<K, C, Boolean> filterFunction);
+    @Override
+    MultimapMutator<K, V, C, M> update(K key, Function<C, C> mutateFunction);
+    @Override
+    MultimapMutator<K, V, C, M> updateAll(BiFunction<K, C, C> mutateFunction);
+    @Override
+    MultimapMutator<K, V, C, M> compute(K key, BiFunction<K, C, C> remappingFunction);
+    @Override
+    MultimapMutator<K, V, C, M> computeIfPresent(K key, BiFunction<K, C, C> remappingFunction);
+    @Override
+    MultimapMutator<K, V, C, M> computeIfAbsent(K key, Function<K, C> mappingFunction);
+    @Override
+    MultimapMutator<K, V, C, M> merge(K key, C value, BiFunction<C, C, C> remappingFunction);
+    @Override
+    MultimapMutator<K, V, C, M> mergeAll(Map<? extends K, ? extends C> map, BiFunction<C, C, C> remappingFunction);
+    @Override
+    MultimapMutator<K, V, C, M> putAll(Map<? extends K, ? extends C> map);
+    @Override
+    MultimapMutator<K, V, C, M> clear();
+    @Override
+    MultimapMutator<K, V, C, M> parallel();
+    @Override
+    MultimapMutator<K, V, C, M> parallel(ForkJoinPool pool);
+
+    @Override
+    MultimapMutator<K, V, C, M> put(K key, Function<M, M> mutateFunction);
+    @Override
+    MultimapMutator<K, V, C, M> mutateValue(K key, Function<M, M> mutateFunction);
+    @Override
+    MultimapMutator<K, V, C, M> mutateOrPut(K key, Function<M, M> mutateFunction);
+    @Override
+    MultimapMutator<K, V, C, M> mutateAllValues(BiFunction<K, M, M> mutateFunction);
+    @Override
+    MultimapMutator<K, V, C, M> findFirstAndMutateValue(BiPredicate<K, C> predicate, Function<M, M> mutateFunction);
+    @Override
+    MultimapMutator<K, V, C, M> findAllAndMutateValues(BiPredicate<K, C> predicate, Function<M, M> mutateFunction);
+
+    /**
+     * Finalizes the mutable map and returns an immutable copy.
+     * <p>
+     * The open buckets are built into the map first. Any further modifications will not affect the returned map.
+     *
+     * @return a map containing the final state of all buckets after applying all mutations
+     */
+    @Override
+    Map<K, C> build();
+}
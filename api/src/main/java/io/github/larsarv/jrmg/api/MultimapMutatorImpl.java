@@ -0,0 +1,433 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * An implementation of {@link MultimapMutator} for maps of lists or sets, based on {@link MapMutatorImpl}.
+ * <p>
+ * {@link #append(Object, Object)}, {@link #appendAll(Object, Collection)}, {@link #removeFromBucket(Object, Object)}
+ * and {@link #mutateBucket(Object, Function)} work on an open mutator of the bucket, which is created on the first
+ * call for a key and kept until the map is read or written by any other operation. The bucket mutator copies the
+ * bucket on its first write, and later writes update the copy in place, so a bucket is copied once per session
+ * instead of once per element. Before any other operation, the open buckets are built and put into the map.
+ * <p>
+ * The mutator is created by {@link #listMutator(Map, Function)} for maps of lists and by
+ * {@link #setMutator(Map, Function)} for maps of sets.
+ *
+ * @param <K> the type of keys in the map.
+ * @param <V> the type of elements in the buckets.
+ * @param <C> the type of the buckets.
+ * @param <M> the type of mutator used to modify the buckets
+ */
+public class MultimapMutatorImpl<K, V, C extends Collection<V>, M extends Mutator<C>>
+        extends MapMutatorImpl<K, C, Mutator<K>, M> implements MultimapMutator<K, V, C, M> {
+
+    private final Function<C, M> bucketMutatorFactory;
+    private final BiConsumer<M, V> appendFunction; // Adds an element to a bucket mutator
+    private final BiConsumer<M, V> removeFunction; // Removes an element from a bucket mutator
+    private final ToIntFunction<M> sizeFunction; // Returns the number of elements of a bucket mutator
+    private final Map<K, M> openBuckets = new HashMap<>(); // Bucket mutators not built into the map yet
+    private boolean locked = false;
+
+    private MultimapMutatorImpl(
+            Map<K, C> map,
+            Class<K> enumKeyType,
+            Function<C, M> bucketMutatorFactory,
+            BiConsumer<M, V> appendFunction,
+            BiConsumer<M, V> removeFunction,
+            ToIntFunction<M> sizeFunction
+    ) {
+        super(map, enumKeyType, null, bucketMutatorFactory);
+        this.bucketMutatorFactory = bucketMutatorFactory;
+        this.appendFunction = appendFunction;
+        this.removeFunction = removeFunction;
+        this.sizeFunction = sizeFunction;
+    }
+
+    /**
+     * Creates a new multimap mutator for a map of lists.
+     *
+     * @param map the initial map to be mutated; if null, a new empty hash map is created
+     * @param bucketMutatorFactory a function that returns a mutator for the given list, or for a new list if null
+     * @return a new multimap mutator instance
+     *
+     * @param <K> the type of keys in the map.
+     * @param <V> the type of elements in the lists.
+     * @param <M> the type of mutator used to modify the lists
+     */
+    public static <K, V, M extends SimpleListMutator<V>> MultimapMutatorImpl<K, V, List<V>, M> listMutator(
+            Map<K, List<V>> map,
+            Function<List<V>, M> bucketMutatorFactory
+    ) {
+        return new MultimapMutatorImpl<>(map, null, bucketMutatorFactory,
+                SimpleListMutator::add, MultimapMutatorImpl::removeFirstOccurrence, SimpleListMutator::size);
+    }
+
+    /**
+     * Creates a new multimap mutator for a map of lists with enum keys, which is copied into an {@link EnumMap}.
+     *
+     * @param map the initial map to be mutated; if null, a new empty {@code EnumMap} is created
+     * @param enumKeyType the enum class of the keys
+     * @param bucketMutatorFactory a function that returns a mutator for the given list, or for a new list if null
+     * @return a new multimap mutator instance
+     *
+     * @param <K> the type of keys in the map.
+     * @param <V> the type of elements in the lists.
+     * @param <M> the type of mutator used to modify the lists
+     */
+    public static <K extends Enum<K>, V, M extends SimpleListMutator<V>> MultimapMutatorImpl<K, V, List<V>, M> listMutator(
+            Map<K, List<V>> map,
+            Class<K> enumKeyType,
+            Function<List<V>, M> bucketMutatorFactory
+    ) {
+        return new MultimapMutatorImpl<>(map, enumKeyType, bucketMutatorFactory,
+                SimpleListMutator::add, MultimapMutatorImpl::removeFirstOccurrence, SimpleListMutator::size);
+    }
+
+    /**
+     * Creates a new multimap mutator for a map of sets.
+     *
+     * @param map the initial map to be mutated; if null, a new empty hash map is created
+     * @param bucketMutatorFactory a function that returns a mutator for the given set, or for a new set if null
+     * @return a new multimap mutator instance
+     *
+     * @param <K> the type of keys in the map.
+     * @param <V> the type of elements in the sets.
+     * @param <M> the type of mutator used to modify the sets
+     */
+    public static <K, V, M extends SimpleSetMutator<V>> MultimapMutatorImpl<K, V, Set<V>, M> setMutator(
+            Map<K, Set<V>> map,
+            Function<Set<V>, M> bucketMutatorFactory
+    ) {
+        return new MultimapMutatorImpl<>(map, null, bucketMutatorFactory,
+                SimpleSetMutator::add, SimpleSetMutator::remove, SimpleSetMutator::size);
+    }
+
+    /**
+     * Creates a new multimap mutator for a map of sets with enum keys, which is copied into an {@link EnumMap}.
+     *
+     * @param map the initial map to be mutated; if null, a new empty {@code EnumMap} is created
+     * @param enumKeyType the enum class of the keys
+     * @param bucketMutatorFactory a function that returns a mutator for the given set, or for a new set if null
+     * @return a new multimap mutator instance
+     *
+     * @param <K> the type of keys in the map.
+     * @param <V> the type of elements in the sets.
+     * @param <M> the type of mutator used to modify the sets
+     */
+    public static <K extends Enum<K>, V, M extends SimpleSetMutator<V>> MultimapMutatorImpl<K, V, Set<V>, M> setMutator(
+            Map<K, Set<V>> map,
+            Class<K> enumKeyType,
+            Function<Set<V>, M> bucketMutatorFactory
+    ) {
+        return new MultimapMutatorImpl<>(map, enumKeyType, bucketMutatorFactory,
+                SimpleSetMutator::add, SimpleSetMutator::remove, SimpleSetMutator::size);
+    }
+
+    private void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("Map is locked and can not be modified");
+        }
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> append(K key, V value) {
+        checkLocked();
+        appendFunction.accept(openBucket(key), value);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> appendAll(K key, Collection<? extends V> values) {
+        checkLocked();
+        M bucket = openBucket(key);
+        for (V value : values) {
+            appendFunction.accept(bucket, value);
+        }
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> removeFromBucket(K key, V value) {
+        checkLocked();
+        if (!openBuckets.containsKey(key) && !super.containsKey(key)) {
+            return this;
+        }
+        M bucket = openBucket(key);
+        removeFunction.accept(bucket, value);
+        if (sizeFunction.applyAsInt(bucket) == 0) {
+            openBuckets.remove(key);
+            super.remove(key);
+        }
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> mutateBucket(K key, Function<M, M> mutateFunction) {
+        checkLocked();
+        M bucket = openBucket(key);
+        M mutatedBucket = mutateFunction.apply(bucket);
+        if (mutatedBucket != bucket) {
+            // The function returned another mutator, which takes the place of the open one
+            openBuckets.put(key, mutatedBucket);
+        }
+        return this;
+    }
+
+    @Override
+    public int size() {
+        flush();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        flush();
+        return super.isEmpty();
+    }
+
+    @Override
+    public C get(K key) {
+        flush();
+        return super.get(key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        flush();
+        return super.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(C value) {
+        flush();
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        flush();
+        return super.keySet();
+    }
+
+    @Override
+    public Collection<C> values() {
+        flush();
+        return super.values();
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> put(K key, C value) {
+        flush();
+        super.put(key, value);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> remove(K key) {
+        flush();
+        super.remove(key);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> filter(BiFunction<K, C, Boolean> filterFunction) {
+        flush();
+        super.filter(filterFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> update(K key, Function<C, C> mutateFunction) {
+        flush();
+        super.update(key, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> updateAll(BiFunction<K, C, C> mutateFunction) {
+        flush();
+        super.updateAll(mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> compute(K key, BiFunction<K, C, C> remappingFunction) {
+        flush();
+        super.compute(key, remappingFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> computeIfPresent(K key, BiFunction<K, C, C> remappingFunction) {
+        flush();
+        super.computeIfPresent(key, remappingFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> computeIfAbsent(K key, Function<K, C> mappingFunction) {
+        flush();
+        super.computeIfAbsent(key, mappingFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> merge(K key, C value, BiFunction<C, C, C> remappingFunction) {
+        flush();
+        super.merge(key, value, remappingFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> mergeAll(Map<? extends K, ? extends C> m, BiFunction<C, C, C> remappingFunction) {
+        flush();
+        super.mergeAll(m, remappingFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> putAll(Map<? extends K, ? extends C> m) {
+        flush();
+        super.putAll(m);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> clear() {
+        openBuckets.clear();
+        super.clear();
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> put(K key, Function<M, M> mutateFunction) {
+        flush();
+        super.put(key, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> mutateValue(K key, Function<M, M> mutateFunction) {
+        flush();
+        super.mutateValue(key, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> mutateOrPut(K key, Function<M, M> mutateFunction) {
+        flush();
+        super.mutateOrPut(key, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> mutateAllValues(BiFunction<K, M, M> mutateFunction) {
+        flush();
+        super.mutateAllValues(mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> findFirstAndMutateValue(BiPredicate<K, C> predicate, Function<M, M> mutateFunction) {
+        flush();
+        super.findFirstAndMutateValue(predicate, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> findAllAndMutateValues(BiPredicate<K, C> predicate, Function<M, M> mutateFunction) {
+        flush();
+        super.findAllAndMutateValues(predicate, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> mutateKey(K key, Function<Mutator<K>, Mutator<K>> mutateFunction) {
+        flush();
+        super.mutateKey(key, mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> mutateAllKeys(Function<Mutator<K>, Mutator<K>> mutateFunction) {
+        flush();
+        super.mutateAllKeys(mutateFunction);
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> parallel() {
+        super.parallel();
+        return this;
+    }
+
+    @Override
+    public MultimapMutatorImpl<K, V, C, M> parallel(ForkJoinPool pool) {
+        super.parallel(pool);
+        return this;
+    }
+
+    @Override
+    public Map<K, C> build() {
+        flush();
+        locked = true;
+        return super.build();
+    }
+
+    @Override
+    public Map<K, C> buildCopy() {
+        flush();
+        return super.buildCopy();
+    }
+
+    /**
+     * Returns the open mutator of the bucket of the key, creating it on the first call for the key. The bucket is
+     * not copied until the mutator writes to it.
+     *
+     * @param key the key of the bucket
+     * @return the open bucket mutator
+     */
+    private M openBucket(K key) {
+        M bucket = openBuckets.get(key);
+        if (bucket == null) {
+            bucket = bucketMutatorFactory.apply(super.get(key));
+            openBuckets.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    /**
+     * Builds the open buckets and puts the changed ones into the map. A bucket created for a new key is put into
+     * the map even if it is empty, as the bucket mutator builds a new collection for it.
+     */
+    private void flush() {
+        if (openBuckets.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<K, M> entry : openBuckets.entrySet()) {
+            K key = entry.getKey();
+            C currentBucket = super.get(key);
+            C newBucket = entry.getValue().build();
+            if (newBucket != currentBucket) {
+                super.put(key, newBucket);
+            }
+        }
+        openBuckets.clear();
+    }
+
+    private static <V> void removeFirstOccurrence(SimpleListMutator<V> bucket, V value) {
+        for (int index = 0; index < bucket.size(); index++) {
+            if (Objects.equals(bucket.get(index), value)) {
+                bucket.remove(index);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.larsarv.jrmg.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation used to select the {@link CollectionBackend} for a single collection component of a record
+ * annotated with {@link GenerateMutator}.
+ * <p>
+ * The backend applies to the component and to collections nested within it, and overrides
+ * {@link GenerateMutator#collectionBackend()}. It has no effect on components that are not collections.
+ */
+@Target(ElementType.RECORD_COMPONENT)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MutatorBackend {
+    /**
+     * The backend to use for the annotated component.
+     *
+     * @return the collection backend
+     */
+    CollectionBackend value();
+}
@@ -2,6 +2,7 @@ package io.github.larsarv.jrmg.api;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -30,9 +31,23 @@ public interface NestedKeyMapMutator<K, V, M extends Mutator<K>> extends SimpleM
     @Override
     NestedKeyMapMutator<K, V, M> updateAll(BiFunction<K, V, V> mutateFunction);
     @Override
+    NestedKeyMapMutator<K, V, M> compute(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    NestedKeyMapMutator<K, V, M> computeIfPresent(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    NestedKeyMapMutator<K, V, M> computeIfAbsent(K key, Function<K, V> mappingFunction);
+    @Override
+    NestedKeyMapMutator<K, V, M> merge(K key, V value, BiFunction<V, V, V> remappingFunction);
+    @Override
+    NestedKeyMapMutator<K, V, M> mergeAll(Map<? extends K, ? extends V> map, BiFunction<V, V, V> remappingFunction);
+    @Override
     NestedKeyMapMutator<K, V, M> putAll(Map<? extends K, ? extends V> map);
     @Override
     NestedKeyMapMutator<K, V, M> clear();
+    @Override
+    NestedKeyMapMutator<K, V, M> parallel();
+    @Override
+    NestedKeyMapMutator<K, V, M> parallel(ForkJoinPool pool);
 
     @Override
     NestedKeyMapMutator<K, V, M> put(Function<M, M> mutateFunction, V value);
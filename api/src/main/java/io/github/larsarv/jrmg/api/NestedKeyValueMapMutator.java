@@ -2,7 +2,9 @@ package io.github.larsarv.jrmg.api;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 /**
@@ -32,9 +34,23 @@ public interface NestedKeyValueMapMutator<K, V, MK extends Mutator<K>, MV extend
     @Override
     NestedKeyValueMapMutator<K, V, MK, MV> updateAll(BiFunction<K, V, V> mutateFunction);
     @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> compute(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> computeIfPresent(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> computeIfAbsent(K key, Function<K, V> mappingFunction);
+    @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> merge(K key, V value, BiFunction<V, V, V> remappingFunction);
+    @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> mergeAll(Map<? extends K, ? extends V> map, BiFunction<V, V, V> remappingFunction);
+    @Override
     NestedKeyValueMapMutator<K, V, MK, MV> putAll(Map<? extends K, ? extends V> map);
     @Override
     NestedKeyValueMapMutator<K, V, MK, MV> clear();
+    @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> parallel();
+    @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> parallel(ForkJoinPool pool);
 
     @Override
     NestedKeyValueMapMutator<K, V, MK, MV> put(Function<MK, MK> mutateFunction, V value);
@@ -48,7 +64,13 @@ public interface NestedKeyValueMapMutator<K, V, MK extends Mutator<K>, MV extend
     @Override
     NestedKeyValueMapMutator<K, V, MK, MV> mutateValue(K key, Function<MV, MV> mutateFunction);
     @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> mutateOrPut(K key, Function<MV, MV> mutateFunction);
+    @Override
     NestedKeyValueMapMutator<K, V, MK, MV> mutateAllValues(BiFunction<K, MV, MV> mutateFunction);
+    @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> findFirstAndMutateValue(BiPredicate<K, V> predicate, Function<MV, MV> mutateFunction);
+    @Override
+    NestedKeyValueMapMutator<K, V, MK, MV> findAllAndMutateValues(BiPredicate<K, V> predicate, Function<MV, MV> mutateFunction);
 
     /**
      * Associates a new key with a value.
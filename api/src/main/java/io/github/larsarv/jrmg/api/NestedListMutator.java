@@ -1,9 +1,13 @@
 package io.github.larsarv.jrmg.api;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 /**
  * A mutator interface for mutable lists of records, allowing for fluent, chainable operations
@@ -22,15 +26,35 @@ public interface NestedListMutator<T, M extends Mutator<T>> extends SimpleListMu
     @Override
     NestedListMutator<T, M> add(T item);
     @Override
+    NestedListMutator<T, M> addAll(Collection<? extends T> items);
+    @Override
+    NestedListMutator<T, M> insertAll(int index, Collection<? extends T> items);
+    @Override
     NestedListMutator<T, M> remove(int index);
     @Override
+    NestedListMutator<T, M> removeRange(int fromIndex, int toIndex);
+    @Override
+    NestedListMutator<T, M> removeIndices(int... indices);
+    @Override
+    NestedListMutator<T, M> retainIndices(int... indices);
+    @Override
     NestedListMutator<T, M> filter(Predicate<T> filterFunction);
     @Override
+    NestedListMutator<T, M> distinct();
+    @Override
+    NestedListMutator<T, M> distinctBy(Function<? super T, ?> keyExtractor);
+    @Override
     NestedListMutator<T, M> updateAll(IndexedFunction<T> mutateFunction);
     @Override
     NestedListMutator<T, M> sort(Comparator<? super T> comparator);
     @Override
+    int binarySearch(ToIntFunction<? super T> keyComparison);
+    @Override
     NestedListMutator<T, M> move(int fromIndex, int toIndex);
+    @Override
+    NestedListMutator<T, M> parallel();
+    @Override
+    NestedListMutator<T, M> parallel(ForkJoinPool pool);
 
     /**
      * Adds a new element to the end of the list using the provided mutator function.
@@ -82,6 +106,18 @@ public interface NestedListMutator<T, M extends Mutator<T>> extends SimpleListMu
      */
     NestedListMutator<T, M> findFirstAndMutate(Predicate<T> predicate, Function<M, M> mutateFunction);
 
+    /**
+     * Finds an element using {@link #binarySearch(ToIntFunction) binary search} and applies a mutation on it.
+     * <p>
+     * Unlike {@link #findFirstAndMutate(Predicate, Function)}, the element is found in O(log n) time, but the list
+     * must be ordered consistently with the given function. Nothing is mutated if no element matches.
+     *
+     * @param keyComparison a function comparing an element to the searched key, see {@link #binarySearch(ToIntFunction)}
+     * @param mutateFunction the function used to mutate the found element
+     * @return this mutator instance for method chaining
+     */
+    NestedListMutator<T, M> binarySearchAndMutate(ToIntFunction<? super T> keyComparison, Function<M, M> mutateFunction);
+
     /**
      * Finds all elements matching the given predicate and applies a mutation on it.
      * <p>
@@ -96,6 +132,25 @@ public interface NestedListMutator<T, M extends Mutator<T>> extends SimpleListMu
      */
     NestedListMutator<T, M> findAllAndMutate(Predicate<T> predicate, Function<M, M> mutateFunction);
 
+    /**
+     * Merges a batch of incoming elements into the list by key, updating the elements whose key matches an incoming
+     * element and appending the incoming elements whose key matches none.
+     * <p>
+     * The incoming elements are indexed by key in a hash map once, and the list is then passed over once, so the
+     * operation takes O(n + m) time instead of the O(n * m) of a {@link #findFirstAndMutate(Predicate, Function)}
+     * per incoming element. Each element of the list whose key has incoming elements is passed to its mutator and
+     * merged with them in their order, and keeps its position. The incoming elements of a key that no element of
+     * the list has are appended in their order, the first of them merged with the later ones. A sorted list is
+     * kept sorted.
+     *
+     * @param incoming the incoming elements
+     * @param keyExtractor the function returning the key of an element, with keys compared by
+     *                     {@link Object#equals(Object)}
+     * @param mergeFunction the function merging an incoming element into the mutator of an element with the same key
+     * @return this mutator instance for method chaining
+     */
+    NestedListMutator<T, M> upsertAll(Collection<? extends T> incoming, Function<? super T, ?> keyExtractor, BiFunction<M, T, M> mergeFunction);
+
     /**
      * Finalizes the mutable list and returns an immutable copy.
      * <p>
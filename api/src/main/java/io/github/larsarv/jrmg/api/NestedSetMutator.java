@@ -1,6 +1,8 @@
 package io.github.larsarv.jrmg.api;
 
+import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -25,9 +27,21 @@ public interface NestedSetMutator<T, M extends Mutator<T>> extends SimpleSetMuta
     @Override
     NestedSetMutator<T,M> filter(Predicate<T> filterFunction);
     @Override
+    NestedSetMutator<T,M> addAll(Collection<? extends T> items);
+    @Override
+    NestedSetMutator<T,M> retainAll(Collection<?> items);
+    @Override
+    NestedSetMutator<T,M> removeAll(Collection<?> items);
+    @Override
+    NestedSetMutator<T,M> symmetricDifference(Collection<? extends T> items);
+    @Override
     NestedSetMutator<T,M> update(T item, SimpleFunction<T> mutateFunction);
     @Override
     NestedSetMutator<T,M> updateAll(SimpleFunction<T> mutateFunction);
+    @Override
+    NestedSetMutator<T,M> parallel();
+    @Override
+    NestedSetMutator<T,M> parallel(ForkJoinPool pool);
 
     /**
      * Adds a new element to the end of the set using the provided mutator function.
@@ -61,6 +75,30 @@ public interface NestedSetMutator<T, M extends Mutator<T>> extends SimpleSetMuta
      */
     NestedSetMutator<T, M> mutateAll(Function<M, M> mutateFunction);
 
+    /**
+     * Finds the first record matching the given predicate and mutates it using the provided function.
+     * <p>
+     * The predicate is tested on the records themselves, and a mutator is only created for the matching record.
+     * Which record is first depends on the iteration order of the set.
+     *
+     * @param predicate the predicate used to locate the first record to mutate
+     * @param mutateFunction the function that takes a mutator for the record and returns a mutated version
+     * @return this mutator instance for method chaining
+     */
+    NestedSetMutator<T, M> findFirstAndMutate(Predicate<T> predicate, Function<M, M> mutateFunction);
+
+    /**
+     * Finds all records matching the given predicate and mutates them using the provided function.
+     * <p>
+     * The predicate is tested on the records themselves, and mutators are only created for the matching
+     * records, so changing a few records of a large set is cheap.
+     *
+     * @param predicate the predicate used to locate the records to mutate
+     * @param mutateFunction the function that takes a mutator for a record and returns a mutated version
+     * @return this mutator instance for method chaining
+     */
+    NestedSetMutator<T, M> findAllAndMutate(Predicate<T> predicate, Function<M, M> mutateFunction);
+
     /**
      * Finalizes the mutable set and returns an immutable copy.
      * <p>
@@ -2,7 +2,9 @@ package io.github.larsarv.jrmg.api;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 /**
@@ -30,16 +32,36 @@ public interface NestedValueMapMutator<K, V, M extends Mutator<V>> extends Simpl
     @Override
     NestedValueMapMutator<K, V, M> updateAll(BiFunction<K, V, V> mutateFunction);
     @Override
+    NestedValueMapMutator<K, V, M> compute(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    NestedValueMapMutator<K, V, M> computeIfPresent(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    NestedValueMapMutator<K, V, M> computeIfAbsent(K key, Function<K, V> mappingFunction);
+    @Override
+    NestedValueMapMutator<K, V, M> merge(K key, V value, BiFunction<V, V, V> remappingFunction);
+    @Override
+    NestedValueMapMutator<K, V, M> mergeAll(Map<? extends K, ? extends V> map, BiFunction<V, V, V> remappingFunction);
+    @Override
     NestedValueMapMutator<K, V, M> putAll(Map<? extends K, ? extends V> map);
     @Override
     NestedValueMapMutator<K, V, M> clear();
+    @Override
+    NestedValueMapMutator<K, V, M> parallel();
+    @Override
+    NestedValueMapMutator<K, V, M> parallel(ForkJoinPool pool);
 
     @Override
     NestedValueMapMutator<K, V, M> put(K key, Function<M, M> mutateFunction);
     @Override
     NestedValueMapMutator<K, V, M> mutateValue(K key, Function<M, M> mutateFunction);
     @Override
+    NestedValueMapMutator<K, V, M> mutateOrPut(K key, Function<M, M> mutateFunction);
+    @Override
     NestedValueMapMutator<K, V, M> mutateAllValues(BiFunction<K, M, M> mutateFunction);
+    @Override
+    NestedValueMapMutator<K, V, M> findFirstAndMutateValue(BiPredicate<K, V> predicate, Function<M, M> mutateFunction);
+    @Override
+    NestedValueMapMutator<K, V, M> findAllAndMutateValues(BiPredicate<K, V> predicate, Function<M, M> mutateFunction);
 
     /**
      * Finalizes the mutable map and returns an immutable copy.
@@ -0,0 +1,117 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * A mutator interface for mutable sorted maps with nested operations that involve mutators for values,
+ * basic map operations and range operations.
+ * <p>
+ * This interface extends both {@link SortedMapMutator} and {@link MapValueMutator}, and adds range variants of
+ * {@link #mutateAllValues(BiFunction)} that only create mutators for the values in the range.
+ * <p>
+ * The {@link #build()} method finalizes the mutations and returns an immutable navigable map of the modified records.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of values in the map.
+ * @param <M> the type of record mutator used to modify the values
+ */
+public interface NestedValueSortedMapMutator<K, V, M extends Mutator<V>> extends SortedMapMutator<K, V>, MapValueMutator<K, V, M> {
+    /**
+     * Mutates the values with keys from {@code fromKey}, inclusive, to {@code toKey}, exclusive, in key order.
+     *
+     * @param fromKey the low end of the range, inclusive
+     * @param toKey the high end of the range, exclusive
+     * @param mutateFunction the function to apply to each entry, taking the key and a mutator for the value
+     * @return this mutator instance for method chaining
+     */
+    NestedValueSortedMapMutator<K, V, M> mutateRange(K fromKey, K toKey, BiFunction<K, M, M> mutateFunction);
+
+    /**
+     * Mutates the values with keys less than {@code toKey}, in key order.
+     *
+     * @param toKey the high end of the range, exclusive
+     * @param mutateFunction the function to apply to each entry, taking the key and a mutator for the value
+     * @return this mutator instance for method chaining
+     */
+    NestedValueSortedMapMutator<K, V, M> mutateHead(K toKey, BiFunction<K, M, M> mutateFunction);
+
+    /**
+     * Mutates the values with keys greater than or equal to {@code fromKey}, in key order.
+     *
+     * @param fromKey the low end of the range, inclusive
+     * @param mutateFunction the function to apply to each entry, taking the key and a mutator for the value
+     * @return this mutator instance for method chaining
+     */
+    NestedValueSortedMapMutator<K, V, M> mutateTail(K fromKey, BiFunction<K, M, M> mutateFunction);
+
+    @Override
+    NestedValueSortedMapMutator<K, V, M> updateRange(K fromKey, K toKey, BiFunction<K, V, V> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> updateHead(K toKey, BiFunction<K, V, V> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> updateTail(K fromKey, BiFunction<K, V, V> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> removeRange(K fromKey, K toKey);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> removeHead(K toKey);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> removeTail(K fromKey);
+
+    @Override
+    NestedValueSortedMapMutator<K, V, M> put(K key, V value);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> remove(K key);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> filter(BiFunction<K, V, Boolean> filterFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> update(K key, Function<V, V> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> updateAll(BiFunction<K, V, V> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> compute(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> computeIfPresent(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> computeIfAbsent(K key, Function<K, V> mappingFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> merge(K key, V value, BiFunction<V, V, V> remappingFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> mergeAll(Map<? extends K, ? extends V> map, BiFunction<V, V, V> remappingFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> putAll(Map<? extends K, ? extends V> map);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> clear();
+    @Override
+    NestedValueSortedMapMutator<K, V, M> parallel();
+    @Override
+    NestedValueSortedMapMutator<K, V, M> parallel(ForkJoinPool pool);
+
+    @Override
+    NestedValueSortedMapMutator<K, V, M> put(K key, Function<M, M> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> mutateValue(K key, Function<M, M> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> mutateOrPut(K key, Function<M, M> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> mutateAllValues(BiFunction<K, M, M> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> findFirstAndMutateValue(BiPredicate<K, V> predicate, Function<M, M> mutateFunction);
+    @Override
+    NestedValueSortedMapMutator<K, V, M> findAllAndMutateValues(BiPredicate<K, V> predicate, Function<M, M> mutateFunction);
+
+    /**
+     * Finalizes the mutable map and returns an immutable copy.
+     * <p>
+     * This method creates an immutable navigable map from the current state of the mutator.
+     * Any further modifications will not affect the returned map.
+     *
+     * @return a navigable map containing the final state of all entries after applying all mutations
+     */
+    @Override
+    NavigableMap<K, V> build();
+}
@@ -0,0 +1,24 @@
+package io.github.larsarv.jrmg.api;
+
+/**
+ * A functional interface that defines a mutation operation on an object array.
+ * <p>
+ * The function accepts a mutator instance and returns a modified version of it.
+ * <p>
+ * This interface is used by generated record mutators.
+ * <p>
+ * The interface is {@link FunctionalInterface} and can be used with lambda expressions
+ * or method references for concise mutation composition.
+ *
+ * @param <T> the component type of the array being mutated
+ */
+@FunctionalInterface
+public interface ObjectArrayMutateFunction<T> {
+    /**
+     * Applies a mutation operation with the provided {@link ObjectArrayMutator} instance.
+     *
+     * @param mutator the mutator instance to be mutated
+     * @return a modified version of the mutator instance with applied mutations
+     */
+    ObjectArrayMutator<T> mutate(ObjectArrayMutator<T> mutator);
+}
@@ -0,0 +1,199 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * An implementation of {@link ObjectArrayMutator}, used for object array components.
+ * <p>
+ * The source array is read as is until the first write, which copies it into an array owned by this mutator.
+ * The owned array may have spare capacity at the end, so that repeated appends and inserts do not copy it every
+ * time. {@link #build()} trims it to the length of the values. The copies are made with {@link Arrays#copyOf},
+ * so they keep the component type of the source array.
+ *
+ * @param <T> the component type of the array
+ */
+public class ObjectArrayMutatorImpl<T> implements ObjectArrayMutator<T> {
+    private T[] elements;
+    private int length;
+    private boolean copied; // True when elements is a private array owned by this mutator
+    private boolean locked = false;
+
+    /**
+     * Constructs a new instance of ObjectArrayMutatorImpl for the specified array.
+     *
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     * @param generator the function creating an array of the component type with the given length, used when the
+     *                  initial array is null
+     */
+    public ObjectArrayMutatorImpl(T[] array, IntFunction<T[]> generator) {
+        this.elements = array != null ? array : generator.apply(0);
+        this.length = this.elements.length;
+    }
+
+    /**
+     * Creates a new array mutator for the specified array.
+     *
+     * @param <T> the component type of the array
+     * @param array the initial array, which is never modified; if null, an empty array is used
+     * @param generator the function creating an array of the component type with the given length, used when the
+     *                  initial array is null, typically a constructor reference such as {@code String[]::new}
+     * @return a new array mutator instance that can be used to modify the array
+     */
+    public static <T> ObjectArrayMutator<T> mutator(T[] array, IntFunction<T[]> generator) {
+        return new ObjectArrayMutatorImpl<>(array, generator);
+    }
+
+    private void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("Array is locked and cannot be modified.");
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, length);
+        return elements[index];
+    }
+
+    @Override
+    public ObjectArrayMutator<T> set(int index, T value) {
+        checkLocked();
+        Objects.checkIndex(index, length);
+        if (!same(elements[index], value)) {
+            mutableElements(0)[index] = value;
+        }
+        return this;
+    }
+
+    @Override
+    public ObjectArrayMutator<T> setRange(int index, T[] values) {
+        checkLocked();
+        Objects.checkFromIndexSize(index, values.length, length);
+        if (!sameRange(index, values)) {
+            System.arraycopy(values, 0, mutableElements(0), index, values.length);
+        }
+        return this;
+    }
+
+    @Override
+    public ObjectArrayMutator<T> fill(int fromIndex, int toIndex, T value) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        for (int index = fromIndex; index < toIndex; index++) {
+            if (!same(elements[index], value)) {
+                // Only copy once a value actually changes
+                Arrays.fill(mutableElements(0), index, toIndex, value);
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public ObjectArrayMutator<T> insert(int index, T[] values) {
+        checkLocked();
+        Objects.checkIndex(index, length + 1);
+        if (values.length > 0) {
+            T[] target = mutableElements(values.length);
+            System.arraycopy(target, index, target, index + values.length, length - index);
+            System.arraycopy(values, 0, target, index, values.length);
+            length += values.length;
+        }
+        return this;
+    }
+
+    @Override
+    public ObjectArrayMutator<T> append(T[] values) {
+        return insert(length, values);
+    }
+
+    @Override
+    public ObjectArrayMutator<T> removeRange(int fromIndex, int toIndex) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        if (fromIndex < toIndex) {
+            T[] target = mutableElements(0);
+            System.arraycopy(target, toIndex, target, fromIndex, length - toIndex);
+            int newLength = length - (toIndex - fromIndex);
+            // Clear the vacated slots, so that the removed values can be garbage collected
+            Arrays.fill(target, newLength, length, null);
+            length = newLength;
+        }
+        return this;
+    }
+
+    @Override
+    public ObjectArrayMutator<T> updateAll(IndexedFunction<T> mutateFunction) {
+        return updateRange(0, length, mutateFunction);
+    }
+
+    @Override
+    public ObjectArrayMutator<T> updateRange(int fromIndex, int toIndex, IndexedFunction<T> mutateFunction) {
+        checkLocked();
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        T[] target = elements;
+        for (int index = fromIndex; index < toIndex; index++) {
+            T value = target[index];
+            T newValue = mutateFunction.apply(index, value);
+            if (!same(value, newValue)) {
+                // The first change copies the source array, the later ones are written into the copy
+                target = mutableElements(0);
+                target[index] = newValue;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public T[] toArray() {
+        return Arrays.copyOf(elements, length);
+    }
+
+    @Override
+    public T[] build() {
+        if (copied) {
+            locked = true;
+            if (elements.length != length) {
+                elements = Arrays.copyOf(elements, length);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the array owned by this mutator, copying the source array on the first write, with room for at least
+     * the given number of additional values.
+     *
+     * @param additionalCapacity the number of values that will be added
+     * @return the mutable array owned by this mutator
+     */
+    private T[] mutableElements(int additionalCapacity) {
+        if (!copied) {
+            elements = Arrays.copyOf(elements, length + additionalCapacity);
+            copied = true;
+        } else if (length + additionalCapacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(length + additionalCapacity, elements.length + (elements.length >> 1)));
+        }
+        return elements;
+    }
+
+    private boolean sameRange(int index, T[] values) {
+        for (int offset = 0; offset < values.length; offset++) {
+            if (!same(elements[index + offset], values[offset])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean same(Object value1, Object value2) {
+        return value1 == value2;
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Helpers used by the collection mutators to run the bulk operations that apply a function to every element,
+ * such as {@code mutateAll}, in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The results of the function are computed in parallel into an array indexed like the elements. The mutators
+ * then apply the results sequentially, so the collections themselves are never written from several threads.
+ */
+final class ParallelSupport {
+    /**
+     * Collections with fewer elements are processed sequentially, as splitting them would cost more than it saves.
+     */
+    static final int PARALLEL_THRESHOLD = 1024;
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    private ParallelSupport() {
+    }
+
+    /**
+     * Returns whether a bulk operation on a collection of the given size should run in parallel.
+     *
+     * @param pool the pool configured on the mutator, or {@code null} if the mutator runs sequentially
+     * @param size the number of elements of the collection
+     * @return true if the operation should run in parallel on the pool
+     */
+    static boolean useParallel(ForkJoinPool pool, int size) {
+        return pool != null && size >= PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * Applies the function to every index from 0 to {@code size - 1} on the given pool and returns the results.
+     * An exception thrown by the function is rethrown by this method.
+     *
+     * @param pool the pool to run on
+     * @param size the number of indices
+     * @param function the function to apply to each index
+     * @return an array with the result for each index
+     */
+    static Object[] computeAll(ForkJoinPool pool, int size, IntFunction<?> function) {
+        Object[] results = new Object[size];
+        // Split into a few chunks per worker, so that workers finishing early can steal the remaining chunks
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4));
+        pool.invoke(new ComputeTask(results, function, 0, size, chunkSize));
+        return results;
+    }
+
+    private static final class ComputeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] results;
+        private final IntFunction<?> function;
+        private final int fromIndex;
+        private final int toIndex;
+        private final int chunkSize;
+
+        private ComputeTask(Object[] results, IntFunction<?> function, int fromIndex, int toIndex, int chunkSize) {
+            this.results = results;
+            this.function = function;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (toIndex - fromIndex <= chunkSize) {
+                for (int index = fromIndex; index < toIndex; index++) {
+                    results[index] = function.apply(index);
+                }
+            } else {
+                int middle = (fromIndex + toIndex) >>> 1;
+                invokeAll(
+                        new ComputeTask(results, function, fromIndex, middle, chunkSize),
+                        new ComputeTask(results, function, middle, toIndex, chunkSize));
+            }
+        }
+    }
+}
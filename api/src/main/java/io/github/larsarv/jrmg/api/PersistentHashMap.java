@@ -0,0 +1,541 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable, persistent map based on a compressed hash-array mapped prefix tree (CHAMP).
+ * <p>
+ * Each node consumes five bits of the key hash and keeps two bitmaps: one for entries stored inline in the node
+ * and one for sub-nodes. Entries are stored before sub-nodes in a single compact array, and a sub-node is only
+ * created when two keys share the same hash prefix. Keys with identical hashes end up in a collision node.
+ * <p>
+ * Adding, replacing or removing an entry returns a new map that shares every untouched node with this one,
+ * so these operations copy O(log32 n) nodes instead of the whole map. {@code null} keys and values are supported.
+ * The map itself is unmodifiable; the {@link Map} mutation methods throw {@link UnsupportedOperationException}.
+ * It is serialized as an unmodifiable {@link java.util.LinkedHashMap} with the same entries, without the trie.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of values in the map
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int HASH_LENGTH = 32;
+    private static final int MAX_DEPTH = 8; // Seven levels of five bits plus a collision node
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(new BitmapNode(0, 0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+    private int hashCode; // Computed on first use, 0 until then
+    private Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Records how an update changed the map.
+     */
+    private static final class Change {
+        int sizeDelta;
+    }
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return the shared empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a map containing the entries of the given map.
+     * If the map already is a persistent hash map it is returned as is.
+     *
+     * @param map the map to copy; may be {@code null}, which gives an empty map
+     * @param <K> the type of keys in the map
+     * @param <V> the type of values in the map
+     * @return a persistent map with the entries of the given map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap) {
+            return (PersistentHashMap<K, V>) map;
+        }
+        PersistentHashMap<K, V> result = empty();
+        if (map != null) {
+            for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+                result = result.withPut(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the hash code of the map, which is computed once and then cached, as the map never changes.
+     */
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = super.hashCode();
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (o instanceof PersistentHashMap) {
+            PersistentHashMap<?, ?> other = (PersistentHashMap<?, ?>) o;
+            if (other.size() != size() || hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+                return false;
+            }
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root.find(key, hash(key), 0) != NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object value = root.find(key, hash(key), 0);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        Object value = root.find(key, hash(key), 0);
+        return value == NOT_FOUND ? defaultValue : (V) value;
+    }
+
+    /**
+     * Returns a map with the given entry added or replaced.
+     *
+     * @param key the key of the entry
+     * @param value the value of the entry
+     * @return the new map, or this map if the key already maps to the same value instance
+     */
+    PersistentHashMap<K, V> withPut(K key, V value) {
+        Change change = new Change();
+        Node newRoot = root.updated(key, value, hash(key), 0, change);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, size + change.sizeDelta);
+    }
+
+    /**
+     * Returns a map without the entry for the given key.
+     *
+     * @param key the key of the entry to remove
+     * @return the new map, or this map if the key is not present
+     */
+    PersistentHashMap<K, V> withRemoved(Object key) {
+        Change change = new Change();
+        Node newRoot = root.removed(key, hash(key), 0, change);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, size + change.sizeDelta);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> result = entrySet;
+        if (result == null) {
+            result = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator<>(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+            entrySet = result;
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the map by its serialized form, see {@link CollectionSupport#serializedForm(Map)}.
+     *
+     * @return the serialized form of the map
+     */
+    @Serial
+    private Object writeReplace() {
+        return CollectionSupport.serializedForm(this);
+    }
+
+    private static int hash(Object key) {
+        int hash = Objects.hashCode(key);
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bitPosition(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Node mergeTwo(Object key0, Object value0, int hash0, Object key1, Object value1, int hash1, int shift) {
+        if (shift >= HASH_LENGTH) {
+            return new CollisionNode(hash0, new Object[] {key0, value0, key1, value1});
+        }
+        int position0 = (hash0 >>> shift) & MASK;
+        int position1 = (hash1 >>> shift) & MASK;
+        if (position0 != position1) {
+            int dataMap = (1 << position0) | (1 << position1);
+            if (position0 < position1) {
+                return new BitmapNode(dataMap, 0, new Object[] {key0, value0, key1, value1});
+            }
+            return new BitmapNode(dataMap, 0, new Object[] {key1, value1, key0, value0});
+        }
+        // Same prefix on this level, push both entries one level down
+        Node node = mergeTwo(key0, value0, hash0, key1, value1, hash1, shift + BITS);
+        return new BitmapNode(0, 1 << position0, new Object[] {node});
+    }
+
+    /**
+     * Trie node. Inline entries are numbered from 0 to {@link #payloadArity()} and sub-nodes from 0 to
+     * {@link #nodeArity()}.
+     */
+    private abstract static class Node {
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node updated(Object key, Object value, int hash, int shift, Change change);
+
+        abstract Node removed(Object key, int hash, int shift, Change change);
+
+        abstract int payloadArity();
+
+        abstract int nodeArity();
+
+        abstract Object getKey(int index);
+
+        abstract Object getValue(int index);
+
+        abstract Node getNode(int index);
+
+        boolean hasSingleEntry() {
+            return nodeArity() == 0 && payloadArity() == 1;
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+        private final int dataMap;
+        private final int nodeMap;
+        private final Object[] content; // Key and value pairs followed by sub-nodes
+
+        BitmapNode(int dataMap, int nodeMap, Object[] content) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = bitPosition(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = 2 * Integer.bitCount(dataMap & (bit - 1));
+                return Objects.equals(content[index], key) ? content[index + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return nodeAt(bit).find(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node updated(Object key, Object value, int hash, int shift, Change change) {
+            int bit = bitPosition(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = 2 * Integer.bitCount(dataMap & (bit - 1));
+                Object currentKey = content[index];
+                if (Objects.equals(currentKey, key)) {
+                    if (content[index + 1] == value) {
+                        return this;
+                    }
+                    Object[] newContent = content.clone();
+                    newContent[index + 1] = value;
+                    return new BitmapNode(dataMap, nodeMap, newContent);
+                }
+                // Two keys share this position, move the existing entry into a new sub-node
+                Object currentValue = content[index + 1];
+                Node subNode = mergeTwo(currentKey, currentValue, hash(currentKey), key, value, hash, shift + BITS);
+                change.sizeDelta = 1;
+                return migrateToNode(bit, index, subNode);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node subNode = nodeAt(bit);
+                Node newSubNode = subNode.updated(key, value, hash, shift + BITS, change);
+                return newSubNode == subNode ? this : withNode(bit, newSubNode);
+            }
+            change.sizeDelta = 1;
+            int index = 2 * Integer.bitCount(dataMap & (bit - 1));
+            Object[] newContent = new Object[content.length + 2];
+            System.arraycopy(content, 0, newContent, 0, index);
+            newContent[index] = key;
+            newContent[index + 1] = value;
+            System.arraycopy(content, index, newContent, index + 2, content.length - index);
+            return new BitmapNode(dataMap | bit, nodeMap, newContent);
+        }
+
+        @Override
+        Node removed(Object key, int hash, int shift, Change change) {
+            int bit = bitPosition(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = 2 * Integer.bitCount(dataMap & (bit - 1));
+                if (!Objects.equals(content[index], key)) {
+                    return this;
+                }
+                change.sizeDelta = -1;
+                Object[] newContent = new Object[content.length - 2];
+                System.arraycopy(content, 0, newContent, 0, index);
+                System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+                return new BitmapNode(dataMap ^ bit, nodeMap, newContent);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node subNode = nodeAt(bit);
+                Node newSubNode = subNode.removed(key, hash, shift + BITS, change);
+                if (newSubNode == subNode) {
+                    return this;
+                }
+                if (newSubNode.hasSingleEntry()) {
+                    // Keep the trie canonical by storing a lone entry inline instead of in a sub-node
+                    return migrateToInline(bit, newSubNode.getKey(0), newSubNode.getValue(0));
+                }
+                return withNode(bit, newSubNode);
+            }
+            return this;
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Object getKey(int index) {
+            return content[2 * index];
+        }
+
+        @Override
+        Object getValue(int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        Node getNode(int index) {
+            return (Node) content[2 * payloadArity() + index];
+        }
+
+        private Node nodeAt(int bit) {
+            return (Node) content[nodeIndex(bit)];
+        }
+
+        private int nodeIndex(int bit) {
+            return 2 * Integer.bitCount(dataMap) + Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        private BitmapNode withNode(int bit, Node node) {
+            Object[] newContent = content.clone();
+            newContent[nodeIndex(bit)] = node;
+            return new BitmapNode(dataMap, nodeMap, newContent);
+        }
+
+        private BitmapNode migrateToNode(int bit, int dataIndex, Node node) {
+            int newDataMap = dataMap ^ bit;
+            int newNodeMap = nodeMap | bit;
+            int nodeIndex = 2 * Integer.bitCount(newDataMap) + Integer.bitCount(nodeMap & (bit - 1));
+            Object[] newContent = new Object[content.length - 1];
+            System.arraycopy(content, 0, newContent, 0, dataIndex);
+            System.arraycopy(content, dataIndex + 2, newContent, dataIndex, nodeIndex - dataIndex);
+            newContent[nodeIndex] = node;
+            System.arraycopy(content, nodeIndex + 2, newContent, nodeIndex + 1, content.length - nodeIndex - 2);
+            return new BitmapNode(newDataMap, newNodeMap, newContent);
+        }
+
+        private BitmapNode migrateToInline(int bit, Object key, Object value) {
+            int oldNodeIndex = nodeIndex(bit);
+            int newDataMap = dataMap | bit;
+            int dataIndex = 2 * Integer.bitCount(dataMap & (bit - 1));
+            Object[] newContent = new Object[content.length + 1];
+            System.arraycopy(content, 0, newContent, 0, dataIndex);
+            newContent[dataIndex] = key;
+            newContent[dataIndex + 1] = value;
+            System.arraycopy(content, dataIndex, newContent, dataIndex + 2, oldNodeIndex - dataIndex);
+            System.arraycopy(content, oldNodeIndex + 1, newContent, oldNodeIndex + 2, content.length - oldNodeIndex - 1);
+            return new BitmapNode(newDataMap, nodeMap ^ bit, newContent);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] content; // Key and value pairs
+
+        CollisionNode(int hash, Object[] content) {
+            this.hash = hash;
+            this.content = content;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : content[index + 1];
+        }
+
+        @Override
+        Node updated(Object key, Object value, int hash, int shift, Change change) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                if (content[index + 1] == value) {
+                    return this;
+                }
+                Object[] newContent = content.clone();
+                newContent[index + 1] = value;
+                return new CollisionNode(this.hash, newContent);
+            }
+            change.sizeDelta = 1;
+            Object[] newContent = Arrays.copyOf(content, content.length + 2);
+            newContent[content.length] = key;
+            newContent[content.length + 1] = value;
+            return new CollisionNode(this.hash, newContent);
+        }
+
+        @Override
+        Node removed(Object key, int hash, int shift, Change change) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            change.sizeDelta = -1;
+            Object[] newContent = new Object[content.length - 2];
+            System.arraycopy(content, 0, newContent, 0, index);
+            System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+            return new CollisionNode(this.hash, newContent);
+        }
+
+        @Override
+        int payloadArity() {
+            return content.length / 2;
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        Object getKey(int index) {
+            return content[2 * index];
+        }
+
+        @Override
+        Object getValue(int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        Node getNode(int index) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        private int indexOf(Object key) {
+            for (int index = 0; index < content.length; index += 2) {
+                if (Objects.equals(content[index], key)) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Depth-first iterator over the entries of a trie, visiting the inline entries of a node before its sub-nodes.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Node[] nodes = new Node[MAX_DEPTH];
+        private final int[] nodeCursors = new int[MAX_DEPTH];
+        private int depth = 0;
+        private Node payloadNode;
+        private int payloadIndex = 0;
+
+        EntryIterator(Node root) {
+            nodes[0] = root;
+            payloadNode = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (payloadIndex >= payloadNode.payloadArity()) {
+                if (!advance()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = payloadIndex++;
+            return new SimpleImmutableEntry<>((K) payloadNode.getKey(index), (V) payloadNode.getValue(index));
+        }
+
+        private boolean advance() {
+            while (depth >= 0) {
+                Node node = nodes[depth];
+                if (nodeCursors[depth] < node.nodeArity()) {
+                    Node child = node.getNode(nodeCursors[depth]++);
+                    depth++;
+                    nodes[depth] = child;
+                    nodeCursors[depth] = 0;
+                    payloadNode = child;
+                    payloadIndex = 0;
+                    return true;
+                }
+                depth--;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * An immutable, persistent set backed by a {@link PersistentHashMap} that maps each element to itself.
+ * <p>
+ * Adding or removing an element returns a new set that shares every untouched node with this one,
+ * so these operations copy O(log32 n) nodes instead of the whole set. {@code null} elements are supported.
+ * The set itself is unmodifiable; the {@link java.util.Set} mutation methods throw
+ * {@link UnsupportedOperationException}. It is serialized as an unmodifiable {@link java.util.LinkedHashSet} with the
+ * same elements.
+ *
+ * @param <T> the type of elements in the set
+ */
+final class PersistentHashSet<T> extends AbstractSet<T> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final PersistentHashSet<?> EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+    private final PersistentHashMap<T, T> map;
+    private int hashCode; // Computed on first use, 0 until then
+
+    private PersistentHashSet(PersistentHashMap<T, T> map) {
+        this.map = map;
+    }
+
+    /**
+     * Returns the empty set.
+     *
+     * @param <T> the type of elements in the set
+     * @return the shared empty set
+     */
+    @SuppressWarnings("unchecked")
+    static <T> PersistentHashSet<T> empty() {
+        return (PersistentHashSet<T>) EMPTY;
+    }
+
+    /**
+     * Returns a set containing the elements of the given collection.
+     * If the collection already is a persistent hash set it is returned as is.
+     *
+     * @param collection the collection to copy; may be {@code null}, which gives an empty set
+     * @param <T> the type of elements in the set
+     * @return a persistent set with the elements of the collection
+     */
+    @SuppressWarnings("unchecked")
+    static <T> PersistentHashSet<T> copyOf(Collection<? extends T> collection) {
+        if (collection instanceof PersistentHashSet) {
+            return (PersistentHashSet<T>) collection;
+        }
+        PersistentHashSet<T> result = empty();
+        if (collection != null) {
+            for (T element : collection) {
+                result = result.withAdded(element);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns the hash code of the set, which is computed once and then cached, as the set never changes.
+     */
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = super.hashCode();
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (o instanceof PersistentHashSet) {
+            PersistentHashSet<?> other = (PersistentHashSet<?>) o;
+            if (other.size() != size() || hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+                return false;
+            }
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return map.containsKey(element);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<Map.Entry<T, T>> iterator = map.entrySet().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return iterator.next().getKey();
+            }
+        };
+    }
+
+    /**
+     * Returns a set with the given element added.
+     *
+     * @param element the element to add
+     * @return the new set, or this set if the element already is present
+     */
+    PersistentHashSet<T> withAdded(T element) {
+        if (map.containsKey(element)) {
+            return this;
+        }
+        return new PersistentHashSet<>(map.withPut(element, element));
+    }
+
+    /**
+     * Returns a set without the given element.
+     *
+     * @param element the element to remove
+     * @return the new set, or this set if the element is not present
+     */
+    PersistentHashSet<T> withRemoved(Object element) {
+        PersistentHashMap<T, T> newMap = map.withRemoved(element);
+        return newMap == map ? this : new PersistentHashSet<>(newMap);
+    }
+
+    /**
+     * Replaces the set by its serialized form, see {@link CollectionSupport#serializedForm(java.util.Set)}.
+     *
+     * @return the serialized form of the set
+     */
+    @Serial
+    private Object writeReplace() {
+        return CollectionSupport.serializedForm(this);
+    }
+}
@@ -0,0 +1,439 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * An implementation of {@link NestedListMutator} backed by a persistent vector, used for list components
+ * with the {@link CollectionBackend#PERSISTENT} backend.
+ * <p>
+ * The source list is converted into a persistent vector on the first write, unless it already is one
+ * (for example a list built by another persistent list mutator), in which case it is used directly.
+ * Every write then copies only the O(log n) nodes on the path to the changed element, so a few edits
+ * to a large list do not copy the whole list, and the built list shares its structure with the source.
+ * <p>
+ * The {@link #build()} method returns an immutable list of the modified records, or the source list itself
+ * if nothing was written.
+ *
+ * @param <T> the type of elements stored in the list.
+ * @param <M> the type of {@link Mutator} used to mutate the elements of type {@code T}
+ */
+public class PersistentListMutatorImpl<T, M extends Mutator<T>> implements NestedListMutator<T, M> {
+    private List<T> list;
+    private final Function<T, M> elementMutatorFactory;
+    private ForkJoinPool parallelPool; // Pool for the bulk operations, null to run them sequentially
+    private boolean locked = false;
+
+    /**
+     * Constructs a new instance of PersistentListMutatorImpl for the specified list and element mutator factory.
+     *
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     * @param elementMutatorFactory a function that generates a mutator for each element in the list
+     */
+    public PersistentListMutatorImpl(List<T> list, Function<T, M> elementMutatorFactory) {
+        this.list = list == null ? PersistentVector.empty() : list;
+        this.elementMutatorFactory = elementMutatorFactory;
+    }
+
+    /**
+     * Creates a new persistent list mutator for the specified list, using the provided element mutator factory.
+     * <p>
+     * Each element in the list can be individually mutated using the factory-provided mutator.
+     *
+     * @param <T> the type of elements stored in the list.
+     * @param <E> the type of {@link Mutator} used to mutate the elements of type {@code T}
+     * @param list the initial list to be wrapped; if null, an empty list is created
+     * @param elementMutatorFactory a function that generates a mutator for each element in the list,
+     *                              null if the element data type is simple
+     * @return a new list mutator instance that can be used to modify the list
+     */
+    public static <T, E extends Mutator<T>> NestedListMutator<T, E> mutator(List<T> list, Function<T, E> elementMutatorFactory) {
+        return new PersistentListMutatorImpl<>(list, elementMutatorFactory);
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public T get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public NestedListMutator<T, M> set(int index, T record) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (list.get(index) != record) {
+            list = vector().withElement(index, record);
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> add(T item) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        list = vector().withAppended(item);
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> addAll(Collection<? extends T> items) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (!items.isEmpty()) {
+            PersistentVector<T> vector = vector();
+            for (T item : items) {
+                vector = vector.withAppended(item);
+            }
+            list = vector;
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> insertAll(int index, Collection<? extends T> items) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (index < 0 || index > list.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + list.size());
+        }
+        if (!items.isEmpty()) {
+            PersistentVector<T> vector = vector();
+            int insertIndex = index;
+            for (T item : items) {
+                vector = vector.withInserted(insertIndex++, item);
+            }
+            list = vector;
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> remove(int index) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        list = vector().withRemoved(index);
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> removeRange(int fromIndex, int toIndex) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (fromIndex < 0 || toIndex > list.size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", To index: " + toIndex + ", Size: " + list.size());
+        }
+        if (fromIndex != toIndex) {
+            PersistentVector<T> vector = vector();
+            for (int count = toIndex - fromIndex; count > 0; count--) {
+                vector = vector.withRemoved(fromIndex);
+            }
+            list = vector;
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> removeIndices(int... indices) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        int[] removed = CollectionSupport.sortedDistinctIndices(indices, list.size());
+        if (removed.length != 0) {
+            // Remove from the back, so that the remaining indices still refer to the same elements
+            PersistentVector<T> vector = vector();
+            for (int removedIndex = removed.length - 1; removedIndex >= 0; removedIndex--) {
+                vector = vector.withRemoved(removed[removedIndex]);
+            }
+            list = vector;
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> retainIndices(int... indices) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        int[] retained = CollectionSupport.sortedDistinctIndices(indices, list.size());
+        if (retained.length != list.size()) {
+            Object[] kept = new Object[retained.length];
+            for (int keepIndex = 0; keepIndex < retained.length; keepIndex++) {
+                kept[keepIndex] = list.get(retained[keepIndex]);
+            }
+            list = PersistentVector.fromArray(kept);
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> filter(Predicate<T> filterFunction) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        Object[] kept = null;
+        int keepIndex = 0;
+        int index = 0;
+        for (T item : list) {
+            if (filterFunction.test(item)) {
+                if (kept != null) {
+                    kept[keepIndex] = item;
+                }
+                keepIndex++;
+            } else if (kept == null) {
+                // First rejected element, copy the kept prefix and continue compacting from here
+                kept = new Object[list.size() - 1];
+                for (int prefixIndex = 0; prefixIndex < index; prefixIndex++) {
+                    kept[prefixIndex] = list.get(prefixIndex);
+                }
+            }
+            index++;
+        }
+        if (kept != null) {
+            list = PersistentVector.fromArray(kept, keepIndex);
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> distinct() {
+        return distinctBy(Function.identity());
+    }
+
+    @Override
+    public NestedListMutator<T, M> distinctBy(Function<? super T, ?> keyExtractor) {
+        return filter(CollectionSupport.firstOfEachKey(keyExtractor, list.size()));
+    }
+
+    @Override
+    public NestedListMutator<T, M> updateAll(IndexedFunction<T> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (ParallelSupport.useParallel(parallelPool, list.size())) {
+            List<T> source = list;
+            setChanged(ParallelSupport.computeAll(parallelPool, source.size(),
+                    index -> mutateFunction.apply(index, source.get(index))));
+            return this;
+        }
+        for (int index = 0; index != list.size(); ++index) {
+            T orgItem = list.get(index);
+            T newItem = mutateFunction.apply(index, orgItem);
+            if (newItem != orgItem) {
+                list = vector().withElement(index, newItem);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> sort(Comparator<? super T> comparator) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        Object[] elements = list.toArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> elementComparator = (Comparator<Object>) comparator;
+        Arrays.sort(elements, elementComparator);
+        list = PersistentVector.fromArray(elements);
+        return this;
+    }
+
+    @Override
+    public int binarySearch(ToIntFunction<? super T> keyComparison) {
+        return CollectionSupport.binarySearch(list.size(), list::get, keyComparison);
+    }
+
+    @Override
+    public NestedListMutator<T, M> move(int fromIndex, int toIndex) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (fromIndex < 0 || fromIndex >= list.size() || toIndex < 0 || toIndex >= list.size()) {
+            throw new IndexOutOfBoundsException("Index: " + fromIndex + ", Size: " + list.size());
+        }
+        if (fromIndex != toIndex) {
+            T item = list.get(fromIndex);
+            list = vector().withRemoved(fromIndex).withInserted(toIndex, item);
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> set(int index, M recordMutator) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        set(index, recordMutator.build());
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> add(Function<M, M> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        list = vector().withAppended(mutateFunction.apply(elementMutatorFactory.apply(null)).build());
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> mutate(int index, Function<M, M> modifierFunction) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        T orgValue = list.get(index);
+        T newValue = modifierFunction.apply(elementMutatorFactory.apply(orgValue)).build();
+        if (newValue != orgValue) {
+            list = vector().withElement(index, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> mutateAll(IndexedFunction<M> modifierFunction) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (ParallelSupport.useParallel(parallelPool, list.size())) {
+            List<T> source = list;
+            setChanged(ParallelSupport.computeAll(parallelPool, source.size(),
+                    index -> modifierFunction.apply(index, elementMutatorFactory.apply(source.get(index))).build()));
+            return this;
+        }
+        for (int index = 0; index < list.size(); index++) {
+            T orgValue = list.get(index);
+            T newValue = modifierFunction.apply(index, elementMutatorFactory.apply(orgValue)).build();
+            if (newValue != orgValue) {
+                list = vector().withElement(index, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> findFirstAndMutate(Predicate<T> predicate, Function<M, M> mutatorFunction) {
+        for (int index = 0; index < list.size(); index++) {
+            T orgValue = list.get(index);
+            if (predicate.test(orgValue)) {
+                T newValue = mutatorFunction.apply(elementMutatorFactory.apply(orgValue)).build();
+                if (newValue != orgValue) {
+                    list = vector().withElement(index, newValue);
+                }
+                return this;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> binarySearchAndMutate(ToIntFunction<? super T> keyComparison, Function<M, M> mutatorFunction) {
+        int index = binarySearch(keyComparison);
+        if (index >= 0) {
+            mutate(index, mutatorFunction);
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> findAllAndMutate(Predicate<T> predicate, Function<M, M> mutatorFunction) {
+        if (ParallelSupport.useParallel(parallelPool, list.size())) {
+            List<T> source = list;
+            setChanged(ParallelSupport.computeAll(parallelPool, source.size(), index -> {
+                T orgValue = source.get(index);
+                return predicate.test(orgValue) ? mutatorFunction.apply(elementMutatorFactory.apply(orgValue)).build() : orgValue;
+            }));
+            return this;
+        }
+        for (int index = 0; index < list.size(); index++) {
+            T orgValue = list.get(index);
+            if (predicate.test(orgValue)) {
+                T newValue = mutatorFunction.apply(elementMutatorFactory.apply(orgValue)).build();
+                if (newValue != orgValue) {
+                    list = vector().withElement(index, newValue);
+                }
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NestedListMutator<T, M> upsertAll(Collection<? extends T> incoming, Function<? super T, ?> keyExtractor, BiFunction<M, T, M> mergeFunction) {
+        if (locked) {
+            throw new IllegalStateException("List is locked and cannot be modified.");
+        }
+        if (incoming.isEmpty()) {
+            return this;
+        }
+        Object[] newItems = new Object[list.size()];
+        List<T> appended = CollectionSupport.upsertByKey(list.size(), list::get, newItems, incoming, keyExtractor,
+                mergeFunction, elementMutatorFactory);
+        setChanged(newItems);
+        return addAll(appended);
+    }
+
+    @Override
+    public NestedListMutator<T, M> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public NestedListMutator<T, M> parallel(ForkJoinPool pool) {
+        this.parallelPool = Objects.requireNonNull(pool);
+        return this;
+    }
+
+    @Override
+    public List<T> build() {
+        this.locked = true;
+        return list;
+    }
+
+    @Override
+    public List<T> buildCopy() {
+        // Persistent vectors are immutable, so the current state can be shared without copying once converted
+        return PersistentVector.copyOf(list);
+    }
+
+    /**
+     * Replaces the elements that differ from the new elements computed by a parallel bulk operation.
+     *
+     * @param newItems the new elements, indexed like the list
+     */
+    @SuppressWarnings("unchecked")
+    private void setChanged(Object[] newItems) {
+        for (int index = 0; index < newItems.length; index++) {
+            if (newItems[index] != list.get(index)) {
+                list = vector().withElement(index, (T) newItems[index]);
+            }
+        }
+    }
+
+    /**
+     * Returns the current list as a persistent vector, converting the source list on the first write.
+     *
+     * @return the persistent vector holding the current elements
+     */
+    private PersistentVector<T> vector() {
+        PersistentVector<T> vector = PersistentVector.copyOf(list);
+        list = vector;
+        return vector;
+    }
+}
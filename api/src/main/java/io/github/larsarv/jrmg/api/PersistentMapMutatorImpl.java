@@ -0,0 +1,466 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * An implementation of the map mutator interfaces backed by a persistent hash trie, used for map components
+ * with the {@link CollectionBackend#PERSISTENT} backend.
+ * <p>
+ * The source map is converted into a persistent map on the first write, unless it already is one
+ * (for example a map built by another persistent map mutator), in which case it is used directly.
+ * Every write then copies only the O(log32 n) nodes on the path to the changed entry, so updating a few
+ * entries of a large map does not copy the whole map, and the built map shares its structure with the source.
+ * <p>
+ * If nothing was written, {@link #build()} returns the source map itself.
+ *
+ * @param <K> the type of keys in the map.
+ * @param <V> the type of values in the map.
+ * @param <MK> the type of record mutator used to modify the keys
+ * @param <MV> the type of record mutator used to modify the values
+ */
+public class PersistentMapMutatorImpl<K, V, MK extends Mutator<K>, MV extends Mutator<V>>
+    implements NestedKeyValueMapMutator<K, V, MK, MV>, NestedKeyMapMutator<K, V, MK>, NestedValueMapMutator<K, V, MV> {
+
+    private Map<K, V> map;
+    private final Function<K, MK> keyMutatorFactory;
+    private final Function<V, MV> valueMutatorFactory;
+    private ForkJoinPool parallelPool; // Pool for the bulk operations, null to run them sequentially
+
+    private boolean locked = false;
+
+    /**
+     * Constructs a new {@code PersistentMapMutatorImpl} instance with the provided map and mutator factories.
+     *
+     * @param map the initial map to be mutated; if null, an empty map is used
+     * @param keyMutatorFactory a function that returns a mutator for the given key
+     * @param valueMutatorFactory a function that returns a mutator for the given value
+     */
+    public PersistentMapMutatorImpl(Map<K, V> map, Function<K, MK> keyMutatorFactory, Function<V, MV> valueMutatorFactory) {
+        this.map = map == null ? PersistentHashMap.empty() : map;
+        this.keyMutatorFactory = keyMutatorFactory;
+        this.valueMutatorFactory = valueMutatorFactory;
+    }
+
+    /**
+     * Creates a new {@code PersistentMapMutatorImpl} instance with the provided map and mutator factories.
+     *
+     * @param map the initial map to be mutated; if null, an empty map is used
+     * @param keyMutatorFactory a function that returns a mutator for the given key
+     * @param valueMutatorFactory a function that returns a mutator for the given value
+     * @return a new {@code PersistentMapMutatorImpl} instance configured with the provided parameters
+     *
+     * @param <K> the type of keys in the map.
+     * @param <V> the type of values in the map.
+     * @param <MK> the type of record mutator used to modify the keys
+     * @param <MV> the type of record mutator used to modify the values
+     */
+    public static <K, V, MK extends Mutator<K>, MV extends Mutator<V>> PersistentMapMutatorImpl<K, V, MK, MV> mutator(
+            Map<K, V> map,
+            Function<K, MK> keyMutatorFactory,
+            Function<V, MV> valueMutatorFactory
+    )  {
+        return new PersistentMapMutatorImpl<>(map, keyMutatorFactory, valueMutatorFactory);
+    }
+
+    private void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("Map is locked and can not be modified");
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public V get(K key) {
+        return CollectionSupport.get(map, key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return mapContainsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        return CollectionSupport.containsValue(map, value);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(map.values());
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> put(K key, V value) {
+        checkLocked();
+        if (get(key) != value || !mapContainsKey(key)) {
+            map = persistentMap().withPut(key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> remove(K key) {
+        checkLocked();
+        if (mapContainsKey(key)) {
+            map = persistentMap().withRemoved(key);
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> filter(BiFunction<K, V, Boolean> filterFunction) {
+        checkLocked();
+        PersistentHashMap<K, V> newMap = null;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            if (!filterFunction.apply(entry.getKey(), entry.getValue())) {
+                newMap = (newMap == null ? persistentMap() : newMap).withRemoved(entry.getKey());
+            }
+        }
+        if (newMap != null) {
+            map = newMap;
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> update(K key, Function<V, V> mutateFunction) {
+        checkLocked();
+        V currentValue = get(key);
+        // Only a null value needs a second lookup to tell a present key from an absent one
+        if (currentValue != null || mapContainsKey(key)) {
+            V newValue = mutateFunction.apply(currentValue);
+            if (newValue != currentValue) {
+                map = persistentMap().withPut(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> updateAll(BiFunction<K, V, V> mutateFunction) {
+        checkLocked();
+        if (ParallelSupport.useParallel(parallelPool, map.size())) {
+            replaceAllValues(mutateFunction);
+            return this;
+        }
+        PersistentHashMap<K, V> newMap = null;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            V newValue = mutateFunction.apply(entry.getKey(), entry.getValue());
+            if (newValue != entry.getValue()) {
+                newMap = (newMap == null ? persistentMap() : newMap).withPut(entry.getKey(), newValue);
+            }
+        }
+        if (newMap != null) {
+            map = newMap;
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> compute(K key, BiFunction<K, V, V> remappingFunction) {
+        checkLocked();
+        V currentValue = get(key);
+        V newValue = remappingFunction.apply(key, currentValue);
+        if (newValue == null) {
+            if (mapContainsKey(key)) {
+                map = persistentMap().withRemoved(key);
+            }
+        } else if (newValue != currentValue) {
+            map = persistentMap().withPut(key, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> computeIfPresent(K key, BiFunction<K, V, V> remappingFunction) {
+        checkLocked();
+        V currentValue = get(key);
+        if (currentValue != null) {
+            V newValue = remappingFunction.apply(key, currentValue);
+            if (newValue == null) {
+                map = persistentMap().withRemoved(key);
+            } else if (newValue != currentValue) {
+                map = persistentMap().withPut(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        checkLocked();
+        if (get(key) == null) {
+            V newValue = mappingFunction.apply(key);
+            if (newValue != null) {
+                map = persistentMap().withPut(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> merge(K key, V value, BiFunction<V, V, V> remappingFunction) {
+        checkLocked();
+        Objects.requireNonNull(value);
+        V currentValue = get(key);
+        V newValue = currentValue == null ? value : remappingFunction.apply(currentValue, value);
+        if (newValue == null) {
+            map = persistentMap().withRemoved(key);
+        } else if (newValue != currentValue) {
+            map = persistentMap().withPut(key, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> mergeAll(Map<? extends K, ? extends V> m, BiFunction<V, V, V> remappingFunction) {
+        checkLocked();
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            merge(entry.getKey(), entry.getValue(), remappingFunction);
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> putAll(Map<? extends K, ? extends V> m) {
+        checkLocked();
+        if (!m.isEmpty()) {
+            PersistentHashMap<K, V> newMap = persistentMap();
+            for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+                newMap = newMap.withPut(entry.getKey(), entry.getValue());
+            }
+            map = newMap;
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> clear() {
+        checkLocked();
+        if (!map.isEmpty()) {
+            map = PersistentHashMap.empty();
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> put(Function<MK, MK> mutateFunction, V value) {
+        checkLocked();
+        map = persistentMap().withPut(mutateFunction.apply(keyMutatorFactory.apply(null)).build(), value);
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> mutateKey(K key, Function<MK, MK> mutateFunction) {
+        checkLocked();
+        if (mapContainsKey(key)) {
+            K newKey = mutateFunction.apply(keyMutatorFactory.apply(key)).build();
+            if (newKey != key) {
+                V value = map.get(key);
+                map = persistentMap().withRemoved(key).withPut(newKey, value);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> mutateAllKeys(Function<MK, MK> mutateFunction) {
+        checkLocked();
+        // Collect the changed entries first, so that a new key cannot be removed as the old key of a later entry
+        List<K> oldKeys = new ArrayList<>();
+        List<Map.Entry<K, V>> newEntries = new ArrayList<>();
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            K newKey = mutateFunction.apply(keyMutatorFactory.apply(entry.getKey())).build();
+            if (newKey != entry.getKey()) {
+                oldKeys.add(entry.getKey());
+                newEntries.add(new AbstractMap.SimpleImmutableEntry<>(newKey, entry.getValue()));
+            }
+        }
+        if (!oldKeys.isEmpty()) {
+            PersistentHashMap<K, V> newMap = persistentMap();
+            for (K oldKey : oldKeys) {
+                newMap = newMap.withRemoved(oldKey);
+            }
+            for (Map.Entry<K, V> entry : newEntries) {
+                newMap = newMap.withPut(entry.getKey(), entry.getValue());
+            }
+            map = newMap;
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> put(K key, Function<MV, MV> mutateFunction) {
+        checkLocked();
+        V value = mutateFunction.apply(valueMutatorFactory.apply(null)).build();
+        map = persistentMap().withPut(key, value);
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> mutateValue(K key, Function<MV, MV> mutateFunction) {
+        checkLocked();
+        V currentValue = get(key);
+        if (currentValue != null || mapContainsKey(key)) {
+            V newValue = mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build();
+            if (newValue != currentValue) {
+                map = persistentMap().withPut(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> mutateOrPut(K key, Function<MV, MV> mutateFunction) {
+        checkLocked();
+        V currentValue = get(key);
+        V newValue = mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build();
+        if (newValue != currentValue || !mapContainsKey(key)) {
+            map = persistentMap().withPut(key, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> mutateAllValues(BiFunction<K, MV, MV> mutateFunction) {
+        checkLocked();
+        if (ParallelSupport.useParallel(parallelPool, map.size())) {
+            replaceAllValues((key, value) -> mutateFunction.apply(key, valueMutatorFactory.apply(value)).build());
+            return this;
+        }
+        PersistentHashMap<K, V> newMap = null;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            V newValue = mutateFunction.apply(entry.getKey(), valueMutatorFactory.apply(entry.getValue())).build();
+            if (newValue != entry.getValue()) {
+                newMap = (newMap == null ? persistentMap() : newMap).withPut(entry.getKey(), newValue);
+            }
+        }
+        if (newMap != null) {
+            map = newMap;
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> findFirstAndMutateValue(BiPredicate<K, V> predicate, Function<MV, MV> mutateFunction) {
+        checkLocked();
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            if (predicate.test(entry.getKey(), entry.getValue())) {
+                V currentValue = entry.getValue();
+                V newValue = mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build();
+                if (newValue != currentValue) {
+                    map = persistentMap().withPut(entry.getKey(), newValue);
+                }
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> findAllAndMutateValues(BiPredicate<K, V> predicate, Function<MV, MV> mutateFunction) {
+        return updateAll((key, value) ->
+                predicate.test(key, value) ? mutateFunction.apply(valueMutatorFactory.apply(value)).build() : value);
+    }
+
+    @Override
+    public NestedKeyValueMapMutator<K, V, MK, MV> put(Function<MK, MK> mutateKeyFunction, Function<MV, MV> mutateValueFunction) {
+        checkLocked();
+        K key = mutateKeyFunction.apply(keyMutatorFactory.apply(null)).build();
+        V value = mutateValueFunction.apply(valueMutatorFactory.apply(null)).build();
+        map = persistentMap().withPut(key, value);
+        return this;
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public PersistentMapMutatorImpl<K, V, MK, MV> parallel(ForkJoinPool pool) {
+        this.parallelPool = Objects.requireNonNull(pool);
+        return this;
+    }
+
+    @Override
+    public Map<K, V> build() {
+        locked = true;
+        return map;
+    }
+
+    @Override
+    public Map<K, V> buildCopy() {
+        // Persistent maps are immutable, so the current state can be shared without copying once converted
+        return PersistentHashMap.copyOf(map);
+    }
+
+    /**
+     * Computes the new value of every entry on the parallel pool, and then puts the changed values
+     * into the persistent map.
+     *
+     * @param mutateFunction the function returning the new value for a key and its current value
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceAllValues(BiFunction<K, V, V> mutateFunction) {
+        Object[] keys = new Object[map.size()];
+        Object[] values = new Object[map.size()];
+        int index = 0;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+            index++;
+        }
+        Object[] newValues = ParallelSupport.computeAll(parallelPool, keys.length,
+                i -> mutateFunction.apply((K) keys[i], (V) values[i]));
+        PersistentHashMap<K, V> newMap = null;
+        for (int i = 0; i < keys.length; i++) {
+            if (newValues[i] != values[i]) {
+                newMap = (newMap == null ? persistentMap() : newMap).withPut((K) keys[i], (V) newValues[i]);
+            }
+        }
+        if (newMap != null) {
+            map = newMap;
+        }
+    }
+
+    /**
+     * Checks whether the current map contains the key, treating maps that reject {@code null} keys
+     * (such as {@link Map#of()}) as not containing it.
+     *
+     * @param key the key to look for
+     * @return true if the map contains the key, false otherwise
+     */
+    private boolean mapContainsKey(K key) {
+        return CollectionSupport.containsKey(map, key);
+    }
+
+    /**
+     * Returns the current map as a persistent map, converting the source map on the first write.
+     *
+     * @return the persistent map holding the current entries
+     */
+    private PersistentHashMap<K, V> persistentMap() {
+        PersistentHashMap<K, V> persistentMap = PersistentHashMap.copyOf(map);
+        map = persistentMap;
+        return persistentMap;
+    }
+}
@@ -0,0 +1,395 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An implementation of {@link NestedSetMutator} backed by a persistent hash trie, used for set components
+ * with the {@link CollectionBackend#PERSISTENT} backend.
+ * <p>
+ * The source set is converted into a persistent set on the first write, unless it already is one
+ * (for example a set built by another persistent set mutator), in which case it is used directly.
+ * Every write then copies only the O(log32 n) nodes on the path to the changed element, so a few edits
+ * to a large set do not copy the whole set, and the built set shares its structure with the source.
+ * <p>
+ * The {@link #build()} method returns an immutable set of the modified records, or the source set itself
+ * if nothing was written.
+ *
+ * @param <T> the type of elements in the set
+ * @param <M> the type of {@link Mutator} used to mutate the elements of type {@code T}
+ */
+public class PersistentSetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator<T, M> {
+    private Set<T> set;
+    private final Function<T, M> elementMutatorFactory;
+    private ForkJoinPool parallelPool; // Pool for the bulk operations, null to run them sequentially
+    private boolean locked = false;
+
+    /**
+     * Constructs a new instance of PersistentSetMutatorImpl for the specified set and element mutator factory.
+     *
+     * @param set the initial set to be wrapped; if null, an empty set is created
+     * @param elementMutatorFactory a function that generates a mutator for each element in the set
+     */
+    public PersistentSetMutatorImpl(Set<T> set, Function<T, M> elementMutatorFactory) {
+        this.set = set == null ? PersistentHashSet.empty() : set;
+        this.elementMutatorFactory = elementMutatorFactory;
+    }
+
+    /**
+     * Creates a new persistent set mutator for the specified set, using the provided element mutator factory.
+     *
+     * @param <T> the type of elements stored in the set.
+     * @param <E> the type of {@link Mutator} used to mutate the elements of type {@code T}
+     * @param set the initial set to be wrapped; if null, an empty set is created
+     * @param elementMutatorFactory a function that generates a mutator for each element in the set,
+     *                              null if the element data type is simple
+     * @return a new set mutator instance that can be used to modify the set
+     */
+    public static <T, E extends Mutator<T>> NestedSetMutator<T, E> mutator(Set<T> set, Function<T, E> elementMutatorFactory) {
+        return new PersistentSetMutatorImpl<>(set, elementMutatorFactory);
+    }
+
+    @Override
+    public int size() {
+        return set.size();
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return setContains(element);
+    }
+
+    @Override
+    public NestedSetMutator<T, M> add(T record) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (!setContains(record)) {
+            set = persistentSet().withAdded(record);
+        }
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> remove(T record) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (setContains(record)) {
+            set = persistentSet().withRemoved(record);
+        }
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> filter(Predicate<T> filterFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        PersistentHashSet<T> newSet = null;
+        for (T item : set) {
+            if (!filterFunction.test(item)) {
+                newSet = (newSet == null ? persistentSet() : newSet).withRemoved(item);
+            }
+        }
+        if (newSet != null) {
+            set = newSet;
+        }
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> addAll(Collection<? extends T> items) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        PersistentHashSet<T> newSet = null;
+        for (T item : items) {
+            if (newSet != null || !setContains(item)) {
+                newSet = (newSet == null ? persistentSet() : newSet).withAdded(item);
+            }
+        }
+        if (newSet != null) {
+            set = newSet;
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NestedSetMutator<T, M> retainAll(Collection<?> items) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (CollectionSupport.iteratesSet(set, items)) {
+            return filter(items::contains);
+        }
+        // Few elements are retained, so a new set of them is built instead of removing all others
+        PersistentHashSet<T> retained = PersistentHashSet.empty();
+        for (Object item : items) {
+            if (setContains((T) item)) {
+                retained = retained.withAdded((T) item);
+            }
+        }
+        if (retained.size() < set.size()) {
+            set = retained;
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NestedSetMutator<T, M> removeAll(Collection<?> items) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (CollectionSupport.iteratesSet(set, items) && set.size() < items.size()) {
+            return filter(item -> !items.contains(item));
+        }
+        PersistentHashSet<T> newSet = null;
+        for (Object item : items) {
+            if (newSet != null ? newSet.contains(item) : setContains((T) item)) {
+                newSet = (newSet == null ? persistentSet() : newSet).withRemoved(item);
+            }
+        }
+        if (newSet != null) {
+            set = newSet;
+        }
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> symmetricDifference(Collection<? extends T> items) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (items.isEmpty()) {
+            return this;
+        }
+        PersistentHashSet<T> newSet = persistentSet();
+        for (T item : CollectionSupport.distinctElements(items)) {
+            newSet = newSet.contains(item) ? newSet.withRemoved(item) : newSet.withAdded(item);
+        }
+        set = newSet;
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean intersects(Collection<?> items) {
+        if (CollectionSupport.iteratesSet(set, items)) {
+            for (T element : set) {
+                if (items.contains(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Object item : items) {
+            if (setContains((T) item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> update(T record, SimpleFunction<T> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (setContains(record)) {
+            T newRecord = mutateFunction.apply(record);
+            if (newRecord != record) {
+                set = persistentSet().withRemoved(record).withAdded(newRecord);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> updateAll(SimpleFunction<T> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (ParallelSupport.useParallel(parallelPool, set.size())) {
+            replaceAllElements(mutateFunction::apply);
+            return this;
+        }
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
+        for (T item : set) {
+            T newItem = mutateFunction.apply(item);
+            if (newItem != item) {
+                oldItems.add(item);
+                newItems.add(newItem);
+            }
+        }
+        replaceAll(oldItems, newItems);
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> add(Function<M, M> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        set = persistentSet().withAdded(mutateFunction.apply(elementMutatorFactory.apply(null)).build());
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> mutate(T item, Function<M, M> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (setContains(item)) {
+            T newItem = mutateFunction.apply(elementMutatorFactory.apply(item)).build();
+            if (newItem != item) {
+                set = persistentSet().withRemoved(item).withAdded(newItem);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> mutateAll(Function<M, M> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (ParallelSupport.useParallel(parallelPool, set.size())) {
+            replaceAllElements(item -> mutateFunction.apply(elementMutatorFactory.apply(item)).build());
+            return this;
+        }
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
+        for (T item : set) {
+            T newItem = mutateFunction.apply(elementMutatorFactory.apply(item)).build();
+            if (newItem != item) {
+                oldItems.add(item);
+                newItems.add(newItem);
+            }
+        }
+        replaceAll(oldItems, newItems);
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> findFirstAndMutate(Predicate<T> predicate, Function<M, M> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        for (T item : set) {
+            if (predicate.test(item)) {
+                T newItem = mutateFunction.apply(elementMutatorFactory.apply(item)).build();
+                if (newItem != item) {
+                    set = persistentSet().withRemoved(item).withAdded(newItem);
+                }
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> findAllAndMutate(Predicate<T> predicate, Function<M, M> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        if (ParallelSupport.useParallel(parallelPool, set.size())) {
+            replaceAllElements(item -> predicate.test(item) ? mutateFunction.apply(elementMutatorFactory.apply(item)).build() : item);
+            return this;
+        }
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
+        for (T item : set) {
+            if (predicate.test(item)) {
+                T newItem = mutateFunction.apply(elementMutatorFactory.apply(item)).build();
+                if (newItem != item) {
+                    oldItems.add(item);
+                    newItems.add(newItem);
+                }
+            }
+        }
+        replaceAll(oldItems, newItems);
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public NestedSetMutator<T, M> parallel(ForkJoinPool pool) {
+        this.parallelPool = Objects.requireNonNull(pool);
+        return this;
+    }
+
+    @Override
+    public Set<T> build() {
+        this.locked = true;
+        return set;
+    }
+
+    @Override
+    public Set<T> buildCopy() {
+        // Persistent sets are immutable, so the current state can be shared without copying once converted
+        return PersistentHashSet.copyOf(set);
+    }
+
+    /**
+     * Computes the new value of every element on the parallel pool, and then replaces the changed elements.
+     *
+     * @param mutateFunction the function returning the new value of an element
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceAllElements(Function<T, T> mutateFunction) {
+        Object[] items = set.toArray();
+        Object[] computed = ParallelSupport.computeAll(parallelPool, items.length, index -> mutateFunction.apply((T) items[index]));
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
+        for (int index = 0; index < items.length; index++) {
+            if (computed[index] != items[index]) {
+                oldItems.add((T) items[index]);
+                newItems.add((T) computed[index]);
+            }
+        }
+        replaceAll(oldItems, newItems);
+    }
+
+    /**
+     * Removes the old items and then adds the new items, so that a new item equal to an old item
+     * of a later element is not removed again.
+     */
+    private void replaceAll(List<T> oldItems, List<T> newItems) {
+        if (oldItems.isEmpty()) {
+            return;
+        }
+        PersistentHashSet<T> newSet = persistentSet();
+        for (T oldItem : oldItems) {
+            newSet = newSet.withRemoved(oldItem);
+        }
+        for (T newItem : newItems) {
+            newSet = newSet.withAdded(newItem);
+        }
+        set = newSet;
+    }
+
+    private boolean setContains(T element) {
+        return CollectionSupport.contains(set, element);
+    }
+
+    /**
+     * Returns the current set as a persistent set, converting the source set on the first write.
+     *
+     * @return the persistent set holding the current elements
+     */
+    private PersistentHashSet<T> persistentSet() {
+        PersistentHashSet<T> persistentSet = PersistentHashSet.copyOf(set);
+        set = persistentSet;
+        return persistentSet;
+    }
+}
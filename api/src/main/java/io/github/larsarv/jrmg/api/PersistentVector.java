@@ -0,0 +1,488 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable, persistent list based on a relaxed radix balanced (RRB) tree.
+ * <p>
+ * Elements are stored in leaves of up to 32 elements and branch nodes hold up to 32 children together with a
+ * table of cumulative child sizes. Lookups use the radix position of an index as a first guess and correct it
+ * with the size table, so a vector built by appending is addressed like a plain radix tree, while inserts and
+ * removes in the middle only relax the nodes on their path.
+ * <p>
+ * All modifying operations return a new vector that shares every untouched node with this one, so replacing,
+ * appending, inserting or removing an element copies O(log32 n) nodes instead of the whole list.
+ * The list itself is unmodifiable; the {@link java.util.List} mutation methods throw
+ * {@link UnsupportedOperationException}. It is serialized as an unmodifiable {@link java.util.ArrayList} with the
+ * same elements, without the tree structure.
+ *
+ * @param <T> the type of elements in the list
+ */
+final class PersistentVector<T> extends AbstractList<T> implements RandomAccess, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MERGE_THRESHOLD = WIDTH / 2;
+    private static final Object[] EMPTY_LEAF = new Object[0];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(EMPTY_LEAF, 0, 0);
+
+    private final Object root; // Object[] leaf if height is 0, otherwise a Branch
+    private final int height;
+    private final int size;
+    private int hashCode; // Computed on first use, 0 until then
+
+    /**
+     * Branch node holding up to {@link #WIDTH} children of the same height.
+     */
+    private static final class Branch {
+        final Object[] children;
+        final int[] sizes; // Cumulative number of elements up to and including each child
+
+        Branch(Object[] children, int[] sizes) {
+            this.children = children;
+            this.sizes = sizes;
+        }
+    }
+
+    /**
+     * Result of an insert that overflowed a node into two nodes of the same height.
+     */
+    private static final class Split {
+        final Object left;
+        final Object right;
+
+        Split(Object left, Object right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private PersistentVector(Object root, int height, int size) {
+        this.root = root;
+        this.height = height;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty vector.
+     *
+     * @param <T> the type of elements in the list
+     * @return the shared empty vector
+     */
+    @SuppressWarnings("unchecked")
+    static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    /**
+     * Returns a vector containing the elements of the given collection in iteration order.
+     * If the collection already is a persistent vector it is returned as is.
+     *
+     * @param collection the collection to copy; may be {@code null}, which gives an empty vector
+     * @param <T> the type of elements in the list
+     * @return a vector with the elements of the collection
+     */
+    @SuppressWarnings("unchecked")
+    static <T> PersistentVector<T> copyOf(Collection<? extends T> collection) {
+        if (collection instanceof PersistentVector) {
+            return (PersistentVector<T>) collection;
+        }
+        if (collection == null || collection.isEmpty()) {
+            return empty();
+        }
+        return fromArray(collection.toArray());
+    }
+
+    /**
+     * Returns a vector containing the given elements. The array is not retained.
+     *
+     * @param elements the elements of the new vector
+     * @param <T> the type of elements in the list
+     * @return a vector with the given elements
+     */
+    static <T> PersistentVector<T> fromArray(Object[] elements) {
+        return fromArray(elements, elements.length);
+    }
+
+    /**
+     * Returns a vector containing the first {@code length} elements of the given array. The array is not retained.
+     *
+     * @param elements the array holding the elements of the new vector
+     * @param length the number of elements to use
+     * @param <T> the type of elements in the list
+     * @return a vector with the given elements
+     */
+    static <T> PersistentVector<T> fromArray(Object[] elements, int length) {
+        if (length == 0) {
+            return empty();
+        }
+        // Pack the elements into full leaves and then build each branch level bottom up
+        Object[] level = new Object[(length + WIDTH - 1) / WIDTH];
+        for (int index = 0; index < level.length; index++) {
+            int from = index * WIDTH;
+            level[index] = Arrays.copyOfRange(elements, from, Math.min(from + WIDTH, length));
+        }
+        int height = 0;
+        while (level.length > 1) {
+            Object[] parentLevel = new Object[(level.length + WIDTH - 1) / WIDTH];
+            for (int index = 0; index < parentLevel.length; index++) {
+                int from = index * WIDTH;
+                parentLevel[index] = branch(Arrays.copyOfRange(level, from, Math.min(from + WIDTH, level.length)), height);
+            }
+            level = parentLevel;
+            height++;
+        }
+        return new PersistentVector<>(level[0], height, length);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the hash code of the list, which is computed once and then cached, as the list never changes.
+     */
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = super.hashCode();
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (o instanceof PersistentVector) {
+            PersistentVector<?> other = (PersistentVector<?>) o;
+            if (other.size() != size() || hashCode != 0 && other.hashCode != 0 && hashCode != other.hashCode) {
+                return false;
+            }
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        Object node = root;
+        for (int level = height; level > 0; level--) {
+            Branch branch = (Branch) node;
+            int slot = slot(branch, index, level);
+            if (slot > 0) {
+                index -= branch.sizes[slot - 1];
+            }
+            node = branch.children[slot];
+        }
+        return (T) ((Object[]) node)[index];
+    }
+
+    /**
+     * Returns a vector with the element at the given index replaced.
+     *
+     * @param index the index of the element to replace
+     * @param element the new element
+     * @return the new vector, or this vector if the element already is at the index
+     */
+    PersistentVector<T> withElement(int index, T element) {
+        if (get(index) == element) {
+            return this;
+        }
+        return new PersistentVector<>(set(root, height, index, element), height, size);
+    }
+
+    /**
+     * Returns a vector with the given element appended.
+     *
+     * @param element the element to append
+     * @return the new vector
+     */
+    PersistentVector<T> withAppended(T element) {
+        return withInserted(size, element);
+    }
+
+    /**
+     * Returns a vector with the given element inserted at the given index.
+     * Elements at and after the index are shifted one position to the right.
+     *
+     * @param index the index to insert the element at, between 0 and {@link #size()} inclusive
+     * @param element the element to insert
+     * @return the new vector
+     */
+    PersistentVector<T> withInserted(int index, T element) {
+        Objects.checkIndex(index, size + 1);
+        Object result = insert(root, height, index, element);
+        if (result instanceof Split) {
+            Split split = (Split) result;
+            return new PersistentVector<>(branch(new Object[] {split.left, split.right}, height), height + 1, size + 1);
+        }
+        return new PersistentVector<>(result, height, size + 1);
+    }
+
+    /**
+     * Returns a vector with the element at the given index removed.
+     * Elements after the index are shifted one position to the left.
+     *
+     * @param index the index of the element to remove
+     * @return the new vector
+     */
+    PersistentVector<T> withRemoved(int index) {
+        Objects.checkIndex(index, size);
+        if (size == 1) {
+            return empty();
+        }
+        Object newRoot = remove(root, height, index);
+        int newHeight = height;
+        // Collapse branches that are left with a single child
+        while (newHeight > 0 && ((Branch) newRoot).children.length == 1) {
+            newRoot = ((Branch) newRoot).children[0];
+            newHeight--;
+        }
+        return new PersistentVector<>(newRoot, newHeight, size - 1);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+            private int leafStart = 0;
+            private Object[] leaf = EMPTY_LEAF;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if (index - leafStart >= leaf.length) {
+                    // Descend to the leaf holding the next element
+                    int localIndex = index;
+                    Object node = root;
+                    for (int level = height; level > 0; level--) {
+                        Branch branch = (Branch) node;
+                        int slot = slot(branch, localIndex, level);
+                        if (slot > 0) {
+                            localIndex -= branch.sizes[slot - 1];
+                        }
+                        node = branch.children[slot];
+                    }
+                    leaf = (Object[]) node;
+                    leafStart = index - localIndex;
+                }
+                return (T) leaf[index++ - leafStart];
+            }
+        };
+    }
+
+    /**
+     * Replaces the list by its serialized form, see {@link CollectionSupport#serializedForm(java.util.List)}.
+     *
+     * @return the serialized form of the list
+     */
+    @Serial
+    private Object writeReplace() {
+        return CollectionSupport.serializedForm(this);
+    }
+
+    private static Branch branch(Object[] children, int childHeight) {
+        int[] sizes = new int[children.length];
+        int total = 0;
+        for (int index = 0; index < children.length; index++) {
+            total += sizeOf(children[index], childHeight);
+            sizes[index] = total;
+        }
+        return new Branch(children, sizes);
+    }
+
+    private static int sizeOf(Object node, int height) {
+        if (height == 0) {
+            return ((Object[]) node).length;
+        }
+        int[] sizes = ((Branch) node).sizes;
+        return sizes[sizes.length - 1];
+    }
+
+    private static int childCount(Object node, int height) {
+        return height == 0 ? ((Object[]) node).length : ((Branch) node).children.length;
+    }
+
+    /**
+     * Finds the child of a branch that holds the given index.
+     * Every child holds at most {@code 32^level} elements, so the radix position is a lower bound for the slot.
+     */
+    private static int slot(Branch branch, int index, int level) {
+        int slot = index >>> (BITS * level);
+        while (branch.sizes[slot] <= index) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private static Object set(Object node, int height, int index, Object element) {
+        if (height == 0) {
+            Object[] leaf = ((Object[]) node).clone();
+            leaf[index] = element;
+            return leaf;
+        }
+        Branch branch = (Branch) node;
+        int slot = slot(branch, index, height);
+        int childIndex = slot == 0 ? index : index - branch.sizes[slot - 1];
+        Object[] children = branch.children.clone();
+        children[slot] = set(children[slot], height - 1, childIndex, element);
+        return new Branch(children, branch.sizes);
+    }
+
+    private static Object insert(Object node, int height, int index, Object element) {
+        if (height == 0) {
+            Object[] leaf = (Object[]) node;
+            if (leaf.length < WIDTH) {
+                Object[] newLeaf = new Object[leaf.length + 1];
+                System.arraycopy(leaf, 0, newLeaf, 0, index);
+                newLeaf[index] = element;
+                System.arraycopy(leaf, index, newLeaf, index + 1, leaf.length - index);
+                return newLeaf;
+            }
+            // Full leaf, keep appended and prepended elements in a leaf of their own to stay dense
+            if (index == WIDTH) {
+                return new Split(leaf, new Object[] {element});
+            } else if (index == 0) {
+                return new Split(new Object[] {element}, leaf);
+            }
+            Object[] elements = new Object[WIDTH + 1];
+            System.arraycopy(leaf, 0, elements, 0, index);
+            elements[index] = element;
+            System.arraycopy(leaf, index, elements, index + 1, WIDTH - index);
+            return split(elements, (WIDTH + 2) / 2, 0);
+        }
+
+        Branch branch = (Branch) node;
+        int last = branch.children.length - 1;
+        int slot = index >= branch.sizes[last] ? last : slot(branch, index, height);
+        int childIndex = slot == 0 ? index : index - branch.sizes[slot - 1];
+        Object result = insert(branch.children[slot], height - 1, childIndex, element);
+
+        if (!(result instanceof Split)) {
+            Object[] children = branch.children.clone();
+            children[slot] = result;
+            int[] sizes = branch.sizes.clone();
+            for (int sizeIndex = slot; sizeIndex < sizes.length; sizeIndex++) {
+                sizes[sizeIndex]++;
+            }
+            return new Branch(children, sizes);
+        }
+
+        Split split = (Split) result;
+        Object[] children = new Object[branch.children.length + 1];
+        System.arraycopy(branch.children, 0, children, 0, slot);
+        children[slot] = split.left;
+        children[slot + 1] = split.right;
+        System.arraycopy(branch.children, slot + 1, children, slot + 2, branch.children.length - slot - 1);
+        if (children.length <= WIDTH) {
+            return branch(children, height - 1);
+        }
+        // Overflowing branch, split it the same way as a leaf
+        if (slot + 1 == WIDTH) {
+            return split(children, WIDTH, height);
+        } else if (slot == 0 && childCount(split.left, height - 1) == 1) {
+            return split(children, 1, height);
+        }
+        return split(children, (WIDTH + 2) / 2, height);
+    }
+
+    private static Split split(Object[] items, int leftCount, int height) {
+        Object[] left = Arrays.copyOfRange(items, 0, leftCount);
+        Object[] right = Arrays.copyOfRange(items, leftCount, items.length);
+        if (height == 0) {
+            return new Split(left, right);
+        }
+        return new Split(branch(left, height - 1), branch(right, height - 1));
+    }
+
+    private static Object remove(Object node, int height, int index) {
+        if (height == 0) {
+            Object[] leaf = (Object[]) node;
+            if (leaf.length == 1) {
+                return null;
+            }
+            Object[] newLeaf = new Object[leaf.length - 1];
+            System.arraycopy(leaf, 0, newLeaf, 0, index);
+            System.arraycopy(leaf, index + 1, newLeaf, index, leaf.length - index - 1);
+            return newLeaf;
+        }
+
+        Branch branch = (Branch) node;
+        int slot = slot(branch, index, height);
+        int childIndex = slot == 0 ? index : index - branch.sizes[slot - 1];
+        Object child = remove(branch.children[slot], height - 1, childIndex);
+
+        if (child == null) {
+            if (branch.children.length == 1) {
+                return null;
+            }
+            Object[] children = new Object[branch.children.length - 1];
+            System.arraycopy(branch.children, 0, children, 0, slot);
+            System.arraycopy(branch.children, slot + 1, children, slot, children.length - slot);
+            return branch(children, height - 1);
+        }
+
+        Object[] children = branch.children.clone();
+        children[slot] = child;
+        int childCount = childCount(child, height - 1);
+        if (childCount < MERGE_THRESHOLD) {
+            // Merge an underfull child into a neighbour so that the tree does not degrade into tiny nodes
+            if (slot + 1 < children.length && childCount + childCount(children[slot + 1], height - 1) <= WIDTH) {
+                return branch(merge(children, slot, height - 1), height - 1);
+            } else if (slot > 0 && childCount + childCount(children[slot - 1], height - 1) <= WIDTH) {
+                return branch(merge(children, slot - 1, height - 1), height - 1);
+            }
+        }
+        int[] sizes = branch.sizes.clone();
+        for (int sizeIndex = slot; sizeIndex < sizes.length; sizeIndex++) {
+            sizes[sizeIndex]--;
+        }
+        return new Branch(children, sizes);
+    }
+
+    /**
+     * Returns a copy of the children array with the nodes at {@code slot} and {@code slot + 1} merged into one.
+     */
+    private static Object[] merge(Object[] children, int slot, int childHeight) {
+        Object[] merged = new Object[children.length - 1];
+        System.arraycopy(children, 0, merged, 0, slot);
+        System.arraycopy(children, slot + 2, merged, slot + 1, children.length - slot - 2);
+        if (childHeight == 0) {
+            Object[] left = (Object[]) children[slot];
+            Object[] right = (Object[]) children[slot + 1];
+            Object[] leaf = Arrays.copyOf(left, left.length + right.length);
+            System.arraycopy(right, 0, leaf, left.length, right.length);
+            merged[slot] = leaf;
+        } else {
+            Object[] left = ((Branch) children[slot]).children;
+            Object[] right = ((Branch) children[slot + 1]).children;
+            Object[] grandChildren = Arrays.copyOf(left, left.length + right.length);
+            System.arraycopy(right, 0, grandChildren, left.length, right.length);
+            merged[slot] = branch(grandChildren, childHeight - 1);
+        }
+        return merged;
+    }
+}
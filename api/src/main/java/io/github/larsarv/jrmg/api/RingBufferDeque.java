@@ -0,0 +1,252 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable deque backed by a circular array, built by {@link DequeMutatorImpl}.
+ * <p>
+ * The elements start at index {@code head} of the array and wrap around at its end. The array is owned by this deque
+ * and is never modified after the deque is created. The mutation methods of {@link Deque} throw
+ * {@link UnsupportedOperationException}.
+ * <p>
+ * As the JDK has no unmodifiable deque to serialize the deque as, the deque is serialized itself, with its elements
+ * copied into an array of the size of the deque starting at index 0, so it stays immutable when deserialized.
+ *
+ * @param <T> the type of elements in the deque
+ */
+final class RingBufferDeque<T> extends AbstractCollection<T> implements Deque<T>, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] elements;
+    private final int head;
+    private final int size;
+
+    /**
+     * Creates a deque of the {@code size} elements of the given array starting at {@code head}. The array is
+     * not copied.
+     *
+     * @param elements the circular array holding the elements
+     * @param head the index of the first element
+     * @param size the number of elements in the deque
+     */
+    RingBufferDeque(Object[] elements, int head, int size) {
+        this.elements = elements;
+        this.head = head;
+        this.size = size;
+    }
+
+    /**
+     * Returns a copy of the elements of this deque, from first to last, in a new array of the given length.
+     *
+     * @param length the length of the new array, at least the size of this deque
+     * @return the new array
+     */
+    Object[] copyElements(int length) {
+        Object[] copy = new Object[length];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, copy, 0, firstPart);
+        System.arraycopy(elements, 0, copy, firstPart, size - firstPart);
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(int offset) {
+        int index = head + offset;
+        return (T) elements[index < elements.length ? index : index - elements.length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T peekFirst() {
+        return size == 0 ? null : element(0);
+    }
+
+    @Override
+    public T peekLast() {
+        return size == 0 ? null : element(size - 1);
+    }
+
+    @Override
+    public T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return element(0);
+    }
+
+    @Override
+    public T getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return element(size - 1);
+    }
+
+    @Override
+    public T peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public T element() {
+        return getFirst();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int offset = 0;
+
+            @Override
+            public boolean hasNext() {
+                return offset < size;
+            }
+
+            @Override
+            public T next() {
+                if (offset >= size) {
+                    throw new NoSuchElementException();
+                }
+                return element(offset++);
+            }
+        };
+    }
+
+    @Override
+    public Iterator<T> descendingIterator() {
+        return new Iterator<>() {
+            private int offset = size - 1;
+
+            @Override
+            public boolean hasNext() {
+                return offset >= 0;
+            }
+
+            @Override
+            public T next() {
+                if (offset < 0) {
+                    throw new NoSuchElementException();
+                }
+                return element(offset--);
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return copyElements(size);
+    }
+
+    @Override
+    public void addFirst(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addLast(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean offerFirst(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean offerLast(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public T removeFirst() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public T removeLast() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public T pollFirst() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public T pollLast() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean offer(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public T remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public T poll() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void push(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public T pop() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Replaces the deque by a copy whose array holds exactly its elements, unless the array of this deque does.
+     *
+     * @return the deque to serialize
+     */
+    @Serial
+    private Object writeReplace() {
+        return head == 0 && size == elements.length ? this : new RingBufferDeque<>(copyElements(size), 0, size);
+    }
+
+    /**
+     * Reads the deque, checking that its array holds exactly its elements, as written by {@link #writeReplace()}.
+     *
+     * @param input the stream to read from
+     * @throws IOException if the stream cannot be read or holds an invalid deque
+     * @throws ClassNotFoundException if the class of an element cannot be found
+     */
+    @Serial
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        if (elements == null || head != 0 || size != elements.length) {
+            throw new InvalidObjectException("Deque elements do not match its size");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.larsarv.jrmg.api;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -10,11 +11,24 @@ import java.util.function.Predicate;
  * This implementation maintains a mutable set internally and provides methods to
  * modify its contents. It allows for adding, removing, filtering, and updating elements of the set.
  * <p>
- * This implementation maintains a mutable set internally and provides methods to
- * modify its contents.
+ * The constructor accepts a set, which is copied to the internal mutable set on the first write
+ * (copy-on-write). If nothing was written, {@link #build()} returns the provided set itself.
+ * The bulk operations only copy the set once an element actually changes, and replace the changed elements in
+ * place afterwards.
+ * If the provided set is null, an empty set is created.
+ * <p>
+ * Copies keep the kind of the source set: an {@link EnumSet} stays an {@code EnumSet}, sorted sets keep
+ * their comparator and a {@link LinkedHashSet} keeps its iteration order. Other sets are copied into a
+ * {@link CachedHashSet}, which stores the hash of each element next to it and compares elements by identity before
+ * calling {@code equals}, so an element such as a record with large nested collections is hashed once when it
+ * enters the set instead of on every lookup. The built set of a hash set is a compact {@link CompactHashSet}
+ * without entry objects, which takes over the stored hashes.
  * <p>
- * The constructor accepts a set, which is copied to the internal mutable set. If the provided set is null,
- * an empty set is created.
+ * A mutator of a new set of non-enum elements, or of an empty hash set, starts in append mode: added elements are
+ * stored in a flat array without being hashed, and {@link #build()} hashes them once into a table sized for all of
+ * them, dropping the duplicates. The first operation other than an add, such as {@link #contains(Object)},
+ * {@link #remove(Object)} or {@link #size()}, moves the elements into a hash set presized for them, and the
+ * mutator continues as a hash set mutator.
  * <p>
  * This class is designed for use in fluent APIs where operations are chained together before finalizing
  * the result with {@link #build()}.
@@ -23,8 +37,16 @@ import java.util.function.Predicate;
  * @param <M> the type of {@link Mutator} used to mutate the elements of type {@code T}
  */
 public class SetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator<T, M> {
+    private static final Object[] EMPTY_ELEMENTS = {};
+    private static final int MIN_APPEND_CAPACITY = 16;
+
     private Set<T> set;
+    private boolean copied; // True when set is a private copy owned by this mutator
+    private final Class<T> enumElementType; // Enum class of the elements if copies should be EnumSets, otherwise null
     private final Function<T, M> elementMutatorFactory;
+    private ForkJoinPool parallelPool; // Pool for the bulk operations, null to run them sequentially
+    private Object[] appended; // Elements added in append mode, not hashed yet; null when not in append mode
+    private int appendedCount;
     private boolean locked = false;
 
     /**
@@ -34,8 +56,29 @@ public class SetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator
      * @param elementMutatorFactory a function that generates a mutator for each element in the set
      */
     public SetMutatorImpl(Set<T> set, Function<T, M> elementMutatorFactory) {
-        this.set = set == null ? new HashSet<>() : new HashSet<>(set);
+        this(set, null, elementMutatorFactory);
+    }
+
+    /**
+     * Constructs a new instance of SetMutatorImpl for a set of enum elements, which is copied into an
+     * {@link EnumSet} instead of a hash set.
+     *
+     * @param set the set to be copied into the internal mutable set; may be {@code null}
+     * @param enumElementType the enum class of the elements; if null, the set is treated as a set of non-enum elements
+     * @param elementMutatorFactory a function that generates a mutator for each element in the set
+     */
+    public SetMutatorImpl(Set<T> set, Class<T> enumElementType, Function<T, M> elementMutatorFactory) {
+        this.enumElementType = enumElementType;
+        if (set != null) {
+            this.set = set;
+        } else {
+            this.set = enumElementType != null ? CollectionSupport.newEnumSet(enumElementType) : new CachedHashSet<>(0);
+        }
+        this.copied = set == null;
         this.elementMutatorFactory = elementMutatorFactory;
+        if (enumElementType == null && (set == null || set.isEmpty() && isPlainHashSet(set))) {
+            this.appended = EMPTY_ELEMENTS;
+        }
     }
 
     /**
@@ -54,14 +97,39 @@ public class SetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator
         return new SetMutatorImpl<>(set, elementMutatorFactory);
     }
 
+    /**
+     * Creates a new set mutator for a set of enum elements.
+     * <p>
+     * The set is copied into an {@link EnumSet} on the first write, so lookups and updates test a bit
+     * instead of hashing. Sorted and linked source sets keep their kind. As with any {@code EnumSet},
+     * {@code null} elements are not supported.
+     *
+     * @param <T> the type of elements stored in the set.
+     * @param <E> the type of {@link Mutator} used to mutate the elements of type {@code T}
+     * @param set the initial set to be wrapped; if null, an empty {@code EnumSet} is created
+     * @param enumElementType the enum class of the elements
+     * @param elementMutatorFactory a function that generates a mutator for each element in the set,
+     *                              null if the element data type is simple
+     * @return a new set mutator instance that can be used to modify the set
+     */
+    public static <T extends Enum<T>, E extends Mutator<T>> NestedSetMutator<T, E> mutator(
+            Set<T> set,
+            Class<T> enumElementType,
+            Function<T, E> elementMutatorFactory
+    ) {
+        return new SetMutatorImpl<>(set, enumElementType, elementMutatorFactory);
+    }
+
     @Override
     public int size() {
+        hashAppended();
         return set.size();
     }
 
     @Override
     public boolean contains(T element) {
-        return set.contains(element);
+        hashAppended();
+        return setContains(element);
     }
 
     @Override
@@ -69,7 +137,11 @@ public class SetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator
         if (locked) {
             throw new IllegalStateException("Set is locked and cannot be modified.");
         }
-        set.add(record);
+        if (appended != null) {
+            append(record);
+        } else if (copied || !setContains(record)) {
+            mutableSet().add(record);
+        }
         return this;
     }
 
@@ -78,7 +150,10 @@ public class SetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator
         if (locked) {
             throw new IllegalStateException("Set is locked and cannot be modified.");
         }
-        set.remove(record);
+        hashAppended();
+        if (copied || setContains(record)) {
+            mutableSet().remove(record);
+        }
         return this;
     }
 
@@ -87,33 +162,187 @@ public class SetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator
         if (locked) {
             throw new IllegalStateException("Set is locked and cannot be modified.");
         }
-        set.removeIf(t -> !filterFunction.test(t));
+        hashAppended();
+        if (copied) {
+            set.removeIf(t -> !filterFunction.test(t));
+        } else {
+            // Only copy the source set once an element is actually rejected
+            Iterator<T> iterator = set.iterator();
+            int keptCount = 0;
+            while (iterator.hasNext()) {
+                if (!filterFunction.test(iterator.next())) {
+                    Set<T> newSet = CollectionSupport.emptyLike(set, enumElementType, set.size());
+                    Iterator<T> keptIterator = set.iterator();
+                    for (int index = 0; index < keptCount; index++) {
+                        newSet.add(keptIterator.next());
+                    }
+                    while (iterator.hasNext()) {
+                        T item = iterator.next();
+                        if (filterFunction.test(item)) {
+                            newSet.add(item);
+                        }
+                    }
+                    set = newSet;
+                    copied = true;
+                    break;
+                }
+                keptCount++;
+            }
+        }
         return this;
     }
 
     @Override
-    public NestedSetMutator<T, M> update(T record, SimpleFunction<T> mutateFunction) {
+    public NestedSetMutator<T, M> addAll(Collection<? extends T> items) {
         if (locked) {
             throw new IllegalStateException("Set is locked and cannot be modified.");
         }
-        if (set.contains(record)) {
-            set.remove(record);
-            set.add(mutateFunction.apply(record));
+        if (appended != null) {
+            if (appendedCount + items.size() > appended.length) {
+                appended = Arrays.copyOf(appended, Math.max(MIN_APPEND_CAPACITY,
+                        Math.max(appendedCount + items.size(), appendedCount + (appendedCount >> 1))));
+            }
+            for (T item : items) {
+                appended[appendedCount++] = item;
+            }
+            return this;
+        }
+        Set<T> target = copied ? set : null;
+        int remaining = items.size();
+        for (T item : items) {
+            if (target == null) {
+                if (setContains(item)) {
+                    remaining--;
+                    continue;
+                }
+                target = mutableSet();
+            }
+            if (remaining > 0) {
+                ensureCapacity(target, target.size() + remaining);
+                remaining = 0;
+            }
+            target.add(item);
         }
         return this;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public NestedSetMutator<T, M> retainAll(Collection<?> items) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        hashAppended();
+        if (set.isEmpty()) {
+            return this;
+        } else if (CollectionSupport.iteratesSet(set, items) || set instanceof LinkedHashSet) {
+            // A linked set is filtered in place to keep its iteration order
+            Collection<?> lookup = items instanceof Set ? items : CachedHashSet.copyOf(items);
+            return filter(lookup::contains);
+        }
+        Set<T> retained = CollectionSupport.emptyLike(set, enumElementType, Math.min(set.size(), items.size()));
+        for (Object item : items) {
+            if (setContains((T) item)) {
+                retained.add((T) item);
+            }
+        }
+        if (retained.size() < set.size()) {
+            set = retained;
+            copied = true;
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public NestedSetMutator<T, M> removeAll(Collection<?> items) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        hashAppended();
+        if (set.isEmpty()) {
+            return this;
+        } else if (CollectionSupport.iteratesSet(set, items) && set.size() < items.size()) {
+            return filter(item -> !items.contains(item));
+        }
+        for (Object item : items) {
+            if (copied || setContains((T) item)) {
+                mutableSet().remove(item);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> symmetricDifference(Collection<? extends T> items) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        hashAppended();
+        if (items.isEmpty()) {
+            return this;
+        }
+        Collection<? extends T> distinctItems = CollectionSupport.distinctElements(items);
+        Set<T> target = mutableSet();
+        ensureCapacity(target, target.size() + distinctItems.size());
+        for (T item : distinctItems) {
+            if (!target.remove(item)) {
+                target.add(item);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean intersects(Collection<?> items) {
+        hashAppended();
+        if (CollectionSupport.iteratesSet(set, items)) {
+            for (T element : set) {
+                if (items.contains(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Object item : items) {
+            if (setContains((T) item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> update(T record, SimpleFunction<T> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        hashAppended();
+        replaceIfPresent(record, mutateFunction);
+        return this;
+    }
+
     @Override
     public NestedSetMutator<T, M> updateAll(SimpleFunction<T> mutateFunction) {
         if (locked) {
             throw new IllegalStateException("Set is locked and cannot be modified.");
         }
-        Set<T> newSet = new HashSet<>();
+        hashAppended();
+        if (ParallelSupport.useParallel(parallelPool, set.size())) {
+            replaceAllElements(mutateFunction::apply);
+            return this;
+        }
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
         for (T item : set) {
             T newItem = mutateFunction.apply(item);
-            newSet.add(newItem);
+            if (newItem != item) {
+                oldItems.add(item);
+                newItems.add(newItem);
+            }
         }
-        set = newSet;
+        replaceAll(oldItems, newItems);
         return this;
     }
 
@@ -122,7 +351,12 @@ public class SetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator
         if (locked) {
             throw new IllegalStateException("Set is locked and cannot be modified.");
         }
-        set.add(mutateFunction.apply(elementMutatorFactory.apply(null)).build());
+        T record = mutateFunction.apply(elementMutatorFactory.apply(null)).build();
+        if (appended != null) {
+            append(record);
+        } else {
+            mutableSet().add(record);
+        }
         return this;
     }
 
@@ -131,10 +365,8 @@ public class SetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator
         if (locked) {
             throw new IllegalStateException("Set is locked and cannot be modified.");
         }
-        if (set.contains(item)) {
-            set.remove(item);
-            set.add(mutateFunction.apply(elementMutatorFactory.apply(item)).build());
-        }
+        hashAppended();
+        replaceIfPresent(item, element -> mutateFunction.apply(elementMutatorFactory.apply(element)).build());
         return this;
     }
 
@@ -143,23 +375,259 @@ public class SetMutatorImpl<T, M extends Mutator<T>> implements NestedSetMutator
         if (locked) {
             throw new IllegalStateException("Set is locked and cannot be modified.");
         }
-        Set<T> newSet = new HashSet<>();
+        hashAppended();
+        if (ParallelSupport.useParallel(parallelPool, set.size())) {
+            replaceAllElements(item -> mutateFunction.apply(elementMutatorFactory.apply(item)).build());
+            return this;
+        }
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
+        for (T item : set) {
+            T newItem = mutateFunction.apply(elementMutatorFactory.apply(item)).build();
+            if (newItem != item) {
+                oldItems.add(item);
+                newItems.add(newItem);
+            }
+        }
+        replaceAll(oldItems, newItems);
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> findFirstAndMutate(Predicate<T> predicate, Function<M, M> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        hashAppended();
+        for (T item : set) {
+            if (predicate.test(item)) {
+                T newItem = mutateFunction.apply(elementMutatorFactory.apply(item)).build();
+                if (newItem != item) {
+                    Set<T> target = mutableSet();
+                    target.remove(item);
+                    target.add(newItem);
+                }
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public NestedSetMutator<T, M> findAllAndMutate(Predicate<T> predicate, Function<M, M> mutateFunction) {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+        hashAppended();
+        if (ParallelSupport.useParallel(parallelPool, set.size())) {
+            replaceAllElements(item -> predicate.test(item) ? mutateFunction.apply(elementMutatorFactory.apply(item)).build() : item);
+            return this;
+        }
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
         for (T item : set) {
-            T newValue = mutateFunction.apply(elementMutatorFactory.apply(item)).build();
-            newSet.add(newValue);
+            if (predicate.test(item)) {
+                T newItem = mutateFunction.apply(elementMutatorFactory.apply(item)).build();
+                if (newItem != item) {
+                    oldItems.add(item);
+                    newItems.add(newItem);
+                }
+            }
         }
-        set = newSet;
+        replaceAll(oldItems, newItems);
         return this;
     }
 
+    @Override
+    public NestedSetMutator<T, M> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public NestedSetMutator<T, M> parallel(ForkJoinPool pool) {
+        this.parallelPool = Objects.requireNonNull(pool);
+        return this;
+    }
+
+    /**
+     * Returns the source set if nothing was written, otherwise an immutable set with the elements, see
+     * {@link CollectionSupport#immutable(Set)}. The compact set built from a hash set, or from a small linked set,
+     * caches its hash code; the unmodifiable view of an enum, sorted or larger linked set does not, and computes the
+     * hash code of all elements on every call.
+     *
+     * @return the built set
+     */
     @Override
     public Set<T> build() {
         this.locked = true;
-        return Collections.unmodifiableSet(set);
+        if (appendedCount > 0) {
+            return CompactHashSet.copyOfDistinct(appended, appendedCount);
+        }
+        return copied ? CollectionSupport.immutable(set) : set;
     }
 
     @Override
     public Set<T> buildCopy() {
-        return Collections.unmodifiableSet(new HashSet<>(set));
+        if (appendedCount > 0) {
+            return CompactHashSet.copyOfDistinct(appended, appendedCount);
+        }
+        return CollectionSupport.immutableCopy(set);
+    }
+
+    /**
+     * Adds an element to the array of appended elements, growing the array if it is full.
+     *
+     * @param record the element to add
+     */
+    private void append(T record) {
+        if (appendedCount == appended.length) {
+            appended = Arrays.copyOf(appended, Math.max(MIN_APPEND_CAPACITY, appendedCount + (appendedCount >> 1)));
+        }
+        appended[appendedCount++] = record;
+    }
+
+    /**
+     * Leaves append mode, moving the appended elements into a hash set presized for them.
+     */
+    @SuppressWarnings("unchecked")
+    private void hashAppended() {
+        if (appended == null) {
+            return;
+        }
+        if (appendedCount > 0) {
+            Set<T> hashedSet = CollectionSupport.emptyLike(set, appendedCount);
+            for (int index = 0; index < appendedCount; index++) {
+                hashedSet.add((T) appended[index]);
+            }
+            set = hashedSet;
+            copied = true;
+        }
+        appended = null;
+        appendedCount = 0;
+    }
+
+    /**
+     * Grows the given set, if it supports it, so that it holds the expected number of elements without rehashing.
+     *
+     * @param target the set to grow
+     * @param expectedSize the expected number of elements
+     */
+    private static void ensureCapacity(Set<?> target, int expectedSize) {
+        if (target instanceof CachedHashSet) {
+            ((CachedHashSet<?>) target).ensureCapacity(expectedSize);
+        }
+    }
+
+    private static boolean isPlainHashSet(Set<?> set) {
+        return !(set instanceof SortedSet) && !(set instanceof LinkedHashSet) && !(set instanceof EnumSet);
+    }
+
+    /**
+     * Computes the new value of every element on the parallel pool, and then replaces the changed elements.
+     *
+     * @param mutateFunction the function returning the new value of an element
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceAllElements(Function<T, T> mutateFunction) {
+        Object[] items = set.toArray();
+        Object[] computed = ParallelSupport.computeAll(parallelPool, items.length, index -> mutateFunction.apply((T) items[index]));
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
+        for (int index = 0; index < items.length; index++) {
+            if (computed[index] != items[index]) {
+                oldItems.add((T) items[index]);
+                newItems.add((T) computed[index]);
+            }
+        }
+        replaceAll(oldItems, newItems);
+    }
+
+    /**
+     * Replaces the old items with the new items, given in iteration order. Hash, enum and sorted sets are changed
+     * in place: the old items are removed first and the new items added afterwards, so that a new item equal to an
+     * old item of a later element is not removed again. A {@link LinkedHashSet} is rebuilt with the new items at
+     * the positions of the old items, to keep the iteration order.
+     */
+    private void replaceAll(List<T> oldItems, List<T> newItems) {
+        if (oldItems.isEmpty()) {
+            return;
+        }
+        if (set instanceof LinkedHashSet) {
+            Set<T> newSet = CollectionSupport.emptyLike(set, enumElementType, set.size());
+            int changedIndex = 0;
+            for (T item : set) {
+                if (changedIndex < oldItems.size() && item == oldItems.get(changedIndex)) {
+                    newSet.add(newItems.get(changedIndex++));
+                } else {
+                    newSet.add(item);
+                }
+            }
+            set = newSet;
+            copied = true;
+            return;
+        }
+        Set<T> target = mutableSet();
+        if (target instanceof CachedHashSet) {
+            // The old items are the instances stored in the set, so their stored hashes are used
+            ((CachedHashSet<T>) target).removeIdentical(oldItems);
+        } else {
+            for (T oldItem : oldItems) {
+                target.remove(oldItem);
+            }
+        }
+        target.addAll(newItems);
+    }
+
+    /**
+     * Replaces the element with the result of the function if the set contains it and the result differs. Once the
+     * set is copied into a {@link CachedHashSet}, the slot found by the lookup is used for the removal, so the
+     * element is hashed once.
+     *
+     * @param item the element to replace
+     * @param replaceFunction the function returning the new value of the element
+     */
+    private void replaceIfPresent(T item, SimpleFunction<T> replaceFunction) {
+        if (copied && set instanceof CachedHashSet) {
+            CachedHashSet<T> target = (CachedHashSet<T>) set;
+            int slot = target.slotOf(item);
+            if (slot >= 0) {
+                T newItem = replaceFunction.apply(item);
+                if (newItem != item) {
+                    target.removeAt(slot);
+                    target.add(newItem);
+                }
+            }
+        } else if (setContains(item)) {
+            T newItem = replaceFunction.apply(item);
+            if (newItem != item) {
+                Set<T> target = mutableSet();
+                target.remove(item);
+                target.add(newItem);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the current set contains the element, treating sets that reject {@code null}
+     * (such as {@link Set#of()}) as not containing it.
+     *
+     * @param element the element to look for
+     * @return true if the set contains the element, false otherwise
+     */
+    private boolean setContains(T element) {
+        return CollectionSupport.contains(set, element);
+    }
+
+    /**
+     * Returns the internal set, copying the source set on the first write.
+     *
+     * @return the mutable set owned by this mutator
+     */
+    private Set<T> mutableSet() {
+        if (!copied) {
+            set = CollectionSupport.copyOf(set, enumElementType);
+            copied = true;
+        }
+        return set;
     }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package io.github.larsarv.jrmg.api;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 /**
  * An interface for a mutable list that allows for fluent, chainable operations to modify its contents.
@@ -56,6 +60,29 @@ public interface SimpleListMutator<T> extends Mutator<List<T>> {
      */
     SimpleListMutator<T> add(T item);
 
+    /**
+     * Adds all items of the given collection to the end of the list, in the iteration order of the collection.
+     * <p>
+     * The list grows at most once to make room for the new items.
+     *
+     * @param items the items to add to the list
+     * @return this mutator instance for method chaining
+     */
+    SimpleListMutator<T> addAll(Collection<? extends T> items);
+
+    /**
+     * Inserts all items of the given collection at the specified index, in the iteration order of the collection.
+     * The element currently at that index and all following elements are shifted once to make room.
+     * <p>
+     * If the index is out of bounds ({@code index < 0 || index > size()}), an {@link IndexOutOfBoundsException}
+     * is thrown.
+     *
+     * @param index the index at which to insert the first item
+     * @param items the items to insert into the list
+     * @return this mutator instance for method chaining
+     */
+    SimpleListMutator<T> insertAll(int index, Collection<? extends T> items);
+
     /**
      * Removes the element at the specified index from the list.
      * <p>
@@ -69,6 +96,41 @@ public interface SimpleListMutator<T> extends Mutator<List<T>> {
      */
     SimpleListMutator<T> remove(int index);
 
+    /**
+     * Removes all elements from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive.
+     * The following elements are shifted once to close the gap.
+     * <p>
+     * If the range is out of bounds ({@code fromIndex < 0 || toIndex > size() || fromIndex > toIndex}),
+     * an {@link IndexOutOfBoundsException} is thrown.
+     *
+     * @param fromIndex the index of the first element to remove
+     * @param toIndex the index after the last element to remove
+     * @return this mutator instance for method chaining
+     */
+    SimpleListMutator<T> removeRange(int fromIndex, int toIndex);
+
+    /**
+     * Removes the elements at the specified indices. The indices refer to the list before any element is removed,
+     * may be given in any order and may contain duplicates. The remaining elements are compacted in a single pass.
+     * <p>
+     * If any index is out of bounds, an {@link IndexOutOfBoundsException} is thrown and the list is not modified.
+     *
+     * @param indices the indices of the elements to remove
+     * @return this mutator instance for method chaining
+     */
+    SimpleListMutator<T> removeIndices(int... indices);
+
+    /**
+     * Removes all elements except the ones at the specified indices. The retained elements keep their relative
+     * order. The indices may be given in any order and may contain duplicates.
+     * <p>
+     * If any index is out of bounds, an {@link IndexOutOfBoundsException} is thrown and the list is not modified.
+     *
+     * @param indices the indices of the elements to keep
+     * @return this mutator instance for method chaining
+     */
+    SimpleListMutator<T> retainIndices(int... indices);
+
     /**
      * Filters the list by removing elements that do not satisfy the given predicate.
      * <p>
@@ -83,6 +145,28 @@ public interface SimpleListMutator<T> extends Mutator<List<T>> {
      */
     SimpleListMutator<T> filter(Predicate<T> filterFunction);
 
+    /**
+     * Removes the elements that are equal to an earlier element of the list, keeping the first occurrence of each
+     * element and the order of the list.
+     * <p>
+     * The list is scanned once, and each element is looked up in a hash set sized for the whole list.
+     *
+     * @return this mutator instance for method chaining
+     */
+    SimpleListMutator<T> distinct();
+
+    /**
+     * Removes the elements whose key is equal to the key of an earlier element of the list, keeping the first
+     * element of each key and the order of the list.
+     * <p>
+     * The list is scanned once; the key extractor is called once for each element, and each key is looked up in a
+     * hash set sized for the whole list.
+     *
+     * @param keyExtractor the function returning the key of an element
+     * @return this mutator instance for method chaining
+     */
+    SimpleListMutator<T> distinctBy(Function<? super T, ?> keyExtractor);
+
     /**
      * Applies the given mutation function to all elements in the list.
      * The function is invoked for each element with its index and the current element.
@@ -111,12 +195,30 @@ public interface SimpleListMutator<T> extends Mutator<List<T>> {
      */
     SimpleListMutator<T> sort(Comparator<? super T> comparator);
 
+    /**
+     * Searches the list for an element using binary search, in O(log n) time.
+     * <p>
+     * The list must be ordered consistently with the given function, which is always the case for a sorted
+     * {@link ListMutatorImpl#sortedMutator(List, Comparator, java.util.function.Function) list mutator} searched
+     * with a function that compares the same key as its comparator. If several elements match, any of them may
+     * be found.
+     *
+     * @param keyComparison a function comparing an element to the searched key, returning a negative number if the
+     *                      element is ordered before the key, zero if it matches, and a positive number if it is
+     *                      ordered after the key
+     * @return the index of a matching element, or {@code -(insertion point) - 1} if no element matches, where the
+     *         insertion point is the index of the first element ordered after the key
+     */
+    int binarySearch(ToIntFunction<? super T> keyComparison);
+
     /**
      * Moves an element from one index to another in the list.
      * <p>
      * This operation modifies the list in place and returns a reference to this mutator
      * for method chaining.
      * <p>
+     * The elements between the two indices are shifted by one position towards {@code fromIndex}.
+     * <p>
      * If either index is out of bounds, an {@link IndexOutOfBoundsException} is thrown.
      *
      * @param fromIndex the index of the element to move
@@ -125,6 +227,29 @@ public interface SimpleListMutator<T> extends Mutator<List<T>> {
      */
     SimpleListMutator<T> move(int fromIndex, int toIndex);
 
+    /**
+     * Makes the bulk operations of this mutator that apply a function to every element run in parallel on the
+     * common {@link ForkJoinPool}. This applies to {@link #updateAll(IndexedFunction)}, and to
+     * {@code mutateAll} and {@code findAllAndMutate} of {@link NestedListMutator}.
+     * <p>
+     * The functions are then called concurrently for different elements, so they must not depend on the order of
+     * the calls or on shared mutable state. Lists smaller than an internal threshold are still processed
+     * sequentially, and mutators that cannot benefit from parallel execution, such as the primitive list mutators,
+     * ignore this setting.
+     *
+     * @return this mutator instance for method chaining
+     */
+    SimpleListMutator<T> parallel();
+
+    /**
+     * Makes the bulk operations of this mutator that apply a function to every element run in parallel on the
+     * given pool, see {@link #parallel()}.
+     *
+     * @param pool the pool to run the bulk operations on
+     * @return this mutator instance for method chaining
+     */
+    SimpleListMutator<T> parallel(ForkJoinPool pool);
+
     /**
      * Finalizes the mutable list and returns an immutable copy.
      * <p>
@@ -3,6 +3,7 @@ package io.github.larsarv.jrmg.api;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -147,6 +148,78 @@ public interface SimpleMapMutator<K, V> extends Mutator<Map<K, V>> {
      */
     SimpleMapMutator<K, V> updateAll(BiFunction<K, V, V> mutateFunction);
 
+    /**
+     * Computes a new value for the specified key from the key and its current value, or {@code null} if the key
+     * is not present, like {@link Map#compute(Object, BiFunction)}.
+     * <p>
+     * If the function returns {@code null}, the key is removed; otherwise the result becomes the value for the key.
+     * The key is looked up once, so this is cheaper than a {@code get} followed by a {@code put} or {@code remove}.
+     * The function must not modify this mutator.
+     *
+     * @param key the key of the entry to compute
+     * @param remappingFunction the function accepting the key and the current value and returning the new value
+     * @return this mutator instance for method chaining
+     */
+    SimpleMapMutator<K, V> compute(K key, BiFunction<K, V, V> remappingFunction);
+
+    /**
+     * Computes a new value for the specified key if it is present with a non-null value,
+     * like {@link Map#computeIfPresent(Object, BiFunction)}.
+     * <p>
+     * If the function returns {@code null}, the key is removed; otherwise the result becomes the value for the key.
+     * The function must not modify this mutator.
+     *
+     * @param key the key of the entry to compute
+     * @param remappingFunction the function accepting the key and the current value and returning the new value
+     * @return this mutator instance for method chaining
+     */
+    SimpleMapMutator<K, V> computeIfPresent(K key, BiFunction<K, V, V> remappingFunction);
+
+    /**
+     * Computes a value for the specified key if it is not present or maps to {@code null},
+     * like {@link Map#computeIfAbsent(Object, Function)}.
+     * <p>
+     * If the function returns {@code null}, the map is not modified.
+     * The function must not modify this mutator.
+     *
+     * @param key the key of the entry to compute
+     * @param mappingFunction the function accepting the key and returning the value to put
+     * @return this mutator instance for method chaining
+     */
+    SimpleMapMutator<K, V> computeIfAbsent(K key, Function<K, V> mappingFunction);
+
+    /**
+     * Puts the given value for the specified key if it is not present or maps to {@code null}, or otherwise replaces
+     * the current value with the result of the remapping function, like {@link Map#merge(Object, Object, BiFunction)}.
+     * <p>
+     * If the function returns {@code null}, the key is removed.
+     * The function must not modify this mutator.
+     *
+     * @param key the key of the entry to merge
+     * @param value the value to put if the key is absent, and the second argument of the remapping function
+     * @param remappingFunction the function accepting the current value and the given value and returning the new value
+     * @return this mutator instance for method chaining
+     * @throws NullPointerException if the value is {@code null}
+     */
+    SimpleMapMutator<K, V> merge(K key, V value, BiFunction<V, V, V> remappingFunction);
+
+    /**
+     * Merges all mappings of the given map into this map, like {@link #merge(Object, Object, BiFunction)} for each
+     * of its entries in iteration order.
+     * <p>
+     * The given map is iterated once and each of its keys is looked up once in this map, so a batch of updates is
+     * merged in time proportional to its size. The map is copied at most once, and entries already in the map keep
+     * their position in a map with an iteration order. If the function returns {@code null}, the key is removed.
+     * The function must not modify this mutator.
+     *
+     * @param map the mappings to merge into this map, which must not contain {@code null} values
+     * @param remappingFunction the function accepting the current value and the value of the given map and
+     *                          returning the new value
+     * @return this mutator instance for method chaining
+     * @throws NullPointerException if the given map contains a {@code null} value
+     */
+    SimpleMapMutator<K, V> mergeAll(Map<? extends K, ? extends V> map, BiFunction<V, V, V> remappingFunction);
+
     /**
      * Puts all of the mappings from the specified map to this map.
      * <p>
@@ -169,6 +242,30 @@ public interface SimpleMapMutator<K, V> extends Mutator<Map<K, V>> {
      */
     SimpleMapMutator<K, V> clear();
 
+    /**
+     * Makes the bulk operations of this mutator that apply a function to every entry run in parallel on the
+     * common {@link ForkJoinPool}. This applies to {@link #updateAll(BiFunction)}, and to
+     * {@link MapValueMutator#mutateAllValues(BiFunction)} and {@code findAllAndMutateValues} of
+     * {@link MapValueMutator}.
+     * <p>
+     * The functions are then called concurrently for different entries, so they must not depend on the order of
+     * the calls or on shared mutable state. Maps smaller than an internal threshold are still processed
+     * sequentially, and mutators that cannot benefit from parallel execution, such as the primitive valued map
+     * mutators, ignore this setting.
+     *
+     * @return this mutator instance for method chaining
+     */
+    SimpleMapMutator<K, V> parallel();
+
+    /**
+     * Makes the bulk operations of this mutator that apply a function to every entry run in parallel on the
+     * given pool, see {@link #parallel()}.
+     *
+     * @param pool the pool to run the bulk operations on
+     * @return this mutator instance for method chaining
+     */
+    SimpleMapMutator<K, V> parallel(ForkJoinPool pool);
+
     /**
      * Finalizes the mutable map and returns an immutable copy.
      * <p>
@@ -1,7 +1,9 @@
 package io.github.larsarv.jrmg.api;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -74,6 +76,64 @@ public interface SimpleSetMutator<T> extends Mutator<Set<T>> {
      */
     SimpleSetMutator<T> filter(Predicate<T> filterFunction);
 
+    /**
+     * Adds all elements of the given collection that are not already present, so that the set becomes the union of
+     * the set and the collection.
+     * <p>
+     * The internal set is copied and sized for all new elements at most once, when the first element that is not
+     * present is found.
+     *
+     * @param items the elements to add
+     * @return this mutator instance for method chaining
+     */
+    SimpleSetMutator<T> addAll(Collection<? extends T> items);
+
+    /**
+     * Removes all elements that are not contained in the given collection, so that the set becomes the
+     * intersection of the set and the collection.
+     * <p>
+     * If the collection is a set that is at least as large as this set, the elements of this set are looked up in
+     * the collection; otherwise the elements of the collection are looked up in this set.
+     *
+     * @param items the elements to retain
+     * @return this mutator instance for method chaining
+     */
+    SimpleSetMutator<T> retainAll(Collection<?> items);
+
+    /**
+     * Removes all elements that are contained in the given collection, so that the set becomes the difference of
+     * the set and the collection.
+     * <p>
+     * If the collection is a set that is larger than this set, the elements of this set are looked up in the
+     * collection; otherwise the elements of the collection are looked up in this set.
+     *
+     * @param items the elements to remove
+     * @return this mutator instance for method chaining
+     */
+    SimpleSetMutator<T> removeAll(Collection<?> items);
+
+    /**
+     * Removes the elements that are contained in the given collection and adds the elements of the collection
+     * that are not, so that the set becomes the symmetric difference of the set and the collection.
+     * <p>
+     * Elements that occur several times in the collection are handled once.
+     *
+     * @param items the elements to toggle
+     * @return this mutator instance for method chaining
+     */
+    SimpleSetMutator<T> symmetricDifference(Collection<? extends T> items);
+
+    /**
+     * Checks whether the set contains at least one element of the given collection.
+     * <p>
+     * The smaller side is iterated when the collection is a set; otherwise the elements of the collection are
+     * looked up in this set.
+     *
+     * @param items the elements to look for
+     * @return true if the set and the collection have an element in common, false otherwise
+     */
+    boolean intersects(Collection<?> items);
+
 
     /**
      * Updates the set by applying the given mutation function to the specified item.
@@ -102,6 +162,28 @@ public interface SimpleSetMutator<T> extends Mutator<Set<T>> {
      */
     SimpleSetMutator<T> updateAll(SimpleFunction<T> mutateFunction);
 
+    /**
+     * Makes the bulk operations of this mutator that apply a function to every element run in parallel on the
+     * common {@link ForkJoinPool}. This applies to {@link #updateAll(SimpleFunction)}, and to
+     * {@code mutateAll} and {@code findAllAndMutate} of {@link NestedSetMutator}.
+     * <p>
+     * The functions are then called concurrently for different elements, so they must not depend on the order of
+     * the calls or on shared mutable state. Sets smaller than an internal threshold are still processed
+     * sequentially.
+     *
+     * @return this mutator instance for method chaining
+     */
+    SimpleSetMutator<T> parallel();
+
+    /**
+     * Makes the bulk operations of this mutator that apply a function to every element run in parallel on the
+     * given pool, see {@link #parallel()}.
+     *
+     * @param pool the pool to run the bulk operations on
+     * @return this mutator instance for method chaining
+     */
+    SimpleSetMutator<T> parallel(ForkJoinPool pool);
+
     /**
      * Finalizes the mutable set and returns an immutable copy.
      * <p>
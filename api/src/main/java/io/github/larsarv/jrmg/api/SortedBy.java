@@ -0,0 +1,41 @@
+package io.github.larsarv.jrmg.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Comparator;
+
+/**
+ * Annotation used to keep a list component of a record annotated with {@link GenerateMutator} sorted.
+ * <p>
+ * The generated mutator for the component is a sorted {@link ListMutatorImpl}, see
+ * {@link ListMutatorImpl#sortedMutator(java.util.List, Comparator, java.util.function.Function)}. Elements are
+ * added at their sorted position, and elements can be found by binary search with
+ * {@link SimpleListMutator#binarySearch(java.util.function.ToIntFunction)}.
+ * <p>
+ * The order is given by the {@link #key() key} of the elements, by the {@link #comparator() comparator}, or by
+ * both, in which case the comparator compares the keys. Without either the elements are sorted by their natural
+ * order. The annotation is not valid on list components using the {@link CollectionBackend#PERSISTENT persistent}
+ * backend, and sorted lists keep their elements boxed with the {@link CollectionBackend#PRIMITIVE primitive} backend.
+ */
+@Target(ElementType.RECORD_COMPONENT)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SortedBy {
+    /**
+     * The name of the accessor method of the elements that returns the sort key, such as a record component of the
+     * elements. The keys are compared by their natural order unless a {@link #comparator() comparator} is given.
+     *
+     * @return the accessor of the sort key, or an empty string to sort the elements themselves
+     */
+    String key() default "";
+
+    /**
+     * The comparator class used to compare the elements, or their keys if a {@link #key() key} is given.
+     * The class must have a public no-argument constructor.
+     *
+     * @return the comparator class, or {@code Comparator.class} to use the natural order
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends Comparator> comparator() default Comparator.class;
+}
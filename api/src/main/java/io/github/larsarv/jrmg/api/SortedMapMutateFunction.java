@@ -0,0 +1,23 @@
+package io.github.larsarv.jrmg.api;
+
+/**
+ * A functional interface that defines a mutation operation on a {@link java.util.SortedMap}.
+ * <p>
+ * The function accepts a mutator instance and returns a modified version of it.
+ * <p>
+ * The interface is {@link FunctionalInterface} and can be used with lambda expressions
+ * or method references for concise mutation composition.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of values in the map
+ */
+@FunctionalInterface
+public interface SortedMapMutateFunction<K, V> {
+    /**
+     * Applies a mutation operation with the provided {@link SortedMapMutator} instance.
+     *
+     * @param mutator the mutator instance to be mutated
+     * @return a modified version of the mutator instance with applied mutations
+     */
+    SortedMapMutator<K,V> mutate(SortedMapMutator<K,V> mutator);
+}
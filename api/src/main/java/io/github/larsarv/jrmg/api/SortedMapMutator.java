@@ -0,0 +1,176 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * An interface for a mutable sorted map that allows for fluent, chainable operations to modify its contents.
+ * <p>
+ * In addition to the operations of {@link SimpleMapMutator}, this interface provides floor and ceiling lookups and
+ * operations on a range of keys. Ranges follow {@link java.util.SortedMap#subMap(Object, Object)}: the from key is
+ * inclusive and the to key is exclusive. A head range holds the keys less than the to key, and a tail range the keys
+ * greater than or equal to the from key.
+ * <p>
+ * The map is kept in a tree, so a range operation finds the first key in O(log n) time and then visits only the
+ * k entries in the range.
+ * <p>
+ * The {@link #build()} method finalizes all mutations and returns an immutable navigable map.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of values in the map
+ */
+public interface SortedMapMutator<K, V> extends SimpleMapMutator<K, V> {
+    /**
+     * Returns the entry with the greatest key less than or equal to the given key, or {@code null} if there is no
+     * such key.
+     *
+     * @param key the key to look up
+     * @return the entry with the greatest key less than or equal to the key, or {@code null}
+     */
+    Map.Entry<K, V> floorEntry(K key);
+
+    /**
+     * Returns the entry with the least key greater than or equal to the given key, or {@code null} if there is no
+     * such key.
+     *
+     * @param key the key to look up
+     * @return the entry with the least key greater than or equal to the key, or {@code null}
+     */
+    Map.Entry<K, V> ceilingEntry(K key);
+
+    /**
+     * Returns the greatest key less than or equal to the given key, or {@code null} if there is no such key.
+     *
+     * @param key the key to look up
+     * @return the greatest key less than or equal to the key, or {@code null}
+     */
+    K floorKey(K key);
+
+    /**
+     * Returns the least key greater than or equal to the given key, or {@code null} if there is no such key.
+     *
+     * @param key the key to look up
+     * @return the least key greater than or equal to the key, or {@code null}
+     */
+    K ceilingKey(K key);
+
+    /**
+     * Returns an unmodifiable view of the entries with keys from {@code fromKey}, inclusive, to {@code toKey},
+     * exclusive. The view is not guaranteed to reflect changes made through this mutator afterwards.
+     *
+     * @param fromKey the low end of the range, inclusive
+     * @param toKey the high end of the range, exclusive
+     * @return an unmodifiable view of the range
+     */
+    NavigableMap<K, V> subMap(K fromKey, K toKey);
+
+    /**
+     * Updates the entries with keys from {@code fromKey}, inclusive, to {@code toKey}, exclusive, by applying the
+     * given function to each of them in key order. The result of the function becomes the new value for the key.
+     *
+     * @param fromKey the low end of the range, inclusive
+     * @param toKey the high end of the range, exclusive
+     * @param mutateFunction the function accepting the key and the current value and returning the new value
+     * @return this mutator instance for method chaining
+     */
+    SortedMapMutator<K, V> updateRange(K fromKey, K toKey, BiFunction<K, V, V> mutateFunction);
+
+    /**
+     * Updates the entries with keys less than {@code toKey} by applying the given function to each of them in
+     * key order.
+     *
+     * @param toKey the high end of the range, exclusive
+     * @param mutateFunction the function accepting the key and the current value and returning the new value
+     * @return this mutator instance for method chaining
+     */
+    SortedMapMutator<K, V> updateHead(K toKey, BiFunction<K, V, V> mutateFunction);
+
+    /**
+     * Updates the entries with keys greater than or equal to {@code fromKey} by applying the given function to each
+     * of them in key order.
+     *
+     * @param fromKey the low end of the range, inclusive
+     * @param mutateFunction the function accepting the key and the current value and returning the new value
+     * @return this mutator instance for method chaining
+     */
+    SortedMapMutator<K, V> updateTail(K fromKey, BiFunction<K, V, V> mutateFunction);
+
+    /**
+     * Removes the entries with keys from {@code fromKey}, inclusive, to {@code toKey}, exclusive.
+     *
+     * @param fromKey the low end of the range, inclusive
+     * @param toKey the high end of the range, exclusive
+     * @return this mutator instance for method chaining
+     */
+    SortedMapMutator<K, V> removeRange(K fromKey, K toKey);
+
+    /**
+     * Removes the entries with keys less than {@code toKey}.
+     *
+     * @param toKey the high end of the range, exclusive
+     * @return this mutator instance for method chaining
+     */
+    SortedMapMutator<K, V> removeHead(K toKey);
+
+    /**
+     * Removes the entries with keys greater than or equal to {@code fromKey}.
+     *
+     * @param fromKey the low end of the range, inclusive
+     * @return this mutator instance for method chaining
+     */
+    SortedMapMutator<K, V> removeTail(K fromKey);
+
+    @Override
+    SortedMapMutator<K, V> put(K key, V value);
+    @Override
+    SortedMapMutator<K, V> remove(K key);
+    @Override
+    SortedMapMutator<K, V> filter(BiFunction<K, V, Boolean> filterFunction);
+    @Override
+    SortedMapMutator<K, V> update(K key, Function<V, V> mutateFunction);
+    @Override
+    SortedMapMutator<K, V> updateAll(BiFunction<K, V, V> mutateFunction);
+    @Override
+    SortedMapMutator<K, V> compute(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    SortedMapMutator<K, V> computeIfPresent(K key, BiFunction<K, V, V> remappingFunction);
+    @Override
+    SortedMapMutator<K, V> computeIfAbsent(K key, Function<K, V> mappingFunction);
+    @Override
+    SortedMapMutator<K, V> merge(K key, V value, BiFunction<V, V, V> remappingFunction);
+    @Override
+    SortedMapMutator<K, V> mergeAll(Map<? extends K, ? extends V> map, BiFunction<V, V, V> remappingFunction);
+    @Override
+    SortedMapMutator<K, V> putAll(Map<? extends K, ? extends V> map);
+    @Override
+    SortedMapMutator<K, V> clear();
+    @Override
+    SortedMapMutator<K, V> parallel();
+    @Override
+    SortedMapMutator<K, V> parallel(ForkJoinPool pool);
+
+    /**
+     * Finalizes the mutable map and returns an immutable copy.
+     * <p>
+     * This method creates an immutable navigable map from the current state of the mutator.
+     * Any further mutations will trigger a {@link java.lang.IllegalStateException}
+     *
+     * @return an immutable navigable map containing the current entries
+     */
+    @Override
+    NavigableMap<K, V> build();
+
+    /**
+     * Finalizes the mutable map and returns an immutable copy.
+     * <p>
+     * This method creates an immutable navigable map from the current state of the mutator.
+     * Any further mutations will not affect the returned map.
+     *
+     * @return an immutable navigable map containing the current entries
+     */
+    @Override
+    NavigableMap<K, V> buildCopy();
+}
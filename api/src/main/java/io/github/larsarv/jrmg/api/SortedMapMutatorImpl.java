@@ -0,0 +1,529 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * An implementation of {@link NestedValueSortedMapMutator}, and thereby {@link SortedMapMutator}, backed by a
+ * {@link TreeMap}.
+ * <p>
+ * The source map is copied into an internal {@code TreeMap} with the same comparator on the first write
+ * (copy-on-write). If nothing was written, {@link #build()} returns the source map itself. A source that is a
+ * {@link SortedMap} but not a {@link NavigableMap} is copied when the mutator is created, as the range operations
+ * need a navigable map.
+ * <p>
+ * The range operations work on the {@code subMap}, {@code headMap} and {@code tailMap} views of the tree, so they
+ * only visit the entries in the range. Once the map is copied, changed values are written through the entries of
+ * the view instead of being looked up again.
+ *
+ * @param <K> the type of keys in the map.
+ * @param <V> the type of values in the map.
+ * @param <M> the type of record mutator used to modify the values
+ */
+public class SortedMapMutatorImpl<K, V, M extends Mutator<V>> implements NestedValueSortedMapMutator<K, V, M> {
+    private NavigableMap<K, V> map;
+    private boolean copied; // True when map is a private copy owned by this mutator
+    private final Function<V, M> valueMutatorFactory;
+    private ForkJoinPool parallelPool; // Pool for the bulk operations, null to run them sequentially
+
+    private boolean locked = false;
+
+    /**
+     * Constructs a new {@code SortedMapMutatorImpl} instance with the provided map and value mutator factory.
+     *
+     * @param map the initial map to be mutated; if null, a new empty {@code TreeMap} using the natural order of
+     *            the keys is created
+     * @param valueMutatorFactory a function that returns a mutator for the given value, null if the values are simple
+     */
+    public SortedMapMutatorImpl(SortedMap<K, V> map, Function<V, M> valueMutatorFactory) {
+        if (map instanceof NavigableMap) {
+            this.map = (NavigableMap<K, V>) map;
+            this.copied = false;
+        } else {
+            this.map = map != null ? new TreeMap<>(map) : new TreeMap<>();
+            this.copied = true;
+        }
+        this.valueMutatorFactory = valueMutatorFactory;
+    }
+
+    /**
+     * Creates a new {@code SortedMapMutatorImpl} instance with the provided map and value mutator factory.
+     *
+     * @param map the initial map to be mutated; if null, a new empty {@code TreeMap} using the natural order of
+     *            the keys is created
+     * @param valueMutatorFactory a function that returns a mutator for the given value, null if the values are simple
+     * @return a new {@code SortedMapMutatorImpl} instance configured with the provided parameters
+     *
+     * @param <K> the type of keys in the map.
+     * @param <V> the type of values in the map.
+     * @param <M> the type of record mutator used to modify the values
+     */
+    public static <K, V, M extends Mutator<V>> SortedMapMutatorImpl<K, V, M> mutator(
+            SortedMap<K, V> map,
+            Function<V, M> valueMutatorFactory
+    ) {
+        return new SortedMapMutatorImpl<>(map, valueMutatorFactory);
+    }
+
+    private void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("Map is locked and can not be modified");
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public V get(K key) {
+        return map.get(key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(V value) {
+        return map.containsValue(value);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableNavigableSet(map.navigableKeySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(map.values());
+    }
+
+    @Override
+    public Map.Entry<K, V> floorEntry(K key) {
+        return map.floorEntry(key);
+    }
+
+    @Override
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        return map.ceilingEntry(key);
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return map.floorKey(key);
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return map.ceilingKey(key);
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, K toKey) {
+        return Collections.unmodifiableNavigableMap(map.subMap(fromKey, true, toKey, false));
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> put(K key, V value) {
+        checkLocked();
+        mutableMap().put(key, value);
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> remove(K key) {
+        checkLocked();
+        if (copied || map.containsKey(key)) {
+            mutableMap().remove(key);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> filter(BiFunction<K, V, Boolean> filterFunction) {
+        checkLocked();
+        if (copied) {
+            map.entrySet().removeIf(entry -> !filterFunction.apply(entry.getKey(), entry.getValue()));
+            return this;
+        }
+        // The loop keeps iterating the source map, while the rejected keys are removed from the copy
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            if (!filterFunction.apply(entry.getKey(), entry.getValue())) {
+                mutableMap().remove(entry.getKey());
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> update(K key, Function<V, V> mutateFunction) {
+        checkLocked();
+        V currentValue = map.get(key);
+        if (currentValue != null || map.containsKey(key)) {
+            V newValue = mutateFunction.apply(currentValue);
+            if (newValue != currentValue) {
+                mutableMap().put(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> updateAll(BiFunction<K, V, V> mutateFunction) {
+        checkLocked();
+        if (ParallelSupport.useParallel(parallelPool, map.size())) {
+            replaceAllValues(mutateFunction);
+        } else {
+            updateValues(map, mutateFunction);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> updateRange(K fromKey, K toKey, BiFunction<K, V, V> mutateFunction) {
+        checkLocked();
+        updateValues(map.subMap(fromKey, true, toKey, false), mutateFunction);
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> updateHead(K toKey, BiFunction<K, V, V> mutateFunction) {
+        checkLocked();
+        updateValues(map.headMap(toKey, false), mutateFunction);
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> updateTail(K fromKey, BiFunction<K, V, V> mutateFunction) {
+        checkLocked();
+        updateValues(map.tailMap(fromKey, true), mutateFunction);
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> removeRange(K fromKey, K toKey) {
+        checkLocked();
+        if (copied || !map.subMap(fromKey, true, toKey, false).isEmpty()) {
+            mutableMap().subMap(fromKey, true, toKey, false).clear();
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> removeHead(K toKey) {
+        checkLocked();
+        if (copied || !map.headMap(toKey, false).isEmpty()) {
+            mutableMap().headMap(toKey, false).clear();
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> removeTail(K fromKey) {
+        checkLocked();
+        if (copied || !map.tailMap(fromKey, true).isEmpty()) {
+            mutableMap().tailMap(fromKey, true).clear();
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> compute(K key, BiFunction<K, V, V> remappingFunction) {
+        checkLocked();
+        if (copied) {
+            map.compute(key, remappingFunction);
+            return this;
+        }
+        V currentValue = map.get(key);
+        V newValue = remappingFunction.apply(key, currentValue);
+        if (newValue == null) {
+            if (map.containsKey(key)) {
+                mutableMap().remove(key);
+            }
+        } else if (newValue != currentValue) {
+            mutableMap().put(key, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> computeIfPresent(K key, BiFunction<K, V, V> remappingFunction) {
+        checkLocked();
+        if (copied) {
+            map.computeIfPresent(key, remappingFunction);
+            return this;
+        }
+        V currentValue = map.get(key);
+        if (currentValue != null) {
+            V newValue = remappingFunction.apply(key, currentValue);
+            if (newValue == null) {
+                mutableMap().remove(key);
+            } else if (newValue != currentValue) {
+                mutableMap().put(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        checkLocked();
+        if (copied) {
+            map.computeIfAbsent(key, mappingFunction);
+            return this;
+        }
+        if (map.get(key) == null) {
+            V newValue = mappingFunction.apply(key);
+            if (newValue != null) {
+                mutableMap().put(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> merge(K key, V value, BiFunction<V, V, V> remappingFunction) {
+        checkLocked();
+        Objects.requireNonNull(value);
+        if (copied) {
+            map.merge(key, value, remappingFunction);
+            return this;
+        }
+        V currentValue = map.get(key);
+        V newValue = currentValue == null ? value : remappingFunction.apply(currentValue, value);
+        if (newValue == null) {
+            mutableMap().remove(key);
+        } else if (newValue != currentValue) {
+            mutableMap().put(key, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> mergeAll(Map<? extends K, ? extends V> m, BiFunction<V, V, V> remappingFunction) {
+        checkLocked();
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            merge(entry.getKey(), entry.getValue(), remappingFunction);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> putAll(Map<? extends K, ? extends V> m) {
+        checkLocked();
+        if (!m.isEmpty()) {
+            mutableMap().putAll(m);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> clear() {
+        checkLocked();
+        if (copied) {
+            map.clear();
+        } else if (!map.isEmpty()) {
+            map = new TreeMap<>(map.comparator());
+            copied = true;
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> put(K key, Function<M, M> mutateFunction) {
+        checkLocked();
+        V value = mutateFunction.apply(valueMutatorFactory.apply(null)).build();
+        mutableMap().put(key, value);
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> mutateValue(K key, Function<M, M> mutateFunction) {
+        checkLocked();
+        V currentValue = map.get(key);
+        if (currentValue != null || map.containsKey(key)) {
+            V newValue = mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build();
+            if (newValue != currentValue) {
+                mutableMap().put(key, newValue);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> mutateOrPut(K key, Function<M, M> mutateFunction) {
+        checkLocked();
+        if (copied) {
+            map.compute(key, (k, currentValue) -> mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build());
+            return this;
+        }
+        V currentValue = map.get(key);
+        V newValue = mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build();
+        if (newValue != currentValue || !map.containsKey(key)) {
+            mutableMap().put(key, newValue);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> mutateAllValues(BiFunction<K, M, M> mutateFunction) {
+        checkLocked();
+        BiFunction<K, V, V> valueFunction = (key, value) -> mutateFunction.apply(key, valueMutatorFactory.apply(value)).build();
+        if (ParallelSupport.useParallel(parallelPool, map.size())) {
+            replaceAllValues(valueFunction);
+        } else {
+            updateValues(map, valueFunction);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> mutateRange(K fromKey, K toKey, BiFunction<K, M, M> mutateFunction) {
+        checkLocked();
+        updateValues(map.subMap(fromKey, true, toKey, false),
+                (key, value) -> mutateFunction.apply(key, valueMutatorFactory.apply(value)).build());
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> mutateHead(K toKey, BiFunction<K, M, M> mutateFunction) {
+        checkLocked();
+        updateValues(map.headMap(toKey, false),
+                (key, value) -> mutateFunction.apply(key, valueMutatorFactory.apply(value)).build());
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> mutateTail(K fromKey, BiFunction<K, M, M> mutateFunction) {
+        checkLocked();
+        updateValues(map.tailMap(fromKey, true),
+                (key, value) -> mutateFunction.apply(key, valueMutatorFactory.apply(value)).build());
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> findFirstAndMutateValue(BiPredicate<K, V> predicate, Function<M, M> mutateFunction) {
+        checkLocked();
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            if (predicate.test(entry.getKey(), entry.getValue())) {
+                V currentValue = entry.getValue();
+                V newValue = mutateFunction.apply(valueMutatorFactory.apply(currentValue)).build();
+                if (newValue != currentValue) {
+                    mutableMap().put(entry.getKey(), newValue);
+                }
+                break;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> findAllAndMutateValues(BiPredicate<K, V> predicate, Function<M, M> mutateFunction) {
+        checkLocked();
+        BiFunction<K, V, V> guardedFunction = (key, value) ->
+                predicate.test(key, value) ? mutateFunction.apply(valueMutatorFactory.apply(value)).build() : value;
+        if (ParallelSupport.useParallel(parallelPool, map.size())) {
+            replaceAllValues(guardedFunction);
+        } else {
+            updateValues(map, guardedFunction);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public SortedMapMutatorImpl<K, V, M> parallel(ForkJoinPool pool) {
+        this.parallelPool = Objects.requireNonNull(pool);
+        return this;
+    }
+
+    @Override
+    public NavigableMap<K, V> build() {
+        locked = true;
+        return copied ? Collections.unmodifiableNavigableMap(map) : map;
+    }
+
+    @Override
+    public NavigableMap<K, V> buildCopy() {
+        return Collections.unmodifiableNavigableMap(new TreeMap<>(map));
+    }
+
+    /**
+     * Replaces the value of every entry of the given view of the map with the result of the function. Once the map
+     * is copied, the values are set through the entries of the view, so the keys are not looked up again.
+     *
+     * @param range the view of the current map holding the entries to update
+     * @param mutateFunction the function returning the new value for a key and its current value
+     */
+    private void updateValues(NavigableMap<K, V> range, BiFunction<K, V, V> mutateFunction) {
+        if (copied) {
+            for (Map.Entry<K, V> entry : range.entrySet()) {
+                V newValue = mutateFunction.apply(entry.getKey(), entry.getValue());
+                if (newValue != entry.getValue()) {
+                    entry.setValue(newValue);
+                }
+            }
+            return;
+        }
+        for (Map.Entry<K, V> entry : range.entrySet()) {
+            V newValue = mutateFunction.apply(entry.getKey(), entry.getValue());
+            if (newValue != entry.getValue()) {
+                // The loop keeps iterating the source map, while the changes go into the copy
+                mutableMap().put(entry.getKey(), newValue);
+            }
+        }
+    }
+
+    /**
+     * Computes the new value of every entry on the parallel pool, and then puts the changed values into the map.
+     *
+     * @param mutateFunction the function returning the new value for a key and its current value
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceAllValues(BiFunction<K, V, V> mutateFunction) {
+        Object[] keys = new Object[map.size()];
+        Object[] values = new Object[map.size()];
+        int index = 0;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+            index++;
+        }
+        Object[] newValues = ParallelSupport.computeAll(parallelPool, keys.length,
+                i -> mutateFunction.apply((K) keys[i], (V) values[i]));
+        for (int i = 0; i < keys.length; i++) {
+            if (newValues[i] != values[i]) {
+                mutableMap().put((K) keys[i], (V) newValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the internal map, copying the source map into a {@link TreeMap} with the same comparator on the
+     * first write.
+     *
+     * @return the mutable map owned by this mutator
+     */
+    private NavigableMap<K, V> mutableMap() {
+        if (!copied) {
+            map = new TreeMap<>(map);
+            copied = true;
+        }
+        return map;
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * An interface for a mutable sorted set that allows for fluent, chainable operations to modify its contents.
+ * <p>
+ * In addition to the operations of {@link SimpleSetMutator}, this interface provides floor and ceiling lookups and
+ * operations on a range of elements. Ranges follow {@link java.util.SortedSet#subSet(Object, Object)}: the from
+ * element is inclusive and the to element is exclusive.
+ * <p>
+ * The set is kept in a tree, so a range operation finds the first element in O(log n) time and then visits only
+ * the k elements in the range.
+ * <p>
+ * The {@link #build()} method finalizes all mutations and returns an immutable navigable set.
+ *
+ * @param <T> the type of elements in the set
+ */
+public interface SortedSetMutator<T> extends SimpleSetMutator<T> {
+    /**
+     * Returns the greatest element less than or equal to the given element, or {@code null} if there is no such
+     * element.
+     *
+     * @param element the element to look up
+     * @return the greatest element less than or equal to the given element, or {@code null}
+     */
+    T floor(T element);
+
+    /**
+     * Returns the least element greater than or equal to the given element, or {@code null} if there is no such
+     * element.
+     *
+     * @param element the element to look up
+     * @return the least element greater than or equal to the given element, or {@code null}
+     */
+    T ceiling(T element);
+
+    /**
+     * Returns an unmodifiable view of the elements from {@code fromElement}, inclusive, to {@code toElement},
+     * exclusive. The view is not guaranteed to reflect changes made through this mutator afterwards.
+     *
+     * @param fromElement the low end of the range, inclusive
+     * @param toElement the high end of the range, exclusive
+     * @return an unmodifiable view of the range
+     */
+    NavigableSet<T> subSet(T fromElement, T toElement);
+
+    /**
+     * Updates the elements from {@code fromElement}, inclusive, to {@code toElement}, exclusive, by applying the
+     * given function to each of them. The changed elements are removed and their new values are added afterwards,
+     * so a new value may end up outside of the range.
+     *
+     * @param fromElement the low end of the range, inclusive
+     * @param toElement the high end of the range, exclusive
+     * @param mutateFunction the function to apply to each element, returning the modified element
+     * @return this mutator instance for method chaining
+     */
+    SortedSetMutator<T> updateRange(T fromElement, T toElement, SimpleFunction<T> mutateFunction);
+
+    /**
+     * Removes the elements from {@code fromElement}, inclusive, to {@code toElement}, exclusive.
+     *
+     * @param fromElement the low end of the range, inclusive
+     * @param toElement the high end of the range, exclusive
+     * @return this mutator instance for method chaining
+     */
+    SortedSetMutator<T> removeRange(T fromElement, T toElement);
+
+    /**
+     * Removes the elements less than {@code toElement}.
+     *
+     * @param toElement the high end of the range, exclusive
+     * @return this mutator instance for method chaining
+     */
+    SortedSetMutator<T> removeHead(T toElement);
+
+    /**
+     * Removes the elements greater than or equal to {@code fromElement}.
+     *
+     * @param fromElement the low end of the range, inclusive
+     * @return this mutator instance for method chaining
+     */
+    SortedSetMutator<T> removeTail(T fromElement);
+
+    @Override
+    SortedSetMutator<T> add(T record);
+    @Override
+    SortedSetMutator<T> remove(T record);
+    @Override
+    SortedSetMutator<T> filter(Predicate<T> filterFunction);
+    @Override
+    SortedSetMutator<T> addAll(Collection<? extends T> items);
+    @Override
+    SortedSetMutator<T> retainAll(Collection<?> items);
+    @Override
+    SortedSetMutator<T> removeAll(Collection<?> items);
+    @Override
+    SortedSetMutator<T> symmetricDifference(Collection<? extends T> items);
+    @Override
+    SortedSetMutator<T> update(T item, SimpleFunction<T> mutateFunction);
+    @Override
+    SortedSetMutator<T> updateAll(SimpleFunction<T> mutateFunction);
+    @Override
+    SortedSetMutator<T> parallel();
+    @Override
+    SortedSetMutator<T> parallel(ForkJoinPool pool);
+
+    /**
+     * Finalizes the mutable set and returns an immutable copy.
+     * <p>
+     * This method creates an immutable navigable set from the current state of the mutator.
+     * Any further mutations will trigger a {@link java.lang.IllegalStateException}
+     *
+     * @return an immutable navigable set containing the current elements
+     */
+    @Override
+    NavigableSet<T> build();
+
+    /**
+     * Finalizes the mutable set and returns an immutable copy.
+     * <p>
+     * This method creates an immutable navigable set from the current state of the mutator.
+     * Any further mutations will not affect the returned set.
+     *
+     * @return an immutable navigable set containing the current elements
+     */
+    @Override
+    NavigableSet<T> buildCopy();
+}
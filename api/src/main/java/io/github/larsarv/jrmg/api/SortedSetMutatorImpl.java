@@ -0,0 +1,343 @@
+package io.github.larsarv.jrmg.api;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * An implementation of {@link SortedSetMutator} backed by a {@link TreeSet}.
+ * <p>
+ * The source set is copied into an internal {@code TreeSet} with the same comparator on the first write
+ * (copy-on-write). If nothing was written, {@link #build()} returns the source set itself. A source that is a
+ * {@link SortedSet} but not a {@link NavigableSet} is copied when the mutator is created, as the range operations
+ * need a navigable set.
+ * <p>
+ * The range operations work on the {@code subSet}, {@code headSet} and {@code tailSet} views of the tree, so they
+ * only visit the elements in the range.
+ *
+ * @param <T> the type of elements stored in the set.
+ */
+public class SortedSetMutatorImpl<T> implements SortedSetMutator<T> {
+    private NavigableSet<T> set;
+    private boolean copied; // True when set is a private copy owned by this mutator
+    private ForkJoinPool parallelPool; // Pool for the bulk operations, null to run them sequentially
+    private boolean locked = false;
+
+    /**
+     * Constructs a new instance of SortedSetMutatorImpl for the specified set.
+     *
+     * @param set the initial set to be mutated; if null, a new empty {@code TreeSet} using the natural order of
+     *            the elements is created
+     */
+    public SortedSetMutatorImpl(SortedSet<T> set) {
+        if (set instanceof NavigableSet) {
+            this.set = (NavigableSet<T>) set;
+            this.copied = false;
+        } else {
+            this.set = set != null ? new TreeSet<>(set) : new TreeSet<>();
+            this.copied = true;
+        }
+    }
+
+    /**
+     * Creates a new sorted set mutator for the specified set.
+     *
+     * @param <T> the type of elements stored in the set.
+     * @param set the initial set to be mutated; if null, a new empty {@code TreeSet} using the natural order of
+     *            the elements is created
+     * @return a new sorted set mutator instance that can be used to modify the set
+     */
+    public static <T> SortedSetMutatorImpl<T> mutator(SortedSet<T> set) {
+        return new SortedSetMutatorImpl<>(set);
+    }
+
+    private void checkLocked() {
+        if (locked) {
+            throw new IllegalStateException("Set is locked and cannot be modified.");
+        }
+    }
+
+    @Override
+    public int size() {
+        return set.size();
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return set.contains(element);
+    }
+
+    @Override
+    public T floor(T element) {
+        return set.floor(element);
+    }
+
+    @Override
+    public T ceiling(T element) {
+        return set.ceiling(element);
+    }
+
+    @Override
+    public NavigableSet<T> subSet(T fromElement, T toElement) {
+        return Collections.unmodifiableNavigableSet(set.subSet(fromElement, true, toElement, false));
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> add(T record) {
+        checkLocked();
+        if (copied || !set.contains(record)) {
+            mutableSet().add(record);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> remove(T record) {
+        checkLocked();
+        if (copied || set.contains(record)) {
+            mutableSet().remove(record);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> filter(Predicate<T> filterFunction) {
+        checkLocked();
+        if (copied) {
+            set.removeIf(item -> !filterFunction.test(item));
+            return this;
+        }
+        // The loop keeps iterating the source set, while the rejected elements are removed from the copy
+        for (T item : set) {
+            if (!filterFunction.test(item)) {
+                mutableSet().remove(item);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> addAll(Collection<? extends T> items) {
+        checkLocked();
+        for (T item : items) {
+            if (copied || !set.contains(item)) {
+                mutableSet().add(item);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public SortedSetMutatorImpl<T> retainAll(Collection<?> items) {
+        checkLocked();
+        if (CollectionSupport.iteratesSet(set, items)) {
+            return filter(items::contains);
+        }
+        // Few elements are retained, so a new tree of them is built instead of removing all others
+        NavigableSet<T> retained = new TreeSet<>(set.comparator());
+        for (Object item : items) {
+            if (set.contains(item)) {
+                retained.add((T) item);
+            }
+        }
+        if (retained.size() < set.size()) {
+            set = retained;
+            copied = true;
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> removeAll(Collection<?> items) {
+        checkLocked();
+        if (CollectionSupport.iteratesSet(set, items) && set.size() < items.size()) {
+            return filter(item -> !items.contains(item));
+        }
+        for (Object item : items) {
+            if (copied || set.contains(item)) {
+                mutableSet().remove(item);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> symmetricDifference(Collection<? extends T> items) {
+        checkLocked();
+        if (items.isEmpty()) {
+            return this;
+        }
+        NavigableSet<T> target = mutableSet();
+        for (T item : CollectionSupport.distinctElements(items)) {
+            if (!target.remove(item)) {
+                target.add(item);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public boolean intersects(Collection<?> items) {
+        if (CollectionSupport.iteratesSet(set, items)) {
+            for (T element : set) {
+                if (items.contains(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Object item : items) {
+            if (set.contains(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> update(T item, SimpleFunction<T> mutateFunction) {
+        checkLocked();
+        if (set.contains(item)) {
+            T newItem = mutateFunction.apply(item);
+            if (newItem != item) {
+                NavigableSet<T> target = mutableSet();
+                target.remove(item);
+                target.add(newItem);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> updateAll(SimpleFunction<T> mutateFunction) {
+        checkLocked();
+        if (ParallelSupport.useParallel(parallelPool, set.size())) {
+            replaceAllElements(mutateFunction);
+        } else {
+            updateElements(set, mutateFunction);
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> updateRange(T fromElement, T toElement, SimpleFunction<T> mutateFunction) {
+        checkLocked();
+        updateElements(set.subSet(fromElement, true, toElement, false), mutateFunction);
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> removeRange(T fromElement, T toElement) {
+        checkLocked();
+        if (copied || !set.subSet(fromElement, true, toElement, false).isEmpty()) {
+            mutableSet().subSet(fromElement, true, toElement, false).clear();
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> removeHead(T toElement) {
+        checkLocked();
+        if (copied || !set.headSet(toElement, false).isEmpty()) {
+            mutableSet().headSet(toElement, false).clear();
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> removeTail(T fromElement) {
+        checkLocked();
+        if (copied || !set.tailSet(fromElement, true).isEmpty()) {
+            mutableSet().tailSet(fromElement, true).clear();
+        }
+        return this;
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public SortedSetMutatorImpl<T> parallel(ForkJoinPool pool) {
+        this.parallelPool = Objects.requireNonNull(pool);
+        return this;
+    }
+
+    @Override
+    public NavigableSet<T> build() {
+        this.locked = true;
+        return copied ? Collections.unmodifiableNavigableSet(set) : set;
+    }
+
+    @Override
+    public NavigableSet<T> buildCopy() {
+        return Collections.unmodifiableNavigableSet(new TreeSet<>(set));
+    }
+
+    /**
+     * Applies the function to every element of the given view of the set, and then replaces the changed elements.
+     * The old elements are removed before the new elements are added, as a new element may sort anywhere in the set.
+     *
+     * @param range the view of the current set holding the elements to update
+     * @param mutateFunction the function returning the new value of an element
+     */
+    private void updateElements(NavigableSet<T> range, SimpleFunction<T> mutateFunction) {
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
+        for (T item : range) {
+            T newItem = mutateFunction.apply(item);
+            if (newItem != item) {
+                oldItems.add(item);
+                newItems.add(newItem);
+            }
+        }
+        replaceAll(oldItems, newItems);
+    }
+
+    /**
+     * Computes the new value of every element on the parallel pool, and then replaces the changed elements.
+     *
+     * @param mutateFunction the function returning the new value of an element
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceAllElements(SimpleFunction<T> mutateFunction) {
+        Object[] items = set.toArray();
+        Object[] computed = ParallelSupport.computeAll(parallelPool, items.length, index -> mutateFunction.apply((T) items[index]));
+        List<T> oldItems = new ArrayList<>();
+        List<T> newItems = new ArrayList<>();
+        for (int index = 0; index < items.length; index++) {
+            if (computed[index] != items[index]) {
+                oldItems.add((T) items[index]);
+                newItems.add((T) computed[index]);
+            }
+        }
+        replaceAll(oldItems, newItems);
+    }
+
+    private void replaceAll(List<T> oldItems, List<T> newItems) {
+        if (oldItems.isEmpty()) {
+            return;
+        }
+        NavigableSet<T> target = mutableSet();
+        for (T oldItem : oldItems) {
+            target.remove(oldItem);
+        }
+        target.addAll(newItems);
+    }
+
+    /**
+     * Returns the internal set, copying the source set into a {@link TreeSet} with the same comparator on the
+     * first write.
+     *
+     * @return the mutable set owned by this mutator
+     */
+    private NavigableSet<T> mutableSet() {
+        if (!copied) {
+            set = new TreeSet<>(set);
+            copied = true;
+        }
+        return set;
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+
+class CachedHashMapTest {
+
+    static int hashCodeCalls;
+
+    record CountingKey(int value) {
+        @Override
+        public int hashCode() {
+            hashCodeCalls++;
+            return value % 7;
+        }
+    }
+
+    @Test
+    void shouldMatchHashMapForRandomOperations() {
+        // Arrange
+        Random random = new Random(3);
+        CachedHashMap<CountingKey, Integer> map = new CachedHashMap<>(0);
+        Map<CountingKey, Integer> expected = new HashMap<>();
+        BiFunction<CountingKey, Integer, Integer> remapping =
+                (k, value) -> value == null ? Integer.valueOf(0) : value % 3 == 0 ? null : Integer.valueOf(value + 1);
+        // Act & Assert
+        for (int i = 0; i < 5000; i++) {
+            CountingKey key = new CountingKey(random.nextInt(200));
+            switch (random.nextInt(8)) {
+                case 0 -> assertEquals(expected.remove(key), map.remove(key));
+                case 1 -> assertEquals(expected.merge(key, i, Integer::sum), map.merge(key, i, Integer::sum));
+                case 2 -> assertEquals(expected.merge(key, i, (current, value) -> null),
+                        map.merge(key, i, (current, value) -> null));
+                case 3 -> assertEquals(expected.compute(key, remapping), map.compute(key, remapping));
+                case 4 -> assertEquals(expected.computeIfAbsent(key, k -> k.value()), map.computeIfAbsent(key, k -> k.value()));
+                case 5 -> assertEquals(expected.computeIfPresent(key, (k, value) -> value % 2 == 0 ? null : value + 2),
+                        map.computeIfPresent(key, (k, value) -> value % 2 == 0 ? null : value + 2));
+                default -> assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected, CompactHashMap.copyOf(map));
+    }
+
+    @Test
+    void shouldWriteThroughEntriesAndRemoveWithIterator() {
+        // Arrange
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            Map<Integer, String> source = new HashMap<>();
+            for (int i = 0; i < 100; i++) {
+                source.put(random.nextInt(1000), "v");
+            }
+            CachedHashMap<Integer, String> map = CachedHashMap.copyOf(source);
+            // Act
+            int visited = 0;
+            Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, String> entry = iterator.next();
+                visited++;
+                if (entry.getKey() % 2 == 0) {
+                    iterator.remove();
+                } else {
+                    entry.setValue("w");
+                }
+            }
+            // Assert
+            assertEquals(source.size(), visited);
+            source.keySet().removeIf(key -> key % 2 == 0);
+            source.replaceAll((key, value) -> "w");
+            assertEquals(source, map);
+        }
+    }
+
+    @Test
+    void shouldSupportNullKeyAndValue() {
+        // Arrange
+        CachedHashMap<String, String> map = new CachedHashMap<>(0);
+        // Act
+        map.put(null, "a");
+        map.put("b", null);
+        // Assert
+        assertEquals("a", map.get(null));
+        assertTrue(map.containsKey("b"));
+        assertEquals(CompactHashMap.copyOf(map), map);
+        assertEquals("a", map.remove(null));
+        assertEquals(Collections.singletonMap("b", null), map);
+    }
+
+    @Test
+    void shouldHashKeysOncePerLookupWhenCopyingUpdatingAndBuilding() {
+        // Arrange
+        Map<CountingKey, Integer> source = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            source.put(new CountingKey(i), i);
+        }
+        Map<CountingKey, Integer> compactMap = CompactHashMap.copyOf(source);
+        hashCodeCalls = 0;
+        // Act
+        CachedHashMap<CountingKey, Integer> map = CachedHashMap.copyOf(compactMap);
+        for (Map.Entry<CountingKey, Integer> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() + 1);
+        }
+        CountingKey key = new CountingKey(500);
+        map.compute(key, (k, value) -> value == null ? 0 : value + 1);
+        int slot = map.slotOf(key);
+        map.setValueAt(slot, map.valueAt(slot) + 2);
+        Map<CountingKey, Integer> built = CompactHashMap.copyOf(map);
+        // Assert
+        assertEquals(2, hashCodeCalls);
+        assertEquals(101, built.size());
+        assertEquals(2, built.get(key));
+        assertEquals(100, built.get(new CountingKey(99)));
+    }
+
+    @Test
+    void shouldFindRecordKeyAfterItsNestedCollectionChanged() {
+        // Arrange
+        record NestedKey(List<String> values) {}
+        CachedHashMap<NestedKey, Integer> map = new CachedHashMap<>(0);
+        NestedKey key = new NestedKey(new ArrayList<>(List.of("a")));
+        map.get(key);
+        key.values().add("b");
+        // Act
+        map.put(key, 1);
+        // Assert
+        assertEquals(1, map.get(new NestedKey(List.of("a", "b"))));
+        assertEquals(Map.of(new NestedKey(List.of("a", "b")), 1), new HashMap<>(map));
+    }
+}
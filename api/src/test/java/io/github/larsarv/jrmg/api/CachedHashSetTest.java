@@ -0,0 +1,138 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class CachedHashSetTest {
+
+    static int hashCodeCalls;
+
+    record CountingElement(int value) {
+        @Override
+        public int hashCode() {
+            hashCodeCalls++;
+            return value % 7;
+        }
+    }
+
+    @Test
+    void shouldMatchHashSetForRandomOperations() {
+        // Arrange
+        Random random = new Random(5);
+        CachedHashSet<CountingElement> set = new CachedHashSet<>(0);
+        Set<CountingElement> expected = new HashSet<>();
+        // Act & Assert
+        for (int i = 0; i < 5000; i++) {
+            CountingElement element = new CountingElement(random.nextInt(200));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(element), set.remove(element));
+            } else {
+                assertEquals(expected.add(element), set.add(element));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        assertEquals(expected, set);
+        assertEquals(set, expected);
+        assertEquals(expected, CompactHashSet.copyOf(set));
+    }
+
+    @Test
+    void shouldRemoveWithIteratorWhileIterating() {
+        // Arrange
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            Set<Integer> source = new HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                source.add(random.nextInt(1000));
+            }
+            CachedHashSet<Integer> set = CachedHashSet.copyOf(source);
+            // Act
+            List<Integer> visited = new ArrayList<>();
+            Iterator<Integer> iterator = set.iterator();
+            while (iterator.hasNext()) {
+                Integer element = iterator.next();
+                visited.add(element);
+                if (element % 2 == 0) {
+                    iterator.remove();
+                }
+            }
+            // Assert
+            assertEquals(source.size(), visited.size());
+            assertEquals(source, new HashSet<>(visited));
+            source.removeIf(element -> element % 2 == 0);
+            assertEquals(source, set);
+        }
+    }
+
+    @Test
+    void shouldSupportNullElement() {
+        // Arrange
+        CachedHashSet<String> set = new CachedHashSet<>(0);
+        // Act
+        set.add(null);
+        set.add("a");
+        // Assert
+        assertTrue(set.contains(null));
+        assertEquals(CompactHashSet.copyOf(set), set);
+        assertTrue(set.remove(null));
+        assertEquals(Set.of("a"), set);
+    }
+
+    @Test
+    void shouldHashElementsOncePerLookupWhenCopyingAndBuilding() {
+        // Arrange
+        Set<CountingElement> source = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            source.add(new CountingElement(i));
+        }
+        Set<CountingElement> compactSet = CompactHashSet.copyOf(source);
+        hashCodeCalls = 0;
+        // Act
+        CachedHashSet<CountingElement> set = CachedHashSet.copyOf(compactSet);
+        CountingElement element = new CountingElement(500);
+        set.add(element);
+        set.removeAt(set.slotOf(element));
+        set.add(element);
+        Set<CountingElement> built = CompactHashSet.copyOf(set);
+        // Assert
+        assertEquals(3, hashCodeCalls);
+        assertEquals(101, built.size());
+        assertTrue(built.contains(element));
+    }
+
+    @Test
+    void shouldRemoveIdenticalElementsByStoredHash() {
+        // Arrange
+        CachedHashSet<CountingElement> set = new CachedHashSet<>(0);
+        List<CountingElement> elements = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            elements.add(new CountingElement(i));
+        }
+        set.addAll(elements);
+        hashCodeCalls = 0;
+        // Act
+        set.removeIdentical(elements.subList(0, 25));
+        // Assert
+        assertEquals(0, hashCodeCalls);
+        assertEquals(new HashSet<>(elements.subList(25, 50)), set);
+    }
+
+    @Test
+    void shouldFindRecordAfterItsNestedCollectionChanged() {
+        // Arrange
+        record NestedElement(List<String> values) {}
+        CachedHashSet<NestedElement> set = new CachedHashSet<>(0);
+        NestedElement element = new NestedElement(new ArrayList<>(List.of("a")));
+        set.contains(element);
+        element.values().add("b");
+        // Act
+        set.add(element);
+        // Assert
+        assertTrue(set.contains(new NestedElement(List.of("a", "b"))));
+        assertTrue(set.remove(new NestedElement(List.of("a", "b"))));
+        assertTrue(set.isEmpty());
+    }
+}
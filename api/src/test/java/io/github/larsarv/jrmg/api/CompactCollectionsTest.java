@@ -0,0 +1,194 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class CompactCollectionsTest {
+
+    record CollidingKey(int value) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void shouldCopyListsOfEverySize() {
+        for (int size = 0; size < 10; size++) {
+            // Arrange
+            List<String> source = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                source.add(i == 1 ? null : "item" + i);
+            }
+            // Act
+            List<String> list = CompactList.copyOf(source);
+            // Assert
+            assertEquals(source, list);
+            assertEquals(source.hashCode(), list.hashCode());
+            assertEquals(size > 1 ? 1 : -1, list.indexOf(null));
+            assertThrows(IndexOutOfBoundsException.class, () -> list.get(source.size()));
+            assertThrows(UnsupportedOperationException.class, () -> list.add("x"));
+        }
+    }
+
+    @Test
+    void shouldShareEmptyCollections() {
+        // Act & Assert
+        assertSame(CompactList.empty(), CompactList.copyOf(new ArrayList<>()));
+        assertSame(CompactHashMap.empty(), CompactHashMap.copyOf(new HashMap<>()));
+        assertSame(CompactHashSet.empty(), CompactHashSet.copyOf(new HashSet<>()));
+    }
+
+    @Test
+    void shouldCopyMapsOfEverySize() {
+        for (int size = 0; size < 40; size++) {
+            // Arrange
+            Map<Object, String> source = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                source.put(i % 5 == 0 ? new CollidingKey(i) : "key" + i, i == 3 ? null : "value" + i);
+            }
+            source.put(null, "nullKey");
+            // Act
+            Map<Object, String> map = CompactHashMap.copyOf(source);
+            // Assert
+            assertEquals(source, map);
+            assertEquals(map, source);
+            assertEquals(source.hashCode(), map.hashCode());
+            assertEquals("nullKey", map.get(null));
+            assertFalse(map.containsKey("missing"));
+            assertEquals("default", map.getOrDefault("missing", "default"));
+            if (size > 3) {
+                assertTrue(map.containsKey("key3"));
+                assertNull(map.get("key3"));
+            }
+            assertThrows(UnsupportedOperationException.class, () -> map.put("x", "y"));
+        }
+    }
+
+    @Test
+    void shouldKeepOrderOfSmallMaps() {
+        // Arrange
+        Map<String, Integer> source = new LinkedHashMap<>();
+        source.put("c", 1);
+        source.put("a", 2);
+        source.put("b", 3);
+        // Act
+        Map<String, Integer> map = CompactHashMap.copyOf(source);
+        // Assert
+        assertEquals(List.of("c", "a", "b"), new ArrayList<>(map.keySet()));
+        assertEquals(List.of(1, 2, 3), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    void shouldCopySetsOfEverySize() {
+        for (int size = 0; size < 40; size++) {
+            // Arrange
+            Set<Object> source = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                source.add(i % 5 == 0 ? new CollidingKey(i) : "item" + i);
+            }
+            source.add(null);
+            // Act
+            Set<Object> set = CompactHashSet.copyOf(source);
+            // Assert
+            assertEquals(source, set);
+            assertEquals(set, source);
+            assertEquals(source.hashCode(), set.hashCode());
+            assertTrue(set.contains(null));
+            assertFalse(set.contains("missing"));
+            assertThrows(UnsupportedOperationException.class, () -> set.add("x"));
+        }
+    }
+
+    @Test
+    void shouldComputeHashCodesOnceFromStoredHashes() {
+        // Arrange
+        int[] hashCodeCalls = {0};
+        record Counting(int value, int[] calls) {
+            @Override
+            public int hashCode() {
+                calls[0]++;
+                return value;
+            }
+        }
+        Set<Counting> source = new HashSet<>();
+        Map<Counting, String> sourceMap = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            source.add(new Counting(i, hashCodeCalls));
+            sourceMap.put(new Counting(i, hashCodeCalls), "v" + i);
+        }
+        Set<Counting> set = CompactHashSet.copyOf(CachedHashSet.copyOf(source));
+        Map<Counting, String> map = CompactHashMap.copyOf(CachedHashMap.copyOf(sourceMap));
+        List<Counting> list = CompactList.copyOf(List.copyOf(source));
+        int expectedSetHash = source.hashCode();
+        int expectedMapHash = sourceMap.hashCode();
+        int expectedListHash = new ArrayList<>(list).hashCode();
+        hashCodeCalls[0] = 0;
+        // Act
+        int setHash = set.hashCode();
+        int mapHash = map.hashCode();
+        int listHash = list.hashCode();
+        list.hashCode();
+        // Assert
+        assertEquals(expectedSetHash, setHash);
+        assertEquals(expectedMapHash, mapHash);
+        assertEquals(expectedListHash, listHash);
+        assertEquals(20, hashCodeCalls[0]); // Only the list hashes its elements, once
+        assertEquals(setHash, set.hashCode());
+        assertEquals(20, hashCodeCalls[0]);
+    }
+
+    @Test
+    void shouldNotBeEqualWhenCachedHashCodesDiffer() {
+        // Arrange
+        List<String> list = CompactList.copyOf(List.of("a", "b", "c", "d", "e"));
+        List<String> otherList = CompactList.copyOf(List.of("a", "b", "c", "d", "f"));
+        Set<String> set = CompactHashSet.copyOf(Set.of("a", "b"));
+        Set<String> otherSet = CompactHashSet.copyOf(Set.of("a", "c"));
+        list.hashCode();
+        otherList.hashCode();
+        set.hashCode();
+        otherSet.hashCode();
+        // Act & Assert
+        assertNotEquals(list, otherList);
+        assertNotEquals(set, otherSet);
+        assertNotEquals(list, List.of("a"));
+        assertEquals(list, CompactList.copyOf(List.of("a", "b", "c", "d", "e")));
+        assertEquals(list, new ArrayList<>(list));
+        assertEquals(CompactHashSet.copyOf(Set.of("b", "a")), set);
+    }
+
+    @Test
+    void shouldSerializeAsUnmodifiableCopies() {
+        // Arrange
+        List<String> emptyList = CompactList.empty();
+        List<String> inlineList = CompactList.copyOf(Arrays.asList("a", null));
+        List<String> arrayList = CompactList.copyOf(List.of("a", "b", "c", "d", "e"));
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i);
+        }
+        Map<String, Integer> compactMap = CompactHashMap.copyOf(map);
+        Set<String> compactSet = CompactHashSet.copyOf(map.keySet());
+        // Act
+        List<String> deserializedEmptyList = SerializationSupport.roundTrip(emptyList);
+        List<String> deserializedInlineList = SerializationSupport.roundTrip(inlineList);
+        List<String> deserializedArrayList = SerializationSupport.roundTrip(arrayList);
+        Map<String, Integer> deserializedMap = SerializationSupport.roundTrip(compactMap);
+        Set<String> deserializedSet = SerializationSupport.roundTrip(compactSet);
+        // Assert
+        assertEquals(emptyList, deserializedEmptyList);
+        assertEquals(inlineList, deserializedInlineList);
+        assertEquals(arrayList, deserializedArrayList);
+        assertEquals(compactMap, deserializedMap);
+        assertEquals(new ArrayList<>(compactMap.keySet()), new ArrayList<>(deserializedMap.keySet()));
+        assertEquals(compactSet, deserializedSet);
+        assertEquals(new ArrayList<>(compactSet), new ArrayList<>(deserializedSet));
+        assertThrows(UnsupportedOperationException.class, () -> deserializedArrayList.add("f"));
+        assertThrows(UnsupportedOperationException.class, () -> deserializedMap.put("other", 0));
+        assertThrows(UnsupportedOperationException.class, () -> deserializedSet.add("other"));
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class DequeMutatorImplTest {
+
+    @Test
+    void shouldReturnSourceDequeWhenNothingWasWritten() {
+        // Arrange
+        Deque<String> originalDeque = new ArrayDeque<>(List.of("a", "b"));
+        DequeMutatorImpl<String> mutator = new DequeMutatorImpl<>(originalDeque);
+
+        // Act
+        Deque<String> builtDeque = mutator
+                .filter(item -> true)
+                .updateAll(item -> item)
+                .dropFirst(0)
+                .build();
+
+        // Assert
+        assertSame(originalDeque, builtDeque);
+    }
+
+    @Test
+    void shouldNotModifySourceDequeOnWrite() {
+        // Arrange
+        Deque<String> originalDeque = new ArrayDeque<>(List.of("a", "b"));
+        DequeMutatorImpl<String> mutator = new DequeMutatorImpl<>(originalDeque);
+
+        // Act
+        Deque<String> builtDeque = mutator.addFirst("x").addLast("y").build();
+
+        // Assert
+        assertEquals(List.of("a", "b"), List.copyOf(originalDeque));
+        assertEquals(List.of("x", "a", "b", "y"), List.copyOf(builtDeque));
+    }
+
+    @Test
+    void shouldAddAndPollAtBothEnds() {
+        // Arrange
+        DequeMutatorImpl<Integer> mutator = new DequeMutatorImpl<>(null);
+
+        // Act
+        mutator.addLast(2).addLast(3).addFirst(1).addFirst(0);
+        Integer first = mutator.pollFirst();
+        Integer last = mutator.pollLast();
+        Deque<Integer> builtDeque = mutator.build();
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(3, last);
+        assertEquals(List.of(1, 2), List.copyOf(builtDeque));
+        assertEquals(1, builtDeque.getFirst());
+        assertEquals(2, builtDeque.peekLast());
+    }
+
+    @Test
+    void shouldKeepLastElementsWithPushBounded() {
+        // Arrange
+        DequeMutatorImpl<Integer> mutator = new DequeMutatorImpl<>(new ArrayDeque<>(List.of(1, 2, 3)));
+
+        // Act
+        for (int item = 4; item <= 20; item++) {
+            mutator.pushBounded(item, 3);
+        }
+        Deque<Integer> builtDeque = mutator.build();
+
+        // Assert
+        assertEquals(List.of(18, 19, 20), List.copyOf(builtDeque));
+    }
+
+    @Test
+    void shouldKeepOrderWhenGrowingWrappedArray() {
+        // Arrange
+        DequeMutatorImpl<Integer> mutator = new DequeMutatorImpl<>(null);
+        List<Integer> expected = new ArrayList<>();
+
+        // Act
+        for (int item = 0; item < 20; item++) {
+            if (item % 2 == 0) {
+                mutator.addFirst(item);
+                expected.add(0, item);
+            } else {
+                mutator.addLast(item);
+                expected.add(item);
+            }
+        }
+        Deque<Integer> builtDeque = mutator.build();
+
+        // Assert
+        assertEquals(expected, List.copyOf(builtDeque));
+        List<Integer> descending = new ArrayList<>();
+        builtDeque.descendingIterator().forEachRemaining(descending::add);
+        Collections.reverse(expected);
+        assertEquals(expected, descending);
+    }
+
+    @Test
+    void shouldFilterAndUpdateElements() {
+        // Arrange
+        DequeMutatorImpl<Integer> mutator = new DequeMutatorImpl<>(new ArrayDeque<>(List.of(1, 2, 3, 4, 5)));
+
+        // Act
+        Deque<Integer> builtDeque = mutator
+                .dropFirst(1)
+                .addLast(6)
+                .filter(item -> item % 2 == 0)
+                .updateAll(item -> item * 10)
+                .build();
+
+        // Assert
+        assertEquals(List.of(20, 40, 60), List.copyOf(builtDeque));
+    }
+
+    @Test
+    void shouldCopyQueueSourceIntoDeque() {
+        // Arrange
+        Queue<String> originalQueue = new LinkedList<>(List.of("a", "b"));
+        DequeMutatorImpl<String> mutator = new DequeMutatorImpl<>(originalQueue);
+
+        // Act
+        Deque<String> builtDeque = mutator.dropLast(1).build();
+
+        // Assert
+        assertEquals(List.of("a"), List.copyOf(builtDeque));
+        assertEquals(2, originalQueue.size());
+    }
+
+    @Test
+    void shouldCopyBuiltDequeOnWrite() {
+        // Arrange
+        Deque<Integer> firstDeque = new DequeMutatorImpl<Integer>(null).addLast(1).addLast(2).build();
+
+        // Act
+        Deque<Integer> secondDeque = new DequeMutatorImpl<>(firstDeque).pushBounded(3, 2).build();
+
+        // Assert
+        assertEquals(List.of(1, 2), List.copyOf(firstDeque));
+        assertEquals(List.of(2, 3), List.copyOf(secondDeque));
+    }
+
+    @Test
+    void shouldReturnImmutableDeque() {
+        // Arrange
+        Deque<Integer> builtDeque = new DequeMutatorImpl<Integer>(null).addLast(1).build();
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> builtDeque.addLast(2));
+        assertThrows(UnsupportedOperationException.class, builtDeque::pollFirst);
+    }
+
+    @Test
+    void shouldThrowWhenMutatingAfterBuild() {
+        // Arrange
+        DequeMutatorImpl<Integer> mutator = new DequeMutatorImpl<>(null);
+        mutator.addLast(1).build();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.addLast(2));
+    }
+
+    @Test
+    void shouldSerializeBuiltDeque() {
+        // Arrange
+        Deque<Integer> builtDeque = new DequeMutatorImpl<Integer>(null)
+                .addLast(2)
+                .addLast(3)
+                .addFirst(1)
+                .build();
+
+        // Act
+        Deque<Integer> deserialized = SerializationSupport.roundTrip(builtDeque);
+
+        // Assert
+        assertEquals(List.of(1, 2, 3), new ArrayList<>(deserialized));
+        assertEquals(1, deserialized.peekFirst());
+        assertThrows(UnsupportedOperationException.class, () -> deserialized.addLast(4));
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class DoubleListMutatorImplTest {
+
+    @Test
+    void shouldWriteNegativeZeroOverPositiveZero() {
+        // Arrange
+        List<Double> originalList = List.of(0.0, 1.0);
+        DoubleListMutatorImpl mutator = new DoubleListMutatorImpl(originalList);
+
+        // Act
+        List<Double> builtList = mutator.setDouble(0, -0.0).build();
+
+        // Assert
+        assertNotSame(originalList, builtList);
+        assertEquals(List.of(-0.0, 1.0), builtList);
+    }
+
+    @Test
+    void shouldEqualBoxedListWithNaN() {
+        // Arrange
+        DoubleListMutatorImpl mutator = new DoubleListMutatorImpl(null);
+
+        // Act
+        List<Double> builtList = mutator.addDouble(Double.NaN).addDouble(2.5).build();
+
+        // Assert
+        assertEquals(Arrays.asList(Double.NaN, 2.5), builtList);
+        assertEquals(Arrays.asList(Double.NaN, 2.5).hashCode(), builtList.hashCode());
+    }
+
+    @Test
+    void shouldUpdateAllValues() {
+        // Arrange
+        DoubleListMutatorImpl mutator = new DoubleListMutatorImpl(List.of(1.0, 2.0));
+
+        // Act
+        List<Double> builtList = mutator.updateAllDouble((index, value) -> value * 2).build();
+
+        // Assert
+        assertEquals(List.of(2.0, 4.0), builtList);
+    }
+
+    @Test
+    void shouldSerializeBuiltListWithNaN() {
+        // Arrange
+        List<Double> builtList = new DoubleListMutatorImpl(List.of(1.0)).addDouble(Double.NaN).build();
+
+        // Act
+        List<Double> deserialized = SerializationSupport.roundTrip(builtList);
+
+        // Assert
+        assertEquals(builtList, deserialized);
+    }
+}
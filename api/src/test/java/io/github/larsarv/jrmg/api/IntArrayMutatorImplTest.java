@@ -0,0 +1,132 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class IntArrayMutatorImplTest {
+
+    @Test
+    void shouldReturnSourceArrayWhenNothingWasWritten() {
+        // Arrange
+        int[] originalArray = {1, 2, 3};
+        IntArrayMutatorImpl mutator = new IntArrayMutatorImpl(originalArray);
+
+        // Act
+        int[] builtArray = mutator
+                .set(0, 1)
+                .setRange(1, 2, 3)
+                .fill(0, 1, 1)
+                .updateAll((index, value) -> value)
+                .insert(1)
+                .removeRange(2, 2)
+                .build();
+
+        // Assert
+        assertSame(originalArray, builtArray);
+    }
+
+    @Test
+    void shouldCreateEmptyArrayWhenSourceIsNull() {
+        // Arrange
+        IntArrayMutatorImpl mutator = new IntArrayMutatorImpl(null);
+
+        // Act
+        int[] builtArray = mutator.append(4, 2).build();
+
+        // Assert
+        assertArrayEquals(new int[]{4, 2}, builtArray);
+    }
+
+    @Test
+    void shouldNotModifySourceArrayOnWrite() {
+        // Arrange
+        int[] originalArray = {1, 2, 3};
+        IntArrayMutatorImpl mutator = new IntArrayMutatorImpl(originalArray);
+
+        // Act
+        int[] builtArray = mutator.set(1, 20).build();
+
+        // Assert
+        assertArrayEquals(new int[]{1, 2, 3}, originalArray);
+        assertArrayEquals(new int[]{1, 20, 3}, builtArray);
+    }
+
+    @Test
+    void shouldSetRangeAndFill() {
+        // Arrange
+        IntArrayMutatorImpl mutator = new IntArrayMutatorImpl(new int[]{1, 2, 3, 4, 5});
+
+        // Act
+        int[] builtArray = mutator.setRange(1, 20, 30).fill(3, 5, 0).build();
+
+        // Assert
+        assertArrayEquals(new int[]{1, 20, 30, 0, 0}, builtArray);
+    }
+
+    @Test
+    void shouldInsertAppendAndRemoveRanges() {
+        // Arrange
+        IntArrayMutatorImpl mutator = new IntArrayMutatorImpl(new int[]{1, 2, 3});
+
+        // Act
+        int[] builtArray = mutator
+                .insert(0, -1, 0)
+                .append(4, 5, 6, 7, 8)
+                .insert(5, 100)
+                .removeRange(1, 3)
+                .build();
+
+        // Assert
+        assertArrayEquals(new int[]{-1, 2, 3, 100, 4, 5, 6, 7, 8}, builtArray);
+        assertEquals(9, builtArray.length);
+    }
+
+    @Test
+    void shouldUpdateRangeUsingIndex() {
+        // Arrange
+        IntArrayMutatorImpl mutator = new IntArrayMutatorImpl(new int[]{10, 20, 30, 40});
+
+        // Act
+        int[] builtArray = mutator.updateRange(1, 3, (index, value) -> value + index).build();
+
+        // Assert
+        assertArrayEquals(new int[]{10, 21, 32, 40}, builtArray);
+    }
+
+    @Test
+    void shouldThrowWhenRangeIsOutOfBounds() {
+        // Arrange
+        IntArrayMutatorImpl mutator = new IntArrayMutatorImpl(new int[]{1, 2, 3});
+
+        // Act & Assert
+        assertThrows(IndexOutOfBoundsException.class, () -> mutator.setRange(2, 3, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> mutator.insert(4, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> mutator.removeRange(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> mutator.get(3));
+    }
+
+    @Test
+    void shouldReturnCopyFromToArray() {
+        // Arrange
+        int[] originalArray = {1, 2, 3};
+        IntArrayMutatorImpl mutator = new IntArrayMutatorImpl(originalArray);
+
+        // Act
+        int[] array = mutator.toArray();
+
+        // Assert
+        assertNotSame(originalArray, array);
+        assertArrayEquals(originalArray, array);
+    }
+
+    @Test
+    void shouldThrowWhenMutatingAfterBuild() {
+        // Arrange
+        IntArrayMutatorImpl mutator = new IntArrayMutatorImpl(new int[]{1});
+        mutator.append(2).build();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.set(0, 5));
+    }
+}
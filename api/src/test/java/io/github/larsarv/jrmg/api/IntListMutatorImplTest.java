@@ -0,0 +1,230 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class IntListMutatorImplTest {
+
+    @Test
+    void shouldReturnSourceListWhenNothingWasWritten() {
+        // Arrange
+        List<Integer> originalList = List.of(1, 2, 3);
+        IntListMutatorImpl mutator = new IntListMutatorImpl(originalList);
+
+        // Act
+        List<Integer> builtList = mutator
+                .setInt(0, 1)
+                .updateAllInt((index, value) -> value)
+                .filterInt(value -> true)
+                .sort()
+                .build();
+
+        // Assert
+        assertSame(originalList, builtList);
+    }
+
+    @Test
+    void shouldCreateEmptyListWhenSourceIsNull() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(null);
+
+        // Act
+        List<Integer> builtList = mutator.addInt(4).addInt(2).build();
+
+        // Assert
+        assertEquals(List.of(4, 2), builtList);
+    }
+
+    @Test
+    void shouldNotModifySourceListOnWrite() {
+        // Arrange
+        List<Integer> originalList = new ArrayList<>(List.of(1, 2, 3));
+        IntListMutatorImpl mutator = new IntListMutatorImpl(originalList);
+
+        // Act
+        List<Integer> builtList = mutator.setInt(1, 20).add(4).build();
+
+        // Assert
+        assertEquals(List.of(1, 2, 3), originalList);
+        assertEquals(List.of(1, 20, 3, 4), builtList);
+    }
+
+    @Test
+    void shouldUpdateAllValuesUsingIndex() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(List.of(10, 20, 30));
+
+        // Act
+        List<Integer> builtList = mutator.updateAllInt((index, value) -> index == 0 ? value : value + index).build();
+
+        // Assert
+        assertEquals(List.of(10, 21, 32), builtList);
+    }
+
+    @Test
+    void shouldFilterAndSortValues() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(List.of(5, -1, 3, 8, -4, 1));
+
+        // Act
+        List<Integer> builtList = mutator.filterInt(value -> value > 0).sort().build();
+
+        // Assert
+        assertEquals(List.of(1, 3, 5, 8), builtList);
+    }
+
+    @Test
+    void shouldSortWithComparator() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(List.of(2, 3, 1));
+
+        // Act
+        List<Integer> builtList = mutator.sort(Comparator.reverseOrder()).build();
+
+        // Assert
+        assertEquals(List.of(3, 2, 1), builtList);
+    }
+
+    @Test
+    void shouldApplyBulkOperations() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(List.of(0, 1, 2, 3, 4, 5, 6, 7));
+
+        // Act
+        List<Integer> builtList = mutator
+                .removeRange(1, 3)
+                .removeIndices(5, 0)
+                .insertAll(1, List.of(10, 11))
+                .addAll(List.of(12))
+                .move(0, 3)
+                .remove(1)
+                .build();
+
+        // Assert
+        assertEquals(List.of(10, 4, 3, 5, 6, 12), builtList);
+    }
+
+    @Test
+    void shouldRetainValuesAtSpecifiedIndices() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(List.of(1, 2, 3, 4));
+
+        // Act
+        List<Integer> builtList = mutator.retainIndices(3, 1).build();
+
+        // Assert
+        assertEquals(List.of(2, 4), builtList);
+    }
+
+    @Test
+    void shouldGrowWhenAddingManyValues() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(null);
+        List<Integer> expected = new ArrayList<>();
+
+        // Act
+        for (int value = 0; value < 1000; value++) {
+            mutator.addInt(value);
+            expected.add(value);
+        }
+        List<Integer> builtList = mutator.build();
+
+        // Assert
+        assertEquals(expected, builtList);
+        assertEquals(expected.hashCode(), builtList.hashCode());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), mutator.toIntArray());
+    }
+
+    @Test
+    void shouldCopyBuiltListWithoutSharingArray() {
+        // Arrange
+        IntListMutatorImpl first = new IntListMutatorImpl(List.of(1, 2));
+        List<Integer> firstList = first.addInt(3).build();
+
+        // Act
+        IntListMutatorImpl second = new IntListMutatorImpl(firstList);
+        List<Integer> secondList = second.setInt(0, 100).build();
+
+        // Assert
+        assertEquals(List.of(1, 2, 3), firstList);
+        assertEquals(List.of(100, 2, 3), secondList);
+    }
+
+    @Test
+    void shouldNotAffectBuiltCopyOnLaterWrites() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(List.of(1, 2));
+        mutator.addInt(3);
+
+        // Act
+        List<Integer> copy = mutator.buildCopy();
+        mutator.setInt(0, 7);
+
+        // Assert
+        assertEquals(List.of(1, 2, 3), copy);
+        assertEquals(List.of(7, 2, 3), mutator.build());
+    }
+
+    @Test
+    void shouldReturnImmutableListOnBuild() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(null);
+
+        // Act
+        List<Integer> builtList = mutator.addInt(1).build();
+
+        // Assert
+        assertThrows(UnsupportedOperationException.class, () -> builtList.add(2));
+    }
+
+    @Test
+    void shouldThrowExceptionOnModificationAfterBuild() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(List.of(1));
+        mutator.build();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.addInt(2));
+    }
+
+    @Test
+    void shouldThrowIndexOutOfBoundsExceptionWhenGettingOutOfBoundsIndex() {
+        // Arrange
+        IntListMutatorImpl mutator = new IntListMutatorImpl(null);
+        mutator.addInt(1);
+
+        // Act & Assert
+        assertThrows(IndexOutOfBoundsException.class, () -> mutator.getInt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> mutator.remove(1));
+    }
+
+    @Test
+    void shouldRemoveDuplicateValues() {
+        // Arrange
+        List<Integer> originalList = List.of(3, 1, 3, 2, 1);
+
+        // Act
+        List<Integer> result = IntListMutatorImpl.mutator(originalList).distinct().build();
+        List<Integer> byParity = IntListMutatorImpl.mutator(originalList).distinctBy(value -> value % 2).build();
+
+        // Assert
+        assertEquals(List.of(3, 1, 2), result);
+        assertEquals(List.of(3, 2), byParity);
+    }
+
+    @Test
+    void shouldSerializeBuiltListAsUnmodifiableList() {
+        // Arrange
+        List<Integer> builtList = IntListMutatorImpl.mutator(List.of(1, 2)).addInt(3).build();
+
+        // Act
+        List<Integer> deserialized = SerializationSupport.roundTrip(builtList);
+
+        // Assert
+        assertEquals(List.of(1, 2, 3), deserialized);
+        assertThrows(UnsupportedOperationException.class, () -> deserialized.add(4));
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class IntValueHashMapTest {
+
+    record CollidingKey(int value) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void shouldContainEntriesOfCopiedMap() {
+        // Arrange
+        Map<String, Integer> source = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            source.put("key" + i, i);
+        }
+        // Act
+        IntValueHashMap<String> map = IntValueHashMap.copyOf(source);
+        // Assert
+        assertEquals(source, map);
+        assertEquals(map, source);
+        assertEquals(source.hashCode(), map.hashCode());
+        assertEquals(4321, map.getInt("key4321", -1));
+        assertEquals(-1, map.getInt("missing", -1));
+    }
+
+    @Test
+    void shouldSupportNullKey() {
+        // Arrange
+        IntValueHashMap<String> map = new IntValueHashMap<>(0);
+        // Act
+        map.putInt(null, 7);
+        map.putInt("a", 1);
+        // Assert
+        assertEquals(7, map.get(null));
+        assertTrue(map.containsKey(null));
+        assertTrue(map.keySet().contains(null));
+        map.removeAt(map.slotOf(null));
+        assertFalse(map.containsKey(null));
+        assertEquals(Map.of("a", 1), map);
+    }
+
+    @Test
+    void shouldBeUnmodifiableThroughMapInterface() {
+        // Arrange
+        IntValueHashMap<String> map = IntValueHashMap.copyOf(Map.of("a", 1));
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", 2));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+    }
+
+    @Test
+    void shouldMatchHashMapForRandomOperationsWithCollidingKeys() {
+        // Arrange
+        Random random = new Random(11);
+        IntValueHashMap<CollidingKey> map = new IntValueHashMap<>(0);
+        Map<CollidingKey, Integer> expected = new HashMap<>();
+        // Act & Assert
+        for (int i = 0; i < 3000; i++) {
+            CollidingKey key = new CollidingKey(random.nextInt(60));
+            if (random.nextInt(3) == 0) {
+                int slot = map.slotOf(key);
+                if (slot >= 0) {
+                    map.removeAt(slot);
+                }
+                expected.remove(key);
+            } else {
+                map.putInt(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+    }
+
+    @Test
+    void shouldMatchHashMapForRandomOperations() {
+        // Arrange
+        Random random = new Random(5);
+        IntValueHashMap<Integer> map = new IntValueHashMap<>(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            Integer key = random.nextInt(5000);
+            int slot = map.slotOf(key);
+            if (random.nextInt(4) == 0) {
+                if (slot >= 0) {
+                    map.removeAt(slot);
+                }
+                expected.remove(key);
+            } else if (slot >= 0) {
+                map.setValueAt(slot, map.valueAt(slot) + 1);
+                expected.merge(key, 1, Integer::sum);
+            } else {
+                map.insertAt(slot, key, 1);
+                expected.put(key, 1);
+            }
+        }
+        // Assert
+        assertEquals(expected, map);
+        assertEquals(expected, IntValueHashMap.copyOf(map));
+    }
+}
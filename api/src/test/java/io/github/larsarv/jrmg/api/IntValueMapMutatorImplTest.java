@@ -0,0 +1,181 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class IntValueMapMutatorImplTest {
+
+    @Test
+    void shouldReturnSourceMapWhenNothingWasWritten() {
+        // Arrange
+        Map<String, Integer> originalMap = Map.of("a", 1, "b", 2);
+        IntValueMapMutatorImpl<String> mutator = new IntValueMapMutatorImpl<>(originalMap);
+        // Act
+        Map<String, Integer> builtMap = mutator
+                .putInt("a", 1)
+                .updateInt("b", value -> value)
+                .updateInt("c", value -> value + 1)
+                .remove("c")
+                .filter((key, value) -> true)
+                .updateAll((key, value) -> value)
+                .build();
+        // Assert
+        assertSame(originalMap, builtMap);
+    }
+
+    @Test
+    void shouldIncrementExistingAndMissingKeys() {
+        // Arrange
+        Map<String, Integer> originalMap = Map.of("apple", 3);
+        IntValueMapMutatorImpl<String> mutator = new IntValueMapMutatorImpl<>(originalMap);
+        // Act
+        Map<String, Integer> builtMap = mutator
+                .increment("apple", 2)
+                .increment("pear", 5)
+                .increment("pear", -1)
+                .build();
+        // Assert
+        assertEquals(Map.of("apple", 5, "pear", 4), builtMap);
+        assertEquals(Map.of("apple", 3), originalMap);
+    }
+
+    @Test
+    void shouldMergeAndUpdateValues() {
+        // Arrange
+        IntValueMapMutatorImpl<String> mutator = new IntValueMapMutatorImpl<>(null);
+        // Act
+        Map<String, Integer> builtMap = mutator
+                .mergeInt("a", 4, Math::max)
+                .mergeInt("a", 2, Math::max)
+                .mergeInt("b", 1, Integer::sum)
+                .updateInt("b", value -> value * 10)
+                .update("a", value -> value + 1)
+                .build();
+        // Assert
+        assertEquals(Map.of("a", 5, "b", 10), builtMap);
+    }
+
+    @Test
+    void shouldIterateEntriesWithoutBoxing() {
+        // Arrange
+        IntValueMapMutatorImpl<String> mutator = new IntValueMapMutatorImpl<>(Map.of("a", 1, "b", 2));
+        mutator.increment("c", 3);
+        Map<String, Integer> visited = new HashMap<>();
+        // Act
+        mutator.forEachIntEntry(visited::put);
+        // Assert
+        assertEquals(Map.of("a", 1, "b", 2, "c", 3), visited);
+        assertEquals(3, mutator.getInt("c", 0));
+        assertEquals(0, mutator.getInt("d", 0));
+    }
+
+    @Test
+    void shouldFilterUpdateAllAndClear() {
+        // Arrange
+        IntValueMapMutatorImpl<String> mutator = new IntValueMapMutatorImpl<>(Map.of("a", 1, "b", 2, "c", 3));
+        // Act
+        Map<String, Integer> filtered = mutator
+                .filter((key, value) -> value != 2)
+                .updateAll((key, value) -> value * 2)
+                .buildCopy();
+        Map<String, Integer> cleared = mutator.clear().putInt("z", 26).build();
+        // Assert
+        assertEquals(Map.of("a", 2, "c", 6), filtered);
+        assertEquals(Map.of("z", 26), cleared);
+    }
+
+    @Test
+    void shouldCopyBuiltMapWithoutSharingTable() {
+        // Arrange
+        Map<String, Integer> first = new IntValueMapMutatorImpl<String>(null).putInt("a", 1).build();
+        // Act
+        Map<String, Integer> second = new IntValueMapMutatorImpl<>(first).increment("a", 1).build();
+        // Assert
+        assertEquals(Map.of("a", 1), first);
+        assertEquals(Map.of("a", 2), second);
+    }
+
+    @Test
+    void shouldBuildCompactCopyOfTable() {
+        // Arrange
+        IntValueMapMutatorImpl<Integer> mutator = new IntValueMapMutatorImpl<>(null);
+        for (int key = 0; key < 100; key++) {
+            mutator.putInt(key, key);
+        }
+        // Act
+        Map<Integer, Integer> builtMap = mutator
+                .filter((key, value) -> key < 2)
+                .build();
+        // Assert
+        assertEquals(Map.of(0, 0, 1, 1), builtMap);
+        assertEquals(HashTables.MIN_CAPACITY, ((IntValueHashMap<Integer>) builtMap).capacity());
+        assertThrows(UnsupportedOperationException.class, () -> builtMap.put(2, 2));
+    }
+
+    @Test
+    void shouldSerializeBuiltMapAsUnmodifiableMap() {
+        // Arrange
+        Map<String, Integer> builtMap = new IntValueMapMutatorImpl<String>(null)
+                .putInt("a", 1)
+                .putInt(null, 2)
+                .build();
+        // Act
+        Map<String, Integer> deserialized = SerializationSupport.roundTrip(builtMap);
+        // Assert
+        assertEquals(builtMap, deserialized);
+        assertThrows(UnsupportedOperationException.class, () -> deserialized.put("b", 3));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenModifyingAfterBuild() {
+        // Arrange
+        IntValueMapMutatorImpl<String> mutator = new IntValueMapMutatorImpl<>(Map.of("a", 1));
+        mutator.build();
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.increment("a", 1));
+    }
+
+    @Test
+    void shouldComputeAndMergeValues() {
+        // Arrange
+        Map<String, Integer> originalMap = Map.of("a", 1, "b", 2, "c", 3);
+        IntValueMapMutatorImpl<String> mutator = new IntValueMapMutatorImpl<>(originalMap);
+
+        // Act
+        mutator.computeIfPresent("a", (key, value) -> value);
+        mutator.computeIfAbsent("b", key -> 20);
+        Map<String, Integer> unchanged = mutator.buildCopy();
+        mutator
+            .compute("a", (key, value) -> value + 10)
+            .compute("b", (key, value) -> null)
+            .compute("d", (key, value) -> value == null ? 4 : value)
+            .computeIfPresent("c", (key, value) -> value * 2)
+            .computeIfAbsent("e", key -> 5)
+            .merge("e", 1, Integer::sum)
+            .merge("f", 7, Integer::sum)
+            .merge("c", 0, (current, value) -> null);
+        Map<String, Integer> result = mutator.build();
+
+        // Assert
+        assertEquals(originalMap, unchanged);
+        assertNotSame(originalMap, unchanged);
+        assertEquals(Map.of("a", 11, "d", 4, "e", 6, "f", 7), result);
+    }
+
+    @Test
+    void shouldMergeAllEntriesOfMap() {
+        // Arrange
+        Map<String, Integer> originalMap = Map.of("a", 1, "b", 2);
+
+        // Act
+        Map<String, Integer> result = IntValueMapMutatorImpl.mutator(originalMap)
+            .mergeAll(Map.of("b", 3, "c", 4), Integer::sum)
+            .build();
+
+        // Assert
+        assertEquals(Map.of("a", 1, "b", 5, "c", 4), result);
+    }
+}
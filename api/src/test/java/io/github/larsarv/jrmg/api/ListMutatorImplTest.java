@@ -3,6 +3,7 @@ package io.github.larsarv.jrmg.api;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
@@ -238,6 +239,47 @@ class ListMutatorImplTest {
 
         // Act & Assert
         assertThrows(IndexOutOfBoundsException.class, () -> mutator.remove(1));
+        assertSame(originalList, mutator.build());
+    }
+
+    @Test
+    void shouldReturnLinkedSourceListWhenNothingWasWritten() {
+        // Arrange
+        List<TestRecord> originalList = new LinkedList<>(List.of(new TestRecord(true), new TestRecord(true)));
+        ListMutatorImpl<TestRecord, TestRecordMutator> mutator = new ListMutatorImpl<>(originalList, TestRecordMutator::new);
+
+        // Act
+        List<TestRecord> builtList = mutator
+                .filter(TestRecord::test)
+                .updateAll((index, item) -> item)
+                .findAllAndMutate(item -> !item.test(), itemMutator -> itemMutator.setTest(true))
+                .build();
+
+        // Assert
+        assertSame(originalList, builtList);
+    }
+
+    @Test
+    void shouldMutateLinkedSourceListWithoutModifyingIt() {
+        // Arrange
+        List<TestRecord> originalList = new LinkedList<>();
+        for (int index = 0; index < 1000; index++) {
+            originalList.add(new TestRecord(index % 2 == 0));
+        }
+        ListMutatorImpl<TestRecord, TestRecordMutator> mutator = new ListMutatorImpl<>(originalList, TestRecordMutator::new);
+
+        // Act
+        List<TestRecord> builtList = mutator
+                .filter(TestRecord::test)
+                .mutateAll((index, itemMutator) -> itemMutator.setTest(false))
+                .remove(0)
+                .build();
+
+        // Assert
+        assertEquals(499, builtList.size());
+        assertFalse(builtList.get(0).test());
+        assertEquals(1000, originalList.size());
+        assertTrue(originalList.get(0).test());
     }
 
     @Test
@@ -363,4 +405,408 @@ class ListMutatorImplTest {
         // Act & Assert
         assertThrows(IndexOutOfBoundsException.class, () -> mutator.move(3, -1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnSourceListWhenNothingWasWritten() {
+        // Arrange
+        List<TestRecord> originalList = Arrays.asList(new TestRecord(), new TestRecord());
+        ListMutatorImpl<TestRecord, TestRecordMutator> mutator = new ListMutatorImpl<>(originalList, TestRecordMutator::new);
+
+        // Act
+        mutator.findFirstAndMutate(TestRecord::test, m -> m.setTest(false));
+        List<TestRecord> builtList = mutator.build();
+
+        // Assert
+        assertSame(originalList, builtList);
+    }
+
+    @Test
+    void shouldNotModifySourceListOnWrite() {
+        // Arrange
+        List<TestRecord> originalList = new ArrayList<>(List.of(new TestRecord(), new TestRecord()));
+        ListMutatorImpl<TestRecord, TestRecordMutator> mutator = new ListMutatorImpl<>(originalList, TestRecordMutator::new);
+
+        // Act
+        mutator.add(new TestRecord(true));
+        mutator.mutate(0, m -> m.setTest(true));
+        List<TestRecord> builtList = mutator.build();
+
+        // Assert
+        assertEquals(2, originalList.size());
+        assertFalse(originalList.get(0).test());
+        assertEquals(3, builtList.size());
+        assertTrue(builtList.get(0).test());
+    }
+
+    @Test
+    void shouldReturnSourceListWhenFilterKeepsAllElements() {
+        // Arrange
+        List<TestRecord> originalList = Arrays.asList(new TestRecord(), new TestRecord());
+        ListMutatorImpl<TestRecord, TestRecordMutator> mutator = new ListMutatorImpl<>(originalList, TestRecordMutator::new);
+
+        // Act
+        mutator.filter(t -> !t.test());
+        List<TestRecord> builtList = mutator.build();
+
+        // Assert
+        assertSame(originalList, builtList);
+    }
+
+    @Test
+    void shouldAddAllElementsToTheEndOfList() {
+        // Arrange
+        List<String> originalList = List.of("a", "b");
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(originalList, null);
+
+        // Act
+        List<String> builtList = mutator.addAll(List.of("c", "d")).build();
+
+        // Assert
+        assertEquals(List.of("a", "b", "c", "d"), builtList);
+        assertEquals(List.of("a", "b"), originalList);
+    }
+
+    @Test
+    void shouldInsertAllElementsAtSpecifiedIndex() {
+        // Arrange
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(List.of("a", "d"), null);
+
+        // Act
+        List<String> builtList = mutator.insertAll(1, List.of("b", "c")).insertAll(4, List.of("e")).build();
+
+        // Assert
+        assertEquals(List.of("a", "b", "c", "d", "e"), builtList);
+    }
+
+    @Test
+    void shouldThrowIndexOutOfBoundsExceptionWhenInsertingAllAfterEnd() {
+        // Arrange
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(List.of("a"), null);
+
+        // Act & Assert
+        assertThrows(IndexOutOfBoundsException.class, () -> mutator.insertAll(2, List.of("b")));
+    }
+
+    @Test
+    void shouldRemoveRangeOfElements() {
+        // Arrange
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(List.of("a", "b", "c", "d", "e"), null);
+
+        // Act
+        List<String> builtList = mutator.removeRange(1, 3).build();
+
+        // Assert
+        assertEquals(List.of("a", "d", "e"), builtList);
+    }
+
+    @Test
+    void shouldReturnSourceListWhenRemovingEmptyRangeOrInsertingNothing() {
+        // Arrange
+        List<String> originalList = List.of("a", "b");
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(originalList, null);
+
+        // Act
+        List<String> builtList = mutator
+                .removeRange(1, 1)
+                .addAll(List.of())
+                .insertAll(0, List.of())
+                .removeIndices()
+                .retainIndices(1, 0)
+                .move(1, 1)
+                .build();
+
+        // Assert
+        assertSame(originalList, builtList);
+    }
+
+    @Test
+    void shouldRemoveElementsAtUnorderedAndDuplicateIndices() {
+        // Arrange
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(List.of("a", "b", "c", "d", "e", "f"), null);
+
+        // Act
+        List<String> builtList = mutator.removeIndices(4, 1, 4, 2).build();
+
+        // Assert
+        assertEquals(List.of("a", "d", "f"), builtList);
+    }
+
+    @Test
+    void shouldNotModifyListWhenRemovingOutOfBoundsIndex() {
+        // Arrange
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(List.of("a", "b", "c"), null);
+
+        // Act & Assert
+        assertThrows(IndexOutOfBoundsException.class, () -> mutator.removeIndices(0, 3));
+        assertEquals(List.of("a", "b", "c"), mutator.build());
+    }
+
+    @Test
+    void shouldRetainElementsAtSpecifiedIndicesInListOrder() {
+        // Arrange
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(List.of("a", "b", "c", "d", "e"), null);
+
+        // Act
+        List<String> builtList = mutator.retainIndices(3, 0, 3).build();
+
+        // Assert
+        assertEquals(List.of("a", "d"), builtList);
+    }
+
+    @Test
+    void shouldMoveElementTowardsTheStartOfList() {
+        // Arrange
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(List.of("a", "b", "c", "d", "e"), null);
+
+        // Act
+        List<String> builtList = mutator.move(3, 1).move(0, 4).build();
+
+        // Assert
+        assertEquals(List.of("d", "b", "c", "e", "a"), builtList);
+    }
+
+    @Test
+    void shouldUpdateAllInParallel() {
+        // Arrange
+        List<Integer> originalList = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            originalList.add(i);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ListMutatorImpl<Integer, Mutator<Integer>> mutator = new ListMutatorImpl<>(originalList, null);
+
+        // Act
+        mutator.parallel(pool).updateAll((index, value) -> value % 2 == 0 ? value + 1 : value);
+        List<Integer> result = mutator.build();
+
+        // Assert
+        pool.shutdown();
+        assertEquals(5000, result.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 2 == 0 ? i + 1 : i, result.get(i));
+        }
+        assertEquals(0, originalList.get(0));
+    }
+
+    @Test
+    void shouldMutateAllInParallel() {
+        // Arrange
+        List<TestRecord> originalList = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            originalList.add(new TestRecord(i % 3 == 0));
+        }
+        ListMutatorImpl<TestRecord, TestRecordMutator> mutator = new ListMutatorImpl<>(originalList, TestRecordMutator::new);
+
+        // Act
+        mutator.parallel().mutateAll((index, m) -> m.setTest(!m.test));
+        mutator.findAllAndMutate(TestRecord::test, m -> m.setTest(false));
+        List<TestRecord> result = mutator.build();
+
+        // Assert
+        assertEquals(2000, result.size());
+        assertTrue(result.stream().noneMatch(TestRecord::test));
+    }
+
+    @Test
+    void shouldKeepSourceListWhenNothingChangedInParallel() {
+        // Arrange
+        List<Integer> originalList = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            originalList.add(i);
+        }
+        ListMutatorImpl<Integer, Mutator<Integer>> mutator = new ListMutatorImpl<>(originalList, null);
+
+        // Act
+        mutator.parallel().updateAll((index, value) -> value);
+        List<Integer> result = mutator.build();
+
+        // Assert
+        assertSame(originalList, result);
+    }
+
+    @Test
+    void shouldRethrowExceptionFromParallelUpdate() {
+        // Arrange
+        List<Integer> originalList = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            originalList.add(i);
+        }
+        ListMutatorImpl<Integer, Mutator<Integer>> mutator = new ListMutatorImpl<>(originalList, null);
+        mutator.parallel();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> mutator.updateAll((index, value) -> {
+            if (index == 1500) {
+                throw new IllegalArgumentException("Bad value");
+            }
+            return value;
+        }));
+    }
+
+    @Test
+    void shouldBuildSharedEmptyListWhenAllElementsAreRemoved() {
+        // Arrange
+        ListMutatorImpl<String, Mutator<String>> mutator = new ListMutatorImpl<>(List.of("a", "b"), null);
+
+        // Act
+        List<String> result = mutator.removeRange(0, 2).build();
+
+        // Assert
+        assertSame(CompactList.empty(), result);
+    }
+
+    @Test
+    void shouldInsertAtSortedPositionInSortedMode() {
+        // Arrange
+        NestedListMutator<String, Mutator<String>> mutator = ListMutatorImpl.sortedMutator(List.of("b", "d", "f"), Comparator.naturalOrder(), null);
+
+        // Act
+        List<String> result = mutator.add("e").add("a").addAll(List.of("g", "c")).sort(Comparator.reverseOrder()).build();
+
+        // Assert
+        assertEquals(List.of("a", "b", "c", "d", "e", "f", "g"), result);
+    }
+
+    @Test
+    void shouldSortUnsortedSourceInSortedMode() {
+        // Arrange
+        List<String> originalList = List.of("c", "a", "b");
+
+        // Act
+        List<String> result = ListMutatorImpl.sortedMutator(originalList, Comparator.naturalOrder(), null).build();
+
+        // Assert
+        assertEquals(List.of("a", "b", "c"), result);
+        assertEquals(List.of("c", "a", "b"), originalList);
+    }
+
+    @Test
+    void shouldKeepOrderWhenElementsChangeInSortedMode() {
+        // Arrange
+        NestedListMutator<Integer, Mutator<Integer>> mutator = ListMutatorImpl.sortedMutator(List.of(10, 20, 30, 40), Comparator.naturalOrder(), null);
+
+        // Act
+        mutator.set(0, 35);
+        List<Integer> afterSet = mutator.buildCopy();
+        mutator.set(3, 5);
+        List<Integer> afterSecondSet = mutator.buildCopy();
+        mutator.updateAll((index, value) -> 100 - value);
+        List<Integer> result = mutator.build();
+
+        // Assert
+        assertEquals(List.of(20, 30, 35, 40), afterSet);
+        assertEquals(List.of(5, 20, 30, 35), afterSecondSet);
+        assertEquals(List.of(65, 70, 80, 95), result);
+    }
+
+    @Test
+    void shouldRejectPositionalChangesInSortedMode() {
+        // Arrange
+        NestedListMutator<String, Mutator<String>> mutator = ListMutatorImpl.sortedMutator(List.of("a", "b"), Comparator.naturalOrder(), null);
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> mutator.insertAll(0, List.of("c")));
+        assertThrows(UnsupportedOperationException.class, () -> mutator.move(0, 1));
+    }
+
+    @Test
+    void shouldFindAndMutateByBinarySearch() {
+        // Arrange
+        List<TestRecord> originalList = List.of(new TestRecord(false), new TestRecord(false), new TestRecord(true));
+        Comparator<TestRecord> byTest = (first, second) -> Boolean.compare(first.test(), second.test());
+        NestedListMutator<TestRecord, TestRecordMutator> mutator = ListMutatorImpl.sortedMutator(originalList, byTest, TestRecordMutator::new);
+
+        // Act
+        int foundIndex = mutator.binarySearch(record -> Boolean.compare(record.test(), true));
+        int missingIndex = ListMutatorImpl.sortedMutator(List.of(1, 3, 5), Comparator.<Integer>naturalOrder(), null)
+                .binarySearch(value -> Integer.compare(value, 4));
+        List<TestRecord> result = mutator
+                .binarySearchAndMutate(record -> Boolean.compare(record.test(), false), m -> m.setTest(true))
+                .build();
+
+        // Assert
+        assertEquals(2, foundIndex);
+        assertEquals(-3, missingIndex);
+        assertEquals(List.of(new TestRecord(false), new TestRecord(true), new TestRecord(true)), result);
+    }
+
+    @Test
+    void shouldRemoveDuplicatesKeepingFirstOccurrence() {
+        // Arrange
+        List<String> originalList = List.of("b", "a", "b", "c", "a");
+
+        // Act
+        List<String> result = ListMutatorImpl.mutator(originalList, null).distinct().build();
+        List<String> byLength = ListMutatorImpl.mutator(List.of("bb", "a", "cc", "d", "eee"), null)
+                .distinctBy(String::length)
+                .build();
+
+        // Assert
+        assertEquals(List.of("b", "a", "c"), result);
+        assertEquals(List.of("bb", "a", "eee"), byLength);
+    }
+
+    @Test
+    void shouldReturnSourceListWhenAlreadyDistinct() {
+        // Arrange
+        List<String> originalList = List.of("a", "b", "c");
+
+        // Act
+        List<String> result = ListMutatorImpl.mutator(originalList, null).distinct().build();
+
+        // Assert
+        assertSame(originalList, result);
+    }
+
+    @Test
+    void shouldUpsertIncomingElementsByKey() {
+        // Arrange
+        List<StringRecord> originalList = List.of(new StringRecord("a1"), new StringRecord("b1"), new StringRecord("c1"));
+        List<StringRecord> incoming = List.of(new StringRecord("b2"), new StringRecord("d1"), new StringRecord("b3"),
+                new StringRecord("d2"));
+        ListMutatorImpl<StringRecord, StringRecordMutator> mutator = new ListMutatorImpl<>(originalList, StringRecordMutator::new);
+
+        // Act
+        List<StringRecord> result = mutator
+                .upsertAll(incoming, record -> record.value().charAt(0), (m, item) -> m.setValue(m.value + "+" + item.value()))
+                .build();
+
+        // Assert
+        assertEquals(List.of(new StringRecord("a1"), new StringRecord("b1+b2+b3"), new StringRecord("c1"),
+                new StringRecord("d1+d2")), result);
+        assertSame(originalList.get(0), result.get(0));
+        assertEquals(3, originalList.size());
+    }
+
+    @Test
+    void shouldKeepSortedListSortedWhenUpserting() {
+        // Arrange
+        List<StringRecord> originalList = List.of(new StringRecord("a"), new StringRecord("c"), new StringRecord("e"));
+        NestedListMutator<StringRecord, StringRecordMutator> mutator = ListMutatorImpl.sortedMutator(originalList,
+                Comparator.comparing(StringRecord::value), StringRecordMutator::new);
+
+        // Act
+        List<StringRecord> result = mutator
+                .upsertAll(List.of(new StringRecord("d"), new StringRecord("a")), StringRecord::value,
+                        (m, item) -> m.setValue("f"))
+                .build();
+
+        // Assert
+        assertEquals(List.of(new StringRecord("c"), new StringRecord("d"), new StringRecord("e"), new StringRecord("f")),
+                result);
+    }
+
+    @Test
+    void shouldReturnImmutableCopyOfMutableSourceWhenNothingWasWritten() {
+        // Arrange
+        List<String> originalList = new ArrayList<>(List.of("a", "b"));
+
+        // Act
+        List<String> copy = ListMutatorImpl.mutator(originalList, null).buildCopy();
+        originalList.add("c");
+
+        // Assert
+        assertEquals(List.of("a", "b"), copy);
+        assertThrows(UnsupportedOperationException.class, () -> copy.add("d"));
+    }
+}
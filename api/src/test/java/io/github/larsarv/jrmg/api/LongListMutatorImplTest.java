@@ -0,0 +1,35 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class LongListMutatorImplTest {
+
+    @Test
+    void shouldAddAndUpdateValues() {
+        // Arrange
+        LongListMutatorImpl mutator = new LongListMutatorImpl(List.of(1L, 2L));
+
+        // Act
+        List<Long> builtList = mutator
+                .addLong(Long.MAX_VALUE)
+                .updateAllLong((index, value) -> index == 2 ? value : value + 10)
+                .build();
+
+        // Assert
+        assertEquals(List.of(11L, 12L, Long.MAX_VALUE), builtList);
+    }
+
+    @Test
+    void shouldThrowNullPointerExceptionWhenWritingToSourceWithNullElement() {
+        // Arrange
+        LongListMutatorImpl mutator = new LongListMutatorImpl(Arrays.asList(1L, null));
+
+        // Act & Assert
+        assertNull(mutator.get(1));
+        assertThrows(NullPointerException.class, () -> mutator.addLong(3L));
+    }
+}
@@ -2,7 +2,9 @@ package io.github.larsarv.jrmg.api;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.DayOfWeek;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 class MapMutatorImplTest {
@@ -569,5 +571,404 @@ class MapMutatorImplTest {
         assertTrue(newMap.containsKey(new KeyRecord("newKey")));
         assertEquals("newValue", newMap.get(new KeyRecord("newKey")).value());
     }
-    
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnSourceMapWhenNothingWasWritten() {
+        // Arrange
+        Map<KeyRecord, ValueRecord> originalMap = Map.of(
+            new KeyRecord("key1"), new ValueRecord("value1"),
+            new KeyRecord("key2"), new ValueRecord("value2"));
+        MapMutatorImpl<KeyRecord, ValueRecord, KeyRecordMutator, ValueRecordMutator> mutator =
+            new MapMutatorImpl<>(originalMap, KeyRecordMutator::new, ValueRecordMutator::new);
+
+        // Act
+        mutator.remove(new KeyRecord("key3"));
+        mutator.update(new KeyRecord("key1"), value -> value);
+        var newMap = mutator.build();
+
+        // Assert
+        assertSame(originalMap, newMap);
+    }
+
+    @Test
+    void shouldNotModifySourceMapOnWrite() {
+        // Arrange
+        Map<KeyRecord, ValueRecord> originalMap = new HashMap<>(Map.of(
+            new KeyRecord("key1"), new ValueRecord("value1"),
+            new KeyRecord("key2"), new ValueRecord("value2")));
+        MapMutatorImpl<KeyRecord, ValueRecord, KeyRecordMutator, ValueRecordMutator> mutator =
+            new MapMutatorImpl<>(originalMap, KeyRecordMutator::new, ValueRecordMutator::new);
+
+        // Act
+        mutator.put(new KeyRecord("key3"), new ValueRecord("value3"));
+        mutator.clear();
+        var newMap = mutator.build();
+
+        // Assert
+        assertEquals(2, originalMap.size());
+        assertTrue(newMap.isEmpty());
+    }
+
+    @Test
+    void shouldKeepEnumMapOrderAfterUpdateAll() {
+        // Arrange
+        Map<DayOfWeek, String> originalMap = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            originalMap.put(day, day.name());
+        }
+        MapMutatorImpl<DayOfWeek, String, Mutator<DayOfWeek>, Mutator<String>> mutator =
+            new MapMutatorImpl<>(originalMap, null, null);
+
+        // Act
+        var newMap = mutator
+            .filter((key, value) -> key != DayOfWeek.SUNDAY)
+            .updateAll((key, value) -> value.toLowerCase())
+            .put(DayOfWeek.MONDAY, "first")
+            .build();
+
+        // Assert
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+            DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY),
+            new ArrayList<>(newMap.keySet()));
+        assertEquals("first", newMap.get(DayOfWeek.MONDAY));
+        assertEquals("friday", newMap.get(DayOfWeek.FRIDAY));
+    }
+
+    @Test
+    void shouldKeepTreeMapComparatorOnWrite() {
+        // Arrange
+        Map<String, String> originalMap = new TreeMap<>(Comparator.reverseOrder());
+        originalMap.put("a", "1");
+        originalMap.put("b", "2");
+        MapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new MapMutatorImpl<>(originalMap, null, null);
+
+        // Act
+        var newMap = mutator
+            .put("c", "3")
+            .updateAll((key, value) -> value + key)
+            .build();
+
+        // Assert
+        assertInstanceOf(SortedMap.class, newMap);
+        assertEquals(List.of("c", "b", "a"), new ArrayList<>(newMap.keySet()));
+    }
+
+    @Test
+    void shouldKeepLinkedHashMapOrderOnRebuild() {
+        // Arrange
+        Map<String, String> originalMap = new LinkedHashMap<>();
+        originalMap.put("z", "1");
+        originalMap.put("a", "2");
+        originalMap.put("m", "3");
+        MapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new MapMutatorImpl<>(originalMap, null, null);
+
+        // Act
+        var newMap = mutator
+            .filter((key, value) -> !key.equals("a"))
+            .put("b", "4")
+            .build();
+
+        // Assert
+        assertEquals(List.of("z", "m", "b"), new ArrayList<>(newMap.keySet()));
+    }
+
+    @Test
+    void shouldCopyIntoEnumMapWhenEnumKeyTypeIsGiven() {
+        // Arrange
+        Map<DayOfWeek, String> originalMap = Map.of(DayOfWeek.SUNDAY, "7", DayOfWeek.MONDAY, "1", DayOfWeek.WEDNESDAY, "3");
+        MapMutatorImpl<DayOfWeek, String, Mutator<DayOfWeek>, Mutator<String>> mutator =
+            MapMutatorImpl.mutator(originalMap, DayOfWeek.class, null, null);
+
+        // Act
+        var newMap = mutator
+            .put(DayOfWeek.TUESDAY, "2")
+            .build();
+
+        // Assert
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.SUNDAY),
+            new ArrayList<>(newMap.keySet()));
+        assertEquals(3, originalMap.size());
+    }
+
+    @Test
+    void shouldCreateEnumMapWhenSourceIsNullAndEnumKeyTypeIsGiven() {
+        // Arrange
+        MapMutatorImpl<DayOfWeek, String, Mutator<DayOfWeek>, Mutator<String>> mutator =
+            MapMutatorImpl.mutator(null, DayOfWeek.class, null, null);
+
+        // Act
+        var newMap = mutator
+            .put(DayOfWeek.FRIDAY, "5")
+            .put(DayOfWeek.MONDAY, "1")
+            .updateAll((key, value) -> value + key.getValue())
+            .build();
+
+        // Assert
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), new ArrayList<>(newMap.keySet()));
+        assertEquals("55", newMap.get(DayOfWeek.FRIDAY));
+    }
+
+    @Test
+    void shouldKeepSortedSourceMapWhenEnumKeyTypeIsGiven() {
+        // Arrange
+        Map<DayOfWeek, String> originalMap = new TreeMap<>(Comparator.reverseOrder());
+        originalMap.put(DayOfWeek.MONDAY, "1");
+        MapMutatorImpl<DayOfWeek, String, Mutator<DayOfWeek>, Mutator<String>> mutator =
+            MapMutatorImpl.mutator(originalMap, DayOfWeek.class, null, null);
+
+        // Act
+        var newMap = mutator
+            .put(DayOfWeek.FRIDAY, "5")
+            .build();
+
+        // Assert
+        assertEquals(List.of(DayOfWeek.FRIDAY, DayOfWeek.MONDAY), new ArrayList<>(newMap.keySet()));
+    }
+
+    @Test
+    void shouldMutateAllValuesInParallel() {
+        // Arrange
+        Map<KeyRecord, ValueRecord> originalMap = new LinkedHashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            originalMap.put(new KeyRecord("key" + i), new ValueRecord("value" + i));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        MapMutatorImpl<KeyRecord, ValueRecord, KeyRecordMutator, ValueRecordMutator> mutator =
+            new MapMutatorImpl<>(originalMap, KeyRecordMutator::new, ValueRecordMutator::new);
+
+        // Act
+        Map<KeyRecord, ValueRecord> result = mutator
+            .parallel(pool)
+            .mutateAllValues((key, valueMutator) -> valueMutator.setValue(key.value() + "!"))
+            .updateAll((key, value) -> key.value().equals("key7") ? new ValueRecord("seven") : value)
+            .build();
+
+        // Assert
+        pool.shutdown();
+        assertEquals(3000, result.size());
+        assertEquals(new ValueRecord("key0!"), result.get(new KeyRecord("key0")));
+        assertEquals(new ValueRecord("seven"), result.get(new KeyRecord("key7")));
+        assertEquals(new KeyRecord("key0"), result.keySet().iterator().next());
+        assertEquals(new ValueRecord("value0"), originalMap.get(new KeyRecord("key0")));
+    }
+
+    @Test
+    void shouldComputeAndMergeValues() {
+        // Arrange
+        Map<String, Integer> originalMap = Map.of("a", 1, "b", 2, "c", 3);
+        MapMutatorImpl<String, Integer, Mutator<String>, Mutator<Integer>> mutator =
+            new MapMutatorImpl<>(originalMap, null, null);
+
+        // Act
+        Map<String, Integer> result = mutator
+            .compute("a", (key, value) -> value + 10)
+            .compute("b", (key, value) -> null)
+            .compute("d", (key, value) -> value == null ? 4 : value)
+            .computeIfPresent("c", (key, value) -> value * 2)
+            .computeIfPresent("e", (key, value) -> 5)
+            .computeIfAbsent("c", key -> 0)
+            .computeIfAbsent("f", key -> 6)
+            .merge("a", 100, Integer::sum)
+            .merge("g", 7, Integer::sum)
+            .merge("f", 0, (current, value) -> null)
+            .build();
+
+        // Assert
+        assertEquals(Map.of("a", 111, "c", 6, "d", 4, "g", 7), result);
+        assertEquals(Map.of("a", 1, "b", 2, "c", 3), originalMap);
+    }
+
+    @Test
+    void shouldKeepSourceMapWhenComputeReturnsSameValues() {
+        // Arrange
+        Map<String, Integer> originalMap = Map.of("a", 1, "b", 2);
+        MapMutatorImpl<String, Integer, Mutator<String>, Mutator<Integer>> mutator =
+            new MapMutatorImpl<>(originalMap, null, null);
+
+        // Act
+        Map<String, Integer> result = mutator
+            .compute("a", (key, value) -> value)
+            .compute("x", (key, value) -> null)
+            .computeIfPresent("b", (key, value) -> value)
+            .computeIfAbsent("a", key -> 10)
+            .merge("b", 5, (current, value) -> current)
+            .build();
+
+        // Assert
+        assertSame(originalMap, result);
+    }
+
+    @Test
+    void shouldMutateExistingValueOrPutNewValue() {
+        // Arrange
+        Map<KeyRecord, ValueRecord> originalMap = Map.of(new KeyRecord("key1"), new ValueRecord("value1"));
+        MapMutatorImpl<KeyRecord, ValueRecord, KeyRecordMutator, ValueRecordMutator> mutator =
+            new MapMutatorImpl<>(originalMap, KeyRecordMutator::new, ValueRecordMutator::new);
+
+        // Act
+        Map<KeyRecord, ValueRecord> result = mutator
+            .mutateOrPut(new KeyRecord("key1"), m -> m.setValue(m.value + "!"))
+            .mutateOrPut(new KeyRecord("key2"), m -> m.setValue("new"))
+            .mutateOrPut(new KeyRecord("key2"), m -> m.setValue(m.value + "!"))
+            .build();
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(new ValueRecord("value1!"), result.get(new KeyRecord("key1")));
+        assertEquals(new ValueRecord("new!"), result.get(new KeyRecord("key2")));
+    }
+
+    @Test
+    void shouldKeepSourceMapWhenUpdateAllChangesNothing() {
+        // Arrange
+        Map<String, Integer> originalMap = Map.of("a", 1, "b", 2);
+        MapMutatorImpl<String, Integer, Mutator<String>, Mutator<Integer>> mutator =
+            new MapMutatorImpl<>(originalMap, null, null);
+
+        // Act
+        Map<String, Integer> result = mutator
+            .updateAll((key, value) -> value)
+            .filter((key, value) -> true)
+            .build();
+
+        // Assert
+        assertSame(originalMap, result);
+    }
+
+    @Test
+    void shouldUpdateAndFilterCopiedMapInPlace() {
+        // Arrange
+        Map<String, Integer> originalMap = new LinkedHashMap<>();
+        originalMap.put("a", 1);
+        originalMap.put("b", 2);
+        originalMap.put("c", 3);
+        originalMap.put("d", 4);
+        MapMutatorImpl<String, Integer, Mutator<String>, Mutator<Integer>> mutator =
+            new MapMutatorImpl<>(originalMap, null, null);
+
+        // Act
+        Map<String, Integer> result = mutator
+            .updateAll((key, value) -> key.equals("b") ? 20 : value)
+            .updateAll((key, value) -> value + 1)
+            .filter((key, value) -> value % 2 == 0)
+            .filter((key, value) -> !key.equals("a"))
+            .build();
+
+        // Assert
+        assertEquals(List.of("c"), new ArrayList<>(result.keySet()));
+        assertEquals(4, result.get("c"));
+        assertEquals(Map.of("a", 1, "b", 2, "c", 3, "d", 4), originalMap);
+    }
+
+    @Test
+    void shouldKeepEntryOrderWhenMutatingAllKeys() {
+        // Arrange
+        Map<KeyRecord, ValueRecord> originalMap = new LinkedHashMap<>();
+        originalMap.put(new KeyRecord("b"), new ValueRecord("1"));
+        originalMap.put(new KeyRecord("a"), new ValueRecord("2"));
+        MapMutatorImpl<KeyRecord, ValueRecord, KeyRecordMutator, ValueRecordMutator> mutator =
+            new MapMutatorImpl<>(originalMap, KeyRecordMutator::new, ValueRecordMutator::new);
+
+        // Act
+        Map<KeyRecord, ValueRecord> result = mutator
+            .mutateAllKeys(m -> m.setValue(m.value.toUpperCase()))
+            .build();
+
+        // Assert
+        assertEquals(List.of(new KeyRecord("B"), new KeyRecord("A")), new ArrayList<>(result.keySet()));
+        assertEquals(new ValueRecord("2"), result.get(new KeyRecord("A")));
+    }
+
+    @Test
+    void shouldOnlyCreateMutatorsForMatchingValues() {
+        // Arrange
+        Map<KeyRecord, ValueRecord> originalMap = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            originalMap.put(new KeyRecord("key" + i), new ValueRecord("value" + i));
+        }
+        List<ValueRecord> mutatedValues = new ArrayList<>();
+        MapMutatorImpl<KeyRecord, ValueRecord, KeyRecordMutator, ValueRecordMutator> mutator =
+            new MapMutatorImpl<>(originalMap, KeyRecordMutator::new, value -> {
+                mutatedValues.add(value);
+                return new ValueRecordMutator(value);
+            });
+
+        // Act
+        Map<KeyRecord, ValueRecord> result = mutator
+            .findAllAndMutateValues((key, value) -> key.value().endsWith("7"), m -> m.setValue(m.value + "!"))
+            .findFirstAndMutateValue((key, value) -> value.value().equals("value50"), m -> m.setValue("fifty"))
+            .findFirstAndMutateValue((key, value) -> false, m -> m.setValue("none"))
+            .build();
+
+        // Assert
+        assertEquals(11, mutatedValues.size());
+        assertEquals(100, result.size());
+        assertEquals(new ValueRecord("value17!"), result.get(new KeyRecord("key17")));
+        assertEquals(new ValueRecord("fifty"), result.get(new KeyRecord("key50")));
+        assertEquals(new ValueRecord("value18"), result.get(new KeyRecord("key18")));
+        assertEquals(new ValueRecord("value17"), originalMap.get(new KeyRecord("key17")));
+    }
+
+    @Test
+    void shouldMergeAllEntriesOfMap() {
+        // Arrange
+        Map<String, Integer> originalMap = new LinkedHashMap<>();
+        originalMap.put("a", 1);
+        originalMap.put("b", 2);
+        originalMap.put("c", 3);
+        MapMutatorImpl<String, Integer, Mutator<String>, Mutator<Integer>> mutator =
+            new MapMutatorImpl<>(originalMap, null, null);
+        Map<String, Integer> incoming = new LinkedHashMap<>();
+        incoming.put("d", 4);
+        incoming.put("b", 20);
+        incoming.put("a", -1);
+
+        // Act
+        Map<String, Integer> result = mutator
+            .mergeAll(incoming, (current, value) -> current + value == 0 ? null : current + value)
+            .build();
+
+        // Assert
+        assertEquals(List.of("b", "c", "d"), new ArrayList<>(result.keySet()));
+        assertEquals(Map.of("b", 22, "c", 3, "d", 4), result);
+        assertEquals(Map.of("a", 1, "b", 2, "c", 3), originalMap);
+    }
+
+    @Test
+    void shouldLookUpNullKeyInMapRejectingNull() {
+        // Arrange
+        MapMutatorImpl<String, Integer, Mutator<String>, Mutator<Integer>> mutator =
+            new MapMutatorImpl<>(Map.of("a", 1), null, null);
+
+        // Act & Assert
+        assertNull(mutator.get(null));
+        assertFalse(mutator.containsKey(null));
+        assertFalse(mutator.containsValue(null));
+        assertEquals(Map.of("a", 1, "b", 2), mutator.remove(null).put("b", 2).build());
+    }
+
+    @Test
+    void shouldNotSwallowNullPointerExceptionOfKey() {
+        // Arrange
+        record FailingKey(String value) {
+            @Override
+            public boolean equals(Object o) {
+                throw new NullPointerException("equals");
+            }
+
+            @Override
+            public int hashCode() {
+                return 0;
+            }
+        }
+        Map<FailingKey, Integer> originalMap = new HashMap<>();
+        originalMap.put(new FailingKey("a"), 1);
+        MapMutatorImpl<FailingKey, Integer, Mutator<FailingKey>, Mutator<Integer>> mutator =
+            new MapMutatorImpl<>(originalMap, null, null);
+
+        // Act & Assert
+        assertThrows(NullPointerException.class, () -> mutator.get(new FailingKey("a")));
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class MatrixMutatorImplTest {
+
+    private static <T> MatrixMutatorImpl<T, SimpleListMutator<T>> mutator(List<List<T>> list) {
+        return MatrixMutatorImpl.matrixMutator(list, row -> ListMutatorImpl.mutator(row, null));
+    }
+
+    @Test
+    void shouldReturnSourceListWhenNothingWasWritten() {
+        // Arrange
+        List<List<String>> originalList = List.of(List.of("a", "b"), List.of("c", "d"));
+        MatrixMutatorImpl<String, SimpleListMutator<String>> mutator = mutator(originalList);
+
+        // Act
+        List<List<String>> builtList = mutator
+                .set(0, 1, "b")
+                .mutateColumn(0, (row, value) -> value)
+                .slice(0, 2, 0, 2)
+                .build();
+
+        // Assert
+        assertSame(originalList, builtList);
+    }
+
+    @Test
+    void shouldSetCellsAndKeepUnwrittenRows() {
+        // Arrange
+        List<List<String>> originalList = List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+        MatrixMutatorImpl<String, SimpleListMutator<String>> mutator = mutator(originalList);
+
+        // Act
+        List<List<String>> builtList = mutator
+                .set(1, 0, "x")
+                .set(1, 1, "y")
+                .build();
+
+        // Assert
+        assertEquals(List.of(List.of("a", "b"), List.of("x", "y"), List.of("e", "f")), builtList);
+        assertSame(originalList.get(0), builtList.get(0));
+        assertSame(originalList.get(2), builtList.get(2));
+        assertInstanceOf(MatrixRow.class, builtList.get(1));
+        assertEquals(List.of("c", "d"), originalList.get(1));
+    }
+
+    @Test
+    void shouldMutateRowsAndColumns() {
+        // Arrange
+        MatrixMutatorImpl<Integer, SimpleListMutator<Integer>> mutator = mutator(List.of(
+                List.of(1, 2, 3),
+                List.of(4, 5, 6)));
+
+        // Act
+        List<List<Integer>> builtList = mutator
+                .mutateColumn(1, (row, value) -> value * 10)
+                .mutateRow(0, (column, value) -> value + column)
+                .build();
+
+        // Assert
+        assertEquals(List.of(List.of(1, 21, 5), List.of(4, 50, 6)), builtList);
+    }
+
+    @Test
+    void shouldTransposeAndSlice() {
+        // Arrange
+        MatrixMutatorImpl<Integer, SimpleListMutator<Integer>> mutator = mutator(List.of(
+                List.of(1, 2, 3),
+                List.of(4, 5, 6)));
+
+        // Act
+        mutator.transpose();
+        int rowCount = mutator.rowCount();
+        int columnCount = mutator.columnCount();
+        List<List<Integer>> builtList = mutator
+                .slice(1, 3, 0, 2)
+                .build();
+
+        // Assert
+        assertEquals(3, rowCount);
+        assertEquals(2, columnCount);
+        assertEquals(List.of(List.of(2, 5), List.of(3, 6)), builtList);
+    }
+
+    @Test
+    void shouldSeeWrittenCellsInRowOperations() {
+        // Arrange
+        MatrixMutatorImpl<String, SimpleListMutator<String>> mutator = mutator(List.of(List.of("a", "b")));
+
+        // Act
+        mutator.set(0, 0, "x");
+        List<String> row = mutator.get(0);
+        List<List<String>> builtList = mutator
+                .mutate(0, rowMutator -> rowMutator.add("c"))
+                .add(List.of("d", "e", "f"))
+                .set(1, 2, "z")
+                .build();
+
+        // Assert
+        assertEquals(List.of("x", "b"), row);
+        assertEquals(List.of(List.of("x", "b", "c"), List.of("d", "e", "z")), builtList);
+    }
+
+    @Test
+    void shouldCopyBuiltRowsOnWrite() {
+        // Arrange
+        List<List<String>> firstList = mutator(List.of(List.of("a", "b"), List.of("c", "d")))
+                .transpose()
+                .build();
+
+        // Act
+        List<List<String>> secondList = mutator(firstList).set(0, 0, "x").build();
+
+        // Assert
+        assertEquals(List.of(List.of("a", "c"), List.of("b", "d")), firstList);
+        assertEquals(List.of(List.of("x", "c"), List.of("b", "d")), secondList);
+        assertSame(firstList.get(1), secondList.get(1));
+    }
+
+    @Test
+    void shouldSerializeBuiltRows() {
+        // Arrange
+        List<List<String>> builtList = mutator(List.of(List.of("a", "b"), List.of("c", "d")))
+                .set(1, 0, "x")
+                .build();
+
+        // Act
+        List<List<String>> deserialized = SerializationSupport.roundTrip(builtList);
+
+        // Assert
+        assertEquals(List.of(List.of("a", "b"), List.of("x", "d")), deserialized);
+        assertThrows(UnsupportedOperationException.class, () -> deserialized.get(1).set(0, "y"));
+    }
+
+    @Test
+    void shouldThrowForCellWriteOnRaggedList() {
+        // Arrange
+        MatrixMutatorImpl<String, SimpleListMutator<String>> mutator = mutator(List.of(List.of("a", "b"), List.of("c")));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.set(0, 0, "x"));
+    }
+
+    @Test
+    void shouldReturnImmutableRows() {
+        // Arrange
+        List<List<String>> builtList = mutator(List.of(List.of("a"))).set(0, 0, "x").build();
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> builtList.get(0).set(0, "y"));
+    }
+
+    @Test
+    void shouldThrowWhenMutatingAfterBuild() {
+        // Arrange
+        MatrixMutatorImpl<String, SimpleListMutator<String>> mutator = mutator(List.of(List.of("a")));
+        mutator.set(0, 0, "x").build();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.set(0, 0, "y"));
+        assertThrows(IllegalStateException.class, () -> mutator.add(List.of("z")));
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class MultimapMutatorImplTest {
+
+    private static <V> Function<List<V>, SimpleListMutator<V>> listFactory() {
+        return list -> ListMutatorImpl.mutator(list, null);
+    }
+
+    @Test
+    void shouldReturnSourceMapWhenNothingWasWritten() {
+        // Arrange
+        Map<String, List<Integer>> originalMap = Map.of("a", List.of(1, 2));
+        MultimapMutatorImpl<String, Integer, List<Integer>, SimpleListMutator<Integer>> mutator =
+                MultimapMutatorImpl.listMutator(originalMap, listFactory());
+
+        // Act
+        Map<String, List<Integer>> builtMap = mutator
+                .removeFromBucket("a", 3)
+                .removeFromBucket("b", 1)
+                .build();
+
+        // Assert
+        assertSame(originalMap, builtMap);
+    }
+
+    @Test
+    void shouldAppendToExistingAndNewBuckets() {
+        // Arrange
+        Map<String, List<Integer>> originalMap = Map.of("a", List.of(1));
+        MultimapMutatorImpl<String, Integer, List<Integer>, SimpleListMutator<Integer>> mutator =
+                MultimapMutatorImpl.listMutator(originalMap, listFactory());
+
+        // Act
+        Map<String, List<Integer>> builtMap = mutator
+                .append("a", 2)
+                .append("b", 10)
+                .appendAll("a", List.of(3, 4))
+                .build();
+
+        // Assert
+        assertEquals(Map.of("a", List.of(1, 2, 3, 4), "b", List.of(10)), builtMap);
+        assertEquals(Map.of("a", List.of(1)), originalMap);
+    }
+
+    @Test
+    void shouldCreateOneBucketMutatorPerKeyAndSession() {
+        // Arrange
+        AtomicInteger createdMutators = new AtomicInteger();
+        MultimapMutatorImpl<String, Integer, List<Integer>, SimpleListMutator<Integer>> mutator =
+                MultimapMutatorImpl.listMutator(Map.of("a", List.of(0)), list -> {
+                    createdMutators.incrementAndGet();
+                    return ListMutatorImpl.mutator(list, null);
+                });
+
+        // Act
+        for (int value = 1; value <= 1000; value++) {
+            mutator.append("a", value);
+        }
+        mutator.mutateBucket("a", bucket -> bucket.remove(0));
+        Map<String, List<Integer>> builtMap = mutator.build();
+
+        // Assert
+        assertEquals(1, createdMutators.get());
+        assertEquals(1000, builtMap.get("a").size());
+        assertEquals(1, builtMap.get("a").get(0));
+    }
+
+    @Test
+    void shouldRemoveKeyWhenBucketBecomesEmpty() {
+        // Arrange
+        MultimapMutatorImpl<String, Integer, List<Integer>, SimpleListMutator<Integer>> mutator =
+                MultimapMutatorImpl.listMutator(Map.of("a", List.of(1, 2), "b", List.of(3)), listFactory());
+
+        // Act
+        Map<String, List<Integer>> builtMap = mutator
+                .removeFromBucket("a", 1)
+                .removeFromBucket("b", 3)
+                .build();
+
+        // Assert
+        assertEquals(Map.of("a", List.of(2)), builtMap);
+    }
+
+    @Test
+    void shouldSeeOpenBucketsInMapOperations() {
+        // Arrange
+        MultimapMutatorImpl<String, Integer, List<Integer>, SimpleListMutator<Integer>> mutator =
+                MultimapMutatorImpl.listMutator(null, listFactory());
+
+        // Act
+        mutator.append("a", 1).append("b", 2);
+        int size = mutator.size();
+        List<Integer> bucket = mutator.get("a");
+        Map<String, List<Integer>> builtMap = mutator
+                .append("a", 5)
+                .remove("b")
+                .build();
+
+        // Assert
+        assertEquals(2, size);
+        assertEquals(List.of(1), bucket);
+        assertEquals(Map.of("a", List.of(1, 5)), builtMap);
+    }
+
+    @Test
+    void shouldAppendToSetBuckets() {
+        // Arrange
+        Map<String, Set<String>> originalMap = Map.of("a", Set.of("x"));
+        MultimapMutatorImpl<String, String, Set<String>, SimpleSetMutator<String>> mutator =
+                MultimapMutatorImpl.setMutator(originalMap, set -> SetMutatorImpl.mutator(set, null));
+
+        // Act
+        Map<String, Set<String>> builtMap = mutator
+                .append("a", "y")
+                .append("a", "x")
+                .removeFromBucket("a", "x")
+                .append("b", "z")
+                .build();
+
+        // Assert
+        assertEquals(Map.of("a", Set.of("y"), "b", Set.of("z")), builtMap);
+    }
+
+    @Test
+    void shouldThrowWhenAppendingAfterBuild() {
+        // Arrange
+        MultimapMutatorImpl<String, Integer, List<Integer>, SimpleListMutator<Integer>> mutator =
+                MultimapMutatorImpl.listMutator(null, listFactory());
+        mutator.append("a", 1).build();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.append("a", 2));
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ObjectArrayMutatorImplTest {
+
+    @Test
+    void shouldReturnSourceArrayWhenNothingWasWritten() {
+        // Arrange
+        String[] originalArray = {"a", "b"};
+        ObjectArrayMutatorImpl<String> mutator = new ObjectArrayMutatorImpl<>(originalArray, String[]::new);
+
+        // Act
+        String[] builtArray = mutator
+                .set(0, "a")
+                .setRange(0, new String[]{"a", "b"})
+                .updateAll((index, value) -> value)
+                .build();
+
+        // Assert
+        assertSame(originalArray, builtArray);
+    }
+
+    @Test
+    void shouldKeepComponentTypeWhenCopying() {
+        // Arrange
+        ObjectArrayMutatorImpl<String> mutator = new ObjectArrayMutatorImpl<>(new String[]{"a"}, String[]::new);
+
+        // Act
+        String[] builtArray = mutator.append(new String[]{"b", "c"}).build();
+
+        // Assert
+        assertArrayEquals(new String[]{"a", "b", "c"}, builtArray);
+        assertEquals(String[].class, builtArray.getClass());
+    }
+
+    @Test
+    void shouldCreateArrayWithGeneratorWhenSourceIsNull() {
+        // Arrange
+        ObjectArrayMutatorImpl<String> mutator = new ObjectArrayMutatorImpl<>(null, String[]::new);
+
+        // Act
+        String[] builtArray = mutator.insert(0, new String[]{"x"}).build();
+
+        // Assert
+        assertArrayEquals(new String[]{"x"}, builtArray);
+    }
+
+    @Test
+    void shouldRemoveRangeAndUpdateValues() {
+        // Arrange
+        ObjectArrayMutatorImpl<String> mutator = new ObjectArrayMutatorImpl<>(new String[]{"a", "b", "c", "d"}, String[]::new);
+
+        // Act
+        String[] builtArray = mutator
+                .removeRange(1, 3)
+                .updateAll((index, value) -> value + index)
+                .build();
+
+        // Assert
+        assertArrayEquals(new String[]{"a0", "d1"}, builtArray);
+    }
+}
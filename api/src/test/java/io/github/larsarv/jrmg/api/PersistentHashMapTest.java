@@ -0,0 +1,155 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class PersistentHashMapTest {
+
+    record CollidingKey(int value) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void shouldContainEntriesOfCopiedMap() {
+        // Arrange
+        Map<String, Integer> source = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            source.put("key" + i, i);
+        }
+        // Act
+        PersistentHashMap<String, Integer> map = PersistentHashMap.copyOf(source);
+        // Assert
+        assertEquals(source, map);
+        assertEquals(map, source);
+        assertEquals(source.hashCode(), map.hashCode());
+        assertEquals(4321, map.get("key4321"));
+    }
+
+    @Test
+    void shouldReturnSameInstanceWhenCopyingPersistentMap() {
+        // Arrange
+        PersistentHashMap<String, String> map = PersistentHashMap.copyOf(Map.of("a", "b"));
+        // Act
+        PersistentHashMap<String, String> copy = PersistentHashMap.copyOf(map);
+        // Assert
+        assertSame(map, copy);
+    }
+
+    @Test
+    void shouldLeaveOriginalUnchangedOnWrite() {
+        // Arrange
+        PersistentHashMap<String, String> original = PersistentHashMap.copyOf(Map.of("a", "1", "b", "2"));
+        // Act
+        PersistentHashMap<String, String> replaced = original.withPut("a", "x");
+        PersistentHashMap<String, String> added = original.withPut("c", "3");
+        PersistentHashMap<String, String> removed = original.withRemoved("b");
+        // Assert
+        assertEquals(Map.of("a", "1", "b", "2"), original);
+        assertEquals(Map.of("a", "x", "b", "2"), replaced);
+        assertEquals(Map.of("a", "1", "b", "2", "c", "3"), added);
+        assertEquals(Map.of("a", "1"), removed);
+    }
+
+    @Test
+    void shouldReturnSameInstanceWhenNothingChanges() {
+        // Arrange
+        PersistentHashMap<String, String> map = PersistentHashMap.copyOf(Map.of("a", "1"));
+        // Act & Assert
+        assertSame(map, map.withPut("a", map.get("a")));
+        assertSame(map, map.withRemoved("b"));
+    }
+
+    @Test
+    void shouldSupportNullKeysAndValues() {
+        // Arrange
+        PersistentHashMap<String, String> map = PersistentHashMap.empty();
+        // Act
+        PersistentHashMap<String, String> result = map.withPut(null, "a").withPut("b", null);
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("a", result.get(null));
+        assertTrue(result.containsKey("b"));
+        assertNull(result.get("b"));
+        assertFalse(result.containsKey("c"));
+    }
+
+    @Test
+    void shouldHandleKeysWithSameHashCode() {
+        // Arrange
+        PersistentHashMap<CollidingKey, Integer> map = PersistentHashMap.empty();
+        // Act
+        for (int i = 0; i < 10; i++) {
+            map = map.withPut(new CollidingKey(i), i);
+        }
+        PersistentHashMap<CollidingKey, Integer> removed = map.withRemoved(new CollidingKey(3));
+        // Assert
+        assertEquals(10, map.size());
+        assertEquals(9, removed.size());
+        assertEquals(7, removed.get(new CollidingKey(7)));
+        assertFalse(removed.containsKey(new CollidingKey(3)));
+    }
+
+    @Test
+    void shouldBeUnmodifiable() {
+        // Arrange
+        PersistentHashMap<String, String> map = PersistentHashMap.copyOf(Map.of("a", "1"));
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", "2"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+    }
+
+    @Test
+    void shouldSerializeMapsAndSetsAsUnmodifiableCopies() {
+        // Arrange
+        Map<Integer, String> source = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            source.put(i, "value" + i);
+        }
+        source.put(null, null);
+        PersistentHashMap<Integer, String> map = PersistentHashMap.copyOf(source);
+        PersistentHashSet<Integer> set = PersistentHashSet.copyOf(source.keySet());
+        // Act
+        Map<Integer, String> deserializedMap = SerializationSupport.roundTrip(map);
+        Set<Integer> deserializedSet = SerializationSupport.roundTrip(set);
+        // Assert
+        assertEquals(source, deserializedMap);
+        assertEquals(source.keySet(), deserializedSet);
+        assertThrows(UnsupportedOperationException.class, () -> deserializedMap.put(1000, "value"));
+        assertThrows(UnsupportedOperationException.class, () -> deserializedSet.add(1000));
+    }
+
+    @Test
+    void shouldMatchHashMapForRandomPutsAndRemoves() {
+        // Arrange
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        // Act
+        for (int operation = 0; operation < 50000; operation++) {
+            // Multiples of 65536 share the low bits after hash spreading, which exercises deep nodes
+            int key = random.nextBoolean() ? random.nextInt(2000) : random.nextInt(64) * 65536;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.withRemoved(key);
+            } else {
+                expected.put(key, operation);
+                map = map.withPut(key, operation);
+            }
+        }
+        // Assert
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+}
@@ -0,0 +1,231 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class PersistentListMutatorImplTest {
+
+    record StringRecord(String value) {}
+    static class StringRecordMutator implements Mutator<StringRecord> {
+        String value;
+
+        public StringRecordMutator(StringRecord stringRecord) {
+            if (stringRecord != null) {
+                this.value = stringRecord.value;
+            }
+        }
+
+        @Override
+        public StringRecord build() {
+            return new StringRecord(value);
+        }
+
+        public StringRecordMutator setValue(String value) {
+            this.value = value;
+            return this;
+        }
+    }
+
+    @Test
+    void shouldReturnSourceListWhenNothingWasWritten() {
+        // Arrange
+        List<String> originalList = List.of("a", "b");
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(originalList, null);
+        // Act
+        List<String> result = mutator
+                .set(0, originalList.get(0))
+                .filter(value -> true)
+                .build();
+        // Assert
+        assertSame(originalList, result);
+    }
+
+    @Test
+    void shouldNotModifySourceListOnWrite() {
+        // Arrange
+        List<String> originalList = new ArrayList<>(List.of("a", "b"));
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(originalList, null);
+        // Act
+        List<String> result = mutator
+                .add("c")
+                .set(0, "x")
+                .build();
+        // Assert
+        assertEquals(List.of("a", "b"), originalList);
+        assertEquals(List.of("x", "b", "c"), result);
+    }
+
+    @Test
+    void shouldCreateEmptyListWhenSourceIsNull() {
+        // Arrange
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(null, null);
+        // Act
+        List<String> result = mutator.add("a").build();
+        // Assert
+        assertEquals(List.of("a"), result);
+    }
+
+    @Test
+    void shouldShareStructureWithBuiltSourceList() {
+        // Arrange
+        List<String> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add("value" + i);
+        }
+        List<String> first = new PersistentListMutatorImpl<String, Mutator<String>>(source, null).add("last").build();
+        // Act
+        List<String> second = new PersistentListMutatorImpl<String, Mutator<String>>(first, null).set(10, "x").build();
+        // Assert
+        assertInstanceOf(PersistentVector.class, first);
+        assertInstanceOf(PersistentVector.class, second);
+        assertEquals("value10", first.get(10));
+        assertEquals("x", second.get(10));
+        assertEquals(1001, second.size());
+    }
+
+    @Test
+    void shouldRemoveInsertAndMoveElements() {
+        // Arrange
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(List.of("a", "b", "c", "d"), null);
+        // Act
+        List<String> result = mutator
+                .remove(1)
+                .move(0, 2)
+                .build();
+        // Assert
+        assertEquals(List.of("c", "d", "a"), result);
+    }
+
+    @Test
+    void shouldFilterAndSortElements() {
+        // Arrange
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(List.of("d", "a", "x", "c", "b"), null);
+        // Act
+        List<String> result = mutator
+                .filter(value -> !value.equals("x"))
+                .sort(Comparator.naturalOrder())
+                .build();
+        // Assert
+        assertEquals(List.of("a", "b", "c", "d"), result);
+    }
+
+    @Test
+    void shouldUpdateAllElements() {
+        // Arrange
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(List.of("a", "b"), null);
+        // Act
+        List<String> result = mutator
+                .updateAll((index, value) -> value + index)
+                .build();
+        // Assert
+        assertEquals(List.of("a0", "b1"), result);
+    }
+
+    @Test
+    void shouldMutateElementsThroughElementMutator() {
+        // Arrange
+        List<StringRecord> originalList = List.of(new StringRecord("a"), new StringRecord("b"), new StringRecord("c"));
+        PersistentListMutatorImpl<StringRecord, StringRecordMutator> mutator = new PersistentListMutatorImpl<>(originalList, StringRecordMutator::new);
+        // Act
+        List<StringRecord> result = mutator
+                .mutate(0, element -> element.setValue("x"))
+                .findAllAndMutate(element -> element.value().equals("c"), element -> element.setValue("y"))
+                .add(element -> element.setValue("z"))
+                .build();
+        // Assert
+        assertEquals(List.of(new StringRecord("x"), new StringRecord("b"), new StringRecord("y"), new StringRecord("z")), result);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenModifyingAfterBuild() {
+        // Arrange
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(List.of("a"), null);
+        mutator.build();
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.add("b"));
+    }
+
+    @Test
+    void shouldAddAndInsertAllElements() {
+        // Arrange
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(List.of("a", "d"), null);
+        // Act
+        List<String> result = mutator
+                .insertAll(1, List.of("b", "c"))
+                .addAll(List.of("e", "f"))
+                .build();
+        // Assert
+        assertEquals(List.of("a", "b", "c", "d", "e", "f"), result);
+    }
+
+    @Test
+    void shouldRemoveRangeAndIndices() {
+        // Arrange
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(List.of("a", "b", "c", "d", "e", "f", "g"), null);
+        // Act
+        List<String> result = mutator
+                .removeRange(1, 3)
+                .removeIndices(4, 0, 4)
+                .build();
+        // Assert
+        assertEquals(List.of("d", "e", "f"), result);
+    }
+
+    @Test
+    void shouldRetainElementsAtSpecifiedIndices() {
+        // Arrange
+        List<String> originalList = List.of("a", "b", "c", "d");
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(originalList, null);
+        // Act
+        List<String> unchanged = mutator.retainIndices(0, 1, 2, 3).buildCopy();
+        List<String> result = mutator.retainIndices(2, 1).build();
+        // Assert
+        assertEquals(originalList, unchanged);
+        assertNotSame(originalList, unchanged);
+        assertEquals(List.of("b", "c"), result);
+    }
+
+    @Test
+    void shouldUpdateAllInParallel() {
+        // Arrange
+        List<String> originalList = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            originalList.add("item" + i);
+        }
+        PersistentListMutatorImpl<String, Mutator<String>> mutator = new PersistentListMutatorImpl<>(originalList, null);
+
+        // Act
+        List<String> result = mutator
+            .parallel()
+            .updateAll((index, value) -> index % 100 == 0 ? value.toUpperCase() : value)
+            .build();
+
+        // Assert
+        assertEquals(2000, result.size());
+        assertEquals("ITEM0", result.get(0));
+        assertEquals("item1", result.get(1));
+        assertEquals("ITEM1900", result.get(1900));
+        assertEquals("item0", originalList.get(0));
+    }
+
+    @Test
+    void shouldUpsertIncomingElementsByKey() {
+        // Arrange
+        List<StringRecord> originalList = List.of(new StringRecord("a1"), new StringRecord("b1"));
+        PersistentListMutatorImpl<StringRecord, StringRecordMutator> mutator =
+            new PersistentListMutatorImpl<>(originalList, StringRecordMutator::new);
+
+        // Act
+        List<StringRecord> result = mutator
+            .upsertAll(List.of(new StringRecord("c1"), new StringRecord("a2")), record -> record.value().charAt(0),
+                (m, item) -> m.setValue(item.value()))
+            .build();
+
+        // Assert
+        assertEquals(List.of(new StringRecord("a2"), new StringRecord("b1"), new StringRecord("c1")), result);
+        assertSame(originalList.get(1), result.get(1));
+    }
+}
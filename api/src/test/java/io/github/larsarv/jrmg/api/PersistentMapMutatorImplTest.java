@@ -0,0 +1,240 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+class PersistentMapMutatorImplTest {
+
+    record KeyRecord(String value) {}
+    static class KeyRecordMutator implements Mutator<KeyRecord> {
+        String value;
+
+        public KeyRecordMutator(KeyRecord keyRecord) {
+            if (keyRecord != null) {
+                this.value = keyRecord.value;
+            }
+        }
+
+        @Override
+        public KeyRecord build() {
+            return new KeyRecord(value);
+        }
+
+        public KeyRecordMutator setValue(String value) {
+            this.value = value;
+            return this;
+        }
+    }
+
+    record ValueRecord(String value) {}
+    static class ValueRecordMutator implements Mutator<ValueRecord> {
+        String value;
+
+        public ValueRecordMutator(ValueRecord valueRecord) {
+            if (valueRecord != null) {
+                this.value = valueRecord.value;
+            }
+        }
+
+        @Override
+        public ValueRecord build() {
+            return new ValueRecord(value);
+        }
+
+        public ValueRecordMutator setValue(String value) {
+            this.value = value;
+            return this;
+        }
+    }
+
+    @Test
+    void shouldReturnSourceMapWhenNothingWasWritten() {
+        // Arrange
+        Map<String, String> originalMap = Map.of("a", "1", "b", "2");
+        PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new PersistentMapMutatorImpl<>(originalMap, null, null);
+        // Act
+        Map<String, String> result = mutator
+            .remove("c")
+            .put("a", originalMap.get("a"))
+            .filter((key, value) -> true)
+            .build();
+        // Assert
+        assertSame(originalMap, result);
+    }
+
+    @Test
+    void shouldNotModifySourceMapOnWrite() {
+        // Arrange
+        Map<String, String> originalMap = new HashMap<>(Map.of("a", "1", "b", "2"));
+        PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new PersistentMapMutatorImpl<>(originalMap, null, null);
+        // Act
+        Map<String, String> result = mutator
+            .put("c", "3")
+            .remove("a")
+            .update("b", value -> value + "x")
+            .build();
+        // Assert
+        assertEquals(Map.of("a", "1", "b", "2"), originalMap);
+        assertEquals(Map.of("b", "2x", "c", "3"), result);
+    }
+
+    @Test
+    void shouldShareStructureWithBuiltSourceMap() {
+        // Arrange
+        Map<String, String> source = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            source.put("key" + i, "value" + i);
+        }
+        Map<String, String> first = new PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>>(source, null, null)
+            .put("key0", "x")
+            .build();
+        // Act
+        Map<String, String> second = new PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>>(first, null, null)
+            .put("key1", "y")
+            .build();
+        // Assert
+        assertInstanceOf(PersistentHashMap.class, first);
+        assertInstanceOf(PersistentHashMap.class, second);
+        assertEquals("value1", first.get("key1"));
+        assertEquals("x", second.get("key0"));
+        assertEquals("y", second.get("key1"));
+        assertEquals(1000, second.size());
+    }
+
+    @Test
+    void shouldFilterAndUpdateAllEntries() {
+        // Arrange
+        PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new PersistentMapMutatorImpl<>(Map.of("a", "1", "b", "2", "c", "3"), null, null);
+        // Act
+        Map<String, String> result = mutator
+            .filter((key, value) -> !key.equals("b"))
+            .updateAll((key, value) -> key + value)
+            .build();
+        // Assert
+        assertEquals(Map.of("a", "a1", "c", "c3"), result);
+    }
+
+    @Test
+    void shouldMutateKeysAndValues() {
+        // Arrange
+        Map<KeyRecord, ValueRecord> originalMap = Map.of(
+            new KeyRecord("key1"), new ValueRecord("value1"),
+            new KeyRecord("key2"), new ValueRecord("value2"));
+        PersistentMapMutatorImpl<KeyRecord, ValueRecord, KeyRecordMutator, ValueRecordMutator> mutator =
+            new PersistentMapMutatorImpl<>(originalMap, KeyRecordMutator::new, ValueRecordMutator::new);
+        // Act
+        Map<KeyRecord, ValueRecord> result = mutator
+            .mutateKey(new KeyRecord("key1"), key -> key.setValue("key3"))
+            .mutateValue(new KeyRecord("key2"), value -> value.setValue("value4"))
+            .put(key -> key.setValue("key5"), value -> value.setValue("value5"))
+            .build();
+        // Assert
+        assertEquals(Map.of(
+            new KeyRecord("key3"), new ValueRecord("value1"),
+            new KeyRecord("key2"), new ValueRecord("value4"),
+            new KeyRecord("key5"), new ValueRecord("value5")), result);
+    }
+
+    @Test
+    void shouldMutateAllKeysAndValues() {
+        // Arrange
+        Map<KeyRecord, ValueRecord> originalMap = Map.of(
+            new KeyRecord("a"), new ValueRecord("1"),
+            new KeyRecord("b"), new ValueRecord("2"));
+        PersistentMapMutatorImpl<KeyRecord, ValueRecord, KeyRecordMutator, ValueRecordMutator> mutator =
+            new PersistentMapMutatorImpl<>(originalMap, KeyRecordMutator::new, ValueRecordMutator::new);
+        // Act
+        Map<KeyRecord, ValueRecord> result = mutator
+            .mutateAllKeys(key -> key.setValue(key.value + key.value))
+            .mutateAllValues((key, value) -> value.setValue(key.value()))
+            .build();
+        // Assert
+        assertEquals(Map.of(
+            new KeyRecord("aa"), new ValueRecord("aa"),
+            new KeyRecord("bb"), new ValueRecord("bb")), result);
+    }
+
+    @Test
+    void shouldAllowNullKeys() {
+        // Arrange
+        PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new PersistentMapMutatorImpl<>(Map.of("a", "1"), null, null);
+        // Act
+        Map<String, String> result = mutator
+            .put((String) null, "2")
+            .build();
+        // Assert
+        assertEquals("2", result.get(null));
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void shouldClearMap() {
+        // Arrange
+        PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new PersistentMapMutatorImpl<>(Map.of("a", "1"), null, null);
+        // Act
+        Map<String, String> result = mutator.clear().build();
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenModifyingAfterBuild() {
+        // Arrange
+        PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new PersistentMapMutatorImpl<>(Map.of("a", "1"), null, null);
+        mutator.build();
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.put("b", "2"));
+    }
+
+    @Test
+    void shouldUpdateAllInParallel() {
+        // Arrange
+        Map<String, String> originalMap = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            originalMap.put("key" + i, "value" + i);
+        }
+        PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new PersistentMapMutatorImpl<>(originalMap, null, null);
+
+        // Act
+        Map<String, String> result = mutator
+            .parallel()
+            .updateAll((key, value) -> key.endsWith("0") ? value.toUpperCase() : value)
+            .build();
+
+        // Assert
+        assertEquals(2000, result.size());
+        assertEquals("VALUE10", result.get("key10"));
+        assertEquals("value11", result.get("key11"));
+        assertEquals("value10", originalMap.get("key10"));
+    }
+
+    @Test
+    void shouldComputeAndMergeValues() {
+        // Arrange
+        Map<String, String> originalMap = Map.of("a", "1", "b", "2");
+        PersistentMapMutatorImpl<String, String, Mutator<String>, Mutator<String>> mutator =
+            new PersistentMapMutatorImpl<>(originalMap, null, null);
+
+        // Act
+        Map<String, String> result = mutator
+            .compute("a", (key, value) -> key + value)
+            .computeIfPresent("b", (key, value) -> null)
+            .computeIfAbsent("c", key -> "3")
+            .merge("c", "4", String::concat)
+            .merge("d", "5", String::concat)
+            .build();
+
+        // Assert
+        assertEquals(Map.of("a", "a1", "c", "34", "d", "5"), result);
+        assertEquals(Map.of("a", "1", "b", "2"), originalMap);
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+class PersistentSetMutatorImplTest {
+
+    record StringRecord(String value) {}
+    static class StringRecordMutator implements Mutator<StringRecord> {
+        String value;
+
+        public StringRecordMutator(StringRecord stringRecord) {
+            if (stringRecord != null) {
+                this.value = stringRecord.value;
+            }
+        }
+
+        @Override
+        public StringRecord build() {
+            return new StringRecord(value);
+        }
+
+        public StringRecordMutator setValue(String value) {
+            this.value = value;
+            return this;
+        }
+    }
+
+    @Test
+    void shouldReturnSourceSetWhenNothingWasWritten() {
+        // Arrange
+        Set<String> originalSet = Set.of("a", "b");
+        PersistentSetMutatorImpl<String, Mutator<String>> mutator = new PersistentSetMutatorImpl<>(originalSet, null);
+        // Act
+        Set<String> result = mutator
+            .add("a")
+            .remove("c")
+            .filter(value -> true)
+            .build();
+        // Assert
+        assertSame(originalSet, result);
+    }
+
+    @Test
+    void shouldNotModifySourceSetOnWrite() {
+        // Arrange
+        Set<String> originalSet = new HashSet<>(Set.of("a", "b"));
+        PersistentSetMutatorImpl<String, Mutator<String>> mutator = new PersistentSetMutatorImpl<>(originalSet, null);
+        // Act
+        Set<String> result = mutator
+            .add("c")
+            .remove("a")
+            .build();
+        // Assert
+        assertEquals(Set.of("a", "b"), originalSet);
+        assertEquals(Set.of("b", "c"), result);
+    }
+
+    @Test
+    void shouldShareStructureWithBuiltSourceSet() {
+        // Arrange
+        Set<String> source = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add("value" + i);
+        }
+        Set<String> first = new PersistentSetMutatorImpl<String, Mutator<String>>(source, null).add("x").build();
+        // Act
+        Set<String> second = new PersistentSetMutatorImpl<String, Mutator<String>>(first, null).remove("value0").build();
+        // Assert
+        assertInstanceOf(PersistentHashSet.class, first);
+        assertInstanceOf(PersistentHashSet.class, second);
+        assertTrue(first.contains("value0"));
+        assertFalse(second.contains("value0"));
+        assertEquals(1000, second.size());
+    }
+
+    @Test
+    void shouldFilterAndUpdateAllElements() {
+        // Arrange
+        PersistentSetMutatorImpl<String, Mutator<String>> mutator = new PersistentSetMutatorImpl<>(Set.of("a", "b", "c"), null);
+        // Act
+        Set<String> result = mutator
+            .filter(value -> !value.equals("b"))
+            .updateAll(value -> value.equals("a") ? "c" : value + "x")
+            .build();
+        // Assert
+        assertEquals(Set.of("c", "cx"), result);
+    }
+
+    @Test
+    void shouldMutateElementsThroughElementMutator() {
+        // Arrange
+        Set<StringRecord> originalSet = Set.of(new StringRecord("a"), new StringRecord("b"));
+        PersistentSetMutatorImpl<StringRecord, StringRecordMutator> mutator = new PersistentSetMutatorImpl<>(originalSet, StringRecordMutator::new);
+        // Act
+        Set<StringRecord> result = mutator
+            .mutate(new StringRecord("a"), element -> element.setValue("x"))
+            .add(element -> element.setValue("y"))
+            .build();
+        // Assert
+        assertEquals(Set.of(new StringRecord("x"), new StringRecord("b"), new StringRecord("y")), result);
+    }
+
+    @Test
+    void shouldMutateAllElements() {
+        // Arrange
+        Set<StringRecord> originalSet = Set.of(new StringRecord("a"), new StringRecord("b"));
+        PersistentSetMutatorImpl<StringRecord, StringRecordMutator> mutator = new PersistentSetMutatorImpl<>(originalSet, StringRecordMutator::new);
+        // Act
+        Set<StringRecord> result = mutator
+            .mutateAll(element -> element.setValue(element.value + "1"))
+            .build();
+        // Assert
+        assertEquals(Set.of(new StringRecord("a1"), new StringRecord("b1")), result);
+    }
+
+    @Test
+    void shouldAllowAddingNullElementToTheSet() {
+        // Arrange
+        PersistentSetMutatorImpl<String, Mutator<String>> mutator = new PersistentSetMutatorImpl<>(Set.of("a"), null);
+        // Act
+        Set<String> result = mutator.add((String) null).build();
+        // Assert
+        assertTrue(result.contains(null));
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenModifyingAfterBuild() {
+        // Arrange
+        PersistentSetMutatorImpl<String, Mutator<String>> mutator = new PersistentSetMutatorImpl<>(Set.of("a"), null);
+        mutator.build();
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.add("b"));
+    }
+
+    @Test
+    void shouldUpdateAllInParallel() {
+        // Arrange
+        Set<String> originalSet = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            originalSet.add("value" + i);
+        }
+        PersistentSetMutatorImpl<String, Mutator<String>> mutator = new PersistentSetMutatorImpl<>(originalSet, null);
+
+        // Act
+        Set<String> result = mutator
+            .parallel()
+            .updateAll(value -> value.endsWith("5") ? value.toUpperCase() : value)
+            .build();
+
+        // Assert
+        assertEquals(2000, result.size());
+        assertTrue(result.contains("VALUE1995"));
+        assertTrue(result.contains("value1994"));
+        assertFalse(result.contains("value1995"));
+    }
+
+    @Test
+    void shouldMutateMatchingElements() {
+        // Arrange
+        Set<String> originalSet = Set.of("a", "b", "c");
+        PersistentSetMutatorImpl<String, Mutator<String>> mutator = new PersistentSetMutatorImpl<>(originalSet, value -> () -> value.toUpperCase());
+
+        // Act
+        Set<String> result = mutator
+            .findAllAndMutate(value -> !value.equals("b"), m -> m)
+            .findFirstAndMutate(value -> value.equals("b"), m -> () -> "d")
+            .build();
+
+        // Assert
+        assertEquals(Set.of("A", "C", "d"), result);
+    }
+
+    @Test
+    void shouldCombineWithOtherCollections() {
+        // Arrange
+        Set<String> originalSet = Set.of("a", "b", "c");
+
+        // Act
+        Set<String> result = new PersistentSetMutatorImpl<String, Mutator<String>>(originalSet, null)
+            .addAll(List.of("c", "d"))
+            .removeAll(List.of("a"))
+            .symmetricDifference(List.of("b", "e"))
+            .retainAll(Set.of("c", "d", "x", "y", "z"))
+            .build();
+
+        // Assert
+        assertEquals(Set.of("c", "d"), result);
+        assertTrue(new PersistentSetMutatorImpl<String, Mutator<String>>(result, null).intersects(List.of("x", "d")));
+    }
+}
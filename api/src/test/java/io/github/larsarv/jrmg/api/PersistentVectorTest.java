@@ -0,0 +1,150 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class PersistentVectorTest {
+
+    @Test
+    void shouldReturnElementsOfCopiedCollection() {
+        // Arrange
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            source.add(i);
+        }
+        // Act
+        PersistentVector<Integer> vector = PersistentVector.copyOf(source);
+        // Assert
+        assertEquals(source, vector);
+        assertEquals(source.hashCode(), vector.hashCode());
+        assertEquals(4321, vector.get(4321));
+    }
+
+    @Test
+    void shouldReturnSameInstanceWhenCopyingVector() {
+        // Arrange
+        PersistentVector<String> vector = PersistentVector.copyOf(List.of("a", "b"));
+        // Act
+        PersistentVector<String> copy = PersistentVector.copyOf(vector);
+        // Assert
+        assertSame(vector, copy);
+    }
+
+    @Test
+    void shouldAppendBeyondSeveralLevels() {
+        // Arrange
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        // Act
+        for (int i = 0; i < 40000; i++) {
+            vector = vector.withAppended(i);
+        }
+        // Assert
+        assertEquals(40000, vector.size());
+        for (int i = 0; i < 40000; i++) {
+            assertEquals(i, vector.get(i));
+        }
+    }
+
+    @Test
+    void shouldLeaveOriginalUnchangedOnWrite() {
+        // Arrange
+        PersistentVector<String> original = PersistentVector.copyOf(List.of("a", "b", "c"));
+        // Act
+        PersistentVector<String> replaced = original.withElement(1, "x");
+        PersistentVector<String> inserted = original.withInserted(0, "x");
+        PersistentVector<String> removed = original.withRemoved(2);
+        // Assert
+        assertEquals(List.of("a", "b", "c"), original);
+        assertEquals(List.of("a", "x", "c"), replaced);
+        assertEquals(List.of("x", "a", "b", "c"), inserted);
+        assertEquals(List.of("a", "b"), removed);
+    }
+
+    @Test
+    void shouldReturnSameInstanceWhenReplacingWithSameElement() {
+        // Arrange
+        PersistentVector<String> vector = PersistentVector.copyOf(List.of("a", "b", "c"));
+        // Act
+        PersistentVector<String> result = vector.withElement(1, vector.get(1));
+        // Assert
+        assertSame(vector, result);
+    }
+
+    @Test
+    void shouldSupportNullElements() {
+        // Arrange
+        PersistentVector<String> vector = PersistentVector.copyOf(Arrays.asList("a", null));
+        // Act
+        PersistentVector<String> result = vector.withAppended(null);
+        // Assert
+        assertEquals(Arrays.asList("a", null, null), result);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenIndexIsOutOfBounds() {
+        // Arrange
+        PersistentVector<String> vector = PersistentVector.copyOf(List.of("a"));
+        // Act & Assert
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.withInserted(2, "b"));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.withRemoved(-1));
+    }
+
+    @Test
+    void shouldBeUnmodifiable() {
+        // Arrange
+        PersistentVector<String> vector = PersistentVector.copyOf(List.of("a"));
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> vector.add("b"));
+        assertThrows(UnsupportedOperationException.class, () -> vector.set(0, "b"));
+        assertThrows(UnsupportedOperationException.class, () -> vector.remove(0));
+    }
+
+    @Test
+    void shouldSerializeAsUnmodifiableList() {
+        // Arrange
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 2000; i++) {
+            vector = vector.withAppended(i);
+        }
+        vector = vector.withInserted(1000, null);
+        // Act
+        List<Integer> deserialized = SerializationSupport.roundTrip(vector);
+        // Assert
+        assertEquals(vector, deserialized);
+        assertThrows(UnsupportedOperationException.class, () -> deserialized.add(1));
+    }
+
+    @Test
+    void shouldMatchArrayListForRandomInsertsAndRemoves() {
+        // Arrange
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        // Act
+        for (int operation = 0; operation < 20000; operation++) {
+            int kind = random.nextInt(4);
+            if (kind <= 1 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, operation);
+                vector = vector.withInserted(index, operation);
+            } else if (kind == 2) {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                vector = vector.withRemoved(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                expected.set(index, operation);
+                vector = vector.withElement(index, operation);
+            }
+        }
+        // Assert
+        assertEquals(expected, vector);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), vector.get(i));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.larsarv.jrmg.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Helpers for the tests checking that built collections are serializable.
+ */
+final class SerializationSupport {
+    private SerializationSupport() {
+    }
+
+    /**
+     * Serializes the given object and deserializes it again.
+     *
+     * @param object the object to serialize
+     * @param <T> the type of the object
+     * @return the deserialized copy of the object
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T roundTrip(T object) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+                output.writeObject(object);
+            }
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (T) input.readObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package io.github.larsarv.jrmg.api;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.DayOfWeek;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 class SetMutatorImplTest {
@@ -222,4 +224,398 @@ class SetMutatorImplTest {
         assertEquals(3, mutator.build().size());
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReturnSourceSetWhenNothingWasWritten() {
+        // Arrange
+        var originalSet = Set.of(new StringRecord("apple"), new StringRecord("cherry"));
+        var mutator = new SetMutatorImpl<>(originalSet, StringRecordMutator::new);
+
+        // Act
+        mutator.add(new StringRecord("apple"));
+        mutator.remove(new StringRecord("banana"));
+        mutator.filter(item -> true);
+        var newSet = mutator.build();
+
+        // Assert
+        assertSame(originalSet, newSet);
+    }
+
+    @Test
+    void shouldNotModifySourceSetOnWrite() {
+        // Arrange
+        var originalSet = new HashSet<>(Set.of(new StringRecord("apple"), new StringRecord("cherry")));
+        var mutator = new SetMutatorImpl<>(originalSet, StringRecordMutator::new);
+
+        // Act
+        mutator.add(new StringRecord("banana"));
+        mutator.filter(item -> !item.value().equals("apple"));
+        var newSet = mutator.build();
+
+        // Assert
+        assertEquals(2, originalSet.size());
+        assertTrue(originalSet.contains(new StringRecord("apple")));
+        assertEquals(Set.of(new StringRecord("banana"), new StringRecord("cherry")), newSet);
+    }
+
+    @Test
+    void shouldKeepEnumSetOrderAfterMutateAll() {
+        // Arrange
+        Set<DayOfWeek> originalSet = EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.MONDAY);
+        SetMutatorImpl<DayOfWeek, Mutator<DayOfWeek>> mutator = new SetMutatorImpl<>(originalSet, null);
+
+        // Act
+        var newSet = mutator
+            .updateAll(day -> day.plus(1))
+            .add(DayOfWeek.SUNDAY)
+            .build();
+
+        // Assert
+        assertEquals(List.of(DayOfWeek.TUESDAY, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), new ArrayList<>(newSet));
+    }
+
+    @Test
+    void shouldKeepTreeSetComparatorOnFilter() {
+        // Arrange
+        Set<String> originalSet = new TreeSet<>(Comparator.reverseOrder());
+        originalSet.addAll(List.of("a", "b", "c", "d"));
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(originalSet, null);
+
+        // Act
+        var newSet = mutator
+            .filter(value -> !value.equals("b"))
+            .add("e")
+            .build();
+
+        // Assert
+        assertInstanceOf(SortedSet.class, newSet);
+        assertEquals(List.of("e", "d", "c", "a"), new ArrayList<>(newSet));
+    }
+
+    @Test
+    void shouldKeepLinkedHashSetOrderOnWrite() {
+        // Arrange
+        Set<String> originalSet = new LinkedHashSet<>(List.of("z", "a", "m"));
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(originalSet, null);
+
+        // Act
+        var newSet = mutator
+            .remove("a")
+            .add("b")
+            .build();
+
+        // Assert
+        assertEquals(List.of("z", "m", "b"), new ArrayList<>(newSet));
+    }
+
+    @Test
+    void shouldCopyIntoEnumSetWhenEnumElementTypeIsGiven() {
+        // Arrange
+        Set<DayOfWeek> originalSet = Set.of(DayOfWeek.SUNDAY, DayOfWeek.MONDAY);
+        NestedSetMutator<DayOfWeek, Mutator<DayOfWeek>> mutator = SetMutatorImpl.mutator(originalSet, DayOfWeek.class, null);
+
+        // Act
+        var newSet = mutator
+            .add(DayOfWeek.THURSDAY)
+            .build();
+
+        // Assert
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY, DayOfWeek.SUNDAY), new ArrayList<>(newSet));
+        assertEquals(2, originalSet.size());
+    }
+
+    @Test
+    void shouldCreateEnumSetWhenSourceIsNullAndEnumElementTypeIsGiven() {
+        // Arrange
+        NestedSetMutator<DayOfWeek, Mutator<DayOfWeek>> mutator = SetMutatorImpl.mutator(null, DayOfWeek.class, null);
+
+        // Act
+        var newSet = mutator
+            .add(DayOfWeek.SATURDAY)
+            .add(DayOfWeek.TUESDAY)
+            .filter(day -> day != DayOfWeek.SATURDAY)
+            .build();
+
+        // Assert
+        assertEquals(Set.of(DayOfWeek.TUESDAY), newSet);
+        assertFalse(newSet.contains(null));
+    }
+
+    @Test
+    void shouldMutateAllInParallel() {
+        // Arrange
+        Set<StringRecord> originalSet = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            originalSet.add(new StringRecord("value" + i));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SetMutatorImpl<StringRecord, StringRecordMutator> mutator = new SetMutatorImpl<>(originalSet, StringRecordMutator::new);
+
+        // Act
+        Set<StringRecord> result = mutator
+            .parallel(pool)
+            .mutateAll(m -> m.setValue(m.value.toUpperCase()))
+            .build();
+
+        // Assert
+        pool.shutdown();
+        assertEquals(2000, result.size());
+        assertTrue(result.contains(new StringRecord("VALUE1999")));
+        assertFalse(result.contains(new StringRecord("value1999")));
+        assertTrue(originalSet.contains(new StringRecord("value1999")));
+    }
+
+    @Test
+    void shouldKeepSourceSetWhenUpdateAllChangesNothing() {
+        // Arrange
+        Set<String> originalSet = Set.of("a", "b", "c");
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(originalSet, null);
+
+        // Act
+        Set<String> result = mutator.updateAll(value -> value).build();
+
+        // Assert
+        assertSame(originalSet, result);
+    }
+
+    @Test
+    void shouldKeepIterationOrderWhenUpdatingLinkedSet() {
+        // Arrange
+        Set<String> originalSet = new LinkedHashSet<>(List.of("c", "a", "b"));
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(originalSet, null);
+
+        // Act
+        Set<String> result = mutator
+            .updateAll(value -> value.equals("a") ? "x" : value)
+            .updateAll(value -> value.equals("c") ? "y" : value)
+            .build();
+
+        // Assert
+        assertEquals(List.of("y", "x", "b"), new ArrayList<>(result));
+        assertEquals(List.of("c", "a", "b"), new ArrayList<>(originalSet));
+    }
+
+    @Test
+    void shouldReplaceChangedElementsInPlace() {
+        // Arrange
+        Set<String> originalSet = new HashSet<>(Set.of("a", "b", "c"));
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(originalSet, null);
+
+        // Act
+        Set<String> result = mutator
+            .updateAll(value -> value.equals("a") ? "b" : value.equals("b") ? "a" : value)
+            .updateAll(value -> value.equals("c") ? "a" : value)
+            .build();
+
+        // Assert
+        assertEquals(Set.of("a", "b"), result);
+        assertEquals(Set.of("a", "b", "c"), originalSet);
+    }
+
+    @Test
+    void shouldOnlyCreateMutatorsForMatchingElements() {
+        // Arrange
+        Set<StringRecord> originalSet = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            originalSet.add(new StringRecord("value" + i));
+        }
+        List<StringRecord> mutatedItems = new ArrayList<>();
+        SetMutatorImpl<StringRecord, StringRecordMutator> mutator = new SetMutatorImpl<>(originalSet, item -> {
+            mutatedItems.add(item);
+            return new StringRecordMutator(item);
+        });
+
+        // Act
+        Set<StringRecord> result = mutator
+            .findAllAndMutate(item -> item.value().endsWith("9"), m -> m.setValue(m.value + "!"))
+            .findFirstAndMutate(item -> item.value().equals("value50"), m -> m.setValue("fifty"))
+            .build();
+
+        // Assert
+        assertEquals(11, mutatedItems.size());
+        assertEquals(100, result.size());
+        assertTrue(result.contains(new StringRecord("value19!")));
+        assertTrue(result.contains(new StringRecord("fifty")));
+        assertFalse(result.contains(new StringRecord("value50")));
+        assertTrue(originalSet.contains(new StringRecord("value19")));
+    }
+
+    @Test
+    void shouldDropDuplicatesOfAppendedElementsOnBuild() {
+        // Arrange
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(null, null);
+
+        // Act
+        for (int index = 0; index < 1000; index++) {
+            mutator.add("tag" + (index % 100));
+        }
+        mutator.add((String) null).add((String) null);
+        Set<String> result = mutator.build();
+
+        // Assert
+        assertEquals(101, result.size());
+        assertTrue(result.contains("tag0"));
+        assertTrue(result.contains("tag99"));
+        assertTrue(result.contains(null));
+        assertFalse(result.contains("tag100"));
+        assertInstanceOf(CompactHashSet.class, result);
+    }
+
+    @Test
+    void shouldHashAppendedElementsOnFirstLookup() {
+        // Arrange
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(Set.of(), null);
+        mutator.add("a").add("b").add("a");
+
+        // Act
+        boolean containsA = mutator.contains("a");
+        int size = mutator.size();
+        Set<String> result = mutator
+                .remove("b")
+                .add("c")
+                .build();
+
+        // Assert
+        assertTrue(containsA);
+        assertEquals(2, size);
+        assertEquals(Set.of("a", "c"), result);
+    }
+
+    @Test
+    void shouldKeepFirstOrderOfFewAppendedElements() {
+        // Arrange
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(null, null);
+
+        // Act
+        Set<String> result = mutator.add("c").add("a").add("c").add("b").build();
+
+        // Assert
+        assertEquals(List.of("c", "a", "b"), List.copyOf(result));
+    }
+
+    @Test
+    void shouldReturnEmptySourceSetWhenNothingWasAppended() {
+        // Arrange
+        Set<String> originalSet = Set.of();
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(originalSet, null);
+
+        // Act
+        Set<String> result = mutator.build();
+
+        // Assert
+        assertSame(originalSet, result);
+    }
+
+    @Test
+    void shouldHashEachRecordOnceWhenUpdatingCopiedSet() {
+        // Arrange
+        int[] hashCodeCalls = {0};
+        record Party(String name, int[] calls) {
+            @Override
+            public int hashCode() {
+                calls[0]++;
+                return name.hashCode();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return other instanceof Party party && name.equals(party.name);
+            }
+        }
+        Set<Party> source = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            source.add(new Party("party" + i, hashCodeCalls));
+        }
+        Set<Party> built = CompactHashSet.copyOf(source);
+        Party party = new Party("party3", hashCodeCalls);
+        hashCodeCalls[0] = 0;
+
+        // Act
+        Set<Party> result = new SetMutatorImpl<Party, Mutator<Party>>(built, null)
+                .add(new Party("party20", hashCodeCalls))
+                .update(party, p -> new Party("renamed", hashCodeCalls))
+                .updateAll(p -> p.name().equals("party5") ? new Party("party5b", hashCodeCalls) : p)
+                .build();
+
+        // Assert
+        // The first add hashes party20 for the source and for the copy, the others hash each new record once
+        assertEquals(5, hashCodeCalls[0]);
+        assertEquals(21, result.size());
+        assertTrue(result.contains(new Party("renamed", hashCodeCalls)));
+        assertFalse(result.contains(party));
+    }
+
+    @Test
+    void shouldCombineWithOtherCollections() {
+        // Arrange
+        Set<String> originalSet = Set.of("a", "b", "c", "d");
+
+        // Act
+        Set<String> union = new SetMutatorImpl<String, Mutator<String>>(originalSet, null).addAll(List.of("d", "e", "f")).build();
+        Set<String> intersection = new SetMutatorImpl<String, Mutator<String>>(originalSet, null).retainAll(List.of("b", "d", "x")).build();
+        Set<String> largeIntersection = new SetMutatorImpl<String, Mutator<String>>(originalSet, null).retainAll(Set.of("a", "c", "x", "y", "z")).build();
+        Set<String> difference = new SetMutatorImpl<String, Mutator<String>>(originalSet, null).removeAll(List.of("a", "x")).build();
+        Set<String> symmetricDifference = new SetMutatorImpl<String, Mutator<String>>(originalSet, null)
+                .symmetricDifference(List.of("a", "e", "e")).build();
+
+        // Assert
+        assertEquals(Set.of("a", "b", "c", "d", "e", "f"), union);
+        assertEquals(Set.of("b", "d"), intersection);
+        assertEquals(Set.of("a", "c"), largeIntersection);
+        assertEquals(Set.of("b", "c", "d"), difference);
+        assertEquals(Set.of("b", "c", "d", "e"), symmetricDifference);
+        assertEquals(Set.of("a", "b", "c", "d"), originalSet);
+    }
+
+    @Test
+    void shouldReturnSourceSetWhenSetOperationsChangeNothing() {
+        // Arrange
+        Set<String> originalSet = Set.of("a", "b", "c");
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(originalSet, null);
+
+        // Act
+        Set<String> result = mutator
+                .addAll(List.of("a", "b"))
+                .retainAll(List.of("a", "b", "c", "x"))
+                .removeAll(Set.of("x", "y", "z", "w"))
+                .build();
+
+        // Assert
+        assertSame(originalSet, result);
+    }
+
+    @Test
+    void shouldCheckIntersection() {
+        // Arrange
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(Set.of("a", "b"), null);
+
+        // Act & Assert
+        assertTrue(mutator.intersects(List.of("x", "b")));
+        assertTrue(mutator.intersects(Set.of("x", "y", "a")));
+        assertFalse(mutator.intersects(Set.of("x")));
+        assertFalse(mutator.intersects(List.of()));
+    }
+
+    @Test
+    void shouldAddAllInAppendMode() {
+        // Arrange
+        SetMutatorImpl<String, Mutator<String>> mutator = new SetMutatorImpl<>(null, null);
+
+        // Act
+        Set<String> result = mutator.add("a").addAll(List.of("b", "a", "c")).build();
+
+        // Assert
+        assertEquals(Set.of("a", "b", "c"), result);
+    }
+
+    @Test
+    void shouldKeepOrderOfLinkedSetWhenRetaining() {
+        // Arrange
+        Set<String> originalSet = new LinkedHashSet<>(List.of("c", "a", "b", "d"));
+
+        // Act
+        Set<String> result = new SetMutatorImpl<String, Mutator<String>>(originalSet, null).retainAll(List.of("d", "c")).build();
+
+        // Assert
+        assertEquals(List.of("c", "d"), new ArrayList<>(result));
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+class SortedMapMutatorImplTest {
+
+    record ValueRecord(String value) {}
+    static class ValueRecordMutator implements Mutator<ValueRecord> {
+        String value;
+
+        public ValueRecordMutator(ValueRecord valueRecord) {
+            if (valueRecord != null) {
+                this.value = valueRecord.value;
+            }
+        }
+
+        @Override
+        public ValueRecord build() {
+            return new ValueRecord(value);
+        }
+
+        public ValueRecordMutator setValue(String value) {
+            this.value = value;
+            return this;
+        }
+    }
+
+    private static TreeMap<Integer, String> createMap() {
+        TreeMap<Integer, String> map = new TreeMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i * 10, "value" + i * 10);
+        }
+        return map;
+    }
+
+    @Test
+    void shouldReturnSourceMapWhenNothingWasWritten() {
+        // Arrange
+        TreeMap<Integer, String> originalMap = createMap();
+        SortedMapMutatorImpl<Integer, String, Mutator<String>> mutator = new SortedMapMutatorImpl<>(originalMap, null);
+
+        // Act
+        NavigableMap<Integer, String> result = mutator
+            .updateRange(15, 35, (key, value) -> value)
+            .removeRange(11, 19)
+            .build();
+
+        // Assert
+        assertSame(originalMap, result);
+    }
+
+    @Test
+    void shouldUpdateRangeWithoutModifyingSourceMap() {
+        // Arrange
+        TreeMap<Integer, String> originalMap = createMap();
+        SortedMapMutatorImpl<Integer, String, Mutator<String>> mutator = new SortedMapMutatorImpl<>(originalMap, null);
+        List<Integer> visitedKeys = new ArrayList<>();
+
+        // Act
+        NavigableMap<Integer, String> result = mutator
+            .updateRange(20, 50, (key, value) -> {
+                visitedKeys.add(key);
+                return value.toUpperCase();
+            })
+            .build();
+
+        // Assert
+        assertEquals(List.of(20, 30, 40), visitedKeys);
+        assertEquals("value10", result.get(10));
+        assertEquals("VALUE20", result.get(20));
+        assertEquals("VALUE40", result.get(40));
+        assertEquals("value50", result.get(50));
+        assertEquals("value20", originalMap.get(20));
+    }
+
+    @Test
+    void shouldUpdateHeadAndTail() {
+        // Arrange
+        SortedMapMutatorImpl<Integer, String, Mutator<String>> mutator = new SortedMapMutatorImpl<>(createMap(), null);
+
+        // Act
+        NavigableMap<Integer, String> result = mutator
+            .updateHead(20, (key, value) -> "head")
+            .updateTail(80, (key, value) -> "tail")
+            .build();
+
+        // Assert
+        assertEquals(List.of("head", "head", "value20", "value30", "value40", "value50", "value60", "value70", "tail", "tail"),
+            new ArrayList<>(result.values()));
+    }
+
+    @Test
+    void shouldRemoveRangeHeadAndTail() {
+        // Arrange
+        TreeMap<Integer, String> originalMap = createMap();
+        SortedMapMutatorImpl<Integer, String, Mutator<String>> mutator = new SortedMapMutatorImpl<>(originalMap, null);
+
+        // Act
+        NavigableMap<Integer, String> result = mutator
+            .removeRange(30, 60)
+            .removeHead(10)
+            .removeTail(80)
+            .build();
+
+        // Assert
+        assertEquals(List.of(10, 20, 60, 70), new ArrayList<>(result.keySet()));
+        assertEquals(10, originalMap.size());
+    }
+
+    @Test
+    void shouldFindFloorAndCeiling() {
+        // Arrange
+        SortedMapMutatorImpl<Integer, String, Mutator<String>> mutator = new SortedMapMutatorImpl<>(createMap(), null);
+
+        // Act & Assert
+        assertEquals(20, mutator.floorKey(25));
+        assertEquals(30, mutator.ceilingKey(25));
+        assertEquals("value20", mutator.floorEntry(20).getValue());
+        assertNull(mutator.floorEntry(-1));
+        assertNull(mutator.ceilingKey(91));
+        assertEquals(List.of(40, 50), new ArrayList<>(mutator.subMap(35, 60).keySet()));
+    }
+
+    @Test
+    void shouldKeepComparatorOfSourceMap() {
+        // Arrange
+        TreeMap<String, String> originalMap = new TreeMap<>(Comparator.reverseOrder());
+        originalMap.put("a", "1");
+        originalMap.put("c", "3");
+        SortedMapMutatorImpl<String, String, Mutator<String>> mutator = new SortedMapMutatorImpl<>(originalMap, null);
+
+        // Act
+        NavigableMap<String, String> result = mutator.put("b", "2").build();
+
+        // Assert
+        assertEquals(List.of("c", "b", "a"), new ArrayList<>(result.keySet()));
+        assertEquals(Comparator.reverseOrder(), result.comparator());
+    }
+
+    @Test
+    void shouldMutateValuesInRange() {
+        // Arrange
+        TreeMap<Integer, ValueRecord> originalMap = new TreeMap<>(Map.of(
+            1, new ValueRecord("a"),
+            2, new ValueRecord("b"),
+            3, new ValueRecord("c")));
+        SortedMapMutatorImpl<Integer, ValueRecord, ValueRecordMutator> mutator =
+            new SortedMapMutatorImpl<>(originalMap, ValueRecordMutator::new);
+
+        // Act
+        NavigableMap<Integer, ValueRecord> result = mutator
+            .mutateRange(2, 3, (key, value) -> value.setValue("range"))
+            .mutateTail(3, (key, value) -> value.setValue("tail"))
+            .mutateHead(2, (key, value) -> value.setValue("head"))
+            .build();
+
+        // Assert
+        assertEquals(new ValueRecord("head"), result.get(1));
+        assertEquals(new ValueRecord("range"), result.get(2));
+        assertEquals(new ValueRecord("tail"), result.get(3));
+        assertEquals(new ValueRecord("b"), originalMap.get(2));
+    }
+
+    @Test
+    void shouldFilterAndComputeValues() {
+        // Arrange
+        SortedMapMutatorImpl<Integer, String, Mutator<String>> mutator = new SortedMapMutatorImpl<>(createMap(), null);
+
+        // Act
+        NavigableMap<Integer, String> result = mutator
+            .filter((key, value) -> key < 30)
+            .compute(0, (key, value) -> value + "!")
+            .merge(5, "five", String::concat)
+            .build();
+
+        // Assert
+        assertEquals(List.of(0, 5, 10, 20), new ArrayList<>(result.keySet()));
+        assertEquals("value0!", result.get(0));
+    }
+
+    @Test
+    void shouldCreateTreeMapWhenSourceIsNull() {
+        // Arrange
+        SortedMapMutatorImpl<String, String, Mutator<String>> mutator = new SortedMapMutatorImpl<>(null, null);
+
+        // Act
+        NavigableMap<String, String> result = mutator.put("b", "2").put("a", "1").build();
+
+        // Assert
+        assertEquals(List.of("a", "b"), new ArrayList<>(result.keySet()));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenModifyingAfterBuild() {
+        // Arrange
+        SortedMapMutatorImpl<Integer, String, Mutator<String>> mutator = new SortedMapMutatorImpl<>(createMap(), null);
+        NavigableMap<Integer, String> result = mutator.removeHead(20).build();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.removeTail(50));
+        assertThrows(UnsupportedOperationException.class, () -> result.put(1, "1"));
+    }
+}
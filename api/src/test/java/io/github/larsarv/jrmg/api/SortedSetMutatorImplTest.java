@@ -0,0 +1,123 @@
+package io.github.larsarv.jrmg.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+class SortedSetMutatorImplTest {
+
+    private static TreeSet<Integer> createSet() {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < 10; i++) {
+            set.add(i * 10);
+        }
+        return set;
+    }
+
+    @Test
+    void shouldReturnSourceSetWhenNothingWasWritten() {
+        // Arrange
+        TreeSet<Integer> originalSet = createSet();
+        SortedSetMutatorImpl<Integer> mutator = new SortedSetMutatorImpl<>(originalSet);
+
+        // Act
+        NavigableSet<Integer> result = mutator
+            .add(10)
+            .removeRange(11, 19)
+            .updateRange(20, 40, item -> item)
+            .build();
+
+        // Assert
+        assertSame(originalSet, result);
+    }
+
+    @Test
+    void shouldRemoveRangeHeadAndTail() {
+        // Arrange
+        TreeSet<Integer> originalSet = createSet();
+        SortedSetMutatorImpl<Integer> mutator = new SortedSetMutatorImpl<>(originalSet);
+
+        // Act
+        NavigableSet<Integer> result = mutator
+            .removeRange(30, 60)
+            .removeHead(10)
+            .removeTail(80)
+            .build();
+
+        // Assert
+        assertEquals(List.of(10, 20, 60, 70), new ArrayList<>(result));
+        assertEquals(10, originalSet.size());
+    }
+
+    @Test
+    void shouldUpdateRangeAndReorderElements() {
+        // Arrange
+        SortedSetMutatorImpl<Integer> mutator = new SortedSetMutatorImpl<>(createSet());
+
+        // Act
+        NavigableSet<Integer> result = mutator
+            .updateRange(10, 30, item -> item + 75)
+            .build();
+
+        // Assert
+        assertEquals(List.of(0, 30, 40, 50, 60, 70, 80, 85, 90, 95), new ArrayList<>(result));
+    }
+
+    @Test
+    void shouldFindFloorAndCeiling() {
+        // Arrange
+        SortedSetMutatorImpl<Integer> mutator = new SortedSetMutatorImpl<>(createSet());
+
+        // Act & Assert
+        assertEquals(20, mutator.floor(25));
+        assertEquals(30, mutator.ceiling(25));
+        assertNull(mutator.floor(-1));
+        assertEquals(List.of(40, 50), new ArrayList<>(mutator.subSet(35, 60)));
+    }
+
+    @Test
+    void shouldKeepComparatorOfSourceSet() {
+        // Arrange
+        TreeSet<String> originalSet = new TreeSet<>(Comparator.reverseOrder());
+        originalSet.addAll(List.of("a", "c"));
+        SortedSetMutatorImpl<String> mutator = new SortedSetMutatorImpl<>(originalSet);
+
+        // Act
+        NavigableSet<String> result = mutator.add("b").filter(item -> !item.equals("a")).build();
+
+        // Assert
+        assertEquals(List.of("c", "b"), new ArrayList<>(result));
+        assertEquals(List.of("c", "a"), new ArrayList<>(originalSet));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenModifyingAfterBuild() {
+        // Arrange
+        SortedSetMutatorImpl<Integer> mutator = new SortedSetMutatorImpl<>(createSet());
+        NavigableSet<Integer> result = mutator.remove(0).build();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> mutator.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> result.add(1));
+    }
+
+    @Test
+    void shouldCombineWithOtherCollections() {
+        // Arrange
+        NavigableSet<Integer> originalSet = new TreeSet<>(List.of(1, 2, 3, 4));
+
+        // Act
+        NavigableSet<Integer> result = new SortedSetMutatorImpl<>(originalSet)
+            .addAll(List.of(5, 6))
+            .removeAll(Set.of(1))
+            .symmetricDifference(List.of(2, 7, 7))
+            .retainAll(List.of(3, 5, 7, 9))
+            .build();
+
+        // Assert
+        assertEquals(List.of(3, 5, 7), new ArrayList<>(result));
+        assertEquals(List.of(1, 2, 3, 4), new ArrayList<>(originalSet));
+        assertFalse(new SortedSetMutatorImpl<>(result).intersects(Set.of(1, 2)));
+    }
+}
@@ -76,4 +76,32 @@ class AnnotatedRecordListComponentRecordTest {
         // Assert
         assertTrue(builtRecord.listComponent().get(1).booleanComponent());
     }
+
+    @Test
+    void buildShouldReturnOriginalRecordWhenNoElementMatches() {
+        // Arrange
+        var mutator = AnnotatedRecordListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        AnnotatedRecordListComponentRecord builtRecord = mutator
+                .mutateListComponent(list -> list
+                        .findAllAndMutate(PrimitiveComponentRecord::booleanComponent, record -> record
+                                .setIntComponent(42)))
+                .build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+    }
+
+    @Test
+    void buildShouldReturnOriginalRecordWhenElementMutationChangesNothing() {
+        // Arrange
+        var mutator = AnnotatedRecordListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        AnnotatedRecordListComponentRecord builtRecord = mutator
+                .mutateListComponent(list -> list
+                        .mutate(1, record -> record
+                                .setBooleanComponent(false)))
+                .build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+    }
 }
\ No newline at end of file
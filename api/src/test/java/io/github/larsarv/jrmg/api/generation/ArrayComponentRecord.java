@@ -0,0 +1,16 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.GenerateMutator;
+
+import java.util.List;
+
+@GenerateMutator
+public record ArrayComponentRecord(
+        byte[] byteArrayComponent,
+        int[] intArrayComponent,
+        long[] longArrayComponent,
+        double[] doubleArrayComponent,
+        String[] stringArrayComponent,
+        List<int[]> intArrayListComponent
+) {
+}
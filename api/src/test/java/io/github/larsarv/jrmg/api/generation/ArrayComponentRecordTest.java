@@ -0,0 +1,89 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayComponentRecordTest {
+    private static final ArrayComponentRecord TEST_RECORD = new ArrayComponentRecord(
+            new byte[]{1, 2, 3},
+            new int[]{10, 20},
+            new long[]{100L},
+            new double[]{0.5, 1.5},
+            new String[]{"a", "b"},
+            List.of(new int[]{1})
+    );
+
+    @Test
+    void componentsShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = ArrayComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        ArrayComponentRecord builtRecord = mutator
+                .mutateIntArrayComponent(array -> array.set(0, 10))
+                .build();
+        // Assert
+        assertSame(TEST_RECORD.intArrayComponent(), builtRecord.intArrayComponent());
+        assertSame(TEST_RECORD.byteArrayComponent(), builtRecord.byteArrayComponent());
+    }
+
+    @Test
+    void byteArrayComponentShouldBeCopiedOnWrite() {
+        // Arrange
+        var mutator = ArrayComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        ArrayComponentRecord builtRecord = mutator
+                .mutateByteArrayComponent(array -> array
+                        .setRange(1, (byte) 20, (byte) 30)
+                        .append((byte) 4))
+                .build();
+        // Assert
+        assertArrayEquals(new byte[]{1, 20, 30, 4}, builtRecord.byteArrayComponent());
+        assertArrayEquals(new byte[]{1, 2, 3}, TEST_RECORD.byteArrayComponent());
+        assertSame(TEST_RECORD.doubleArrayComponent(), builtRecord.doubleArrayComponent());
+    }
+
+    @Test
+    void primitiveArrayComponentsShouldBeUpdatedWithoutBoxing() {
+        // Arrange
+        var mutator = ArrayComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        ArrayComponentRecord builtRecord = mutator
+                .mutateDoubleArrayComponent(array -> array.updateAll((index, value) -> value * 2))
+                .mutateLongArrayComponent(array -> array.insert(0, 50L))
+                .build();
+        // Assert
+        assertArrayEquals(new double[]{1.0, 3.0}, builtRecord.doubleArrayComponent());
+        assertArrayEquals(new long[]{50L, 100L}, builtRecord.longArrayComponent());
+    }
+
+    @Test
+    void arrayComponentsShouldBeSet() {
+        // Arrange
+        var mutator = ArrayComponentRecordMutator.mutator();
+        // Act
+        ArrayComponentRecord builtRecord = mutator
+                .setIntArrayComponent(array -> array.append(1, 2, 3))
+                .setStringArrayComponent(array -> array.append(new String[]{"x", "y"}))
+                .build();
+        // Assert
+        assertArrayEquals(new int[]{1, 2, 3}, builtRecord.intArrayComponent());
+        assertArrayEquals(new String[]{"x", "y"}, builtRecord.stringArrayComponent());
+    }
+
+    @Test
+    void arraysWithinCollectionsShouldBeSimpleValues() {
+        // Arrange
+        var mutator = ArrayComponentRecordMutator.mutator(TEST_RECORD);
+        int[] addedArray = {2, 3};
+        // Act
+        ArrayComponentRecord builtRecord = mutator
+                .mutateIntArrayListComponent(list -> list.add(addedArray))
+                .build();
+        // Assert
+        assertEquals(2, builtRecord.intArrayListComponent().size());
+        assertSame(addedArray, builtRecord.intArrayListComponent().get(1));
+    }
+}
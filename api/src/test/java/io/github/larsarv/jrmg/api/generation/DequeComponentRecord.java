@@ -0,0 +1,14 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.GenerateMutator;
+
+import java.time.LocalDate;
+import java.util.Deque;
+import java.util.Queue;
+
+@GenerateMutator
+public record DequeComponentRecord(
+        Deque<LocalDate> historyComponent,
+        Queue<String> queueComponent
+) {
+}
@@ -0,0 +1,70 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DequeComponentRecordTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+    private static final DequeComponentRecord TEST_RECORD = new DequeComponentRecord(
+            new ArrayDeque<>(List.of(DAY, DAY.plusDays(1), DAY.plusDays(2))),
+            new LinkedList<>(List.of("a", "b"))
+    );
+
+    @Test
+    void componentsShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = DequeComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        DequeComponentRecord builtRecord = mutator.build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+    }
+
+    @Test
+    void historyComponentShouldKeepLastElements() {
+        // Arrange
+        var mutator = DequeComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        DequeComponentRecord builtRecord = mutator
+                .mutateHistoryComponent(history -> history
+                        .pushBounded(DAY.plusDays(3), 3)
+                        .pushBounded(DAY.plusDays(4), 3))
+                .build();
+        // Assert
+        assertEquals(List.of(DAY.plusDays(2), DAY.plusDays(3), DAY.plusDays(4)), List.copyOf(builtRecord.historyComponent()));
+        assertEquals(3, TEST_RECORD.historyComponent().size());
+        assertSame(TEST_RECORD.queueComponent(), builtRecord.queueComponent());
+    }
+
+    @Test
+    void queueComponentShouldBeMutated() {
+        // Arrange
+        var mutator = DequeComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        DequeComponentRecord builtRecord = mutator
+                .mutateQueueComponent(queue -> queue.dropFirst(1).addLast("c"))
+                .build();
+        // Assert
+        assertEquals(List.of("b", "c"), List.copyOf(builtRecord.queueComponent()));
+    }
+
+    @Test
+    void dequeComponentShouldBeSet() {
+        // Arrange
+        var mutator = DequeComponentRecordMutator.mutator();
+        // Act
+        DequeComponentRecord builtRecord = mutator
+                .setHistoryComponent(history -> history.addLast(DAY).addFirst(DAY.minusDays(1)))
+                .setQueueComponent(queue -> queue.addLast("x"))
+                .build();
+        // Assert
+        assertEquals(List.of(DAY.minusDays(1), DAY), List.copyOf(builtRecord.historyComponent()));
+        assertEquals("x", builtRecord.queueComponent().peek());
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.GenerateMutator;
+
+import java.time.DayOfWeek;
+import java.util.Map;
+import java.util.Set;
+
+@GenerateMutator
+public record EnumCollectionComponentRecord(
+        Map<DayOfWeek, StringRecord> mapComponent,
+        Set<DayOfWeek> setComponent
+) {
+}
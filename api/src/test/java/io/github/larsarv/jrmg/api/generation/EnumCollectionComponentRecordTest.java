@@ -0,0 +1,59 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnumCollectionComponentRecordTest {
+    private static final EnumCollectionComponentRecord TEST_RECORD = new EnumCollectionComponentRecord(
+            Map.of(DayOfWeek.FRIDAY, new StringRecord("friday"), DayOfWeek.MONDAY, new StringRecord("monday")),
+            Set.of(DayOfWeek.SUNDAY, DayOfWeek.TUESDAY)
+    );
+
+    @Test
+    void componentsShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = EnumCollectionComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        EnumCollectionComponentRecord builtRecord = mutator.build();
+        // Assert
+        assertSame(TEST_RECORD.mapComponent(), builtRecord.mapComponent());
+        assertSame(TEST_RECORD.setComponent(), builtRecord.setComponent());
+    }
+
+    @Test
+    void mapComponentShouldBeEnumMapAfterWrite() {
+        // Arrange
+        var mutator = EnumCollectionComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        EnumCollectionComponentRecord builtRecord = mutator
+                .mutateMapComponent(map -> map
+                        .put(DayOfWeek.WEDNESDAY, new StringRecord("wednesday"))
+                        .mutateValue(DayOfWeek.MONDAY, value -> value.setValue("first")))
+                .build();
+        // Assert
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY),
+                new ArrayList<>(builtRecord.mapComponent().keySet()));
+        assertEquals(new StringRecord("first"), builtRecord.mapComponent().get(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void setComponentShouldBeEnumSetWhenCreated() {
+        // Arrange
+        var mutator = EnumCollectionComponentRecordMutator.mutator();
+        // Act
+        EnumCollectionComponentRecord builtRecord = mutator
+                .setSetComponent(set -> set
+                        .add(DayOfWeek.SATURDAY)
+                        .add(DayOfWeek.MONDAY))
+                .build();
+        // Assert
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.SATURDAY), new ArrayList<>(builtRecord.setComponent()));
+    }
+}
@@ -59,4 +59,33 @@ class ListListComponentRecordTest {
         assertEquals("apple", builtRecord.listComponent().get(1).get(0));
     }
 
-}
\ No newline at end of file
+    @Test
+    void listComponentShouldSetCellsAndColumns() {
+        // Arrange
+        var mutator = ListListComponentRecordMutator.mutator(new ListListComponentRecord(
+                List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"))));
+        // Act
+        ListListComponentRecord builtRecord = mutator
+                .mutateListComponentAsMatrix(matrix -> matrix
+                        .set(0, 0, "x")
+                        .mutateColumn(1, (row, value) -> value.toUpperCase()))
+                .build();
+        // Assert
+        assertEquals(List.of(List.of("x", "B"), List.of("c", "D"), List.of("e", "F")), builtRecord.listComponent());
+    }
+
+    @Test
+    void listComponentShouldBeTransposedAndSliced() {
+        // Arrange
+        var mutator = ListListComponentRecordMutator.mutator(new ListListComponentRecord(
+                List.of(List.of("a", "b", "c"), List.of("d", "e", "f"))));
+        // Act
+        ListListComponentRecord builtRecord = mutator
+                .mutateListComponentAsMatrix(matrix -> matrix
+                        .transpose()
+                        .slice(0, 2, 0, 2))
+                .build();
+        // Assert
+        assertEquals(List.of(List.of("a", "d"), List.of("b", "e")), builtRecord.listComponent());
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.GenerateMutator;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@GenerateMutator
+public record MultimapComponentRecord(
+        Map<String, List<StringRecord>> recordListMapComponent,
+        Map<DayOfWeek, Set<String>> enumKeySetMapComponent
+) {
+}
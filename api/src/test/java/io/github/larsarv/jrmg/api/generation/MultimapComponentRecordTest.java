@@ -0,0 +1,78 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultimapComponentRecordTest {
+    private static final MultimapComponentRecord TEST_RECORD = new MultimapComponentRecord(
+            Map.of("route-1", List.of(new StringRecord("parcel-1"))),
+            Map.of(DayOfWeek.MONDAY, Set.of("a"))
+    );
+
+    @Test
+    void componentsShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = MultimapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        MultimapComponentRecord builtRecord = mutator
+                .mutateRecordListMapComponentAsMultimap(map -> map.removeFromBucket("route-2", new StringRecord("parcel-1")))
+                .build();
+        // Assert
+        assertSame(TEST_RECORD.recordListMapComponent(), builtRecord.recordListMapComponent());
+    }
+
+    @Test
+    void elementsShouldBeAppendedToBuckets() {
+        // Arrange
+        var mutator = MultimapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        MultimapComponentRecord builtRecord = mutator
+                .mutateRecordListMapComponentAsMultimap(map -> map
+                        .append("route-1", new StringRecord("parcel-2"))
+                        .append("route-2", new StringRecord("parcel-3"))
+                        .mutateBucket("route-1", parcels -> parcels
+                                .mutate(0, parcel -> parcel.setValue("parcel-0"))))
+                .build();
+        // Assert
+        assertEquals(Map.of(
+                "route-1", List.of(new StringRecord("parcel-0"), new StringRecord("parcel-2")),
+                "route-2", List.of(new StringRecord("parcel-3"))),
+                builtRecord.recordListMapComponent());
+    }
+
+    @Test
+    void enumKeySetBucketsShouldBeMutated() {
+        // Arrange
+        var mutator = MultimapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        MultimapComponentRecord builtRecord = mutator
+                .mutateEnumKeySetMapComponentAsMultimap(map -> map
+                        .appendAll(DayOfWeek.MONDAY, List.of("b", "c"))
+                        .removeFromBucket(DayOfWeek.MONDAY, "a")
+                        .append(DayOfWeek.FRIDAY, "d"))
+                .build();
+        // Assert
+        assertEquals(Map.of(DayOfWeek.MONDAY, Set.of("b", "c"), DayOfWeek.FRIDAY, Set.of("d")),
+                builtRecord.enumKeySetMapComponent());
+    }
+
+    @Test
+    void multimapComponentShouldBeSet() {
+        // Arrange
+        var mutator = MultimapComponentRecordMutator.mutator();
+        // Act
+        MultimapComponentRecord builtRecord = mutator
+                .mutateRecordListMapComponentAsMultimap(map -> map.append("route-1", new StringRecord("parcel-1")))
+                .setEnumKeySetMapComponent(map -> map)
+                .build();
+        // Assert
+        assertEquals(Map.of("route-1", List.of(new StringRecord("parcel-1"))), builtRecord.recordListMapComponent());
+        assertEquals(Map.of(), builtRecord.enumKeySetMapComponent());
+    }
+}
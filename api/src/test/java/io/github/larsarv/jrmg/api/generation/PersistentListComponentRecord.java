@@ -0,0 +1,14 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.CollectionBackend;
+import io.github.larsarv.jrmg.api.GenerateMutator;
+import io.github.larsarv.jrmg.api.MutatorBackend;
+
+import java.util.List;
+
+@GenerateMutator
+public record PersistentListComponentRecord(
+        @MutatorBackend(CollectionBackend.PERSISTENT) List<StringRecord> listComponent,
+        @MutatorBackend(CollectionBackend.PERSISTENT) List<List<String>> listListComponent
+) {
+}
@@ -0,0 +1,83 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentListComponentRecordTest {
+    private static final PersistentListComponentRecord TEST_RECORD = new PersistentListComponentRecord(
+            Arrays.asList(new StringRecord("a"), new StringRecord("b"), new StringRecord("c")),
+            List.of(List.of("a", "b"), List.of("c"))
+    );
+
+    @Test
+    void listComponentShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = PersistentListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PersistentListComponentRecord builtRecord = mutator.build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+        assertSame(TEST_RECORD.listComponent(), builtRecord.listComponent());
+    }
+
+    @Test
+    void listComponentShouldMutateSecondElement() {
+        // Arrange
+        var mutator = PersistentListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PersistentListComponentRecord builtRecord = mutator
+                .mutateListComponent(list -> list
+                        .mutate(1, record -> record
+                                .setValue("x")))
+                .build();
+        // Assert
+        assertEquals(List.of(new StringRecord("a"), new StringRecord("x"), new StringRecord("c")), builtRecord.listComponent());
+        assertEquals("b", TEST_RECORD.listComponent().get(1).value());
+    }
+
+    @Test
+    void listComponentShouldAddAndRemoveElements() {
+        // Arrange
+        var mutator = PersistentListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PersistentListComponentRecord builtRecord = mutator
+                .mutateListComponent(list -> list
+                        .remove(0)
+                        .add(new StringRecord("d"))
+                        .add(record -> record.setValue("e")))
+                .build();
+        // Assert
+        assertEquals(List.of(new StringRecord("b"), new StringRecord("c"), new StringRecord("d"), new StringRecord("e")),
+                builtRecord.listComponent());
+    }
+
+    @Test
+    void listComponentShouldBeUnmodifiable() {
+        // Arrange
+        var mutator = PersistentListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PersistentListComponentRecord builtRecord = mutator
+                .mutateListComponent(list -> list.add(new StringRecord("d")))
+                .build();
+        // Assert
+        assertThrows(UnsupportedOperationException.class, () -> builtRecord.listComponent().add(new StringRecord("e")));
+    }
+
+    @Test
+    void nestedListComponentShouldUsePersistentBackend() {
+        // Arrange
+        var mutator = PersistentListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PersistentListComponentRecord builtRecord = mutator
+                .mutateListListComponent(list -> list
+                        .mutate(1, inner -> inner.add("d")))
+                .build();
+        // Assert
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), builtRecord.listListComponent());
+        assertSame(TEST_RECORD.listListComponent().get(0), builtRecord.listListComponent().get(0));
+    }
+}
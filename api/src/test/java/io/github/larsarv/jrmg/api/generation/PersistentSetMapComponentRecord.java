@@ -0,0 +1,14 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.CollectionBackend;
+import io.github.larsarv.jrmg.api.GenerateMutator;
+
+import java.util.Map;
+import java.util.Set;
+
+@GenerateMutator(collectionBackend = CollectionBackend.PERSISTENT)
+public record PersistentSetMapComponentRecord(
+        Set<String> setComponent,
+        Map<String, StringRecord> mapComponent
+) {
+}
@@ -0,0 +1,62 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentSetMapComponentRecordTest {
+    private static final PersistentSetMapComponentRecord TEST_RECORD = new PersistentSetMapComponentRecord(
+            Set.of("a", "b"),
+            Map.of("key1", new StringRecord("value1"), "key2", new StringRecord("value2"))
+    );
+
+    @Test
+    void componentsShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = PersistentSetMapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PersistentSetMapComponentRecord builtRecord = mutator
+                .mutateSetComponent(set -> set.add("a"))
+                .mutateMapComponent(map -> map.remove("key3"))
+                .build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+    }
+
+    @Test
+    void setComponentShouldAddAndRemoveElements() {
+        // Arrange
+        var mutator = PersistentSetMapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PersistentSetMapComponentRecord builtRecord = mutator
+                .mutateSetComponent(set -> set
+                        .remove("a")
+                        .add("c"))
+                .build();
+        // Assert
+        assertEquals(Set.of("b", "c"), builtRecord.setComponent());
+        assertThrows(UnsupportedOperationException.class, () -> builtRecord.setComponent().add("d"));
+    }
+
+    @Test
+    void mapComponentShouldMutateValue() {
+        // Arrange
+        var mutator = PersistentSetMapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PersistentSetMapComponentRecord builtRecord = mutator
+                .mutateMapComponent(map -> map
+                        .mutateValue("key1", value -> value.setValue("x"))
+                        .put("key3", new StringRecord("value3")))
+                .build();
+        // Assert
+        assertEquals(Map.of(
+                "key1", new StringRecord("x"),
+                "key2", new StringRecord("value2"),
+                "key3", new StringRecord("value3")), builtRecord.mapComponent());
+        assertEquals(new StringRecord("value1"), TEST_RECORD.mapComponent().get("key1"));
+        assertThrows(UnsupportedOperationException.class, () -> builtRecord.mapComponent().put("key4", null));
+    }
+}
@@ -3,6 +3,8 @@ package io.github.larsarv.jrmg.api.generation;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PrimitiveComponentRecordTest {
@@ -255,4 +257,32 @@ class PrimitiveComponentRecordTest {
         // Assert
         assertEquals(10.5, builtRecord.doubleComponent(), 0.0001);
     }
+
+    @Test
+    void buildShouldReturnOriginalRecordWhenPrimitivesAreUnchanged() {
+        // Arrange
+        var mutator = PrimitiveComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveComponentRecord builtRecord = mutator
+                .setIntComponent(1)
+                .setDoubleComponent(1.0)
+                .build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+    }
+
+    @Test
+    void buildShouldReturnNewRecordWhenDoubleComponentChangesSign() {
+        // Arrange
+        PrimitiveComponentRecord zeroRecord = PrimitiveComponentRecordMutator.mutator(TEST_RECORD)
+                .setDoubleComponent(0.0)
+                .build();
+        // Act
+        PrimitiveComponentRecord builtRecord = PrimitiveComponentRecordMutator.mutator(zeroRecord)
+                .setDoubleComponent(-0.0)
+                .build();
+        // Assert
+        assertNotSame(zeroRecord, builtRecord);
+        assertEquals(-0.0, builtRecord.doubleComponent());
+    }
 }
\ No newline at end of file
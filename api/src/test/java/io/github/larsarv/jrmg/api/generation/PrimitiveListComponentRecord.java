@@ -0,0 +1,19 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.CollectionBackend;
+import io.github.larsarv.jrmg.api.GenerateMutator;
+import io.github.larsarv.jrmg.api.MutatorBackend;
+
+import java.util.List;
+import java.util.Map;
+
+@GenerateMutator(collectionBackend = CollectionBackend.PRIMITIVE)
+public record PrimitiveListComponentRecord(
+        List<Integer> intListComponent,
+        List<Long> longListComponent,
+        List<Double> doubleListComponent,
+        List<List<Integer>> intListListComponent,
+        Map<String, List<Double>> doubleListMapComponent,
+        @MutatorBackend(CollectionBackend.DEFAULT) List<Integer> boxedIntListComponent
+) {
+}
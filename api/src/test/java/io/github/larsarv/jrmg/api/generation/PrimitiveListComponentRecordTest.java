@@ -0,0 +1,97 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveListComponentRecordTest {
+    private static final PrimitiveListComponentRecord TEST_RECORD = new PrimitiveListComponentRecord(
+            List.of(1, 2, 3),
+            List.of(10L, 20L),
+            List.of(0.5, 1.5),
+            List.of(List.of(1, 2), List.of(3)),
+            Map.of("a", List.of(1.0, 2.0)),
+            Arrays.asList(1, null, 3)
+    );
+
+    @Test
+    void componentsShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = PrimitiveListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveListComponentRecord builtRecord = mutator.build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+    }
+
+    @Test
+    void intListComponentShouldBeUpdatedWithoutBoxing() {
+        // Arrange
+        var mutator = PrimitiveListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveListComponentRecord builtRecord = mutator
+                .mutateIntListComponentAsIntList(list -> list
+                        .updateAllInt((index, value) -> value * 10)
+                        .addInt(40))
+                .build();
+        // Assert
+        assertEquals(List.of(10, 20, 30, 40), builtRecord.intListComponent());
+        assertSame(TEST_RECORD.longListComponent(), builtRecord.longListComponent());
+    }
+
+    @Test
+    void longAndDoubleListComponentsShouldBeMutatedFromEmpty() {
+        // Arrange
+        var mutator = PrimitiveListComponentRecordMutator.mutator();
+        // Act
+        PrimitiveListComponentRecord builtRecord = mutator
+                .mutateLongListComponentAsLongList(list -> list.addLong(5L).addLong(3L).sort())
+                .mutateDoubleListComponentAsDoubleList(list -> list.addDouble(2.5))
+                .build();
+        // Assert
+        assertEquals(List.of(3L, 5L), builtRecord.longListComponent());
+        assertEquals(List.of(2.5), builtRecord.doubleListComponent());
+    }
+
+    @Test
+    void nestedPrimitiveListsShouldBeMutated() {
+        // Arrange
+        var mutator = PrimitiveListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveListComponentRecord builtRecord = mutator
+                .mutateIntListListComponent(list -> list
+                        .mutate(1, inner -> inner.add(4)))
+                .mutateDoubleListMapComponent(map -> map
+                        .mutateValue("a", values -> values.filter(value -> value > 1.0)))
+                .build();
+        // Assert
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4)), builtRecord.intListListComponent());
+        assertEquals(Map.of("a", List.of(2.0)), builtRecord.doubleListMapComponent());
+    }
+
+    @Test
+    void defaultBackendListComponentShouldKeepNullElements() {
+        // Arrange
+        var mutator = PrimitiveListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveListComponentRecord builtRecord = mutator
+                .mutateBoxedIntListComponent(list -> list
+                        .set(0, null)
+                        .add(null))
+                .build();
+        // Assert
+        assertEquals(Arrays.asList(null, null, 3, null), builtRecord.boxedIntListComponent());
+    }
+
+    @Test
+    void primitiveBackendListComponentShouldRejectNullElements() {
+        // Arrange
+        var mutator = PrimitiveListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act & Assert
+        assertThrows(NullPointerException.class, () -> mutator.mutateIntListComponent(list -> list.add(null)));
+    }
+}
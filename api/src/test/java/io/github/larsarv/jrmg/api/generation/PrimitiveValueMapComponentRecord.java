@@ -0,0 +1,18 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.CollectionBackend;
+import io.github.larsarv.jrmg.api.GenerateMutator;
+import io.github.larsarv.jrmg.api.MutatorBackend;
+
+import java.time.DayOfWeek;
+import java.util.Map;
+
+@GenerateMutator(collectionBackend = CollectionBackend.PRIMITIVE)
+public record PrimitiveValueMapComponentRecord(
+        Map<String, Integer> intMapComponent,
+        Map<String, Long> longMapComponent,
+        Map<String, Double> doubleMapComponent,
+        Map<DayOfWeek, Integer> enumKeyMapComponent,
+        @MutatorBackend(CollectionBackend.DEFAULT) Map<String, Integer> boxedIntMapComponent
+) {
+}
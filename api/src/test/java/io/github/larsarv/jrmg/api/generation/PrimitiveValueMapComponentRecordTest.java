@@ -0,0 +1,111 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveValueMapComponentRecordTest {
+    private static final PrimitiveValueMapComponentRecord TEST_RECORD = new PrimitiveValueMapComponentRecord(
+            Map.of("apple", 3, "pear", 1),
+            Map.of("a", 10L),
+            Map.of("a", 0.5),
+            Map.of(DayOfWeek.FRIDAY, 5),
+            Collections.singletonMap("apple", null)
+    );
+
+    @Test
+    void componentsShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = PrimitiveValueMapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveValueMapComponentRecord builtRecord = mutator.build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+    }
+
+    @Test
+    void intMapComponentShouldBeIncremented() {
+        // Arrange
+        var mutator = PrimitiveValueMapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveValueMapComponentRecord builtRecord = mutator
+                .mutateIntMapComponentAsIntValueMap(map -> map
+                        .increment("apple", 2)
+                        .increment("plum", 1)
+                        .updateInt("pear", value -> value * 10))
+                .build();
+        // Assert
+        assertEquals(Map.of("apple", 5, "pear", 10, "plum", 1), builtRecord.intMapComponent());
+        assertSame(TEST_RECORD.longMapComponent(), builtRecord.longMapComponent());
+    }
+
+    @Test
+    void longAndDoubleMapComponentsShouldBeMerged() {
+        // Arrange
+        var mutator = PrimitiveValueMapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveValueMapComponentRecord builtRecord = mutator
+                .mutateLongMapComponentAsLongValueMap(map -> map.mergeLong("a", 5L, Long::sum))
+                .mutateDoubleMapComponentAsDoubleValueMap(map -> map.mergeDouble("b", 1.5, Double::sum))
+                .build();
+        // Assert
+        assertEquals(Map.of("a", 15L), builtRecord.longMapComponent());
+        assertEquals(Map.of("a", 0.5, "b", 1.5), builtRecord.doubleMapComponent());
+    }
+
+    @Test
+    void enumKeyMapComponentShouldStayEnumMap() {
+        // Arrange
+        var mutator = PrimitiveValueMapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveValueMapComponentRecord builtRecord = mutator
+                .mutateEnumKeyMapComponent(map -> map.put(DayOfWeek.MONDAY, 1))
+                .build();
+        // Assert
+        assertEquals(List.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), new ArrayList<>(builtRecord.enumKeyMapComponent().keySet()));
+    }
+
+    @Test
+    void defaultBackendMapComponentShouldKeepNullValues() {
+        // Arrange
+        var mutator = PrimitiveValueMapComponentRecordMutator.mutator(TEST_RECORD);
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("apple", null);
+        expected.put("pear", null);
+        // Act
+        PrimitiveValueMapComponentRecord builtRecord = mutator
+                .mutateBoxedIntMapComponent(map -> map.put("pear", null))
+                .build();
+        // Assert
+        assertEquals(expected, builtRecord.boxedIntMapComponent());
+    }
+
+    @Test
+    void primitiveBackendMapComponentShouldRejectNullValues() {
+        // Arrange
+        var mutator = PrimitiveValueMapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act & Assert
+        assertThrows(NullPointerException.class, () -> mutator.mutateIntMapComponent(map -> map.put("pear", null)));
+    }
+
+    @Test
+    void builtMapComponentShouldBeUnmodifiable() {
+        // Arrange
+        var mutator = PrimitiveValueMapComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        PrimitiveValueMapComponentRecord builtRecord = mutator
+                .mutateIntMapComponentAsIntValueMap(map -> map.increment("apple", 1))
+                .build();
+        // Assert
+        assertEquals(Map.of("apple", 4, "pear", 1), builtRecord.intMapComponent());
+        assertThrows(UnsupportedOperationException.class, () -> builtRecord.intMapComponent().put("plum", 2));
+        assertThrows(UnsupportedOperationException.class, () -> builtRecord.intMapComponent().remove("apple"));
+    }
+}
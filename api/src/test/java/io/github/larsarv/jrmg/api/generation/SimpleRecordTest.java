@@ -71,4 +71,29 @@ class SimpleRecordTest {
         // Assert
         assertSame(value, builtRecord.objectComponent());
     }
+
+    @Test
+    void buildShouldReturnOriginalRecordWhenNothingChanged() {
+        // Arrange
+        var mutator = SimpleRecordMutator.mutator(TEST_RECORD);
+        // Act
+        SimpleRecord builtRecord = mutator
+                .setStringComponent(TEST_RECORD.stringComponent())
+                .build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+    }
+
+    @Test
+    void buildShouldReturnNewRecordWhenComponentChanged() {
+        // Arrange
+        var mutator = SimpleRecordMutator.mutator(TEST_RECORD);
+        // Act
+        SimpleRecord builtRecord = mutator
+                .setStringComponent(new String(TEST_RECORD.stringComponent()))
+                .build();
+        // Assert
+        assertNotSame(TEST_RECORD, builtRecord);
+        assertEquals(TEST_RECORD, builtRecord);
+    }
 }
\ No newline at end of file
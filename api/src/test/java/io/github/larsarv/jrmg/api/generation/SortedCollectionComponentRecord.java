@@ -0,0 +1,16 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.GenerateMutator;
+
+import java.time.LocalDate;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+
+@GenerateMutator
+public record SortedCollectionComponentRecord(
+        NavigableMap<LocalDate, StringRecord> recordMapComponent,
+        SortedMap<String, String> stringMapComponent,
+        NavigableSet<Integer> setComponent
+) {
+}
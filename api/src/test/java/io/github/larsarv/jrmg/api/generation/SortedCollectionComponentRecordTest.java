@@ -0,0 +1,88 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedCollectionComponentRecordTest {
+    private static final LocalDate JANUARY = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FEBRUARY = LocalDate.of(2025, 2, 1);
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 1);
+
+    private static final SortedCollectionComponentRecord TEST_RECORD = new SortedCollectionComponentRecord(
+            new TreeMap<>(Map.of(
+                    JANUARY, new StringRecord("january"),
+                    FEBRUARY, new StringRecord("february"),
+                    MARCH, new StringRecord("march"))),
+            new TreeMap<>(Map.of("a", "1", "b", "2", "c", "3")),
+            new TreeSet<>(List.of(1, 2, 3, 4))
+    );
+
+    @Test
+    void componentsShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = SortedCollectionComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        SortedCollectionComponentRecord builtRecord = mutator
+                .mutateRecordMapComponent(map -> map)
+                .mutateStringMapComponent(map -> map)
+                .mutateSetComponent(set -> set)
+                .build();
+        // Assert
+        assertSame(TEST_RECORD, builtRecord);
+    }
+
+    @Test
+    void recordMapComponentShouldMutateRange() {
+        // Arrange
+        var mutator = SortedCollectionComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        SortedCollectionComponentRecord builtRecord = mutator
+                .mutateRecordMapComponent(map -> map
+                        .mutateRange(FEBRUARY, LocalDate.of(2025, 12, 31), (date, value) -> value.setValue("spring")))
+                .build();
+        // Assert
+        assertEquals(new StringRecord("january"), builtRecord.recordMapComponent().get(JANUARY));
+        assertEquals(new StringRecord("spring"), builtRecord.recordMapComponent().get(FEBRUARY));
+        assertEquals(new StringRecord("spring"), builtRecord.recordMapComponent().get(MARCH));
+        assertEquals(JANUARY, builtRecord.recordMapComponent().floorKey(FEBRUARY.minusDays(1)));
+    }
+
+    @Test
+    void stringMapComponentShouldRemoveRange() {
+        // Arrange
+        var mutator = SortedCollectionComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        SortedCollectionComponentRecord builtRecord = mutator
+                .mutateStringMapComponent(map -> map
+                        .removeTail("c")
+                        .updateHead("b", (key, value) -> value + "!"))
+                .build();
+        // Assert
+        assertEquals(List.of("a", "b"), new ArrayList<>(builtRecord.stringMapComponent().keySet()));
+        assertEquals("1!", builtRecord.stringMapComponent().get("a"));
+    }
+
+    @Test
+    void setComponentShouldBeSortedWhenCreated() {
+        // Arrange
+        var mutator = SortedCollectionComponentRecordMutator.mutator();
+        // Act
+        SortedCollectionComponentRecord builtRecord = mutator
+                .setSetComponent(set -> set
+                        .add(3)
+                        .add(1)
+                        .add(2)
+                        .removeRange(2, 3))
+                .build();
+        // Assert
+        assertEquals(List.of(1, 3), new ArrayList<>(builtRecord.setComponent()));
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import io.github.larsarv.jrmg.api.GenerateMutator;
+import io.github.larsarv.jrmg.api.SortedBy;
+
+import java.util.Comparator;
+import java.util.List;
+
+@GenerateMutator
+public record SortedListComponentRecord(
+        @SortedBy(key = "value") List<StringRecord> keyListComponent,
+        @SortedBy(comparator = SortedListComponentRecord.ReverseOrder.class) List<String> comparatorListComponent,
+        @SortedBy List<String> naturalListComponent
+) {
+    public static final class ReverseOrder implements Comparator<String> {
+        @Override
+        public int compare(String first, String second) {
+            return second.compareTo(first);
+        }
+    }
+}
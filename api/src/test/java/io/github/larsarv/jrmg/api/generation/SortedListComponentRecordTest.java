@@ -0,0 +1,76 @@
+package io.github.larsarv.jrmg.api.generation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedListComponentRecordTest {
+    private static final SortedListComponentRecord TEST_RECORD = new SortedListComponentRecord(
+            List.of(new StringRecord("a"), new StringRecord("c"), new StringRecord("e")),
+            List.of("c", "b", "a"),
+            List.of("a", "b", "c")
+    );
+
+    @Test
+    void sortedListComponentsShouldRetainOriginalValue() {
+        // Arrange
+        var mutator = SortedListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        SortedListComponentRecord builtRecord = mutator
+                .mutateKeyListComponent(list -> list)
+                .mutateComparatorListComponent(list -> list)
+                .mutateNaturalListComponent(list -> list)
+                .build();
+        // Assert
+        assertSame(TEST_RECORD.keyListComponent(), builtRecord.keyListComponent());
+        assertSame(TEST_RECORD.comparatorListComponent(), builtRecord.comparatorListComponent());
+        assertSame(TEST_RECORD.naturalListComponent(), builtRecord.naturalListComponent());
+    }
+
+    @Test
+    void keyListComponentShouldAddAndMutateByKey() {
+        // Arrange
+        var mutator = SortedListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        SortedListComponentRecord builtRecord = mutator
+                .mutateKeyListComponent(list -> list
+                        .add(new StringRecord("d"))
+                        .add(record -> record.setValue("b"))
+                        .binarySearchAndMutate(record -> record.value().compareTo("a"), record -> record.setValue("f")))
+                .build();
+        // Assert
+        assertEquals(List.of(new StringRecord("b"), new StringRecord("c"), new StringRecord("d"),
+                new StringRecord("e"), new StringRecord("f")), builtRecord.keyListComponent());
+    }
+
+    @Test
+    void comparatorListComponentShouldAddInComparatorOrder() {
+        // Arrange
+        var mutator = SortedListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        SortedListComponentRecord builtRecord = mutator
+                .mutateComparatorListComponent(list -> list
+                        .add("d")
+                        .add("bb"))
+                .build();
+        // Assert
+        assertEquals(List.of("d", "c", "bb", "b", "a"), builtRecord.comparatorListComponent());
+    }
+
+    @Test
+    void naturalListComponentShouldSortNewList() {
+        // Arrange
+        var mutator = SortedListComponentRecordMutator.mutator(TEST_RECORD);
+        // Act
+        SortedListComponentRecord builtRecord = mutator
+                .setNaturalListComponent(list -> list
+                        .add("c")
+                        .add("a")
+                        .add("b"))
+                .build();
+        // Assert
+        assertEquals(List.of("a", "b", "c"), builtRecord.naturalListComponent());
+    }
+}